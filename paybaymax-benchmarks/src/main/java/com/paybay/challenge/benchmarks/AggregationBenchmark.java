@@ -0,0 +1,102 @@
+package com.paybay.challenge.benchmarks;
+
+import com.paybay.challenge.types.Aggregators;
+import com.paybay.challenge.types.ImmutableAggregatingQueue;
+import com.paybay.challenge.types.ImmutableQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * A sliding window of {@code size} events, one enQueue, one deQueue and one read of the aggregate per operation:
+ * recomputing sum and max by iterating an {@link ImmutableQueue} against the aggregates maintained by
+ * {@link ImmutableAggregatingQueue}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AggregationBenchmark {
+
+    private static final ToLongFunction<Integer> LONG_VALUE = new ToLongFunction<Integer>() {
+        @Override
+        public long applyAsLong(Integer value) {
+            return value;
+        }
+    };
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private ImmutableQueue<Integer> queue;
+
+    private ImmutableAggregatingQueue<Integer, Long> sumQueue;
+
+    private ImmutableAggregatingQueue<Integer, Integer> maxQueue;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        queue = Fixtures.balancedQueue(size);
+        sumQueue = ImmutableAggregatingQueue.empty(Aggregators.sum(LONG_VALUE)).enQueueAll(Fixtures.values(size));
+        maxQueue = ImmutableAggregatingQueue.empty(Aggregators.max(Comparator.<Integer>naturalOrder()))
+                .enQueueAll(Fixtures.values(size));
+        next = size;
+    }
+
+    @Benchmark
+    public long recomputeSum() {
+        ImmutableQueue<Integer> window = queue.enQueue(next++).deQueue();
+        queue = window;
+
+        long sum = 0;
+        for (Integer value : window) {
+            sum += value;
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public Long incrementalSum() {
+        ImmutableAggregatingQueue<Integer, Long> window = sumQueue.enQueue(next++).deQueue();
+        sumQueue = window;
+        return window.aggregate();
+    }
+
+    @Benchmark
+    public int recomputeMax() {
+        ImmutableQueue<Integer> window = queue.enQueue(next++).deQueue();
+        queue = window;
+
+        int max = Integer.MIN_VALUE;
+        for (Integer value : window) {
+            max = Math.max(max, value);
+        }
+
+        return max;
+    }
+
+    @Benchmark
+    public Integer incrementalMax() {
+        ImmutableAggregatingQueue<Integer, Integer> window = maxQueue.enQueue(next++).deQueue();
+        maxQueue = window;
+        return window.aggregate();
+    }
+}
@@ -0,0 +1,71 @@
+package com.paybay.challenge.benchmarks;
+
+import com.paybay.challenge.types.ImmutableQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch loading of a queue: one enQueue per element, each returning a new queue, against the transient
+ * {@link ImmutableQueue.Builder}. The {@code ThenDeQueue} variants include the first dequeue, which pays for the
+ * reversal of everything the loop left on the incoming stack; the built queue has nothing to reverse.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BuilderBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    public int size;
+
+    private Integer[] values;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = Fixtures.values(size).toArray(new Integer[0]);
+    }
+
+    @Benchmark
+    public ImmutableQueue<Integer> enQueueLoop() {
+        ImmutableQueue<Integer> queue = ImmutableQueue.empty();
+        for (Integer value : values) {
+            queue = queue.enQueue(value);
+        }
+
+        return queue;
+    }
+
+    @Benchmark
+    public ImmutableQueue<Integer> builder() {
+        ImmutableQueue.Builder<Integer> builder = ImmutableQueue.builder();
+        for (Integer value : values) {
+            builder.add(value);
+        }
+
+        return builder.build();
+    }
+
+    @Benchmark
+    public ImmutableQueue<Integer> enQueueLoopThenDeQueue() {
+        return enQueueLoop().deQueue();
+    }
+
+    @Benchmark
+    public ImmutableQueue<Integer> builderThenDeQueue() {
+        return builder().deQueue();
+    }
+}
@@ -0,0 +1,102 @@
+package com.paybay.challenge.benchmarks;
+
+import com.paybay.challenge.types.ImmutableQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch consumption and batch production: element-by-element loops against {@code deQueue(n)}, {@code drainTo},
+ * {@code split} and {@code enQueueAll}. One operation handles one batch.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BulkOperationsBenchmark {
+
+    @Param({"500", "5000"})
+    public int batch;
+
+    private ImmutableQueue<Integer> queue;
+
+    private List<Integer> values;
+
+    private List<Integer> target;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        queue = Fixtures.balancedQueue(batch * 4);
+        values = Fixtures.values(batch);
+        target = new ArrayList<Integer>(batch);
+    }
+
+    @Benchmark
+    public ImmutableQueue<Integer> deQueueLoop() {
+        ImmutableQueue<Integer> rest = queue;
+        for (int i = 0; i < batch; i++) {
+            rest = rest.deQueue();
+        }
+
+        return rest;
+    }
+
+    @Benchmark
+    public ImmutableQueue<Integer> deQueueCount() {
+        return queue.deQueue(batch);
+    }
+
+    @Benchmark
+    public List<Integer> headDeQueueLoopToList() {
+        target.clear();
+        ImmutableQueue<Integer> rest = queue;
+        for (int i = 0; i < batch; i++) {
+            target.add(rest.head());
+            rest = rest.deQueue();
+        }
+
+        return target;
+    }
+
+    @Benchmark
+    public List<Integer> drainToList() {
+        target.clear();
+        queue.drainTo(target, batch);
+        return target;
+    }
+
+    @Benchmark
+    public ImmutableQueue<Integer> splitFront() {
+        return queue.split(batch).front();
+    }
+
+    @Benchmark
+    public ImmutableQueue<Integer> enQueueLoop() {
+        ImmutableQueue<Integer> result = queue;
+        for (Integer value : values) {
+            result = result.enQueue(value);
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public ImmutableQueue<Integer> enQueueAll() {
+        return queue.enQueueAll(values);
+    }
+}
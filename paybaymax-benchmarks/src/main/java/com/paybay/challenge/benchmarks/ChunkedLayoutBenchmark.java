@@ -0,0 +1,88 @@
+package com.paybay.challenge.benchmarks;
+
+import com.paybay.challenge.types.ImmutableChunkedQueue;
+import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.Queue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Node-per-element {@link ImmutableQueue} against the unrolled {@link ImmutableChunkedQueue}: building by repeated
+ * enQueue, a full iteration pass and steady-state churn. See {@link MemoryFootprint} for the retained bytes per element.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ChunkedLayoutBenchmark {
+
+    @Param({"linked", "chunked"})
+    public String layout;
+
+    @Param({"100", "10000", "1000000"})
+    public int size;
+
+    private Queue<Integer> empty;
+
+    private Queue<Integer> filled;
+
+    private Queue<Integer> churn;
+
+    private Integer value;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        empty = "linked".equals(layout) ? ImmutableQueue.<Integer>empty() : ImmutableChunkedQueue.<Integer>empty();
+        filled = empty;
+        for (int i = 0; i < size; i++) {
+            filled = filled.enQueue(i);
+        }
+
+        // Moves half of the elements to the outgoing side.
+        for (int i = 0; i < size / 2; i++) {
+            filled = filled.deQueue().enQueue(i);
+        }
+
+        churn = filled;
+        value = size;
+    }
+
+    @Benchmark
+    public Queue<Integer> enQueueAll() {
+        Queue<Integer> queue = empty;
+        for (int i = 0; i < size; i++) {
+            queue = queue.enQueue(value);
+        }
+
+        return queue;
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for (Integer element : filled) {
+            blackhole.consume(element);
+        }
+    }
+
+    @Benchmark
+    public Integer enQueueDeQueue() {
+        Queue<Integer> next = churn.enQueue(value).deQueue();
+        churn = next;
+        return next.head();
+    }
+}
@@ -0,0 +1,109 @@
+package com.paybay.challenge.benchmarks;
+
+import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.ImmutableStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Collecting a mapped stream into a queue or a stack: {@code Collectors.toList()} followed by {@code createAll}
+ * against the {@link ImmutableQueue#toQueue()} and {@link ImmutableStack#toStack()} collectors, sequentially and in a
+ * fork-join pool of {@code parallelism} threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CollectorBenchmark {
+
+    /**
+     * A cheap per-element mapping, so the collection itself dominates.
+     */
+    private static final Function<Integer, Integer> MAP = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(Integer value) {
+            return value + 1;
+        }
+    };
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    @Param({"4"})
+    public int parallelism;
+
+    private List<Integer> values;
+
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = Fixtures.values(size);
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public ImmutableQueue<Integer> queueViaList() {
+        return ImmutableQueue.createAll(values.stream().map(MAP).collect(Collectors.<Integer>toList()));
+    }
+
+    @Benchmark
+    public ImmutableQueue<Integer> queueCollector() {
+        return values.stream().map(MAP).collect(ImmutableQueue.<Integer>toQueue());
+    }
+
+    @Benchmark
+    public ImmutableQueue<Integer> parallelQueueViaList() throws Exception {
+        return pool.submit(new Callable<ImmutableQueue<Integer>>() {
+            @Override
+            public ImmutableQueue<Integer> call() {
+                return ImmutableQueue.createAll(values.parallelStream().map(MAP).collect(Collectors.<Integer>toList()));
+            }
+        }).get();
+    }
+
+    @Benchmark
+    public ImmutableQueue<Integer> parallelQueueCollector() throws Exception {
+        return pool.submit(new Callable<ImmutableQueue<Integer>>() {
+            @Override
+            public ImmutableQueue<Integer> call() {
+                return values.parallelStream().map(MAP).collect(ImmutableQueue.<Integer>toQueue());
+            }
+        }).get();
+    }
+
+    @Benchmark
+    public ImmutableStack<Integer> stackViaList() {
+        return ImmutableStack.createAll(values.stream().map(MAP).collect(Collectors.<Integer>toList()));
+    }
+
+    @Benchmark
+    public ImmutableStack<Integer> stackCollector() {
+        return values.stream().map(MAP).collect(ImmutableStack.<Integer>toStack());
+    }
+}
@@ -0,0 +1,80 @@
+package com.paybay.challenge.benchmarks;
+
+import com.paybay.challenge.types.ImmutableCatenableQueue;
+import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.Split;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merging two buffers of {@code size} elements each and splitting one in the middle: element-wise
+ * {@link ImmutableQueue#enQueueAll} and {@link ImmutableQueue#split} against {@link ImmutableCatenableQueue#concat}
+ * and {@link ImmutableCatenableQueue#splitAt}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConcatBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int size;
+
+    private ImmutableQueue<Integer> queue;
+
+    private ImmutableCatenableQueue<Integer> catenable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        queue = Fixtures.balancedQueue(size);
+        catenable = ImmutableCatenableQueue.createAll(Fixtures.values(size));
+    }
+
+    @Benchmark
+    public ImmutableQueue<Integer> queueEnQueueAll() {
+        return queue.enQueueAll(queue);
+    }
+
+    @Benchmark
+    public ImmutableCatenableQueue<Integer> catenableConcat() {
+        return catenable.concat(catenable);
+    }
+
+    @Benchmark
+    public Split<ImmutableQueue<Integer>> queueSplit() {
+        return queue.split(size / 2);
+    }
+
+    @Benchmark
+    public Split<ImmutableCatenableQueue<Integer>> catenableSplitAt() {
+        return catenable.splitAt(size / 2);
+    }
+
+    @Benchmark
+    public Integer queueChurn() {
+        ImmutableQueue<Integer> next = queue.enQueue(size).deQueue();
+        queue = next;
+        return next.head();
+    }
+
+    @Benchmark
+    public Integer catenableChurn() {
+        ImmutableCatenableQueue<Integer> next = catenable.enQueue(size).deQueue();
+        catenable = next;
+        return next.head();
+    }
+}
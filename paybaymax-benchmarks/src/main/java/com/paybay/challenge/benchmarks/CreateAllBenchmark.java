@@ -0,0 +1,51 @@
+package com.paybay.challenge.benchmarks;
+
+import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.ImmutableStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk construction through {@code createAll} from an already materialized list.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CreateAllBenchmark {
+
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int size;
+
+    private List<Integer> values;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = Fixtures.values(size);
+    }
+
+    @Benchmark
+    public ImmutableQueue<Integer> queueCreateAll() {
+        return ImmutableQueue.createAll(values);
+    }
+
+    @Benchmark
+    public ImmutableStack<Integer> stackCreateAll() {
+        return ImmutableStack.createAll(values);
+    }
+}
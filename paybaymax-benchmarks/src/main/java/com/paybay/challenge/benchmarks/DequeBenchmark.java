@@ -0,0 +1,97 @@
+package com.paybay.challenge.benchmarks;
+
+import com.paybay.challenge.types.ImmutableDeque;
+import com.paybay.challenge.types.ImmutableQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FIFO use of {@link ImmutableDeque} against {@link ImmutableQueue}: steady-state churn, as in
+ * {@link QueueChurnBenchmark}, and a burst of {@code size} elements followed by a full drain. The deque additionally
+ * runs a requeue-at-front / shed-at-back mix that the queue cannot do without a rebuild.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DequeBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int size;
+
+    private ImmutableQueue<Integer> queue;
+
+    private ImmutableDeque<Integer> deque;
+
+    private Integer value;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        queue = Fixtures.balancedQueue(size);
+        deque = ImmutableDeque.createAll(Fixtures.values(size));
+        value = size;
+    }
+
+    @Benchmark
+    public Integer queueChurn() {
+        ImmutableQueue<Integer> next = queue.enQueue(value).deQueue();
+        queue = next;
+        return next.head();
+    }
+
+    @Benchmark
+    public Integer dequeChurn() {
+        ImmutableDeque<Integer> next = deque.enQueue(value).deQueue();
+        deque = next;
+        return next.head();
+    }
+
+    @Benchmark
+    public Integer dequeRequeueAndShed() {
+        ImmutableDeque<Integer> next = deque.deQueueFront().enQueueFront(value).enQueueBack(value).deQueueBack();
+        deque = next;
+        return next.peekFirst();
+    }
+
+    @Benchmark
+    public ImmutableQueue<Integer> queueBurst() {
+        ImmutableQueue<Integer> burst = ImmutableQueue.empty();
+        for (int i = 0; i < size; i++) {
+            burst = burst.enQueue(value);
+        }
+
+        while (!burst.isEmpty()) {
+            burst = burst.deQueue();
+        }
+
+        return burst;
+    }
+
+    @Benchmark
+    public ImmutableDeque<Integer> dequeBurst() {
+        ImmutableDeque<Integer> burst = ImmutableDeque.empty();
+        for (int i = 0; i < size; i++) {
+            burst = burst.enQueue(value);
+        }
+
+        while (!burst.isEmpty()) {
+            burst = burst.deQueue();
+        }
+
+        return burst;
+    }
+}
@@ -0,0 +1,78 @@
+package com.paybay.challenge.benchmarks;
+
+import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.ImmutableStack;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared data set-up for the benchmark suites.
+ */
+enum Fixtures {
+    ;
+
+    /**
+     * Creates the boxed values {@code 0 .. size - 1}.
+     *
+     * @param size The number of values.
+     * @return The values, in ascending order.
+     */
+    static List<Integer> values(int size) {
+        List<Integer> values = new ArrayList<Integer>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(i);
+        }
+
+        return values;
+    }
+
+    /**
+     * Creates a queue of {@code size} elements where roughly half the elements sit on the outgoing stack and the
+     * other half on the incoming stack, i.e. the shape a queue has in the middle of a steady-state run.
+     *
+     * @param size The number of elements.
+     * @return The queue.
+     */
+    static ImmutableQueue<Integer> balancedQueue(int size) {
+        int outgoing = size / 2;
+        ImmutableQueue<Integer> queue = ImmutableQueue.empty();
+        for (int i = 0; i <= outgoing; i++) {
+            queue = queue.enQueue(i);
+        }
+
+        // Forces the reversal of the incoming stack, then refills the incoming side.
+        queue = queue.deQueue();
+        for (int i = outgoing + 1; i <= size; i++) {
+            queue = queue.enQueue(i);
+        }
+
+        return queue;
+    }
+
+    /**
+     * Creates a queue of {@code size} elements where everything but the head sits on the incoming stack, i.e. the
+     * shape produced by enqueueing one element at a time. The next-but-one dequeue pays for a full reversal.
+     *
+     * @param size The number of elements.
+     * @return The queue.
+     */
+    static ImmutableQueue<Integer> reversalPendingQueue(int size) {
+        ImmutableQueue<Integer> queue = ImmutableQueue.empty();
+        for (int i = 0; i < size; i++) {
+            queue = queue.enQueue(i);
+        }
+
+        return queue;
+    }
+
+    /**
+     * Creates a stack holding {@code 0 .. size - 1}, with {@code size - 1} on top.
+     *
+     * @param size The number of elements.
+     * @return The stack.
+     */
+    static ImmutableStack<Integer> stack(int size) {
+        return ImmutableStack.createAll(values(size));
+    }
+}
@@ -0,0 +1,135 @@
+package com.paybay.challenge.benchmarks;
+
+import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.ImmutableStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Full passes over a queue and a stack with the external iterators against {@code forEach}, {@code fold},
+ * {@code anyMatch} and {@code forEachReverse}. Half of the queue is on its incoming stack and no version has reversed
+ * it, so the iterator pays for the reversal on its first pass; {@code queueIteratorFresh} and {@code queueForEachFresh}
+ * iterate a new version on every operation to show that cost, the other queue methods keep passing over the same
+ * version. Check {@code gc.alloc.rate.norm}: the internal passes allocate nothing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InternalIterationBenchmark {
+
+    private static final Predicate<Integer> NEGATIVE = new Predicate<Integer>() {
+        @Override
+        public boolean test(Integer value) {
+            return value < 0;
+        }
+    };
+
+    private static final BiFunction<Sum, Integer, Sum> ADD = new BiFunction<Sum, Integer, Sum>() {
+        @Override
+        public Sum apply(Sum sum, Integer value) {
+            sum.total += value;
+            return sum;
+        }
+    };
+
+    @Param({"100", "10000", "1000000"})
+    public int size;
+
+    private ImmutableQueue<Integer> queue;
+
+    private ImmutableStack<Integer> stack;
+
+    private Consumer<Integer> consume;
+
+    private Sum sum;
+
+    @Setup(Level.Trial)
+    public void setUp(final Blackhole blackhole) {
+        queue = Fixtures.balancedQueue(size);
+        stack = Fixtures.stack(size);
+        consume = new Consumer<Integer>() {
+            @Override
+            public void accept(Integer value) {
+                blackhole.consume(value);
+            }
+        };
+        sum = new Sum();
+    }
+
+    @Benchmark
+    public void queueIteratorFresh(Blackhole blackhole) {
+        for (Integer value : queue.enQueue(0)) {
+            blackhole.consume(value);
+        }
+    }
+
+    @Benchmark
+    public void queueForEachFresh() {
+        queue.enQueue(0).forEach(consume);
+    }
+
+    @Benchmark
+    public void queueForEach() {
+        queue.forEach(consume);
+    }
+
+    @Benchmark
+    public void queueForEachReverse() {
+        queue.forEachReverse(consume);
+    }
+
+    @Benchmark
+    public long queueFold() {
+        sum.total = 0;
+        return queue.fold(sum, ADD).total;
+    }
+
+    @Benchmark
+    public boolean queueAnyMatch() {
+        return queue.anyMatch(NEGATIVE);
+    }
+
+    @Benchmark
+    public void stackIterator(Blackhole blackhole) {
+        for (Integer value : stack) {
+            blackhole.consume(value);
+        }
+    }
+
+    @Benchmark
+    public void stackForEach() {
+        stack.forEach(consume);
+    }
+
+    @Benchmark
+    public void stackForEachReverse() {
+        stack.forEachReverse(consume);
+    }
+
+    /**
+     * A mutable fold result, so the fold itself allocates nothing.
+     */
+    private static final class Sum {
+
+        private long total;
+    }
+}
@@ -0,0 +1,58 @@
+package com.paybay.challenge.benchmarks;
+
+import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.ImmutableStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full passes with the external iterators of {@link ImmutableQueue} and {@link ImmutableStack}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IterationBenchmark {
+
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int size;
+
+    private ImmutableQueue<Integer> queue;
+
+    private ImmutableStack<Integer> stack;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        queue = Fixtures.balancedQueue(size);
+        stack = Fixtures.stack(size);
+    }
+
+    @Benchmark
+    public void queueIterator(Blackhole blackhole) {
+        for (Integer value : queue) {
+            blackhole.consume(value);
+        }
+    }
+
+    @Benchmark
+    public void stackIterator(Blackhole blackhole) {
+        for (Integer value : stack) {
+            blackhole.consume(value);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.paybay.challenge.benchmarks;
+
+import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.LazyQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A three stage transform (map, filter, map) over a queue, then either a full pass or a read of the first ten
+ * results: enqueueing each stage into a new {@link ImmutableQueue}, the same with {@link ImmutableQueue.Builder},
+ * and a chain of {@link LazyQueue} views.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LazyViewBenchmark {
+
+    private static final Function<Integer, Integer> ENRICH = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(Integer value) {
+            return value + 1;
+        }
+    };
+
+    private static final Predicate<Integer> KEEP = new Predicate<Integer>() {
+        @Override
+        public boolean test(Integer value) {
+            return (value & 1) == 0;
+        }
+    };
+
+    private static final Function<Integer, Integer> SCORE = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(Integer value) {
+            return value * 3;
+        }
+    };
+
+    @Param({"10000"})
+    public int size;
+
+    private ImmutableQueue<Integer> queue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        queue = Fixtures.balancedQueue(size);
+    }
+
+    @Benchmark
+    public long eagerEnQueue() {
+        ImmutableQueue<Integer> enriched = ImmutableQueue.empty();
+        for (Integer value : queue) {
+            enriched = enriched.enQueue(ENRICH.apply(value));
+        }
+
+        ImmutableQueue<Integer> kept = ImmutableQueue.empty();
+        for (Integer value : enriched) {
+            if (KEEP.test(value)) {
+                kept = kept.enQueue(value);
+            }
+        }
+
+        ImmutableQueue<Integer> scored = ImmutableQueue.empty();
+        for (Integer value : kept) {
+            scored = scored.enQueue(SCORE.apply(value));
+        }
+
+        return sum(scored, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public long eagerBuilder() {
+        ImmutableQueue.Builder<Integer> enriched = ImmutableQueue.builder();
+        for (Integer value : queue) {
+            enriched.add(ENRICH.apply(value));
+        }
+
+        ImmutableQueue.Builder<Integer> kept = ImmutableQueue.builder();
+        for (Integer value : enriched.build()) {
+            if (KEEP.test(value)) {
+                kept.add(value);
+            }
+        }
+
+        ImmutableQueue.Builder<Integer> scored = ImmutableQueue.builder();
+        for (Integer value : kept.build()) {
+            scored.add(SCORE.apply(value));
+        }
+
+        return sum(scored.build(), Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public long lazy() {
+        return sum(view(), Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public long eagerEnQueueFirstTen() {
+        ImmutableQueue<Integer> enriched = ImmutableQueue.empty();
+        for (Integer value : queue) {
+            enriched = enriched.enQueue(ENRICH.apply(value));
+        }
+
+        ImmutableQueue<Integer> kept = ImmutableQueue.empty();
+        for (Integer value : enriched) {
+            if (KEEP.test(value)) {
+                kept = kept.enQueue(value);
+            }
+        }
+
+        ImmutableQueue<Integer> scored = ImmutableQueue.empty();
+        for (Integer value : kept) {
+            scored = scored.enQueue(SCORE.apply(value));
+        }
+
+        return sum(scored, 10);
+    }
+
+    @Benchmark
+    public long lazyFirstTen() {
+        return sum(view(), 10);
+    }
+
+    private LazyQueue<Integer> view() {
+        return LazyQueue.of(queue).map(ENRICH).filter(KEEP).map(SCORE);
+    }
+
+    private static long sum(Iterable<Integer> values, int limit) {
+        long sum = 0;
+        int count = 0;
+        for (Integer value : values) {
+            if (count++ == limit) {
+                break;
+            }
+
+            sum += value;
+        }
+
+        return sum;
+    }
+}
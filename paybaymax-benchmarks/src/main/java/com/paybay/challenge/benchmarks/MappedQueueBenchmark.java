@@ -0,0 +1,100 @@
+package com.paybay.challenge.benchmarks;
+
+import com.paybay.challenge.io.ElementCodecs;
+import com.paybay.challenge.io.MappedQueue;
+import com.paybay.challenge.io.MappedQueueStore;
+import com.paybay.challenge.types.ImmutableQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steady-state FIFO churn of {@code size} queued longs in the memory-mapped {@link MappedQueue} against the in-heap
+ * {@link ImmutableQueue}. The gc profiler shows the heap cost per operation, which for the mapped queue does not
+ * depend on {@code size}. The mapped queue commits every {@value #COMMIT_INTERVAL} operations so that consumed
+ * segments are reclaimed.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MappedQueueBenchmark {
+
+    private static final int COMMIT_INTERVAL = 1 << 20;
+
+    @Param({"100", "1000000"})
+    public int size;
+
+    private Path directory;
+
+    private MappedQueueStore<Long> store;
+
+    private MappedQueue<Long> mapped;
+
+    private ImmutableQueue<Long> heap;
+
+    private long value;
+
+    private int operations;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("mapped-queue-benchmark");
+        store = MappedQueueStore.open(directory, ElementCodecs.int64(), 16 << 20);
+        mapped = store.queue();
+        heap = ImmutableQueue.empty();
+        for (value = 0; value < size; value++) {
+            mapped = mapped.enQueue(value);
+            heap = heap.enQueue(value);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.close();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public Long mappedChurn() throws IOException {
+        MappedQueue<Long> next = mapped.enQueue(value++).deQueue();
+        mapped = next;
+        if (++operations == COMMIT_INTERVAL) {
+            operations = 0;
+            store.commit(next);
+        }
+
+        return next.head();
+    }
+
+    @Benchmark
+    public Long heapChurn() {
+        ImmutableQueue<Long> next = heap.enQueue(value++).deQueue();
+        heap = next;
+        return next.head();
+    }
+}
@@ -0,0 +1,55 @@
+package com.paybay.challenge.benchmarks;
+
+import com.paybay.challenge.types.ImmutableBoundedQueue;
+import com.paybay.challenge.types.ImmutableChunkedQueue;
+import com.paybay.challenge.types.ImmutableChunkedStack;
+import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.ImmutableStack;
+import com.paybay.challenge.types.WindowPolicy;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Prints the retained heap per element of the queue and stack layouts, measured with JOL.
+ *
+ * The element objects themselves are shared between all layouts and excluded from the figures, so the numbers are the
+ * pure structural overhead. Run with {@code java -cp target/benchmarks.jar
+ * com.paybay.challenge.benchmarks.MemoryFootprint [size]}.
+ */
+public class MemoryFootprint {
+
+    private MemoryFootprint() {
+    }
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        Integer element = 42;
+
+        ImmutableStack<Integer> linkedStack = ImmutableStack.empty();
+        ImmutableChunkedStack<Integer> chunkedStack = ImmutableChunkedStack.empty();
+        ImmutableQueue<Integer> linkedQueue = ImmutableQueue.empty();
+        ImmutableChunkedQueue<Integer> chunkedQueue = ImmutableChunkedQueue.empty();
+        ImmutableBoundedQueue<Integer> window = WindowPolicy.<Integer>capacity(size).empty();
+        for (int i = 0; i < size; i++) {
+            linkedStack = linkedStack.push(element);
+            chunkedStack = chunkedStack.push(element);
+            linkedQueue = linkedQueue.enQueue(element);
+            chunkedQueue = chunkedQueue.enQueue(element);
+            window = window.enQueue(element);
+        }
+
+        report("ImmutableStack", linkedStack, element, size);
+        report("ImmutableChunkedStack", chunkedStack, element, size);
+        report("ImmutableQueue", linkedQueue, element, size);
+        report("ImmutableChunkedQueue", chunkedQueue, element, size);
+        report("ImmutableBoundedQueue", window, element, size);
+    }
+
+    /**
+     * Prints the bytes retained by {@code root} per element, excluding the shared element instance.
+     */
+    static void report(String name, Object root, Object element, int size) {
+        long total = GraphLayout.parseInstance(root).totalSize() - GraphLayout.parseInstance(element).totalSize();
+        System.out.printf("%-24s %,12d elements %,14d bytes %8.2f bytes/element%n",
+                name, size, total, (double)total / size);
+    }
+}
@@ -0,0 +1,92 @@
+package com.paybay.challenge.benchmarks;
+
+import com.paybay.challenge.metrics.QueueMetrics;
+import com.paybay.challenge.types.ImmutableQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of {@link QueueMetrics}: the same FIFO churn and iteration run in a fork with metrics off (the default)
+ * and in a fork started with {@code -Dcom.paybay.challenge.metrics=true}. The disabled numbers are meant to match
+ * {@link QueueChurnBenchmark} and {@link IterationBenchmark}. The enabled fork prints the counters at the end.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MetricsOverheadBenchmark {
+
+    @Param({"10000"})
+    public int size;
+
+    private ImmutableQueue<Integer> queue;
+
+    private Integer value;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        queue = Fixtures.balancedQueue(size);
+        value = size;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (QueueMetrics.isEnabled()) {
+            System.out.printf("%nenqueues %,d, dequeues %,d, reversals %,d, iterators %,d, nodes %,d%n",
+                    QueueMetrics.enqueues(), QueueMetrics.dequeues(), QueueMetrics.reversals(),
+                    QueueMetrics.iterators(), QueueMetrics.nodesAllocated());
+        }
+    }
+
+    @Benchmark
+    public Integer churnDisabled() {
+        return churn();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-D" + QueueMetrics.PROPERTY + "=true")
+    public Integer churnEnabled() {
+        return churn();
+    }
+
+    @Benchmark
+    public int iterateDisabled() {
+        return iterate();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-D" + QueueMetrics.PROPERTY + "=true")
+    public int iterateEnabled() {
+        return iterate();
+    }
+
+    private Integer churn() {
+        ImmutableQueue<Integer> next = queue.enQueue(value).deQueue();
+        queue = next;
+        return next.head();
+    }
+
+    private int iterate() {
+        int sum = 0;
+        for (Integer element : queue) {
+            sum += element;
+        }
+
+        return sum;
+    }
+}
@@ -0,0 +1,97 @@
+package com.paybay.challenge.benchmarks;
+
+import com.paybay.challenge.concurrent.ConcurrentPersistentQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Multi-producer multi-consumer throughput of {@link ConcurrentPersistentQueue} against
+ * {@link ConcurrentLinkedQueue} and {@link ArrayBlockingQueue}.
+ *
+ * Every thread both produces and consumes, so the channel stays short and the measurement is dominated by contention
+ * on the head and tail. {@code batch} elements are offered and then polled per invocation; the batched variant of the
+ * persistent channel moves them with one compare-and-set each way. Use {@code -t} to change the thread count.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class MpmcChannelBenchmark {
+
+    @Param({"1", "16"})
+    public int batch;
+
+    private ConcurrentPersistentQueue<Integer> persistent;
+
+    private ConcurrentLinkedQueue<Integer> linked;
+
+    private ArrayBlockingQueue<Integer> arrayBlocking;
+
+    private Integer[] values;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        persistent = new ConcurrentPersistentQueue<Integer>();
+        linked = new ConcurrentLinkedQueue<Integer>();
+        arrayBlocking = new ArrayBlockingQueue<Integer>(1 << 16);
+        values = Fixtures.values(batch).toArray(new Integer[0]);
+    }
+
+    @Benchmark
+    public void persistentSingle(Blackhole blackhole) {
+        for (Integer value : values) {
+            persistent.offer(value);
+        }
+
+        for (int i = 0; i < values.length; i++) {
+            blackhole.consume(persistent.poll());
+        }
+    }
+
+    @Benchmark
+    public void persistentBatch(Blackhole blackhole) {
+        persistent.offerAll(values);
+        blackhole.consume(persistent.pollBatch(values.length));
+    }
+
+    @Benchmark
+    public void concurrentLinkedQueue(Blackhole blackhole) {
+        for (Integer value : values) {
+            linked.offer(value);
+        }
+
+        for (int i = 0; i < values.length; i++) {
+            blackhole.consume(linked.poll());
+        }
+    }
+
+    @Benchmark
+    public void arrayBlockingQueue(Blackhole blackhole) {
+        arrayBlocking.addAll(Arrays.asList(values));
+        List<Integer> sink = new ArrayList<Integer>(values.length);
+        arrayBlocking.drainTo(sink, values.length);
+        blackhole.consume(sink);
+    }
+}
@@ -0,0 +1,115 @@
+package com.paybay.challenge.benchmarks;
+
+import com.paybay.challenge.types.ImmutableChunkedQueue;
+import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.Queue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reduction over a queue snapshot: sequential stream, parallel stream with the sized spliterators, and a parallel
+ * stream over the unsized iterator-based spliterator that {@link Iterable} provides by default. Run with
+ * {@code -p parallelism=1,2,4,8} to see the scaling across cores; the parallel streams run in a fork-join pool of that
+ * size.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelStreamBenchmark {
+
+    /**
+     * A per-element computation heavy enough for the split overhead to matter less than the work.
+     */
+    private static final ToLongFunction<Integer> WORK = new ToLongFunction<Integer>() {
+        @Override
+        public long applyAsLong(Integer value) {
+            long x = value;
+            for (int i = 0; i < 16; i++) {
+                x = x * 6364136223846793005L + 1442695040888963407L;
+            }
+
+            return x >>> 48;
+        }
+    };
+
+    @Param({"linked", "chunked"})
+    public String layout;
+
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    @Param({"4"})
+    public int parallelism;
+
+    private Queue<Integer> queue;
+
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new ForkJoinPool(parallelism);
+
+        queue = "linked".equals(layout) ? ImmutableQueue.<Integer>empty() : ImmutableChunkedQueue.<Integer>empty();
+        for (int i = 0; i < size; i++) {
+            queue = queue.enQueue(i);
+        }
+
+        // Half of the elements on each stack.
+        for (int i = 0; i < size / 2; i++) {
+            queue = queue.deQueue().enQueue(i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public long sequential() {
+        return queue.stream().mapToLong(WORK).sum();
+    }
+
+    @Benchmark
+    public long parallel() throws Exception {
+        return pool.submit(new Callable<Long>() {
+            @Override
+            public Long call() {
+                return queue.parallelStream().mapToLong(WORK).sum();
+            }
+        }).get();
+    }
+
+    @Benchmark
+    public long parallelUnsized() throws Exception {
+        return pool.submit(new Callable<Long>() {
+            @Override
+            public Long call() {
+                Spliterator<Integer> spliterator = Spliterators.spliteratorUnknownSize(queue.iterator(), 0);
+                return StreamSupport.stream(spliterator, true).mapToLong(WORK).sum();
+            }
+        }).get();
+    }
+}
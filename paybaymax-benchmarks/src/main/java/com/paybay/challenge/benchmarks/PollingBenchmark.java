@@ -0,0 +1,123 @@
+package com.paybay.challenge.benchmarks;
+
+import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.ImmutableStack;
+import com.paybay.challenge.types.Polled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.EmptyStackException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polling an empty queue, as a consumer spinning on it does, by catching {@link EmptyStackException} against
+ * {@code headOrNull()} and {@code pollHead()}; and draining a queue and a stack with {@code head()}/{@code deQueue()}
+ * and {@code peek()}/{@code pop()} against {@code pollHead()}, {@code tryPop()}, {@link ImmutableQueue.Poller} and
+ * {@link ImmutableStack.Popper}.
+ * Compare {@code gc.alloc.rate.norm}: whether the {@link Polled} results are scalar replaced depends on the JDK.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PollingBenchmark {
+
+    @Param({"1000"})
+    public int size;
+
+    private ImmutableQueue<Integer> empty;
+
+    private ImmutableQueue<Integer> queue;
+
+    private ImmutableStack<Integer> stack;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        empty = ImmutableQueue.empty();
+        queue = Fixtures.balancedQueue(size);
+        stack = Fixtures.stack(size);
+    }
+
+    @Benchmark
+    public Integer emptyCatch() {
+        try {
+            return empty.head();
+        } catch (EmptyStackException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public Integer emptyHeadOrNull() {
+        return empty.headOrNull();
+    }
+
+    @Benchmark
+    public Object emptyPollHead() {
+        return empty.pollHead();
+    }
+
+    @Benchmark
+    public boolean emptyPoller() {
+        return empty.poller().poll();
+    }
+
+    @Benchmark
+    public void queueHeadDeQueue(Blackhole blackhole) {
+        for (ImmutableQueue<Integer> q = queue; !q.isEmpty(); q = q.deQueue()) {
+            blackhole.consume(q.head());
+        }
+    }
+
+    @Benchmark
+    public void queuePollHead(Blackhole blackhole) {
+        for (Polled<Integer, ImmutableQueue<Integer>> polled = queue.pollHead(); polled != null;
+                polled = polled.rest().pollHead()) {
+            blackhole.consume(polled.head());
+        }
+    }
+
+    @Benchmark
+    public void queuePoller(Blackhole blackhole) {
+        ImmutableQueue.Poller<Integer> poller = queue.poller();
+        while (poller.poll()) {
+            blackhole.consume(poller.head());
+        }
+    }
+
+    @Benchmark
+    public void stackPeekPop(Blackhole blackhole) {
+        for (ImmutableStack<Integer> s = stack; !s.isEmpty(); s = s.pop()) {
+            blackhole.consume(s.peek());
+        }
+    }
+
+    @Benchmark
+    public void stackTryPop(Blackhole blackhole) {
+        for (Polled<Integer, ImmutableStack<Integer>> popped = stack.tryPop(); popped != null;
+                popped = popped.rest().tryPop()) {
+            blackhole.consume(popped.head());
+        }
+    }
+
+    @Benchmark
+    public void stackPopper(Blackhole blackhole) {
+        ImmutableStack.Popper<Integer> popper = stack.popper();
+        while (popper.pop()) {
+            blackhole.consume(popper.head());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.paybay.challenge.benchmarks;
+
+import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.primitive.ImmutableLongQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * {@code ImmutableQueue<Long>} against the unboxed {@link ImmutableLongQueue}. The enqueued values are timestamps
+ * outside of the {@link Long#valueOf(long)} cache, so the boxed queue allocates a {@link Long} per element.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrimitiveQueueBenchmark {
+
+    private static final long EPOCH = 1_500_000_000_000L;
+
+    @Param({"100", "10000", "1000000"})
+    public int size;
+
+    private ImmutableQueue<Long> boxedFilled;
+
+    private ImmutableLongQueue primitiveFilled;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boxedFilled = ImmutableQueue.empty();
+        primitiveFilled = ImmutableLongQueue.empty();
+        for (int i = 0; i < size; i++) {
+            boxedFilled = boxedFilled.enQueue(EPOCH + i);
+            primitiveFilled = primitiveFilled.enQueue(EPOCH + i);
+        }
+    }
+
+    @Benchmark
+    public long boxedEnQueueThenDrain() {
+        ImmutableQueue<Long> queue = ImmutableQueue.empty();
+        for (int i = 0; i < size; i++) {
+            queue = queue.enQueue(EPOCH + i);
+        }
+
+        long sum = 0;
+        while (!queue.isEmpty()) {
+            sum += queue.head();
+            queue = queue.deQueue();
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public long primitiveEnQueueThenDrain() {
+        ImmutableLongQueue queue = ImmutableLongQueue.empty();
+        for (int i = 0; i < size; i++) {
+            queue = queue.enQueue(EPOCH + i);
+        }
+
+        long sum = 0;
+        while (!queue.isEmpty()) {
+            sum += queue.headLong();
+            queue = queue.deQueue();
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public void boxedIterate(Blackhole blackhole) {
+        for (Long value : boxedFilled) {
+            blackhole.consume(value.longValue());
+        }
+    }
+
+    @Benchmark
+    public void primitiveForEach(final Blackhole blackhole) {
+        primitiveFilled.forEach(new LongConsumer() {
+            @Override
+            public void accept(long value) {
+                blackhole.consume(value);
+            }
+        });
+    }
+}
@@ -0,0 +1,77 @@
+package com.paybay.challenge.benchmarks;
+
+import com.paybay.challenge.types.ImmutablePriorityQueue;
+import com.paybay.challenge.types.ImmutableQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One scheduler tick over {@code size} job deadlines: copying an {@link ImmutableQueue} into a
+ * {@link PriorityQueue} to find the earliest job, against an {@link ImmutablePriorityQueue} that finds it, removes it
+ * and schedules a new job.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PriorityQueueBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int size;
+
+    private ImmutableQueue<Long> jobs;
+
+    private ImmutablePriorityQueue<Long> heap;
+
+    private Random random;
+
+    private long now;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = new Random(42);
+        jobs = ImmutableQueue.empty();
+        heap = ImmutablePriorityQueue.empty();
+        for (int i = 0; i < size; i++) {
+            Long deadline = (long)random.nextInt(size);
+            jobs = jobs.enQueue(deadline);
+            heap = heap.insert(deadline);
+        }
+
+        now = 0;
+    }
+
+    @Benchmark
+    public Long copyIntoPriorityQueue() {
+        PriorityQueue<Long> copy = new PriorityQueue<Long>(size);
+        for (Long deadline : jobs) {
+            copy.add(deadline);
+        }
+
+        return copy.peek();
+    }
+
+    @Benchmark
+    public Long persistentHeap() {
+        Long earliest = heap.findMin();
+        now = earliest;
+        heap = heap.deleteMin().insert(now + random.nextInt(size));
+        return earliest;
+    }
+}
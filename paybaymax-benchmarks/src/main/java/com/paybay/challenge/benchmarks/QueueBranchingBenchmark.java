@@ -0,0 +1,59 @@
+package com.paybay.challenge.benchmarks;
+
+import com.paybay.challenge.types.ImmutableQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistent branching: many versions are derived from one shared queue whose outgoing stack holds a single element,
+ * so dequeueing from a version needs the reversed incoming stack.
+ *
+ * <ul>
+ *     <li>{@link #deQueueSharedVersion()} dequeues the very same version over and over.</li>
+ *     <li>{@link #enQueueThenDeQueueBranch()} derives a fresh version (one extra enqueue) and dequeues from it, which
+ *     is the worst case for the amortized two-stack design.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class QueueBranchingBenchmark {
+
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int size;
+
+    private ImmutableQueue<Integer> base;
+
+    private Integer value;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        base = Fixtures.reversalPendingQueue(size);
+        value = size;
+    }
+
+    @Benchmark
+    public ImmutableQueue<Integer> deQueueSharedVersion() {
+        return base.deQueue();
+    }
+
+    @Benchmark
+    public ImmutableQueue<Integer> enQueueThenDeQueueBranch() {
+        return base.enQueue(value).deQueue();
+    }
+}
@@ -0,0 +1,45 @@
+package com.paybay.challenge.benchmarks;
+
+import com.paybay.challenge.types.ImmutableQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Burst enqueue followed by a full drain. One benchmark operation enqueues {@code size} elements into an empty queue
+ * and then dequeues all of them, so the first dequeue pays for reversing the whole incoming stack.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class QueueBurstBenchmark {
+
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int size;
+
+    @Benchmark
+    public void burstThenDrain(Blackhole blackhole) {
+        ImmutableQueue<Integer> queue = ImmutableQueue.empty();
+        for (int i = 0; i < size; i++) {
+            queue = queue.enQueue(i);
+        }
+
+        while (!queue.isEmpty()) {
+            blackhole.consume(queue.head());
+            queue = queue.deQueue();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.paybay.challenge.benchmarks;
+
+import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.ImmutableRealTimeQueue;
+import com.paybay.challenge.types.Queue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-operation latency histogram of the amortized {@link ImmutableQueue} against the worst-case constant time
+ * {@link ImmutableRealTimeQueue}.
+ *
+ * Every invocation is a single enQueue or deQueue of a workload that enqueues {@code burst} elements and then drains
+ * them all. The sample-time mode reports the latency distribution (p50 .. p99.99, max), where the amortized queue
+ * shows the full reversal on the first dequeue of every drain.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class QueueLatencyBenchmark {
+
+    @Param({"amortized", "realTime"})
+    public String implementation;
+
+    @Param({"10000", "1000000"})
+    public int burst;
+
+    private Queue<Integer> queue;
+
+    private boolean draining;
+
+    private int pending;
+
+    private Integer value;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("amortized".equals(implementation)) {
+            queue = ImmutableQueue.empty();
+        } else {
+            queue = ImmutableRealTimeQueue.empty();
+        }
+
+        draining = false;
+        pending = 0;
+        value = 1;
+    }
+
+    @Benchmark
+    public Queue<Integer> operation() {
+        Queue<Integer> current = queue;
+        if (draining) {
+            current = current.deQueue();
+            if (--pending == 0) {
+                draining = false;
+            }
+        } else {
+            current = current.enQueue(value);
+            if (++pending == burst) {
+                draining = true;
+            }
+        }
+
+        queue = current;
+        return current;
+    }
+}
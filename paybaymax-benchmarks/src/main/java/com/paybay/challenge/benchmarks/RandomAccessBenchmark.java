@@ -0,0 +1,93 @@
+package com.paybay.challenge.benchmarks;
+
+import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.ImmutableVectorQueue;
+import com.paybay.challenge.types.Split;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and patching the element at a random position: walking the linked {@link ImmutableQueue} against
+ * {@link ImmutableVectorQueue#get(int)} and {@link ImmutableVectorQueue#set(int, Object)}, plus FIFO churn of both.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RandomAccessBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int size;
+
+    private ImmutableQueue<Integer> queue;
+
+    private ImmutableVectorQueue<Integer> vector;
+
+    private Random random;
+
+    private Integer value;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        queue = Fixtures.balancedQueue(size);
+        vector = ImmutableVectorQueue.createAll(Fixtures.values(size));
+        random = new Random(42);
+        value = -1;
+    }
+
+    @Benchmark
+    public Integer linkedGet() {
+        Iterator<Integer> iterator = queue.iterator();
+        for (int i = random.nextInt(size); i > 0; i--) {
+            iterator.next();
+        }
+
+        return iterator.next();
+    }
+
+    @Benchmark
+    public Integer vectorGet() {
+        return vector.get(random.nextInt(size));
+    }
+
+    @Benchmark
+    public ImmutableQueue<Integer> linkedSet() {
+        Split<ImmutableQueue<Integer>> split = queue.split(random.nextInt(size));
+        return split.front().enQueue(value).enQueueAll(split.rest().deQueue());
+    }
+
+    @Benchmark
+    public ImmutableVectorQueue<Integer> vectorSet() {
+        return vector.set(random.nextInt(size), value);
+    }
+
+    @Benchmark
+    public Integer linkedChurn() {
+        ImmutableQueue<Integer> next = queue.enQueue(value).deQueue();
+        queue = next;
+        return next.head();
+    }
+
+    @Benchmark
+    public Integer vectorChurn() {
+        ImmutableVectorQueue<Integer> next = vector.enQueue(value).deQueue();
+        vector = next;
+        return next.head();
+    }
+}
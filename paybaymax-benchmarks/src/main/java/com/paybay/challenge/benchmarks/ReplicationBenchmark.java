@@ -0,0 +1,119 @@
+package com.paybay.challenge.benchmarks;
+
+import com.paybay.challenge.io.ElementCodecs;
+import com.paybay.challenge.io.SnapshotReader;
+import com.paybay.challenge.io.SnapshotWriter;
+import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.QueueDelta;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replication of a queue of {@code size} longs to an in-process replica over a loopback buffer. Each operation
+ * enqueues and dequeues {@code changes} elements on the primary, ships the new version and applies it on the replica,
+ * either as a {@link QueueDelta} or as a full snapshot. The average number of bytes shipped per operation is printed
+ * at the end of each trial.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReplicationBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    @Param({"1", "16"})
+    public int changes;
+
+    private ImmutableQueue<Long> primary;
+
+    private ImmutableQueue<Long> replica;
+
+    private long next;
+
+    private ByteBuffer wire;
+
+    private SnapshotWriter writer;
+
+    private long operations;
+
+    private long bytes;
+
+    private long fullSnapshots;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ImmutableQueue.Builder<Long> builder = ImmutableQueue.builder();
+        for (next = 0; next < size; next++) {
+            builder.add(next);
+        }
+
+        primary = builder.build();
+        replica = primary;
+        wire = ByteBuffer.allocate(size * Long.BYTES + 1024);
+        writer = new SnapshotWriter(wire);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n%,d bytes shipped per operation, %,d full snapshots in %,d operations%n",
+                bytes / operations, fullSnapshots, operations);
+    }
+
+    @Benchmark
+    public ImmutableQueue<Long> delta() throws IOException {
+        ImmutableQueue<Long> base = primary;
+        advance();
+        QueueDelta<Long> delta = QueueDelta.between(base, primary);
+        if (delta.isFull()) {
+            fullSnapshots++;
+        }
+
+        wire.clear();
+        writer.writeDelta(delta, ElementCodecs.int64());
+        wire.flip();
+        ship();
+        replica = new SnapshotReader(wire).readDelta(ElementCodecs.int64()).applyTo(replica);
+        return replica;
+    }
+
+    @Benchmark
+    public ImmutableQueue<Long> fullSnapshot() throws IOException {
+        advance();
+        wire.clear();
+        writer.writeQueue(primary, ElementCodecs.int64());
+        wire.flip();
+        ship();
+        replica = new SnapshotReader(wire).readQueue(ElementCodecs.int64());
+        return replica;
+    }
+
+    private void advance() {
+        for (int i = 0; i < changes; i++) {
+            primary = primary.enQueue(next++).deQueue();
+        }
+    }
+
+    private void ship() {
+        operations++;
+        bytes += wire.remaining();
+    }
+}
@@ -0,0 +1,75 @@
+package com.paybay.challenge.benchmarks;
+
+import com.paybay.challenge.types.ImmutableQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistent readers of one queue version whose next dequeues run the outgoing stack dry, so each of them needs the
+ * reversal of the same {@code size}-element incoming stack.
+ *
+ * Each operation publishes a fresh version and lets {@code readers} readers dequeue their way through it, each on its
+ * own chain of versions. With the reversal shared by every version holding the same incoming stack, the work per
+ * operation stays one reversal whatever the number of readers.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReversalSharingBenchmark {
+
+    @Param({"10000"})
+    public int size;
+
+    @Param({"1", "4", "16"})
+    public int readers;
+
+    private ImmutableQueue<Integer> base;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        base = readerQueue(readers, size);
+    }
+
+    @Benchmark
+    public void derivedReaders(Blackhole blackhole) {
+        ImmutableQueue<Integer> version = base.enQueue(next++);
+        for (int reader = 0; reader < readers; reader++) {
+            ImmutableQueue<Integer> view = version;
+            for (int i = 0; i < readers; i++) {
+                view = view.deQueue();
+            }
+
+            blackhole.consume(view.head());
+        }
+    }
+
+    /**
+     * Builds a queue with {@code outgoing} elements on the outgoing stack and {@code incoming} on the incoming stack.
+     */
+    private static ImmutableQueue<Integer> readerQueue(int outgoing, int incoming) {
+        ImmutableQueue<Integer> queue = ImmutableQueue.createAll(Fixtures.values(outgoing));
+        for (int i = 0; i < incoming; i++) {
+            queue = queue.enQueue(outgoing + i);
+        }
+
+        return queue;
+    }
+}
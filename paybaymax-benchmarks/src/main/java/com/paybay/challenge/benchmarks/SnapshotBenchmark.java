@@ -0,0 +1,117 @@
+package com.paybay.challenge.benchmarks;
+
+import com.paybay.challenge.io.ElementCodecs;
+import com.paybay.challenge.io.SnapshotReader;
+import com.paybay.challenge.io.SnapshotWriter;
+import com.paybay.challenge.types.ImmutableQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trip (write then read back) of a queue of {@code size} longs and of {@code size} short strings, through the
+ * snapshot format and through Java serialization. The queues are not {@link java.io.Serializable}, so the Java
+ * serialization baseline writes their elements as an {@link ArrayList} and rebuilds the queue with
+ * {@link ImmutableQueue#createAll}. The encoded sizes are printed once per trial.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SnapshotBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private ImmutableQueue<Long> longs;
+
+    private ImmutableQueue<String> strings;
+
+    private ByteArrayOutputStream out;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, ClassNotFoundException {
+        ImmutableQueue.Builder<Long> longBuilder = ImmutableQueue.builder();
+        ImmutableQueue.Builder<String> stringBuilder = ImmutableQueue.builder();
+        for (long i = 0; i < size; i++) {
+            longBuilder.add(i * 1000003L);
+            stringBuilder.add("element-" + i);
+        }
+
+        longs = longBuilder.build();
+        strings = stringBuilder.build();
+        out = new ByteArrayOutputStream();
+
+        snapshotLongs();
+        int snapshotLongBytes = out.size();
+        serializeLongs();
+        int serializedLongBytes = out.size();
+        snapshotStrings();
+        int snapshotStringBytes = out.size();
+        serializeStrings();
+        int serializedStringBytes = out.size();
+        System.out.printf("%nlongs:   snapshot %,d bytes, serialization %,d bytes%n", snapshotLongBytes, serializedLongBytes);
+        System.out.printf("strings: snapshot %,d bytes, serialization %,d bytes%n", snapshotStringBytes, serializedStringBytes);
+    }
+
+    @Benchmark
+    public ImmutableQueue<Long> snapshotLongs() throws IOException {
+        out.reset();
+        new SnapshotWriter(out).writeQueue(longs, ElementCodecs.int64());
+        return new SnapshotReader(new ByteArrayInputStream(out.toByteArray())).readQueue(ElementCodecs.int64());
+    }
+
+    @Benchmark
+    public ImmutableQueue<Long> serializeLongs() throws IOException, ClassNotFoundException {
+        return serialize(longs);
+    }
+
+    @Benchmark
+    public ImmutableQueue<String> snapshotStrings() throws IOException {
+        out.reset();
+        new SnapshotWriter(out).writeQueue(strings, ElementCodecs.utf8());
+        return new SnapshotReader(new ByteArrayInputStream(out.toByteArray())).readQueue(ElementCodecs.utf8());
+    }
+
+    @Benchmark
+    public ImmutableQueue<String> serializeStrings() throws IOException, ClassNotFoundException {
+        return serialize(strings);
+    }
+
+    private <T> ImmutableQueue<T> serialize(ImmutableQueue<T> queue) throws IOException, ClassNotFoundException {
+        out.reset();
+        ArrayList<T> elements = new ArrayList<T>(queue.size());
+        for (T element : queue) {
+            elements.add(element);
+        }
+
+        try (ObjectOutputStream objects = new ObjectOutputStream(out)) {
+            objects.writeObject(elements);
+        }
+
+        try (ObjectInputStream objects = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            @SuppressWarnings("unchecked")
+            ArrayList<T> read = (ArrayList<T>)objects.readObject();
+            return ImmutableQueue.createAll(read);
+        }
+    }
+}
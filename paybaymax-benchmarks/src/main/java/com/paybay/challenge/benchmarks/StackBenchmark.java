@@ -0,0 +1,61 @@
+package com.paybay.challenge.benchmarks;
+
+import com.paybay.challenge.types.ImmutableStack;
+import com.paybay.challenge.types.StackAccess;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ImmutableStack} primitives: a push, a full pop-drain and a full reversal, the last through {@link StackAccess}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StackBenchmark {
+
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int size;
+
+    private ImmutableStack<Integer> stack;
+
+    private Integer value;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        stack = Fixtures.stack(size);
+        value = size;
+    }
+
+    @Benchmark
+    public ImmutableStack<Integer> push() {
+        return stack.push(value);
+    }
+
+    @Benchmark
+    public void popAll(Blackhole blackhole) {
+        for (ImmutableStack<Integer> s = stack; !s.isEmpty(); s = s.pop()) {
+            blackhole.consume(s.peek());
+        }
+    }
+
+    @Benchmark
+    public ImmutableStack<Integer> reverse() {
+        return StackAccess.reverse(stack);
+    }
+}
@@ -0,0 +1,97 @@
+package com.paybay.challenge.benchmarks;
+
+import com.paybay.challenge.types.ImmutableBoundedQueue;
+import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.WindowPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Sliding window of the last {@code capacity} elements, one enqueue per operation on a full window: the manual
+ * pattern with an {@link ImmutableQueue} (checking the size by iteration, as before {@code size()} existed, and with
+ * {@code size()}) against {@link ImmutableBoundedQueue}, with and without an eviction callback.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WindowBenchmark {
+
+    @Param({"100", "10000"})
+    public int capacity;
+
+    private ImmutableQueue<Integer> queue;
+
+    private ImmutableBoundedQueue<Integer> window;
+
+    private Integer value;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        queue = Fixtures.balancedQueue(capacity);
+        window = WindowPolicy.<Integer>capacity(capacity).empty().enQueueAll(Fixtures.values(capacity));
+        value = capacity;
+    }
+
+    @Benchmark
+    public Integer manualByIteration() {
+        ImmutableQueue<Integer> next = queue.enQueue(value);
+        int count = 0;
+        for (Integer ignored : next) {
+            count++;
+        }
+
+        if (count > capacity) {
+            next = next.deQueue();
+        }
+
+        queue = next;
+        return next.head();
+    }
+
+    @Benchmark
+    public Integer manualBySize() {
+        ImmutableQueue<Integer> next = queue.enQueue(value);
+        if (next.size() > capacity) {
+            next = next.deQueue();
+        }
+
+        queue = next;
+        return next.head();
+    }
+
+    @Benchmark
+    public Integer bounded() {
+        ImmutableBoundedQueue<Integer> next = window.enQueue(value);
+        window = next;
+        return next.head();
+    }
+
+    @Benchmark
+    public Integer boundedWithEviction(final Blackhole blackhole) {
+        ImmutableBoundedQueue<Integer> next = window.enQueue(value, new Consumer<Integer>() {
+            @Override
+            public void accept(Integer evicted) {
+                blackhole.consume(evicted);
+            }
+        });
+        window = next;
+        return next.head();
+    }
+}
@@ -0,0 +1,22 @@
+package com.paybay.challenge.types;
+
+/**
+ * Exposes package-private {@link ImmutableStack} operations to the benchmarks. It lives in the library's package so
+ * the operations can be measured without being made part of the public API.
+ */
+public final class StackAccess {
+
+    private StackAccess() {
+    }
+
+    /**
+     * Reverses a stack, as the two stack queues do with their incoming stack.
+     *
+     * @param <T> The type of element stored by the stack.
+     * @param stack The stack to reverse.
+     * @return The reversed stack.
+     */
+    public static <T> ImmutableStack<T> reverse(ImmutableStack<T> stack) {
+        return stack.reverse();
+    }
+}
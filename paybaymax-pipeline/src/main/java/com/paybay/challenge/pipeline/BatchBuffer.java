@@ -0,0 +1,251 @@
+package com.paybay.challenge.pipeline;
+
+import com.paybay.challenge.concurrent.ConcurrentPersistentQueue;
+import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.Queue;
+import com.paybay.challenge.utils.TypeCheckUtil;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The bounded hand-off between two pipeline stages. Producers add elements to a {@link ConcurrentPersistentQueue}
+ * without locking; consumers take micro-batches as persistent {@link ImmutableQueue} snapshots, so a batch is handed
+ * to the next stage without copying.
+ *
+ * Backpressure: a producer takes one permit per element and blocks while the buffer holds {@code capacity}
+ * elements; consumers give the permits back as they take batches. A consumer waits until {@code batchSize} elements
+ * are buffered, or until {@code maxDelay} has passed since it first saw an element, whichever comes first.
+ *
+ * Blocking uses {@link ReentrantLock} and {@link Semaphore} rather than monitors, which would pin virtual threads to
+ * their carrier threads. Producers only take the lock when a consumer is waiting.
+ * @param <T>
+ */
+public final class BatchBuffer<T> {
+
+    /**
+     * How often a producer blocked on a full buffer checks whether the buffer was closed.
+     */
+    private static final long CLOSED_POLL_MILLIS = 10;
+
+    /**
+     * The buffered elements.
+     */
+    private final ConcurrentPersistentQueue<T> channel = new ConcurrentPersistentQueue<T>();
+
+    /**
+     * One permit per free slot.
+     */
+    private final Semaphore permits;
+
+    /**
+     * The number of elements consumers wait for.
+     */
+    private final int batchSize;
+
+    /**
+     * How long a consumer waits for a batch to fill up, in nanoseconds.
+     */
+    private final long maxDelayNanos;
+
+    /**
+     * Guards {@link #notEmpty}.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Signalled when elements are added or the buffer is closed.
+     */
+    private final Condition notEmpty = lock.newCondition();
+
+    /**
+     * The number of consumers waiting on {@link #notEmpty}.
+     */
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    /**
+     * The number of producers between their check of {@link #closed} and the addition of their element.
+     */
+    private final AtomicInteger producing = new AtomicInteger();
+
+    /**
+     * Set once no more elements will be added.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Initializes a new instance of the {@link BatchBuffer} class.
+     *
+     * @param capacity The maximum number of buffered elements.
+     * @param batchSize The maximum number of elements in a batch.
+     * @param maxDelay How long a consumer waits for a batch to fill up.
+     * @param unit The unit of {@code maxDelay}.
+     * @throws IllegalArgumentException if {@code capacity} or {@code batchSize} is not positive, or {@code maxDelay}
+     * is negative.
+     */
+    public BatchBuffer(int capacity, int batchSize, long maxDelay, TimeUnit unit) {
+        TypeCheckUtil.notNull(unit, "unit");
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity <= 0: " + capacity);
+        } else if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize <= 0: " + batchSize);
+        } else if (maxDelay < 0) {
+            throw new IllegalArgumentException("maxDelay < 0: " + maxDelay);
+        }
+
+        this.permits = new Semaphore(capacity);
+        this.batchSize = batchSize;
+        this.maxDelayNanos = unit.toNanos(maxDelay);
+    }
+
+    /**
+     * Adds an element, waiting while the buffer is full.
+     *
+     * @param value The element to add.
+     * @throws InterruptedException if interrupted while waiting.
+     * @throws IllegalStateException if the buffer is closed.
+     * @throws NullPointerException if {@code value} is {@code null}.
+     */
+    public void put(T value) throws InterruptedException {
+        TypeCheckUtil.notNull(value, "value");
+
+        if (!permits.tryAcquire()) {
+            // Polls so that producers blocked on a buffer whose consumers stopped still notice it was closed.
+            while (!permits.tryAcquire(CLOSED_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (closed) {
+                    throw new IllegalStateException("closed");
+                }
+            }
+        }
+
+        producing.incrementAndGet();
+        try {
+            if (closed) {
+                permits.release();
+                throw new IllegalStateException("closed");
+            }
+
+            channel.offer(value);
+        } finally {
+            // Also when the buffer was closed: a consumer may be waiting for this producer to finish.
+            producing.decrementAndGet();
+            signalConsumers();
+        }
+    }
+
+    /**
+     * Adds the elements of a batch, in queue order, waiting while the buffer is full. Other threads may add
+     * elements in between when the batch does not fit in the free space at once.
+     *
+     * @param batch The elements to add.
+     * @throws InterruptedException if interrupted while waiting; the elements before the current one were added.
+     * @throws IllegalStateException if the buffer is closed.
+     */
+    public void putAll(Queue<? extends T> batch) throws InterruptedException {
+        TypeCheckUtil.notNull(batch, "batch");
+
+        for (T value : batch) {
+            put(value);
+        }
+    }
+
+    /**
+     * Takes the next micro-batch: waits for {@code batchSize} elements, or for {@code maxDelay} after the first
+     * element is seen, and removes up to {@code batchSize} elements with a single compare-and-set.
+     *
+     * @return The batch, front of the buffer first; empty only once the buffer is closed and drained.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public ImmutableQueue<T> takeBatch() throws InterruptedException {
+        long deadline = 0;
+        boolean filling = false;
+        while (true) {
+            int available = channel.size();
+            boolean due = closed || (filling && System.nanoTime() - deadline >= 0);
+            if (available >= batchSize || (available > 0 && due)) {
+                ImmutableQueue<T> batch = channel.pollBatch(batchSize);
+                if (!batch.isEmpty()) {
+                    permits.release(batch.size());
+                    return batch;
+                }
+
+                // Another consumer took the elements.
+                filling = false;
+                continue;
+            } else if (available == 0 && isDrained()) {
+                return ImmutableQueue.empty();
+            } else if (available > 0 && !filling) {
+                filling = true;
+                deadline = System.nanoTime() + maxDelayNanos;
+                continue;
+            }
+
+            lock.lock();
+            waiters.incrementAndGet();
+            try {
+                if (channel.size() == available && (!closed || producing.get() > 0)) {
+                    if (filling) {
+                        notEmpty.awaitNanos(deadline - System.nanoTime());
+                    } else {
+                        notEmpty.await();
+                    }
+                }
+            } finally {
+                waiters.decrementAndGet();
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Stops accepting elements. Consumers still take the buffered elements, after which {@link #takeBatch()}
+     * returns empty batches.
+     */
+    public void close() {
+        closed = true;
+        lock.lock();
+        try {
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Whether the buffer is closed.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * @return The number of buffered elements.
+     */
+    public int size() {
+        return channel.size();
+    }
+
+    /**
+     * Gets whether the buffer is closed and no element can be added any more. A producer that got past its check of
+     * {@link #closed} before the buffer was closed still adds its element.
+     */
+    private boolean isDrained() {
+        return closed && producing.get() == 0 && channel.isEmpty();
+    }
+
+    private void signalConsumers() {
+        if (waiters.get() == 0) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.paybay.challenge.pipeline;
+
+import com.paybay.challenge.types.ImmutableQueue;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process load generator for {@link Pipeline}: producers submit timestamped events as fast as backpressure lets
+ * them, and the sink records the end-to-end latency of each event, from before its submission to its batch reaching
+ * the sink. Prints events per second and latency percentiles.
+ *
+ * Run with {@code java -jar target/pipeline.jar [events] [producers] [consumers] [batchSize] [maxDelayMicros]
+ * [capacity]}. A warm-up run of a tenth of the events comes first and is not reported.
+ */
+public class LoadGenerator {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 100};
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int events = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int producers = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int consumers = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        int batchSize = args.length > 3 ? Integer.parseInt(args[3]) : 256;
+        long maxDelayMicros = args.length > 4 ? Long.parseLong(args[4]) : 1000;
+        int capacity = args.length > 5 ? Integer.parseInt(args[5]) : 8192;
+
+        System.out.printf("%s threads, %d producers, %d consumers, batch %d, max delay %d us, capacity %d%n",
+                StageExecutors.virtualThreads() ? "virtual" : "platform", producers, consumers, batchSize,
+                maxDelayMicros, capacity);
+
+        run(Math.max(1, events / 10), producers, consumers, batchSize, maxDelayMicros, capacity);
+        Result result = run(events, producers, consumers, batchSize, maxDelayMicros, capacity);
+
+        System.out.printf("%,d events in %,d ms: %,.0f events/s, %,d batches (%.1f events/batch)%n", events,
+                TimeUnit.NANOSECONDS.toMillis(result.elapsedNanos), events * 1e9 / result.elapsedNanos,
+                result.batches, (double)events / result.batches);
+        long[] latencies = result.latencies;
+        Arrays.sort(latencies);
+        for (double percentile : PERCENTILES) {
+            int index = (int)Math.min(latencies.length - 1, Math.ceil(percentile / 100 * latencies.length) - 1);
+            System.out.printf("  p%-5s %,10.1f us%n", percentile == 100 ? "max" : String.valueOf(percentile),
+                    latencies[Math.max(0, index)] / 1e3);
+        }
+    }
+
+    /**
+     * Pushes {@code events} events through a new pipeline and waits until the sink has received all of them.
+     */
+    static Result run(final int events, int producers, int consumers, int batchSize, long maxDelayMicros,
+            int capacity) throws InterruptedException {
+        final long[] latencies = new long[events];
+        final AtomicLong batches = new AtomicLong();
+        final Pipeline<Event> pipeline = Pipeline.builder(new Sink<Event>() {
+            @Override
+            public void accept(ImmutableQueue<Event> batch) {
+                long now = System.nanoTime();
+                for (Event event : batch) {
+                    latencies[event.id] = now - event.createdNanos;
+                }
+
+                batches.incrementAndGet();
+            }
+        }).capacity(capacity).batchSize(batchSize).maxDelay(maxDelayMicros, TimeUnit.MICROSECONDS)
+                .consumers(consumers).build();
+
+        ExecutorService executor = StageExecutors.newExecutor("producer", producers);
+        final AtomicLong nextId = new AtomicLong();
+        long start = System.nanoTime();
+        for (int i = 0; i < producers; i++) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        for (long id = nextId.getAndIncrement(); id < events; id = nextId.getAndIncrement()) {
+                            pipeline.submit(new Event((int)id, System.nanoTime()));
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+        }
+
+        executor.shutdown();
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        pipeline.close();
+        return new Result(System.nanoTime() - start, batches.get(), latencies);
+    }
+
+    /**
+     * A generated event.
+     */
+    static final class Event {
+
+        /**
+         * The index of the event, from zero.
+         */
+        final int id;
+
+        /**
+         * {@link System#nanoTime()} just before the event was submitted.
+         */
+        final long createdNanos;
+
+        Event(int id, long createdNanos) {
+            this.id = id;
+            this.createdNanos = createdNanos;
+        }
+    }
+
+    /**
+     * The measurements of one run.
+     */
+    static final class Result {
+
+        /**
+         * The time from the start of the producers to the sink receiving the last event.
+         */
+        final long elapsedNanos;
+
+        /**
+         * The number of batches the sink received.
+         */
+        final long batches;
+
+        /**
+         * The end-to-end latency of each event, in nanoseconds, indexed by event id.
+         */
+        final long[] latencies;
+
+        Result(long elapsedNanos, long batches, long[] latencies) {
+            this.elapsedNanos = elapsedNanos;
+            this.batches = batches;
+            this.latencies = latencies;
+        }
+    }
+}
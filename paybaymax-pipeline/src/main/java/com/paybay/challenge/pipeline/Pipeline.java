@@ -0,0 +1,295 @@
+package com.paybay.challenge.pipeline;
+
+import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.Queue;
+import com.paybay.challenge.utils.TypeCheckUtil;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A buffer and a set of consumers feeding a {@link Sink}: producers {@link #submit(Object)} elements, consumers take
+ * micro-batches from the {@link BatchBuffer} and pass them to the sink. Pipelines chain by submitting the batches of
+ * one into the next, see {@link #asSink()}.
+ *
+ * Consumers run on {@link StageExecutors#newExecutor(String, int)} unless an executor is given, so on Java 21 and
+ * later each consumer is a virtual thread. If the sink throws, the pipeline closes its buffer, the consumers stop
+ * after their current batch, and {@link #close()} rethrows the first failure.
+ * @param <T>
+ */
+public final class Pipeline<T> implements AutoCloseable {
+
+    /**
+     * The hand-off between producers and consumers.
+     */
+    private final BatchBuffer<T> buffer;
+
+    /**
+     * Runs the consumers.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Whether {@link #executor} was created by the pipeline and is shut down with it.
+     */
+    private final boolean ownsExecutor;
+
+    /**
+     * Counted down by each consumer when it stops.
+     */
+    private final CountDownLatch stopped;
+
+    /**
+     * The first failure of the sink.
+     */
+    private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+    /**
+     * Initializes a new instance of the {@link Pipeline} class and starts its consumers.
+     *
+     * @param builder The configuration.
+     */
+    private Pipeline(Builder<T> builder) {
+        this.buffer = new BatchBuffer<T>(builder.capacity, builder.batchSize, builder.maxDelayNanos,
+                TimeUnit.NANOSECONDS);
+        this.ownsExecutor = builder.executor == null;
+        this.executor = ownsExecutor ? StageExecutors.newExecutor("pipeline", builder.consumers) : builder.executor;
+        this.stopped = new CountDownLatch(builder.consumers);
+
+        final Sink<T> sink = builder.sink;
+        for (int i = 0; i < builder.consumers; i++) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    consume(sink);
+                }
+            });
+        }
+    }
+
+    /**
+     * Creates a builder of a pipeline feeding {@code sink}.
+     *
+     * @param <T> The type of element.
+     * @param sink The consumer stage.
+     * @return The builder.
+     */
+    public static <T> Builder<T> builder(Sink<T> sink) {
+        return new Builder<T>(sink);
+    }
+
+    /**
+     * Adds an element, waiting while the buffer is full.
+     *
+     * @param value The element.
+     * @throws InterruptedException if interrupted while waiting.
+     * @throws IllegalStateException if the pipeline is closed or its sink failed.
+     */
+    public void submit(T value) throws InterruptedException {
+        buffer.put(value);
+    }
+
+    /**
+     * Adds the elements of a batch, waiting while the buffer is full.
+     *
+     * @param batch The elements.
+     * @throws InterruptedException if interrupted while waiting.
+     * @throws IllegalStateException if the pipeline is closed or its sink failed.
+     */
+    public void submitAll(Queue<? extends T> batch) throws InterruptedException {
+        buffer.putAll(batch);
+    }
+
+    /**
+     * Gets a sink that submits the batches it receives to this pipeline, for chaining a pipeline in front of this
+     * one. Close the pipelines front to back.
+     *
+     * @return The sink.
+     */
+    public Sink<T> asSink() {
+        return new Sink<T>() {
+            @Override
+            public void accept(ImmutableQueue<T> batch) throws InterruptedException {
+                submitAll(batch);
+            }
+        };
+    }
+
+    /**
+     * @return The number of buffered elements.
+     */
+    public int backlog() {
+        return buffer.size();
+    }
+
+    /**
+     * Stops accepting elements, waits until the consumers have passed every buffered element to the sink, and shuts
+     * the executor down if the pipeline created it. An interrupt does not cut the wait short, since the consumers may
+     * still be passing elements to the sink; the interrupt status is restored before returning.
+     *
+     * @throws IllegalStateException if the sink failed, with the failure as its cause.
+     */
+    @Override
+    public void close() {
+        buffer.close();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                stopped.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+
+        Throwable cause = failure.get();
+        if (cause != null) {
+            throw new IllegalStateException("sink failed", cause);
+        }
+    }
+
+    private void consume(Sink<T> sink) {
+        try {
+            while (true) {
+                ImmutableQueue<T> batch = buffer.takeBatch();
+                if (batch.isEmpty() || failure.get() != null) {
+                    return;
+                }
+
+                sink.accept(batch);
+            }
+        } catch (Throwable t) {
+            if (t instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+
+            failure.compareAndSet(null, t);
+            buffer.close();
+        } finally {
+            stopped.countDown();
+        }
+    }
+
+    /**
+     * Configures a {@link Pipeline}.
+     * @param <T>
+     */
+    public static final class Builder<T> {
+
+        /**
+         * The consumer stage.
+         */
+        private final Sink<T> sink;
+
+        /**
+         * The maximum number of buffered elements.
+         */
+        private int capacity = 8192;
+
+        /**
+         * The maximum number of elements in a batch.
+         */
+        private int batchSize = 256;
+
+        /**
+         * How long a consumer waits for a batch to fill up, in nanoseconds.
+         */
+        private long maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(1);
+
+        /**
+         * The number of consumers.
+         */
+        private int consumers = 1;
+
+        /**
+         * Runs the consumers; {@code null} for a pipeline-owned executor.
+         */
+        private ExecutorService executor;
+
+        /**
+         * Initializes a new instance of the {@link Builder} class.
+         *
+         * @param sink The consumer stage.
+         */
+        private Builder(Sink<T> sink) {
+            TypeCheckUtil.notNull(sink, "sink");
+
+            this.sink = sink;
+        }
+
+        /**
+         * @param capacity The maximum number of buffered elements; 8192 by default.
+         * @return This builder.
+         */
+        public Builder<T> capacity(int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * @param batchSize The maximum number of elements in a batch; 256 by default.
+         * @return This builder.
+         */
+        public Builder<T> batchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * @param maxDelay How long a consumer waits for a batch to fill up; one millisecond by default.
+         * @param unit The unit of {@code maxDelay}.
+         * @return This builder.
+         */
+        public Builder<T> maxDelay(long maxDelay, TimeUnit unit) {
+            TypeCheckUtil.notNull(unit, "unit");
+
+            this.maxDelayNanos = unit.toNanos(maxDelay);
+            return this;
+        }
+
+        /**
+         * @param consumers The number of consumers; one by default.
+         * @return This builder.
+         */
+        public Builder<T> consumers(int consumers) {
+            this.consumers = consumers;
+            return this;
+        }
+
+        /**
+         * @param executor Runs the consumers, which block until the pipeline is closed; it must be able to run all
+         * of them at once. The pipeline does not shut it down.
+         * @return This builder.
+         */
+        public Builder<T> executor(ExecutorService executor) {
+            TypeCheckUtil.notNull(executor, "executor");
+
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Creates the pipeline and starts its consumers.
+         *
+         * @return The pipeline.
+         * @throws IllegalArgumentException if a setting is out of range.
+         */
+        public Pipeline<T> build() {
+            if (consumers <= 0) {
+                throw new IllegalArgumentException("consumers <= 0: " + consumers);
+            }
+
+            return new Pipeline<T>(this);
+        }
+    }
+}
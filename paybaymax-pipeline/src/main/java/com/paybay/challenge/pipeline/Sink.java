@@ -0,0 +1,18 @@
+package com.paybay.challenge.pipeline;
+
+import com.paybay.challenge.types.ImmutableQueue;
+
+/**
+ * The consumer stage of a {@link Pipeline}: receives the micro-batches taken from its buffer.
+ * @param <T>
+ */
+public interface Sink<T> {
+
+    /**
+     * Processes a batch. The batch is a persistent snapshot that may be kept, or handed to another stage, as is.
+     *
+     * @param batch The batch, in arrival order; never empty.
+     * @throws Exception if processing fails; the pipeline stops and reports the failure on {@link Pipeline#close()}.
+     */
+    public void accept(ImmutableQueue<T> batch) throws Exception;
+}
@@ -0,0 +1,81 @@
+package com.paybay.challenge.pipeline;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the executors pipeline stages run on: one virtual thread per task when the runtime supports virtual
+ * threads (Java 21 and later), a fixed pool of daemon platform threads otherwise.
+ *
+ * The module is compiled for Java 17, so the virtual thread executor is looked up reflectively, once. A stage task
+ * blocks for as long as the stage runs, so the fallback pool must have a thread for every task submitted to it.
+ */
+public enum StageExecutors {
+    ;
+
+    /**
+     * The system property that, set to {@code false}, forces the platform thread fallback.
+     */
+    public static final String PROPERTY = "com.paybay.challenge.pipeline.virtualThreads";
+
+    /**
+     * {@code Executors.newVirtualThreadPerTaskExecutor()}; {@code null} if the runtime has no virtual threads or
+     * they are disabled.
+     */
+    private static final Method NEW_VIRTUAL_THREAD_EXECUTOR = lookup();
+
+    /**
+     * @return Whether {@link #newExecutor(String, int)} creates virtual threads.
+     */
+    public static boolean virtualThreads() {
+        return NEW_VIRTUAL_THREAD_EXECUTOR != null;
+    }
+
+    /**
+     * Creates an executor for the tasks of a stage.
+     *
+     * @param name The prefix of the names of the platform threads of the fallback pool.
+     * @param platformThreads The size of the fallback pool: the number of tasks that may run at once.
+     * @return A virtual thread per task executor, or a fixed pool of {@code platformThreads} daemon threads.
+     * @throws IllegalArgumentException if {@code platformThreads} is not positive.
+     */
+    public static ExecutorService newExecutor(final String name, int platformThreads) {
+        if (platformThreads <= 0) {
+            throw new IllegalArgumentException("platformThreads <= 0: " + platformThreads);
+        }
+
+        if (NEW_VIRTUAL_THREAD_EXECUTOR != null) {
+            try {
+                return (ExecutorService)NEW_VIRTUAL_THREAD_EXECUTOR.invoke(null);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                // Falls back to platform threads.
+            }
+        }
+
+        final AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(platformThreads, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable task) {
+                Thread thread = new Thread(task, name + "-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    private static Method lookup() {
+        if (!Boolean.parseBoolean(System.getProperty(PROPERTY, "true"))) {
+            return null;
+        }
+
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
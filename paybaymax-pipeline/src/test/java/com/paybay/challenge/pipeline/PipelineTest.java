@@ -0,0 +1,221 @@
+package com.paybay.challenge.pipeline;
+
+import com.paybay.challenge.types.ImmutableQueue;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class PipelineTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void fullBatchIsTakenWithoutWaitingForTheDelay() throws InterruptedException {
+        BatchBuffer<Integer> buffer = new BatchBuffer<Integer>(16, 3, 1, TimeUnit.HOURS);
+        for (int i = 0; i < 4; i++) {
+            buffer.put(i);
+        }
+
+        assertBatch(buffer.takeBatch(), 0, 1, 2);
+        Assert.assertEquals(1, buffer.size());
+    }
+
+    @Test
+    public void partialBatchIsTakenAfterTheDelay() throws InterruptedException {
+        BatchBuffer<Integer> buffer = new BatchBuffer<Integer>(16, 100, 20, TimeUnit.MILLISECONDS);
+        buffer.put(1);
+        buffer.put(2);
+
+        long start = System.nanoTime();
+        assertBatch(buffer.takeBatch(), 1, 2);
+        Assert.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+    }
+
+    @Test
+    public void closedBufferIsDrainedThenEmpty() throws InterruptedException {
+        BatchBuffer<Integer> buffer = new BatchBuffer<Integer>(16, 100, 1, TimeUnit.HOURS);
+        buffer.put(1);
+        buffer.close();
+
+        assertBatch(buffer.takeBatch(), 1);
+        Assert.assertTrue(buffer.takeBatch().isEmpty());
+
+        thrown.expect(IllegalStateException.class);
+        buffer.put(2);
+    }
+
+    @Test
+    public void fullBufferBlocksProducers() throws InterruptedException {
+        final BatchBuffer<Integer> buffer = new BatchBuffer<Integer>(2, 2, 0, TimeUnit.MILLISECONDS);
+        buffer.put(1);
+        buffer.put(2);
+
+        final CountDownLatch added = new CountDownLatch(1);
+        Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    buffer.put(3);
+                    added.countDown();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        producer.start();
+
+        Assert.assertFalse(added.await(50, TimeUnit.MILLISECONDS));
+        assertBatch(buffer.takeBatch(), 1, 2);
+        Assert.assertTrue(added.await(5, TimeUnit.SECONDS));
+        assertBatch(buffer.takeBatch(), 3);
+    }
+
+    @Test
+    public void everyEventReachesTheSinkInProducerOrder() throws InterruptedException {
+        final List<Integer> received = Collections.synchronizedList(new ArrayList<Integer>());
+        Pipeline<Integer> pipeline = Pipeline.builder(new Sink<Integer>() {
+            @Override
+            public void accept(ImmutableQueue<Integer> batch) {
+                for (Integer value : batch) {
+                    received.add(value);
+                }
+            }
+        }).capacity(64).batchSize(16).maxDelay(1, TimeUnit.MILLISECONDS).build();
+
+        for (int i = 0; i < 10000; i++) {
+            pipeline.submit(i);
+        }
+
+        pipeline.close();
+        Assert.assertEquals(10000, received.size());
+        for (int i = 0; i < 10000; i++) {
+            Assert.assertEquals(Integer.valueOf(i), received.get(i));
+        }
+    }
+
+    @Test
+    public void chainedPipelinesHandOffBatches() throws InterruptedException {
+        final List<Integer> received = Collections.synchronizedList(new ArrayList<Integer>());
+        Pipeline<Integer> back = Pipeline.builder(new Sink<Integer>() {
+            @Override
+            public void accept(ImmutableQueue<Integer> batch) {
+                for (Integer value : batch) {
+                    received.add(value);
+                }
+            }
+        }).consumers(2).build();
+        Pipeline<Integer> front = Pipeline.builder(back.asSink()).consumers(2).build();
+
+        for (int i = 0; i < 1000; i++) {
+            front.submit(i);
+        }
+
+        front.close();
+        back.close();
+        Assert.assertEquals(1000, received.size());
+    }
+
+    @Test
+    public void sinkFailureIsReportedOnClose() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(1);
+        Pipeline<Integer> pipeline = Pipeline.builder(new Sink<Integer>() {
+            @Override
+            public void accept(ImmutableQueue<Integer> batch) {
+                throw new IllegalArgumentException("boom");
+            }
+        }).maxDelay(0, TimeUnit.MILLISECONDS).executor(executor).build();
+
+        pipeline.submit(1);
+        try {
+            pipeline.close();
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalArgumentException);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void consumersWakeUpWhenAProducerFindsTheBufferClosed() throws InterruptedException {
+        for (int round = 0; round < 200; round++) {
+            final BatchBuffer<Integer> buffer = new BatchBuffer<Integer>(1 << 20, 1 << 20, 1, TimeUnit.HOURS);
+            final List<ImmutableQueue<Integer>> batches =
+                    Collections.synchronizedList(new ArrayList<ImmutableQueue<Integer>>());
+            Thread consumer = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        ImmutableQueue<Integer> batch;
+                        do {
+                            batch = buffer.takeBatch();
+                            batches.add(batch);
+                        } while (!batch.isEmpty());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            Thread producer = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        while (true) {
+                            buffer.put(1);
+                        }
+                    } catch (IllegalStateException | InterruptedException e) {
+                        // Closed.
+                    }
+                }
+            });
+            consumer.start();
+            producer.start();
+            buffer.close();
+            producer.join();
+            consumer.join(TimeUnit.SECONDS.toMillis(10));
+
+            Assert.assertFalse("consumer still waiting", consumer.isAlive());
+            Assert.assertTrue(batches.get(batches.size() - 1).isEmpty());
+        }
+    }
+
+    @Test
+    public void closeWaitsOutAnInterruptAndRestoresIt() throws InterruptedException {
+        final List<Integer> received = Collections.synchronizedList(new ArrayList<Integer>());
+        Pipeline<Integer> pipeline = Pipeline.builder(new Sink<Integer>() {
+            @Override
+            public void accept(ImmutableQueue<Integer> batch) throws InterruptedException {
+                Thread.sleep(50);
+                for (Integer value : batch) {
+                    received.add(value);
+                }
+            }
+        }).maxDelay(0, TimeUnit.MILLISECONDS).build();
+
+        pipeline.submit(1);
+        Thread.currentThread().interrupt();
+        pipeline.close();
+
+        Assert.assertTrue(Thread.interrupted());
+        Assert.assertEquals(Collections.singletonList(1), received);
+    }
+
+    private static void assertBatch(ImmutableQueue<Integer> batch, Integer... expected) {
+        List<Integer> actual = new ArrayList<Integer>();
+        for (Integer value : batch) {
+            actual.add(value);
+        }
+
+        Assert.assertArrayEquals(expected, actual.toArray(new Integer[0]));
+    }
+}
@@ -0,0 +1,57 @@
+package com.paybay.challenge.concurrent;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Contention backoff for compare-and-set retry loops: a few immediate retries, then yields, then randomized parks
+ * whose upper bound doubles with every failed attempt.
+ *
+ * Instances are cheap and meant to live on the stack of a single retry loop.
+ */
+final class Backoff {
+
+    /**
+     * Failed attempts retried immediately.
+     */
+    private static final int SPIN_ATTEMPTS = 4;
+
+    /**
+     * Failed attempts after which the thread parks instead of yielding.
+     */
+    private static final int YIELD_ATTEMPTS = 8;
+
+    /**
+     * The smallest upper bound of a park.
+     */
+    private static final long MIN_PARK_NANOS = 1000L;
+
+    /**
+     * The largest upper bound of a park.
+     */
+    private static final long MAX_PARK_NANOS = 1000000L;
+
+    /**
+     * The number of failed attempts so far.
+     */
+    private int attempts;
+
+    /**
+     * Backs off after a failed compare-and-set.
+     */
+    void onFailure() {
+        int attempt = ++attempts;
+        if (attempt <= SPIN_ATTEMPTS) {
+            return;
+        }
+
+        if (attempt <= YIELD_ATTEMPTS) {
+            Thread.yield();
+            return;
+        }
+
+        int shift = Math.min(attempt - YIELD_ATTEMPTS, 10);
+        long bound = Math.min(MIN_PARK_NANOS << shift, MAX_PARK_NANOS);
+        LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(MIN_PARK_NANOS, bound + 1));
+    }
+}
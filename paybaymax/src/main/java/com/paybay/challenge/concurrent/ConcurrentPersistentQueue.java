@@ -0,0 +1,248 @@
+package com.paybay.challenge.concurrent;
+
+import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.Split;
+import com.paybay.challenge.utils.TypeCheckUtil;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free multi-producer multi-consumer FIFO channel that keeps its contents as an {@link ImmutableQueue} in an
+ * {@link AtomicReference}. Every operation computes the next queue from the current one and publishes it with a
+ * single compare-and-set, retrying with {@link Backoff} under contention.
+ *
+ * Batch operations combine any number of elements into one compare-and-set, and {@link #snapshot()} hands out the
+ * current queue in constant time; readers can iterate a snapshot for as long as they like without blocking writers.
+ *
+ * {@code null} elements are not permitted, so that {@link #poll()} and {@link #peek()} can use {@code null} to report
+ * an empty channel.
+ * @param <T>
+ */
+public class ConcurrentPersistentQueue<T> {
+
+    /**
+     * The current contents.
+     */
+    private final AtomicReference<ImmutableQueue<T>> state;
+
+    /**
+     * Initializes a new, empty instance of the {@link ConcurrentPersistentQueue} class.
+     */
+    public ConcurrentPersistentQueue() {
+        this(ImmutableQueue.<T>empty());
+    }
+
+    /**
+     * Initializes a new instance of the {@link ConcurrentPersistentQueue} class holding the elements of a queue.
+     *
+     * @param initial The initial contents.
+     * @throws NullPointerException if {@code initial} is or contains {@code null}.
+     */
+    public ConcurrentPersistentQueue(ImmutableQueue<T> initial) {
+        TypeCheckUtil.notNull(initial, "initial");
+        for (T value : initial) {
+            TypeCheckUtil.notNull(value, "value");
+        }
+
+        this.state = new AtomicReference<ImmutableQueue<T>>(initial);
+    }
+
+    /**
+     * Adds an element to the back of the channel.
+     *
+     * @param value The element to add.
+     * @return {@code true}, the channel is unbounded.
+     * @throws NullPointerException if {@code value} is {@code null}.
+     */
+    public boolean offer(T value) {
+        TypeCheckUtil.notNull(value, "value");
+
+        ImmutableQueue<T> current = state.get();
+        if (state.compareAndSet(current, current.enQueue(value))) {
+            return true;
+        }
+
+        Backoff backoff = new Backoff();
+        do {
+            backoff.onFailure();
+            current = state.get();
+        } while (!state.compareAndSet(current, current.enQueue(value)));
+
+        return true;
+    }
+
+    /**
+     * Adds the elements, in iteration order, to the back of the channel with a single compare-and-set. Other threads
+     * never observe a part of the batch.
+     *
+     * @param values The elements to add.
+     * @return The number of elements added.
+     * @throws NullPointerException if {@code values} is or contains {@code null}.
+     */
+    public int offerAll(Collection<? extends T> values) {
+        TypeCheckUtil.notNull(values, "values");
+        for (T value : values) {
+            TypeCheckUtil.notNull(value, "value");
+        }
+
+        if (values.isEmpty()) {
+            return 0;
+        }
+
+        // Built once: when consumers keep up the channel is usually empty and the batch is published as it is.
+        ImmutableQueue<T> batch = ImmutableQueue.createAll(values);
+        Backoff backoff = null;
+        while (true) {
+            ImmutableQueue<T> current = state.get();
+            ImmutableQueue<T> next = current.isEmpty() ? batch : current.enQueueAll(batch);
+            if (state.compareAndSet(current, next)) {
+                return batch.size();
+            }
+
+            if (backoff == null) {
+                backoff = new Backoff();
+            }
+
+            backoff.onFailure();
+        }
+    }
+
+    /**
+     * Adds the elements, in array order, to the back of the channel with a single compare-and-set.
+     *
+     * @param values The elements to add.
+     * @return The number of elements added.
+     * @throws NullPointerException if {@code values} is or contains {@code null}.
+     */
+    public int offerAll(T... values) {
+        TypeCheckUtil.notNull(values, "values");
+
+        return offerAll(Arrays.asList(values));
+    }
+
+    /**
+     * Removes the element at the front of the channel.
+     *
+     * @return The removed element, or {@code null} if the channel is empty.
+     */
+    public T poll() {
+        Backoff backoff = null;
+        while (true) {
+            ImmutableQueue<T> current = state.get();
+            if (current.isEmpty()) {
+                return null;
+            }
+
+            if (state.compareAndSet(current, current.deQueue())) {
+                return current.head();
+            }
+
+            if (backoff == null) {
+                backoff = new Backoff();
+            }
+
+            backoff.onFailure();
+        }
+    }
+
+    /**
+     * Removes up to {@code maxElements} elements at the front of the channel with a single compare-and-set.
+     *
+     * @param maxElements The maximum number of elements to remove.
+     * @return The removed elements, front of the channel first; empty if the channel is empty.
+     * @throws IllegalArgumentException if {@code maxElements} is negative.
+     */
+    public ImmutableQueue<T> pollBatch(int maxElements) {
+        if (maxElements < 0) {
+            throw new IllegalArgumentException("maxElements < 0: " + maxElements);
+        }
+
+        Backoff backoff = null;
+        while (true) {
+            ImmutableQueue<T> current = state.get();
+            if (current.isEmpty() || maxElements == 0) {
+                return current.clear();
+            }
+
+            Split<ImmutableQueue<T>> split = current.split(maxElements);
+            if (state.compareAndSet(current, split.rest())) {
+                return split.front();
+            }
+
+            if (backoff == null) {
+                backoff = new Backoff();
+            }
+
+            backoff.onFailure();
+        }
+    }
+
+    /**
+     * Removes up to {@code maxElements} elements at the front of the channel with a single compare-and-set and adds
+     * them to {@code target} in queue order.
+     *
+     * @param target The collection to transfer the elements to.
+     * @param maxElements The maximum number of elements to transfer.
+     * @return The number of elements transferred.
+     * @throws IllegalArgumentException if {@code maxElements} is negative.
+     */
+    public int drainTo(Collection<? super T> target, int maxElements) {
+        TypeCheckUtil.notNull(target, "target");
+
+        ImmutableQueue<T> batch = pollBatch(maxElements);
+        for (T value : batch) {
+            target.add(value);
+        }
+
+        return batch.size();
+    }
+
+    /**
+     * Gets the element at the front of the channel without removing it.
+     *
+     * @return The front element, or {@code null} if the channel is empty.
+     */
+    public T peek() {
+        ImmutableQueue<T> current = state.get();
+        return current.isEmpty() ? null : current.head();
+    }
+
+    /**
+     * Gets the current contents of the channel in constant time. The snapshot is immutable and unaffected by later
+     * operations on the channel.
+     *
+     * @return The current contents.
+     */
+    public ImmutableQueue<T> snapshot() {
+        return state.get();
+    }
+
+    /**
+     * Removes all elements from the channel.
+     *
+     * @return The removed elements.
+     */
+    public ImmutableQueue<T> clear() {
+        return state.getAndSet(ImmutableQueue.<T>empty());
+    }
+
+    /**
+     * Gets the number of elements in the channel, in constant time.
+     *
+     * @return The number of elements.
+     */
+    public int size() {
+        return state.get().size();
+    }
+
+    /**
+     * Gets a value indicating whether the channel is empty.
+     *
+     * @return {@code true} if the channel is empty; otherwise {@code false}.
+     */
+    public boolean isEmpty() {
+        return state.get().isEmpty();
+    }
+}
@@ -0,0 +1,36 @@
+package com.paybay.challenge.io;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts queue elements to and from bytes.
+ *
+ * Implementations must be stateless (or at least thread-safe) and must decode exactly what they encoded.
+ * @param <T>
+ */
+public interface ElementCodec<T> {
+
+    /**
+     * Gets the number of bytes {@link #encode} writes for an element.
+     *
+     * @param value The element; never {@code null}.
+     * @return The encoded size in bytes.
+     */
+    int encodedSize(T value);
+
+    /**
+     * Writes an element at the position of {@code target}, advancing it by {@link #encodedSize} bytes.
+     *
+     * @param value The element; never {@code null}.
+     * @param target The buffer to write to; has at least {@link #encodedSize} bytes remaining.
+     */
+    void encode(T value, ByteBuffer target);
+
+    /**
+     * Reads an element from the remaining bytes of {@code source}.
+     *
+     * @param source The encoded element, from position to limit.
+     * @return The element.
+     */
+    T decode(ByteBuffer source);
+}
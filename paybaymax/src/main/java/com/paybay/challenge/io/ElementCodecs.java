@@ -0,0 +1,145 @@
+package com.paybay.challenge.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Codecs for common element types.
+ */
+public enum ElementCodecs {
+    ;
+
+    private static final ElementCodec<String> UTF8 = new ElementCodec<String>() {
+        @Override
+        public int encodedSize(String value) {
+            return value.getBytes(StandardCharsets.UTF_8).length;
+        }
+
+        @Override
+        public void encode(String value, ByteBuffer target) {
+            target.put(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String decode(ByteBuffer source) {
+            byte[] bytes = new byte[source.remaining()];
+            source.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    private static final ElementCodec<Integer> INT32 = new ElementCodec<Integer>() {
+        @Override
+        public int encodedSize(Integer value) {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void encode(Integer value, ByteBuffer target) {
+            target.putInt(value);
+        }
+
+        @Override
+        public Integer decode(ByteBuffer source) {
+            return source.getInt();
+        }
+    };
+
+    private static final ElementCodec<Long> INT64 = new ElementCodec<Long>() {
+        @Override
+        public int encodedSize(Long value) {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void encode(Long value, ByteBuffer target) {
+            target.putLong(value);
+        }
+
+        @Override
+        public Long decode(ByteBuffer source) {
+            return source.getLong();
+        }
+    };
+
+    private static final ElementCodec<Double> FLOAT64 = new ElementCodec<Double>() {
+        @Override
+        public int encodedSize(Double value) {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void encode(Double value, ByteBuffer target) {
+            target.putDouble(value);
+        }
+
+        @Override
+        public Double decode(ByteBuffer source) {
+            return source.getDouble();
+        }
+    };
+
+    private static final ElementCodec<byte[]> BYTES = new ElementCodec<byte[]>() {
+        @Override
+        public int encodedSize(byte[] value) {
+            return value.length;
+        }
+
+        @Override
+        public void encode(byte[] value, ByteBuffer target) {
+            target.put(value);
+        }
+
+        @Override
+        public byte[] decode(ByteBuffer source) {
+            byte[] bytes = new byte[source.remaining()];
+            source.get(bytes);
+            return bytes;
+        }
+    };
+
+    /**
+     * Gets the codec that stores strings as UTF-8.
+     *
+     * @return The codec.
+     */
+    public static ElementCodec<String> utf8() {
+        return UTF8;
+    }
+
+    /**
+     * Gets the codec that stores integers as four big-endian bytes.
+     *
+     * @return The codec.
+     */
+    public static ElementCodec<Integer> int32() {
+        return INT32;
+    }
+
+    /**
+     * Gets the codec that stores longs as eight big-endian bytes.
+     *
+     * @return The codec.
+     */
+    public static ElementCodec<Long> int64() {
+        return INT64;
+    }
+
+    /**
+     * Gets the codec that stores doubles as eight big-endian bytes in IEEE 754 layout.
+     *
+     * @return The codec.
+     */
+    public static ElementCodec<Double> float64() {
+        return FLOAT64;
+    }
+
+    /**
+     * Gets the codec that stores byte arrays as they are.
+     *
+     * @return The codec.
+     */
+    public static ElementCodec<byte[]> bytes() {
+        return BYTES;
+    }
+}
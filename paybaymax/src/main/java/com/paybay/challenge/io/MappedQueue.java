@@ -0,0 +1,277 @@
+package com.paybay.challenge.io;
+
+import com.paybay.challenge.types.Queue;
+import com.paybay.challenge.types.Split;
+import com.paybay.challenge.utils.TypeCheckUtil;
+
+import java.util.EmptyStackException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable view of a range of the append-only log of a {@link MappedQueueStore}.
+ *
+ * A version is a head and a tail position in the log plus their sequence numbers, so it takes the same few bytes of
+ * heap however many elements it holds. {@link #deQueue()} advances the head over one record in O(1) and leaves this
+ * version untouched, and since the log is only ever appended to, every version keeps reading the same elements until
+ * a {@link MappedQueueStore#commit commit} reclaims the segments in front of it.
+ *
+ * Unlike the in-heap queues a log cannot branch: {@link #enQueue(Object)} appends to the log and therefore only works
+ * on a version that ends at the end of the log. {@code null} elements are not supported.
+ * @param <T>
+ */
+public final class MappedQueue<T> implements Queue<T> {
+
+    /**
+     * The log holding the elements.
+     */
+    private final MappedQueueStore<T> store;
+
+    /**
+     * The log position at or after which the front record starts.
+     */
+    private final long headPosition;
+
+    /**
+     * The sequence number of the front record.
+     */
+    private final long headSequence;
+
+    /**
+     * The log position after the back record.
+     */
+    private final long tailPosition;
+
+    /**
+     * The sequence number of the record after the back record.
+     */
+    private final long tailSequence;
+
+    /**
+     * Initializes a new instance of the {@link MappedQueue} class.
+     *
+     * @param store The log holding the elements.
+     * @param headPosition The position of the front record.
+     * @param headSequence The sequence number of the front record.
+     * @param tailPosition The position after the back record.
+     * @param tailSequence The sequence number after the back record.
+     */
+    MappedQueue(MappedQueueStore<T> store, long headPosition, long headSequence, long tailPosition, long tailSequence) {
+        this.store = store;
+        this.headPosition = headPosition;
+        this.headSequence = headSequence;
+        this.tailPosition = tailPosition;
+        this.tailSequence = tailSequence;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if the log has been appended to since this version was created.
+     */
+    @Override
+    public MappedQueue<T> enQueue(T value) {
+        TypeCheckUtil.notNull(value, "value");
+
+        long newTail = store.append(this, value);
+        return new MappedQueue<T>(store, isEmpty() ? tailPosition : headPosition, headSequence, newTail, tailSequence + 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public MappedQueue<T> deQueue() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        long start = store.recordStart(headPosition);
+        long next = start + MappedQueueStore.HEADER_SIZE + store.recordLength(start);
+        return new MappedQueue<T>(store, next, headSequence + 1, tailPosition, tailSequence);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Only the record headers are read; no element is decoded.
+     */
+    @Override
+    public MappedQueue<T> deQueue(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count < 0: " + count);
+        } else if (count > size()) {
+            throw new EmptyStackException();
+        }
+
+        return new MappedQueue<T>(store, positionAfter(count), headSequence + count, tailPosition, tailSequence);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The result is a range of the log ending before the rest of this version, so it cannot be appended to.
+     */
+    @Override
+    public MappedQueue<T> take(int count) {
+        return split(count).front();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Both parts are ranges of the same log, found by reading only the record headers; nothing is decoded or
+     * appended. The front part ends before the rest, so only the rest can be appended to.
+     */
+    @Override
+    public Split<MappedQueue<T>> split(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count < 0: " + count);
+        }
+
+        int n = Math.min(count, size());
+        long position = positionAfter(n);
+        return new Split<MappedQueue<T>>(
+                new MappedQueue<T>(store, headPosition, headSequence, position, headSequence + n),
+                new MappedQueue<T>(store, position, headSequence + n, tailPosition, tailSequence));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T head() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        return store.read(store.recordStart(headPosition));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return headSequence == tailSequence;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return (int)(tailSequence - headSequence);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The empty queue starts at the tail of this version, so it can be appended to when this version can.
+     */
+    @Override
+    public MappedQueue<T> clear() {
+        return isEmpty() ? this : new MappedQueue<T>(store, tailPosition, tailSequence, tailPosition, tailSequence);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Itr<T>(this);
+    }
+
+    /**
+     * Walks the record headers from the head of this version.
+     *
+     * @param count The number of records to skip; at most {@link #size()}.
+     * @return The position after the first {@code count} records.
+     */
+    private long positionAfter(int count) {
+        long position = headPosition;
+        for (int i = 0; i < count; i++) {
+            long start = store.recordStart(position);
+            position = start + MappedQueueStore.HEADER_SIZE + store.recordLength(start);
+        }
+
+        return position;
+    }
+
+    MappedQueueStore<T> store() {
+        return store;
+    }
+
+    long headPosition() {
+        return headPosition;
+    }
+
+    long headSequence() {
+        return headSequence;
+    }
+
+    long tailPosition() {
+        return tailPosition;
+    }
+
+    private static final class Itr<T> implements Iterator<T> {
+
+        /**
+         * The log being enumerated.
+         */
+        private final MappedQueueStore<T> store;
+
+        /**
+         * The position at or after which the next record starts.
+         */
+        private long position;
+
+        /**
+         * The number of records not yet enumerated.
+         */
+        private long remaining;
+
+        /**
+         * Initializes a new instance of the {@link Itr} class.
+         *
+         * @param queue The queue to enumerate.
+         */
+        public Itr(MappedQueue<T> queue) {
+            this.store = queue.store;
+            this.position = queue.headPosition;
+            this.remaining = queue.tailSequence - queue.headSequence;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public T next() {
+            if (remaining == 0) {
+                throw new NoSuchElementException();
+            }
+
+            long start = store.recordStart(position);
+            T result = store.read(start);
+            position = start + MappedQueueStore.HEADER_SIZE + store.recordLength(start);
+            remaining--;
+            return result;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,463 @@
+package com.paybay.challenge.io;
+
+import com.paybay.challenge.utils.TypeCheckUtil;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * The append-only log behind {@link MappedQueue}: a directory of fixed-size segment files, each memory-mapped, plus a
+ * checkpoint file.
+ *
+ * Every element is one record: a four byte header holding the payload length plus one, a four byte CRC-32 of the
+ * payload, and the payload written by the {@link ElementCodec}. Records never span segments; a record that does not
+ * fit starts the next segment, and the zero-filled rest of the old one reads as "continue in the next segment". Log
+ * positions are byte offsets into the concatenation of all segments.
+ *
+ * {@link #commit(MappedQueue)} writes the head and tail of a version to the checkpoint file and deletes the segments
+ * in front of its head. {@link #open} reads the checkpoint and only scans the records appended after it, stopping at
+ * the first torn or corrupt record.
+ *
+ * Elements live in the mapped files, not on the heap; a queue version is a handful of longs.
+ * @param <T>
+ */
+public final class MappedQueueStore<T> implements Closeable {
+
+    /**
+     * The default size of a segment file, in bytes.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+
+    /**
+     * The size of a record header: length and CRC.
+     */
+    static final int HEADER_SIZE = 8;
+
+    private static final int CHECKPOINT_MAGIC = 0x50424D51;
+
+    private static final int CHECKPOINT_SIZE = 4 + 4 * 8 + 8;
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    /**
+     * The directory holding the segment and checkpoint files.
+     */
+    private final Path directory;
+
+    /**
+     * The element codec.
+     */
+    private final ElementCodec<T> codec;
+
+    /**
+     * The size of every segment file.
+     */
+    private final int segmentSize;
+
+    /**
+     * The mapped segments by index. Reclaimed segments are removed.
+     */
+    private final ConcurrentHashMap<Long, MappedByteBuffer> segments = new ConcurrentHashMap<Long, MappedByteBuffer>();
+
+    /**
+     * The position at which the next record is written.
+     */
+    private long tail;
+
+    /**
+     * The sequence number the next record gets.
+     */
+    private long tailSequence;
+
+    /**
+     * The head position of the last commit; segments in front of it are gone.
+     */
+    private volatile long committedHead;
+
+    /**
+     * The sequence number of the record at {@link #committedHead}.
+     */
+    private long committedHeadSequence;
+
+    /**
+     * Whether {@link #close()} has been called.
+     */
+    private volatile boolean closed;
+
+    private MappedQueueStore(Path directory, ElementCodec<T> codec, int segmentSize) {
+        this.directory = directory;
+        this.codec = codec;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Opens the store in {@code directory} with {@link #DEFAULT_SEGMENT_SIZE}, creating it if needed.
+     *
+     * @param <T> The type of element stored by the queue.
+     * @param directory The directory of the store.
+     * @param codec The element codec.
+     * @return The store.
+     * @throws IOException if the files cannot be read or created.
+     */
+    public static <T> MappedQueueStore<T> open(Path directory, ElementCodec<T> codec) throws IOException {
+        return open(directory, codec, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Opens the store in {@code directory}, creating it if needed. A store must always be reopened with the segment
+     * size it was created with.
+     *
+     * @param <T> The type of element stored by the queue.
+     * @param directory The directory of the store.
+     * @param codec The element codec.
+     * @param segmentSize The size of a segment file, in bytes.
+     * @return The store.
+     * @throws IOException if the files cannot be read or created.
+     */
+    public static <T> MappedQueueStore<T> open(Path directory, ElementCodec<T> codec, int segmentSize)
+            throws IOException {
+        TypeCheckUtil.notNull(directory, "directory");
+        TypeCheckUtil.notNull(codec, "codec");
+        if (segmentSize <= HEADER_SIZE) {
+            throw new IllegalArgumentException("segmentSize too small: " + segmentSize);
+        }
+
+        Files.createDirectories(directory);
+        MappedQueueStore<T> store = new MappedQueueStore<T>(directory, codec, segmentSize);
+        store.recover();
+        return store;
+    }
+
+    /**
+     * Gets the queue from the last committed head to the end of the log.
+     *
+     * @return The queue.
+     */
+    public synchronized MappedQueue<T> queue() {
+        checkOpen();
+
+        return new MappedQueue<T>(this, committedHead, committedHeadSequence, tail, tailSequence);
+    }
+
+    /**
+     * Makes {@code version} the queue that {@link #open} recovers: writes its head and the current end of the log to
+     * the checkpoint file and deletes the segment files in front of its head. Versions whose head is in front of it
+     * can no longer be read afterwards.
+     *
+     * @param version The version to commit; must come from this store.
+     * @throws IOException if the checkpoint cannot be written.
+     */
+    public synchronized void commit(MappedQueue<T> version) throws IOException {
+        TypeCheckUtil.notNull(version, "version");
+        checkOpen();
+        if (version.store() != this) {
+            throw new IllegalArgumentException("version belongs to another store");
+        } else if (version.headPosition() < committedHead) {
+            throw new IllegalStateException("version is older than the last commit");
+        }
+
+        forceAll();
+        writeCheckpoint(version.headPosition(), version.headSequence(), tail, tailSequence);
+        committedHead = version.headPosition();
+        committedHeadSequence = version.headSequence();
+
+        long firstLive = segmentOf(committedHead);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                long index = segmentIndex(file);
+                if (index >= 0 && index < firstLive) {
+                    segments.remove(index);
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Forces the written records to the storage device.
+     */
+    public synchronized void flush() {
+        checkOpen();
+
+        forceAll();
+    }
+
+    /**
+     * Forces and releases the mapped segments. Queue versions of this store can no longer be used afterwards.
+     */
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            forceAll();
+            closed = true;
+            segments.clear();
+        }
+    }
+
+    /**
+     * Appends a record behind {@code version}, which must end at the end of the log.
+     *
+     * @param version The version to append to.
+     * @param value The element.
+     * @return The position after the record.
+     * @throws IllegalStateException if another version has been appended to since {@code version} was created.
+     */
+    synchronized long append(MappedQueue<T> version, T value) {
+        checkOpen();
+        if (version.tailPosition() != tail) {
+            throw new IllegalStateException("the log has been appended to since this version was created");
+        }
+
+        int length = codec.encodedSize(value);
+        if (length > segmentSize - HEADER_SIZE) {
+            throw new IllegalArgumentException("element of " + length + " bytes does not fit a segment");
+        }
+
+        long position = tail;
+        if (offsetOf(position) + HEADER_SIZE + length > segmentSize) {
+            position = nextSegment(position);
+        }
+
+        ByteBuffer target = segment(segmentOf(position)).duplicate();
+        int offset = offsetOf(position);
+        target.position(offset + HEADER_SIZE);
+        target.limit(offset + HEADER_SIZE + length);
+        codec.encode(value, target);
+        if (target.hasRemaining()) {
+            throw new IllegalStateException("codec wrote " + target.position() + " of " + length + " bytes");
+        }
+
+        target.position(offset + HEADER_SIZE);
+        CRC32 crc = new CRC32();
+        crc.update(target);
+        target.putInt(offset + 4, (int)crc.getValue());
+        // The length goes last: a zero header marks the end of the log.
+        target.putInt(offset, length + 1);
+
+        tail = position + HEADER_SIZE + length;
+        tailSequence++;
+        return tail;
+    }
+
+    /**
+     * Gets the position at which the record at or after {@code position} starts, skipping the unused end of a
+     * segment.
+     */
+    long recordStart(long position) {
+        int offset = offsetOf(position);
+        if (offset + HEADER_SIZE > segmentSize || segment(segmentOf(position)).getInt(offset) == 0) {
+            return nextSegment(position);
+        }
+
+        return position;
+    }
+
+    /**
+     * Gets the payload length of the record starting at {@code position}.
+     */
+    int recordLength(long position) {
+        return segment(segmentOf(position)).getInt(offsetOf(position)) - 1;
+    }
+
+    /**
+     * Decodes the record starting at {@code position}.
+     */
+    T read(long position) {
+        ByteBuffer source = segment(segmentOf(position)).duplicate();
+        int offset = offsetOf(position);
+        int length = source.getInt(offset) - 1;
+        source.position(offset + HEADER_SIZE);
+        source.limit(offset + HEADER_SIZE + length);
+        return codec.decode(source.slice());
+    }
+
+    private long segmentOf(long position) {
+        return position / segmentSize;
+    }
+
+    private int offsetOf(long position) {
+        return (int)(position % segmentSize);
+    }
+
+    private long nextSegment(long position) {
+        return (segmentOf(position) + 1) * segmentSize;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("store is closed");
+        }
+    }
+
+    /**
+     * Gets the mapped segment, mapping (and creating) its file on first use.
+     *
+     * @throws IllegalStateException if the segment has been reclaimed or the store is closed.
+     */
+    private MappedByteBuffer segment(long index) {
+        MappedByteBuffer buffer = segments.get(index);
+        if (buffer != null) {
+            return buffer;
+        }
+
+        synchronized (this) {
+            checkOpen();
+            if (index < segmentOf(committedHead)) {
+                throw new IllegalStateException("segment " + index + " has been reclaimed");
+            }
+
+            buffer = segments.get(index);
+            if (buffer == null) {
+                buffer = map(index);
+                segments.put(index, buffer);
+            }
+
+            return buffer;
+        }
+    }
+
+    private MappedByteBuffer map(long index) {
+        try (FileChannel channel = FileChannel.open(segmentFile(index),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void forceAll() {
+        for (MappedByteBuffer buffer : segments.values()) {
+            buffer.force();
+        }
+    }
+
+    private Path segmentFile(long index) {
+        return directory.resolve(String.format("%020d%s", index, SEGMENT_SUFFIX));
+    }
+
+    private static long segmentIndex(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void writeCheckpoint(long head, long headSequence, long tail, long tailSequence) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(CHECKPOINT_SIZE);
+        buffer.putInt(CHECKPOINT_MAGIC).putLong(head).putLong(headSequence).putLong(tail).putLong(tailSequence);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putLong(crc.getValue());
+        buffer.flip();
+
+        Path temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+
+            channel.force(true);
+        }
+
+        Files.move(temporary, directory.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Restores the head from the checkpoint, then finds the end of the log by scanning the records appended after
+     * the checkpoint. A torn record at the end, left by a crash during an append, is zeroed.
+     */
+    private void recover() throws IOException {
+        Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+        long lowest = -1;
+        long highest = -1;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                long index = segmentIndex(file);
+                if (index >= 0) {
+                    lowest = lowest < 0 ? index : Math.min(lowest, index);
+                    highest = Math.max(highest, index);
+                }
+            }
+        }
+
+        if (Files.exists(checkpoint)) {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(checkpoint));
+            if (buffer.capacity() != CHECKPOINT_SIZE) {
+                throw new IOException("corrupt checkpoint: " + checkpoint);
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.array(), 0, CHECKPOINT_SIZE - 8);
+            if (buffer.getInt() != CHECKPOINT_MAGIC || buffer.getLong(CHECKPOINT_SIZE - 8) != crc.getValue()) {
+                throw new IOException("corrupt checkpoint: " + checkpoint);
+            }
+
+            committedHead = buffer.getLong();
+            committedHeadSequence = buffer.getLong();
+            tail = buffer.getLong();
+            tailSequence = buffer.getLong();
+        } else if (lowest >= 0) {
+            committedHead = lowest * segmentSize;
+            tail = committedHead;
+        }
+
+        boolean torn = false;
+        while (highest >= 0 && segmentOf(tail) <= highest) {
+            long position = recordStart(tail);
+            if (segmentOf(position) > highest) {
+                break;
+            }
+
+            int offset = offsetOf(position);
+            ByteBuffer source = segment(segmentOf(position)).duplicate();
+            int length = source.getInt(offset) - 1;
+            if (length < 0 || offset + HEADER_SIZE + length > segmentSize) {
+                torn = true;
+                break;
+            }
+
+            source.position(offset + HEADER_SIZE);
+            source.limit(offset + HEADER_SIZE + length);
+            CRC32 crc = new CRC32();
+            crc.update(source);
+            if ((int)crc.getValue() != source.getInt(offset + 4)) {
+                torn = true;
+                break;
+            }
+
+            tail = position + HEADER_SIZE + length;
+            tailSequence++;
+        }
+
+        // Zero a torn record so that later appends cannot be followed by its stale bytes, and drop later segments.
+        long tailSegment = segmentOf(tail);
+        if (torn) {
+            MappedByteBuffer buffer = segment(tailSegment);
+            for (int offset = offsetOf(tail); offset < segmentSize; offset++) {
+                buffer.put(offset, (byte)0);
+            }
+        }
+
+        for (long index = tailSegment + 1; index <= highest; index++) {
+            segments.remove(index);
+            Files.deleteIfExists(segmentFile(index));
+        }
+    }
+}
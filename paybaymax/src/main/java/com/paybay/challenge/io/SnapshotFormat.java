@@ -0,0 +1,81 @@
+package com.paybay.challenge.io;
+
+/**
+ * Constants of the binary snapshot format written by {@link SnapshotWriter} and read by {@link SnapshotReader}.
+ *
+ * A snapshot is a header followed by the elements in iteration order (FIFO for queues, top first for stacks):
+ * <pre>
+ *   int  magic     0x50425153 ("PBQS")
+ *   byte version   1
+ *   byte kind      1 = queue, 2 = stack, 3 = queue delta
+ *   byte encoding  0 = codec, 1 = int32, 2 = int64, 3 = float64
+ *   int  count
+ *   elements       encoding 0: int length + codec payload; otherwise fixed-width big-endian values
+ * </pre>
+ * A queue delta has two more ints between the header and the elements: the base size and the dequeued count. Its
+ * element count is the number of enqueued elements.
+ */
+enum SnapshotFormat {
+    ;
+
+    static final int MAGIC = 0x50425153;
+
+    static final byte VERSION = 1;
+
+    static final int HEADER_SIZE = 4 + 1 + 1 + 1 + 4;
+
+    static final byte KIND_QUEUE = 1;
+
+    static final byte KIND_STACK = 2;
+
+    static final byte KIND_DELTA = 3;
+
+    static final byte ENCODING_CODEC = 0;
+
+    static final byte ENCODING_INT32 = 1;
+
+    static final byte ENCODING_INT64 = 2;
+
+    static final byte ENCODING_FLOAT64 = 3;
+
+    /**
+     * The size of a staging buffer for channels and streams.
+     */
+    static final int BUFFER_SIZE = 64 << 10;
+
+    /**
+     * Gets the fixed-width encoding that a built-in codec maps to.
+     *
+     * @param codec The codec.
+     * @return The encoding; {@link #ENCODING_CODEC} for any other codec.
+     */
+    static byte encodingOf(ElementCodec<?> codec) {
+        if (codec == ElementCodecs.int32()) {
+            return ENCODING_INT32;
+        } else if (codec == ElementCodecs.int64()) {
+            return ENCODING_INT64;
+        } else if (codec == ElementCodecs.float64()) {
+            return ENCODING_FLOAT64;
+        }
+
+        return ENCODING_CODEC;
+    }
+
+    /**
+     * Gets the size of an element in a fixed-width encoding.
+     *
+     * @param encoding The encoding.
+     * @return The size in bytes; {@code -1} for {@link #ENCODING_CODEC}.
+     */
+    static int widthOf(byte encoding) {
+        switch (encoding) {
+            case ENCODING_INT32:
+                return Integer.BYTES;
+            case ENCODING_INT64:
+            case ENCODING_FLOAT64:
+                return Long.BYTES;
+            default:
+                return -1;
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.paybay.challenge.io;
+
+import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.ImmutableStack;
+import com.paybay.challenge.types.QueueDelta;
+import com.paybay.challenge.types.primitive.ImmutableDoubleQueue;
+import com.paybay.challenge.types.primitive.ImmutableIntQueue;
+import com.paybay.challenge.types.primitive.ImmutableLongQueue;
+import com.paybay.challenge.utils.TypeCheckUtil;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads queues and stacks written by {@link SnapshotWriter}.
+ *
+ * The elements of a snapshot are decoded into a flat list and the collection is then built in one pass, front element
+ * on top of the outgoing stack, so no intermediate queue version is created per element.
+ *
+ * When reading from a channel or stream the reader buffers ahead and may consume bytes past the end of a snapshot;
+ * keep reading later snapshots through the same reader. Instances are not thread-safe.
+ */
+public final class SnapshotReader {
+
+    /**
+     * The initial capacity of the element lists; the count in the header is not trusted beyond this.
+     */
+    private static final int INITIAL_CAPACITY = 1 << 16;
+
+    /**
+     * The channel the buffer is refilled from; {@code null} when reading from a caller's buffer.
+     */
+    private final ReadableByteChannel channel;
+
+    /**
+     * The bytes read but not yet consumed, from position to limit.
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * Initializes a new instance of the {@link SnapshotReader} class that reads from a stream.
+     *
+     * @param in The stream to read from.
+     */
+    public SnapshotReader(InputStream in) {
+        this(Channels.newChannel(in));
+    }
+
+    /**
+     * Initializes a new instance of the {@link SnapshotReader} class that reads from a channel.
+     *
+     * @param channel The channel to read from, e.g. a {@link java.nio.channels.FileChannel}.
+     */
+    public SnapshotReader(ReadableByteChannel channel) {
+        TypeCheckUtil.notNull(channel, "channel");
+
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(SnapshotFormat.BUFFER_SIZE);
+        this.buffer.flip();
+    }
+
+    /**
+     * Initializes a new instance of the {@link SnapshotReader} class that reads from the position of a buffer.
+     *
+     * @param source The buffer to read from.
+     */
+    public SnapshotReader(ByteBuffer source) {
+        TypeCheckUtil.notNull(source, "source");
+
+        this.channel = null;
+        this.buffer = source;
+    }
+
+    /**
+     * Reads a queue snapshot.
+     *
+     * @param <T> The type of element stored by the queue.
+     * @param codec The codec the elements were written with.
+     * @return The queue.
+     * @throws IOException if the input ends early or is not a queue snapshot.
+     */
+    public <T> ImmutableQueue<T> readQueue(ElementCodec<T> codec) throws IOException {
+        TypeCheckUtil.notNull(codec, "codec");
+
+        byte encoding = SnapshotFormat.encodingOf(codec);
+        List<T> elements = readElements(readHeader(SnapshotFormat.KIND_QUEUE, encoding), encoding, codec);
+        return ImmutableQueue.createAll(elements);
+    }
+
+    /**
+     * Reads a stack snapshot.
+     *
+     * @param <T> The type of element stored by the stack.
+     * @param codec The codec the elements were written with.
+     * @return The stack.
+     * @throws IOException if the input ends early or is not a stack snapshot.
+     */
+    public <T> ImmutableStack<T> readStack(ElementCodec<T> codec) throws IOException {
+        TypeCheckUtil.notNull(codec, "codec");
+
+        // Written top first, so the bottom element is pushed first.
+        byte encoding = SnapshotFormat.encodingOf(codec);
+        List<T> elements = readElements(readHeader(SnapshotFormat.KIND_STACK, encoding), encoding, codec);
+        ImmutableStack<T> stack = ImmutableStack.empty();
+        for (int i = elements.size() - 1; i >= 0; i--) {
+            stack = stack.push(elements.get(i));
+        }
+
+        return stack;
+    }
+
+    /**
+     * Reads a queue delta.
+     *
+     * @param <T> The type of element stored by the queue.
+     * @param codec The codec the enqueued elements were written with.
+     * @return The delta, to be applied to a replica of its base version.
+     * @throws IOException if the input ends early or is not a delta.
+     */
+    public <T> QueueDelta<T> readDelta(ElementCodec<T> codec) throws IOException {
+        TypeCheckUtil.notNull(codec, "codec");
+
+        byte encoding = SnapshotFormat.encodingOf(codec);
+        int count = readHeader(SnapshotFormat.KIND_DELTA, encoding);
+        require(2 * Integer.BYTES);
+        int baseSize = buffer.getInt();
+        int dequeued = buffer.getInt();
+        if (dequeued < 0 || dequeued > baseSize) {
+            throw new IOException("corrupt delta: dequeued " + dequeued + " of " + baseSize);
+        }
+
+        return new QueueDelta<T>(baseSize, dequeued, readElements(count, encoding, codec));
+    }
+
+    /**
+     * Reads a queue snapshot written with the {@code int32} encoding.
+     *
+     * @return The queue.
+     * @throws IOException if the input ends early or is not an {@code int32} queue snapshot.
+     */
+    public ImmutableIntQueue readIntQueue() throws IOException {
+        int count = readHeader(SnapshotFormat.KIND_QUEUE, SnapshotFormat.ENCODING_INT32);
+        int[] values = new int[Math.min(count, INITIAL_CAPACITY)];
+        for (int i = 0; i < count; i++) {
+            if (i == values.length) {
+                values = Arrays.copyOf(values, Math.min(count, values.length * 2));
+            }
+
+            require(Integer.BYTES);
+            values[i] = buffer.getInt();
+        }
+
+        return ImmutableIntQueue.create(values);
+    }
+
+    /**
+     * Reads a queue snapshot written with the {@code int64} encoding.
+     *
+     * @return The queue.
+     * @throws IOException if the input ends early or is not an {@code int64} queue snapshot.
+     */
+    public ImmutableLongQueue readLongQueue() throws IOException {
+        int count = readHeader(SnapshotFormat.KIND_QUEUE, SnapshotFormat.ENCODING_INT64);
+        long[] values = new long[Math.min(count, INITIAL_CAPACITY)];
+        for (int i = 0; i < count; i++) {
+            if (i == values.length) {
+                values = Arrays.copyOf(values, Math.min(count, values.length * 2));
+            }
+
+            require(Long.BYTES);
+            values[i] = buffer.getLong();
+        }
+
+        return ImmutableLongQueue.create(values);
+    }
+
+    /**
+     * Reads a queue snapshot written with the {@code float64} encoding.
+     *
+     * @return The queue.
+     * @throws IOException if the input ends early or is not a {@code float64} queue snapshot.
+     */
+    public ImmutableDoubleQueue readDoubleQueue() throws IOException {
+        int count = readHeader(SnapshotFormat.KIND_QUEUE, SnapshotFormat.ENCODING_FLOAT64);
+        double[] values = new double[Math.min(count, INITIAL_CAPACITY)];
+        for (int i = 0; i < count; i++) {
+            if (i == values.length) {
+                values = Arrays.copyOf(values, Math.min(count, values.length * 2));
+            }
+
+            require(Double.BYTES);
+            values[i] = buffer.getDouble();
+        }
+
+        return ImmutableDoubleQueue.create(values);
+    }
+
+    private <T> List<T> readElements(int count, byte encoding, ElementCodec<T> codec) throws IOException {
+        int width = SnapshotFormat.widthOf(encoding);
+        List<T> elements = new ArrayList<T>(Math.min(count, INITIAL_CAPACITY));
+        for (int i = 0; i < count; i++) {
+            int length = width;
+            if (length < 0) {
+                require(Integer.BYTES);
+                length = buffer.getInt();
+                if (length < 0) {
+                    throw new IOException("corrupt snapshot: element length " + length);
+                }
+            }
+
+            require(length);
+            elements.add(decode(codec, length));
+        }
+
+        return elements;
+    }
+
+    /**
+     * Decodes the next {@code length} bytes, showing the codec only those bytes.
+     */
+    private <T> T decode(ElementCodec<T> codec, int length) {
+        int limit = buffer.limit();
+        int end = buffer.position() + length;
+        buffer.limit(end);
+        try {
+            return codec.decode(buffer);
+        } finally {
+            buffer.limit(limit);
+            buffer.position(end);
+        }
+    }
+
+    /**
+     * Reads and checks a header.
+     *
+     * @return The element count.
+     */
+    private int readHeader(byte kind, byte encoding) throws IOException {
+        require(SnapshotFormat.HEADER_SIZE);
+        int magic = buffer.getInt();
+        byte version = buffer.get();
+        byte actualKind = buffer.get();
+        byte actualEncoding = buffer.get();
+        int count = buffer.getInt();
+        if (magic != SnapshotFormat.MAGIC) {
+            throw new IOException("not a snapshot: magic " + Integer.toHexString(magic));
+        } else if (version != SnapshotFormat.VERSION) {
+            throw new IOException("unsupported snapshot version " + version);
+        } else if (actualKind != kind) {
+            throw new IOException("snapshot kind " + actualKind + ", expected " + kind);
+        } else if (actualEncoding != encoding) {
+            throw new IOException("snapshot encoding " + actualEncoding + ", expected " + encoding);
+        } else if (count < 0) {
+            throw new IOException("corrupt snapshot: count " + count);
+        }
+
+        return count;
+    }
+
+    /**
+     * Makes sure at least {@code bytes} unread bytes are in the buffer, refilling it from the channel if need be.
+     */
+    private void require(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        } else if (channel == null) {
+            throw new EOFException();
+        }
+
+        if (bytes > buffer.capacity()) {
+            ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(bytes, buffer.capacity() * 2));
+            larger.put(buffer);
+            buffer = larger;
+        } else {
+            buffer.compact();
+        }
+
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException();
+            }
+        }
+
+        buffer.flip();
+    }
+}
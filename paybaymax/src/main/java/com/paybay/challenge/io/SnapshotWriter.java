@@ -0,0 +1,274 @@
+package com.paybay.challenge.io;
+
+import com.paybay.challenge.types.Queue;
+import com.paybay.challenge.types.QueueDelta;
+import com.paybay.challenge.types.Stack;
+import com.paybay.challenge.types.primitive.DoubleQueue;
+import com.paybay.challenge.types.primitive.IntQueue;
+import com.paybay.challenge.types.primitive.LongQueue;
+import com.paybay.challenge.utils.TypeCheckUtil;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.PrimitiveIterator;
+
+/**
+ * Writes queues and stacks in the binary snapshot format described by {@link SnapshotFormat}.
+ *
+ * Elements are encoded straight from the collection's iterator into a staging buffer, so no copy of the collection is
+ * made whatever its size. Elements encoded with {@link ElementCodecs#int32()}, {@link ElementCodecs#int64()} or
+ * {@link ElementCodecs#float64()}, and the primitive queues, are written as fixed-width values without a length
+ * prefix.
+ *
+ * When writing to a channel or stream every snapshot has been handed to it by the time the write method returns; when
+ * writing to a buffer a snapshot that does not fit throws {@link BufferOverflowException}. Instances are not
+ * thread-safe.
+ */
+public final class SnapshotWriter {
+
+    /**
+     * The channel the staging buffer is drained to; {@code null} when writing to a caller's buffer.
+     */
+    private final WritableByteChannel channel;
+
+    /**
+     * The staging buffer, or the caller's buffer.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Initializes a new instance of the {@link SnapshotWriter} class that writes to a stream.
+     *
+     * @param out The stream to write to.
+     */
+    public SnapshotWriter(OutputStream out) {
+        this(Channels.newChannel(out));
+    }
+
+    /**
+     * Initializes a new instance of the {@link SnapshotWriter} class that writes to a channel.
+     *
+     * @param channel The channel to write to, e.g. a {@link java.nio.channels.FileChannel}.
+     */
+    public SnapshotWriter(WritableByteChannel channel) {
+        TypeCheckUtil.notNull(channel, "channel");
+
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(SnapshotFormat.BUFFER_SIZE);
+    }
+
+    /**
+     * Initializes a new instance of the {@link SnapshotWriter} class that writes at the position of a buffer.
+     *
+     * @param target The buffer to write to.
+     */
+    public SnapshotWriter(ByteBuffer target) {
+        TypeCheckUtil.notNull(target, "target");
+
+        this.channel = null;
+        this.buffer = target;
+    }
+
+    /**
+     * Writes a queue, front element first.
+     *
+     * @param <T> The type of element stored by the queue.
+     * @param queue The queue to write.
+     * @param codec The codec for the elements.
+     * @throws IOException if the channel or stream cannot be written.
+     */
+    public <T> void writeQueue(Queue<? extends T> queue, ElementCodec<T> codec) throws IOException {
+        TypeCheckUtil.notNull(queue, "queue");
+
+        write(SnapshotFormat.KIND_QUEUE, queue, queue.size(), codec);
+    }
+
+    /**
+     * Writes a stack, top element first.
+     *
+     * @param <T> The type of element stored by the stack.
+     * @param stack The stack to write.
+     * @param codec The codec for the elements.
+     * @throws IOException if the channel or stream cannot be written.
+     */
+    public <T> void writeStack(Stack<? extends T> stack, ElementCodec<T> codec) throws IOException {
+        TypeCheckUtil.notNull(stack, "stack");
+
+        write(SnapshotFormat.KIND_STACK, stack, stack.size(), codec);
+    }
+
+    /**
+     * Writes the difference between two versions of a queue; a replica holding the base version applies it after
+     * {@link SnapshotReader#readDelta}.
+     *
+     * @param <T> The type of element stored by the queue.
+     * @param delta The delta to write.
+     * @param codec The codec for the enqueued elements.
+     * @throws IOException if the channel or stream cannot be written.
+     */
+    public <T> void writeDelta(QueueDelta<? extends T> delta, ElementCodec<T> codec) throws IOException {
+        TypeCheckUtil.notNull(delta, "delta");
+        TypeCheckUtil.notNull(codec, "codec");
+
+        byte encoding = SnapshotFormat.encodingOf(codec);
+        writeHeader(SnapshotFormat.KIND_DELTA, encoding, delta.enqueued().size());
+        require(2 * Integer.BYTES);
+        buffer.putInt(delta.baseSize());
+        buffer.putInt(delta.dequeued());
+        writeElements(delta.enqueued(), encoding, codec);
+        drain();
+    }
+
+    /**
+     * Writes a queue of {@code int} values, front element first. The snapshot can be read back with either
+     * {@link SnapshotReader#readIntQueue()} or {@link SnapshotReader#readQueue} and {@link ElementCodecs#int32()}.
+     *
+     * @param queue The queue to write.
+     * @throws IOException if the channel or stream cannot be written.
+     */
+    public void writeQueue(IntQueue queue) throws IOException {
+        TypeCheckUtil.notNull(queue, "queue");
+
+        writeHeader(SnapshotFormat.KIND_QUEUE, SnapshotFormat.ENCODING_INT32, queue.size());
+        for (PrimitiveIterator.OfInt it = queue.iterator(); it.hasNext(); ) {
+            require(Integer.BYTES);
+            buffer.putInt(it.nextInt());
+        }
+
+        drain();
+    }
+
+    /**
+     * Writes a queue of {@code long} values, front element first. The snapshot can be read back with either
+     * {@link SnapshotReader#readLongQueue()} or {@link SnapshotReader#readQueue} and {@link ElementCodecs#int64()}.
+     *
+     * @param queue The queue to write.
+     * @throws IOException if the channel or stream cannot be written.
+     */
+    public void writeQueue(LongQueue queue) throws IOException {
+        TypeCheckUtil.notNull(queue, "queue");
+
+        writeHeader(SnapshotFormat.KIND_QUEUE, SnapshotFormat.ENCODING_INT64, queue.size());
+        for (PrimitiveIterator.OfLong it = queue.iterator(); it.hasNext(); ) {
+            require(Long.BYTES);
+            buffer.putLong(it.nextLong());
+        }
+
+        drain();
+    }
+
+    /**
+     * Writes a queue of {@code double} values, front element first. The snapshot can be read back with either
+     * {@link SnapshotReader#readDoubleQueue()} or {@link SnapshotReader#readQueue} and
+     * {@link ElementCodecs#float64()}.
+     *
+     * @param queue The queue to write.
+     * @throws IOException if the channel or stream cannot be written.
+     */
+    public void writeQueue(DoubleQueue queue) throws IOException {
+        TypeCheckUtil.notNull(queue, "queue");
+
+        writeHeader(SnapshotFormat.KIND_QUEUE, SnapshotFormat.ENCODING_FLOAT64, queue.size());
+        for (PrimitiveIterator.OfDouble it = queue.iterator(); it.hasNext(); ) {
+            require(Double.BYTES);
+            buffer.putDouble(it.nextDouble());
+        }
+
+        drain();
+    }
+
+    private <T> void write(byte kind, Iterable<? extends T> elements, int count, ElementCodec<T> codec)
+            throws IOException {
+        TypeCheckUtil.notNull(codec, "codec");
+
+        byte encoding = SnapshotFormat.encodingOf(codec);
+        writeHeader(kind, encoding, count);
+        writeElements(elements, encoding, codec);
+        drain();
+    }
+
+    private <T> void writeElements(Iterable<? extends T> elements, byte encoding, ElementCodec<T> codec)
+            throws IOException {
+        int width = SnapshotFormat.widthOf(encoding);
+        for (T element : elements) {
+            if (width > 0) {
+                require(width);
+                codec.encode(element, buffer);
+            } else {
+                writeElement(element, codec);
+            }
+        }
+    }
+
+    private <T> void writeElement(T element, ElementCodec<T> codec) throws IOException {
+        int length = codec.encodedSize(element);
+        if (channel == null || Integer.BYTES + length <= buffer.capacity()) {
+            require(Integer.BYTES + length);
+            buffer.putInt(length);
+            encode(element, codec, buffer, length);
+            return;
+        }
+
+        // Too large for the staging buffer: encode it on its own and write it through.
+        require(Integer.BYTES);
+        buffer.putInt(length);
+        drain();
+        ByteBuffer large = ByteBuffer.allocate(length);
+        encode(element, codec, large, length);
+        large.flip();
+        while (large.hasRemaining()) {
+            channel.write(large);
+        }
+    }
+
+    private static <T> void encode(T element, ElementCodec<T> codec, ByteBuffer target, int length) {
+        int start = target.position();
+        codec.encode(element, target);
+        if (target.position() - start != length) {
+            throw new IllegalStateException(
+                    "codec wrote " + (target.position() - start) + " bytes, encodedSize was " + length);
+        }
+    }
+
+    private void writeHeader(byte kind, byte encoding, int count) throws IOException {
+        require(SnapshotFormat.HEADER_SIZE);
+        buffer.putInt(SnapshotFormat.MAGIC);
+        buffer.put(SnapshotFormat.VERSION);
+        buffer.put(kind);
+        buffer.put(encoding);
+        buffer.putInt(count);
+    }
+
+    /**
+     * Makes room for {@code bytes} bytes in the buffer, draining the staging buffer if need be.
+     */
+    private void require(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        } else if (channel == null) {
+            throw new BufferOverflowException();
+        }
+
+        drain();
+    }
+
+    /**
+     * Writes the staging buffer to the channel; does nothing when writing to a caller's buffer.
+     */
+    private void drain() throws IOException {
+        if (channel == null) {
+            return;
+        }
+
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        buffer.clear();
+    }
+}
@@ -0,0 +1,87 @@
+package com.paybay.challenge.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent histogram of non-negative values with power-of-two buckets: bucket {@code 0} counts the value
+ * {@code 0} and bucket {@code i > 0} counts the values in {@code [2^(i-1), 2^i)}. Recording is one
+ * {@link LongAdder#increment()}, so threads recording at the same time do not contend on a shared counter.
+ */
+public final class Log2Histogram {
+
+    /**
+     * The number of buckets; enough for every non-negative {@code long}.
+     */
+    public static final int BUCKETS = 64;
+
+    /**
+     * The bucket counters.
+     */
+    private final LongAdder[] buckets;
+
+    /**
+     * Initializes a new instance of the {@link Log2Histogram} class.
+     */
+    public Log2Histogram() {
+        buckets = new LongAdder[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Counts a value.
+     *
+     * @param value The value; negative values are counted as {@code 0}.
+     */
+    public void record(long value) {
+        buckets[bucketOf(value)].increment();
+    }
+
+    /**
+     * Gets the bucket a value is counted in.
+     *
+     * @param value The value.
+     * @return The bucket index.
+     */
+    public static int bucketOf(long value) {
+        return value <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(value);
+    }
+
+    /**
+     * Gets the bucket counts. The counts are read one after the other, so values recorded meanwhile may be missing.
+     *
+     * @return The count of every bucket.
+     */
+    public long[] counts() {
+        long[] result = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            result[i] = buckets[i].sum();
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets the number of recorded values.
+     *
+     * @return The sum of all bucket counts.
+     */
+    public long count() {
+        long result = 0;
+        for (LongAdder bucket : buckets) {
+            result += bucket.sum();
+        }
+
+        return result;
+    }
+
+    /**
+     * Resets every bucket to zero.
+     */
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.paybay.challenge.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Counters for the hot paths of {@link com.paybay.challenge.types.ImmutableQueue} and
+ * {@link com.paybay.challenge.types.ImmutableStack}: enqueues, dequeues, incoming stack reversals (with histograms of
+ * their lengths and durations), iterators created and stack nodes allocated.
+ *
+ * Metrics are off unless the JVM is started with {@code -D}{@value #PROPERTY}{@code =true}. Every recording site is
+ * guarded by {@link #ENABLED}, a {@code static final} constant, so when metrics are off the JIT compiler removes the
+ * guarded code altogether. When on, recording is a {@link LongAdder} increment and the metrics are also registered
+ * with the platform MBean server as {@value #OBJECT_NAME}.
+ */
+public enum QueueMetrics {
+    ;
+
+    /**
+     * The system property that enables metrics.
+     */
+    public static final String PROPERTY = "com.paybay.challenge.metrics";
+
+    /**
+     * The name of the MBean exposing the metrics.
+     */
+    public static final String OBJECT_NAME = "com.paybay.challenge:type=QueueMetrics";
+
+    /**
+     * Whether metrics are recorded; read once, when this class is initialized.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+    private static final LongAdder ENQUEUES = new LongAdder();
+
+    private static final LongAdder DEQUEUES = new LongAdder();
+
+    private static final LongAdder REVERSALS = new LongAdder();
+
+    private static final LongAdder ITERATORS = new LongAdder();
+
+    private static final LongAdder NODES = new LongAdder();
+
+    private static final Log2Histogram REVERSAL_LENGTHS = new Log2Histogram();
+
+    private static final Log2Histogram REVERSAL_NANOS = new Log2Histogram();
+
+    static {
+        if (ENABLED) {
+            register();
+        }
+    }
+
+    /**
+     * Counts enqueued elements. Callers guard the call with {@link #ENABLED}.
+     *
+     * @param count The number of elements.
+     */
+    public static void recordEnqueues(int count) {
+        ENQUEUES.add(count);
+    }
+
+    /**
+     * Counts dequeued elements. Callers guard the call with {@link #ENABLED}.
+     *
+     * @param count The number of elements.
+     */
+    public static void recordDequeues(int count) {
+        DEQUEUES.add(count);
+    }
+
+    /**
+     * Counts a reversal of an incoming stack. Callers guard the call with {@link #ENABLED}.
+     *
+     * @param length The number of elements reversed.
+     * @param nanos The time the reversal took.
+     */
+    public static void recordReversal(int length, long nanos) {
+        REVERSALS.increment();
+        REVERSAL_LENGTHS.record(length);
+        REVERSAL_NANOS.record(nanos);
+    }
+
+    /**
+     * Counts a created iterator. Callers guard the call with {@link #ENABLED}.
+     */
+    public static void recordIterator() {
+        ITERATORS.increment();
+    }
+
+    /**
+     * Counts an allocated stack node. Callers guard the call with {@link #ENABLED}.
+     */
+    public static void recordNode() {
+        NODES.increment();
+    }
+
+    /**
+     * @return Whether metrics are recorded.
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * @return The number of elements enqueued.
+     */
+    public static long enqueues() {
+        return ENQUEUES.sum();
+    }
+
+    /**
+     * @return The number of elements dequeued.
+     */
+    public static long dequeues() {
+        return DEQUEUES.sum();
+    }
+
+    /**
+     * @return The number of incoming stack reversals.
+     */
+    public static long reversals() {
+        return REVERSALS.sum();
+    }
+
+    /**
+     * @return The number of iterators created.
+     */
+    public static long iterators() {
+        return ITERATORS.sum();
+    }
+
+    /**
+     * @return The number of stack nodes allocated.
+     */
+    public static long nodesAllocated() {
+        return NODES.sum();
+    }
+
+    /**
+     * @return The histogram of reversal lengths, in elements.
+     */
+    public static Log2Histogram reversalLengths() {
+        return REVERSAL_LENGTHS;
+    }
+
+    /**
+     * @return The histogram of reversal durations, in nanoseconds.
+     */
+    public static Log2Histogram reversalNanos() {
+        return REVERSAL_NANOS;
+    }
+
+    /**
+     * Resets all counters and histograms to zero.
+     */
+    public static void reset() {
+        ENQUEUES.reset();
+        DEQUEUES.reset();
+        REVERSALS.reset();
+        ITERATORS.reset();
+        NODES.reset();
+        REVERSAL_LENGTHS.reset();
+        REVERSAL_NANOS.reset();
+    }
+
+    private static void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new Bean(), new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            // Already registered (e.g. by another class loader) or no MBean server: the counters still work.
+        }
+    }
+
+    private static final class Bean implements QueueMetricsMXBean {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long getEnqueues() {
+            return enqueues();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long getDequeues() {
+            return dequeues();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long getReversals() {
+            return reversals();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long getIterators() {
+            return iterators();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long getNodesAllocated() {
+            return nodesAllocated();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long[] getReversalLengths() {
+            return REVERSAL_LENGTHS.counts();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long[] getReversalNanos() {
+            return REVERSAL_NANOS.counts();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isEnabled() {
+            return ENABLED;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void reset() {
+            QueueMetrics.reset();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.paybay.challenge.metrics;
+
+/**
+ * The JMX view of {@link QueueMetrics}, registered as {@value QueueMetrics#OBJECT_NAME} when metrics are enabled.
+ */
+public interface QueueMetricsMXBean {
+
+    /**
+     * @return The number of elements enqueued.
+     */
+    long getEnqueues();
+
+    /**
+     * @return The number of elements dequeued.
+     */
+    long getDequeues();
+
+    /**
+     * @return The number of incoming stack reversals.
+     */
+    long getReversals();
+
+    /**
+     * @return The number of iterators created.
+     */
+    long getIterators();
+
+    /**
+     * @return The number of stack nodes allocated.
+     */
+    long getNodesAllocated();
+
+    /**
+     * @return The reversal lengths in elements, per power-of-two bucket (see {@link Log2Histogram}).
+     */
+    long[] getReversalLengths();
+
+    /**
+     * @return The reversal durations in nanoseconds, per power-of-two bucket (see {@link Log2Histogram}).
+     */
+    long[] getReversalNanos();
+
+    /**
+     * @return Whether the counters are recording.
+     */
+    boolean isEnabled();
+
+    /**
+     * Resets all counters and histograms to zero.
+     */
+    void reset();
+}
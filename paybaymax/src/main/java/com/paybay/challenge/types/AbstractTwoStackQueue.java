@@ -0,0 +1,131 @@
+package com.paybay.challenge.types;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Base of the queues made of an outgoing and an incoming stack: finds the {@link Reversal} of the incoming stack that
+ * every version holding the same incoming stack shares. The holder is created lazily, so enqueues allocate none.
+ *
+ * The reversal link of a queue is
+ *  - {@code null} while the queue owns its incoming stack (it pushed it) and nothing has needed the holder yet, or
+ *    when the incoming stack is empty;
+ *  - the owning queue, for a queue derived from the owner with the same incoming stack, until the holder is needed;
+ *  - the shared {@link Reversal} from then on.
+ * Only the owner's link goes from {@code null} to a holder by CAS, so every version finds the same holder. A derived
+ * queue keeps its owner reachable, and with it the elements dequeued in between, until it resolves the holder;
+ * deriving a queue from it resolves it, so the owner is never retained through more than one step.
+ *
+ * @param <S> The type of the stacks.
+ */
+public abstract class AbstractTwoStackQueue<S> {
+
+    /**
+     * Updates {@link #reversal} of the queue that owns its incoming stack.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<AbstractTwoStackQueue, Object> REVERSAL =
+            AtomicReferenceFieldUpdater.newUpdater(AbstractTwoStackQueue.class, Object.class, "reversal");
+
+    /**
+     * The reversal link: {@code null}, the owning queue or the shared {@link Reversal}.
+     */
+    private volatile Object reversal;
+
+    /**
+     * Initializes a new instance of the {@link AbstractTwoStackQueue} class.
+     *
+     * @param reversal What {@link #derivedReversal(boolean)} returned on the queue this one is derived from with the
+     *                 same incoming stack; {@code null} if this queue owns its incoming stack.
+     */
+    protected AbstractTwoStackQueue(Object reversal) {
+        if (reversal != null) {
+            // A release store: the queue is published like any other, and a volatile store would fence every dequeue.
+            REVERSAL.lazySet(this, reversal);
+        }
+    }
+
+    /**
+     * Creates a holder for the reversal of the incoming stack of this queue, which owns it. The holder must not keep
+     * the queue reachable.
+     *
+     * @return The new holder.
+     */
+    protected abstract Reversal<S> newReversal();
+
+    /**
+     * Gets the link a queue derived from this one with the same incoming stack passes to
+     * {@link #AbstractTwoStackQueue(Object)}. The owner hands out itself, so a dequeue allocates no holder; other
+     * queues resolve the holder, which their owner creates at most once.
+     *
+     * @param incomingEmpty Whether the incoming stack is empty, in which case there is nothing to share.
+     * @return The link; {@code null} if {@code incomingEmpty}.
+     */
+    protected final Object derivedReversal(boolean incomingEmpty) {
+        if (incomingEmpty) {
+            return null;
+        }
+
+        Object ref = reversal;
+        if (ref == null) {
+            return this;
+        } else if (ref instanceof Reversal) {
+            return ref;
+        }
+
+        return sharedReversal();
+    }
+
+    /**
+     * Gets the holder of the reversal of the non-empty incoming stack, creating it on the owner if no version has
+     * done so yet. A derived queue then keeps the holder instead of its owner.
+     *
+     * @return The shared holder.
+     */
+    @SuppressWarnings("unchecked")
+    protected final Reversal<S> sharedReversal() {
+        Object ref = reversal;
+        if (ref instanceof Reversal) {
+            return (Reversal<S>)ref;
+        } else if (ref == null) {
+            return ownReversal();
+        }
+
+        Reversal<S> result = ((AbstractTwoStackQueue<S>)ref).ownReversal();
+        reversal = result;
+        return result;
+    }
+
+    /**
+     * Gets the reversed incoming stack if this or another version sharing it has already computed it; never computes
+     * it.
+     *
+     * @return The reversed incoming stack, or {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    protected final S reversedIncomingIfComputed() {
+        Object ref = reversal;
+        if (ref instanceof AbstractTwoStackQueue) {
+            ref = ((AbstractTwoStackQueue<?>)ref).reversal;
+        }
+
+        return ref == null ? null : ((Reversal<S>)ref).reversed;
+    }
+
+    /**
+     * Gets the holder of the queue that owns the incoming stack, installing a new one by CAS.
+     */
+    @SuppressWarnings("unchecked")
+    private Reversal<S> ownReversal() {
+        Object ref = reversal;
+        if (ref == null) {
+            Reversal<S> created = newReversal();
+            if (REVERSAL.compareAndSet(this, null, created)) {
+                return created;
+            }
+
+            ref = reversal;
+        }
+
+        return (Reversal<S>)ref;
+    }
+}
@@ -0,0 +1,38 @@
+package com.paybay.challenge.types;
+
+/**
+ * An associative operation over the elements of a queue, with an identity: a monoid. {@link ImmutableAggregatingQueue}
+ * keeps the aggregate of its elements up to date with it on every enqueue and dequeue.
+ *
+ * {@link #combine(Object, Object)} must be associative and must treat {@link #identity()} as a neutral element on
+ * both sides; it does not need to be commutative, the queue always combines in queue order. Aggregates are shared
+ * between queue versions and must not be mutated.
+ * @param <T> The type of element aggregated.
+ * @param <A> The type of the aggregate.
+ */
+public interface Aggregator<T, A> {
+
+    /**
+     * Gets the aggregate of no elements.
+     *
+     * @return The identity of {@link #combine(Object, Object)}.
+     */
+    public A identity();
+
+    /**
+     * Gets the aggregate of a single element.
+     *
+     * @param value The element.
+     * @return The aggregate of {@code value}.
+     */
+    public A lift(T value);
+
+    /**
+     * Combines the aggregate of a run of elements with the aggregate of the run that follows it.
+     *
+     * @param front The aggregate of the earlier elements.
+     * @param back The aggregate of the later elements.
+     * @return The aggregate of both runs.
+     */
+    public A combine(A front, A back);
+}
@@ -0,0 +1,210 @@
+package com.paybay.challenge.types;
+
+import com.paybay.challenge.utils.TypeCheckUtil;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * The built-in {@link Aggregator}s: count, sum, min, max and mean.
+ */
+public enum Aggregators {
+    ;
+
+    /**
+     * The aggregator counting elements.
+     */
+    private static final Aggregator<Object, Long> COUNT = new Aggregator<Object, Long>() {
+        @Override
+        public Long identity() {
+            return 0L;
+        }
+
+        @Override
+        public Long lift(Object value) {
+            return 1L;
+        }
+
+        @Override
+        public Long combine(Long front, Long back) {
+            return front + back;
+        }
+    };
+
+    /**
+     * Gets an aggregator counting the elements.
+     *
+     * @param <T> The type of element aggregated.
+     * @return The aggregator.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Aggregator<T, Long> count() {
+        return (Aggregator<T, Long>)(Aggregator<?, Long>)COUNT;
+    }
+
+    /**
+     * Gets an aggregator summing a {@code long} value of the elements; overflow wraps around.
+     *
+     * @param <T> The type of element aggregated.
+     * @param values Extracts the value of an element.
+     * @return The aggregator.
+     */
+    public static <T> Aggregator<T, Long> sum(final ToLongFunction<? super T> values) {
+        TypeCheckUtil.notNull(values, "values");
+
+        return new Aggregator<T, Long>() {
+            @Override
+            public Long identity() {
+                return 0L;
+            }
+
+            @Override
+            public Long lift(T value) {
+                return values.applyAsLong(value);
+            }
+
+            @Override
+            public Long combine(Long front, Long back) {
+                return front + back;
+            }
+        };
+    }
+
+    /**
+     * Gets an aggregator keeping the least element, the earliest one among equals. The aggregate of no elements is
+     * {@code null}.
+     *
+     * @param <T> The type of element aggregated.
+     * @param comparator Orders the elements.
+     * @return The aggregator.
+     */
+    public static <T> Aggregator<T, T> min(final Comparator<? super T> comparator) {
+        TypeCheckUtil.notNull(comparator, "comparator");
+
+        return new Aggregator<T, T>() {
+            @Override
+            public T identity() {
+                return null;
+            }
+
+            @Override
+            public T lift(T value) {
+                return value;
+            }
+
+            @Override
+            public T combine(T front, T back) {
+                if (front == null) {
+                    return back;
+                } else if (back == null) {
+                    return front;
+                }
+
+                return comparator.compare(back, front) < 0 ? back : front;
+            }
+        };
+    }
+
+    /**
+     * Gets an aggregator keeping the greatest element, the earliest one among equals. The aggregate of no elements
+     * is {@code null}.
+     *
+     * @param <T> The type of element aggregated.
+     * @param comparator Orders the elements.
+     * @return The aggregator.
+     */
+    public static <T> Aggregator<T, T> max(Comparator<? super T> comparator) {
+        TypeCheckUtil.notNull(comparator, "comparator");
+
+        return min(Collections.reverseOrder(comparator));
+    }
+
+    /**
+     * Gets an aggregator averaging a {@code double} value of the elements.
+     *
+     * @param <T> The type of element aggregated.
+     * @param values Extracts the value of an element.
+     * @return The aggregator.
+     */
+    public static <T> Aggregator<T, Mean> mean(final ToDoubleFunction<? super T> values) {
+        TypeCheckUtil.notNull(values, "values");
+
+        return new Aggregator<T, Mean>() {
+            @Override
+            public Mean identity() {
+                return Mean.EMPTY;
+            }
+
+            @Override
+            public Mean lift(T value) {
+                return new Mean(1, values.applyAsDouble(value));
+            }
+
+            @Override
+            public Mean combine(Mean front, Mean back) {
+                if (front.count == 0) {
+                    return back;
+                } else if (back.count == 0) {
+                    return front;
+                }
+
+                return new Mean(front.count + back.count, front.sum + back.sum);
+            }
+        };
+    }
+
+    /**
+     * The aggregate of {@link #mean(ToDoubleFunction)}: a count and a sum.
+     */
+    public static final class Mean {
+
+        /**
+         * The mean of no elements.
+         */
+        private static final Mean EMPTY = new Mean(0, 0);
+
+        /**
+         * The number of elements.
+         */
+        private final long count;
+
+        /**
+         * The sum of the values of the elements.
+         */
+        private final double sum;
+
+        /**
+         * Initializes a new instance of the {@link Mean} class.
+         *
+         * @param count The number of elements.
+         * @param sum The sum of their values.
+         */
+        private Mean(long count, double sum) {
+            this.count = count;
+            this.sum = sum;
+        }
+
+        /**
+         * @return The number of elements.
+         */
+        public long count() {
+            return count;
+        }
+
+        /**
+         * @return The sum of the values of the elements.
+         */
+        public double sum() {
+            return sum;
+        }
+
+        /**
+         * @return The mean of the values; {@link Double#NaN} if there are no elements.
+         */
+        public double value() {
+            return count == 0 ? Double.NaN : sum / count;
+        }
+    }
+}
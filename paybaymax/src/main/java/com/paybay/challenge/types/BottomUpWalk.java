@@ -0,0 +1,168 @@
+package com.paybay.challenge.types;
+
+import java.util.Arrays;
+
+/**
+ * Visits the elements of an {@link ImmutableStack} from the bottom up without reversing it. A first pass records
+ * every {@code segmentLength}-th node as a checkpoint; the segments between checkpoints are then copied, last one
+ * first, into a scratch array and read backwards. The arrays are per thread and reused, so a walk allocates nothing,
+ * and it takes two passes over the stack.
+ *
+ * Both arrays hold {@link #CAPACITY} entries, enough for stacks of up to {@code CAPACITY * CAPACITY} elements. A
+ * larger stack, or a walk started while the thread's scratch is in use (an action that walks another stack), gets
+ * arrays of its own, of about the square root of the stack size.
+ *
+ * Usage: {@link #start(ImmutableStack)}, then {@link #load(int)} each segment from {@code segments() - 1} down to
+ * {@code 0} and read it with {@link #element(int)} from {@code length - 1} down to {@code 0}, then {@link #finish()}
+ * in a {@code finally} block.
+ */
+final class BottomUpWalk {
+
+    /**
+     * The length of the per thread arrays.
+     */
+    static final int CAPACITY = 2048;
+
+    /**
+     * The scratch of each thread.
+     */
+    private static final ThreadLocal<BottomUpWalk> SCRATCH = new ThreadLocal<BottomUpWalk>() {
+        @Override
+        protected BottomUpWalk initialValue() {
+            return new BottomUpWalk(CAPACITY, true);
+        }
+    };
+
+    /**
+     * The first node of each segment, top segment first.
+     */
+    private final ImmutableStack<?>[] checkpoints;
+
+    /**
+     * The elements of the loaded segment, top first.
+     */
+    private final Object[] segment;
+
+    /**
+     * Whether this is a thread's reusable scratch.
+     */
+    private final boolean shared;
+
+    /**
+     * Whether a walk is in progress.
+     */
+    private boolean busy;
+
+    /**
+     * The number of elements of the stack being walked.
+     */
+    private int size;
+
+    /**
+     * The number of elements per segment, except for the bottom one.
+     */
+    private int segmentLength;
+
+    /**
+     * The number of segments.
+     */
+    private int count;
+
+    /**
+     * The highest number of entries of {@link #segment} written during the walk.
+     */
+    private int used;
+
+    /**
+     * Initializes a new instance of the {@link BottomUpWalk} class.
+     *
+     * @param capacity The length of the arrays.
+     * @param shared Whether this is a thread's reusable scratch.
+     */
+    private BottomUpWalk(int capacity, boolean shared) {
+        this.checkpoints = new ImmutableStack<?>[capacity];
+        this.segment = new Object[capacity];
+        this.shared = shared;
+    }
+
+    /**
+     * Starts a walk of {@code stack}.
+     *
+     * @param stack The stack to walk; not empty.
+     * @return The walk, to {@link #finish()} when done.
+     */
+    static BottomUpWalk start(ImmutableStack<?> stack) {
+        int size = stack.size();
+        BottomUpWalk walk = SCRATCH.get();
+        if (walk.busy || size / CAPACITY >= CAPACITY) {
+            walk = new BottomUpWalk(Math.max(16, (int)Math.ceil(Math.sqrt(size)) + 1), false);
+        }
+
+        walk.begin(stack, size);
+        return walk;
+    }
+
+    /**
+     * @return The number of segments.
+     */
+    int segments() {
+        return count;
+    }
+
+    /**
+     * Copies a segment into the scratch array.
+     *
+     * @param index The segment, from {@code 0} at the top.
+     * @return The number of elements in the segment.
+     */
+    int load(int index) {
+        int length = Math.min(segmentLength, size - index * segmentLength);
+        ImmutableStack<?> node = checkpoints[index];
+        for (int i = 0; i < length; i++) {
+            segment[i] = node.peek();
+            node = node.pop();
+        }
+
+        used = Math.max(used, length);
+        return length;
+    }
+
+    /**
+     * Gets an element of the loaded segment.
+     *
+     * @param <T> The type of the elements.
+     * @param index The position in the segment, from {@code 0} at the top.
+     * @return The element.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T element(int index) {
+        return (T)segment[index];
+    }
+
+    /**
+     * Ends the walk and clears the references it holds.
+     */
+    void finish() {
+        if (shared) {
+            Arrays.fill(checkpoints, 0, count, null);
+            Arrays.fill(segment, 0, used, null);
+            busy = false;
+        }
+    }
+
+    private void begin(ImmutableStack<?> stack, int size) {
+        this.busy = true;
+        this.size = size;
+        this.used = 0;
+        this.segmentLength = Math.max(Math.min(size, segment.length), (size + checkpoints.length - 1) / checkpoints.length);
+        this.count = (size + segmentLength - 1) / segmentLength;
+
+        ImmutableStack<?> node = stack;
+        for (int i = 0; i < count; i++) {
+            checkpoints[i] = node;
+            for (int j = 0; j < segmentLength && !node.isEmpty(); j++) {
+                node = node.pop();
+            }
+        }
+    }
+}
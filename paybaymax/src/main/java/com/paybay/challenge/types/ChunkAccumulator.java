@@ -0,0 +1,145 @@
+package com.paybay.challenge.types;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The mutable partial result of the {@code toQueue()} and {@code toStack()} collectors: the elements in encounter
+ * order, in a list of arrays. Adding stores into the current array, growing the arrays geometrically up to
+ * {@link #MAX_CHUNK} elements so no element is ever copied to grow, unlike an {@link ArrayList}. Combining two partial
+ * results appends the arrays of the second to the first, in time proportional to the number of arrays.
+ *
+ * The finishers allocate the stack nodes in one pass over the arrays. That pass is sequential: a node can only be
+ * created once the node under it exists, so the parallel part of a collection is the accumulation.
+ * @param <T>
+ */
+final class ChunkAccumulator<T> {
+
+    /**
+     * The length of the first array.
+     */
+    private static final int MIN_CHUNK = 16;
+
+    /**
+     * The maximum length of an array.
+     */
+    private static final int MAX_CHUNK = 1024;
+
+    /**
+     * The filled arrays, trimmed to their element count, in encounter order.
+     */
+    private final List<Object[]> chunks = new ArrayList<Object[]>();
+
+    /**
+     * The array being filled; {@code null} before the first element.
+     */
+    private Object[] current;
+
+    /**
+     * The number of elements in {@link #current}.
+     */
+    private int count;
+
+    /**
+     * The number of elements in {@link #chunks}.
+     */
+    private int sealedSize;
+
+    /**
+     * Adds an element at the end.
+     *
+     * @param value The element.
+     */
+    void add(T value) {
+        if (current == null) {
+            current = new Object[MIN_CHUNK];
+        } else if (count == current.length) {
+            chunks.add(current);
+            sealedSize += count;
+            current = new Object[Math.min(MAX_CHUNK, current.length * 2)];
+            count = 0;
+        }
+
+        current[count++] = value;
+    }
+
+    /**
+     * Appends the elements of another partial result, which must not be used afterwards.
+     *
+     * @param other The elements that follow the elements of this one.
+     * @return This partial result.
+     */
+    ChunkAccumulator<T> combine(ChunkAccumulator<T> other) {
+        if (other.size() == 0) {
+            return this;
+        } else if (size() == 0) {
+            return other;
+        }
+
+        seal();
+        other.seal();
+        chunks.addAll(other.chunks);
+        sealedSize += other.sealedSize;
+        return this;
+    }
+
+    /**
+     * Gets the number of elements.
+     *
+     * @return The number of elements.
+     */
+    int size() {
+        return sealedSize + count;
+    }
+
+    /**
+     * Pushes the elements onto {@code stack}, the last element last, so that it ends up on top.
+     *
+     * @param stack The stack to push onto.
+     * @return The new stack.
+     */
+    @SuppressWarnings("unchecked")
+    ImmutableStack<T> pushForwards(ImmutableStack<T> stack) {
+        seal();
+        for (Object[] chunk : chunks) {
+            for (Object value : chunk) {
+                stack = stack.push((T)value);
+            }
+        }
+
+        return stack;
+    }
+
+    /**
+     * Pushes the elements onto {@code stack}, the first element last, so that it ends up on top.
+     *
+     * @param stack The stack to push onto.
+     * @return The new stack.
+     */
+    @SuppressWarnings("unchecked")
+    ImmutableStack<T> pushBackwards(ImmutableStack<T> stack) {
+        seal();
+        for (int i = chunks.size() - 1; i >= 0; i--) {
+            Object[] chunk = chunks.get(i);
+            for (int j = chunk.length - 1; j >= 0; j--) {
+                stack = stack.push((T)chunk[j]);
+            }
+        }
+
+        return stack;
+    }
+
+    /**
+     * Moves the array being filled to {@link #chunks}, trimmed to its element count.
+     */
+    private void seal() {
+        if (count > 0) {
+            chunks.add(count == current.length ? current : Arrays.copyOf(current, count));
+            sealedSize += count;
+        }
+
+        current = null;
+        count = 0;
+    }
+}
@@ -0,0 +1,124 @@
+package com.paybay.challenge.types;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A spliterator over the elements of one spliterator followed by the elements of a second one, used for the two
+ * halves of the two stack queues. The second spliterator is only created once it is needed, so a traversal that
+ * stops within the first half never pays for reversing the incoming stack.
+ *
+ * The first split hands out the first half as the prefix; later splits are delegated to the second half.
+ * @param <T>
+ */
+final class ConcatSpliterator<T> implements Spliterator<T> {
+
+    /**
+     * The characteristics shared by all the spliterators of the immutable collections.
+     */
+    static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED
+            | Spliterator.IMMUTABLE;
+
+    /**
+     * The first half; {@code null} once it has been handed out by {@link #trySplit()} or fully traversed.
+     */
+    private Spliterator<T> first;
+
+    /**
+     * Creates the second half.
+     */
+    private final Supplier<Spliterator<T>> secondSupplier;
+
+    /**
+     * The second half; {@code null} until it is needed.
+     */
+    private Spliterator<T> second;
+
+    /**
+     * The number of elements of the second half.
+     */
+    private final long secondSize;
+
+    /**
+     * Initializes a new instance of the {@link ConcatSpliterator} class.
+     *
+     * @param first The first half.
+     * @param secondSupplier Creates the second half.
+     * @param secondSize The number of elements of the second half.
+     */
+    ConcatSpliterator(Spliterator<T> first, Supplier<Spliterator<T>> secondSupplier, long secondSize) {
+        this.first = first;
+        this.secondSupplier = secondSupplier;
+        this.secondSize = secondSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (first != null) {
+            if (first.tryAdvance(action)) {
+                return true;
+            }
+
+            first = null;
+        }
+
+        return second().tryAdvance(action);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        if (first != null) {
+            first.forEachRemaining(action);
+            first = null;
+        }
+
+        second().forEachRemaining(action);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Spliterator<T> trySplit() {
+        if (first != null) {
+            Spliterator<T> prefix = first;
+            first = null;
+            return prefix;
+        }
+
+        return second().trySplit();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long estimateSize() {
+        long firstSize = first == null ? 0 : first.estimateSize();
+        long remainingSecond = second == null ? secondSize : second.estimateSize();
+        return firstSize + remainingSecond;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+
+    private Spliterator<T> second() {
+        if (second == null) {
+            second = secondSupplier.get();
+        }
+
+        return second;
+    }
+}
@@ -0,0 +1,85 @@
+package com.paybay.challenge.types;
+
+import java.util.EmptyStackException;
+import java.util.Iterator;
+
+/**
+ * A queue that can also be added to at the front and removed from at the back. {@link #enQueue(Object)},
+ * {@link #deQueue()} and {@link #head()} act on the back, front and front respectively.
+ * @param <T>
+ */
+public interface Deque<T> extends Queue<T> {
+
+    /**
+     * Adds an element to the front of the deque.
+     *
+     * @param value The element to add to the deque.
+     * @return The new deque.
+     */
+    public Deque<T> enQueueFront(T value);
+
+    /**
+     * Adds an element to the back of the deque.
+     *
+     * @param value The element to add to the deque.
+     * @return The new deque.
+     */
+    public Deque<T> enQueueBack(T value);
+
+    /**
+     * Removes the element at the front of the deque.
+     *
+     * @return The new deque; never {@code null}.
+     * @throws EmptyStackException if the deque is empty.
+     */
+    public Deque<T> deQueueFront();
+
+    /**
+     * Removes the element at the back of the deque.
+     *
+     * @return The new deque; never {@code null}.
+     * @throws EmptyStackException if the deque is empty.
+     */
+    public Deque<T> deQueueBack();
+
+    /**
+     * Gets the element at the front of the deque.
+     *
+     * @return The element at the front of the deque.
+     * @throws EmptyStackException if the deque is empty.
+     */
+    public T peekFirst();
+
+    /**
+     * Gets the element at the back of the deque.
+     *
+     * @return The element at the back of the deque.
+     * @throws EmptyStackException if the deque is empty.
+     */
+    public T peekLast();
+
+    /**
+     * Gets an iterator over the elements, back of the deque first.
+     *
+     * @return The iterator.
+     */
+    public Iterator<T> descendingIterator();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Deque<T> enQueue(T value);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Deque<T> deQueue();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Deque<T> clear();
+}
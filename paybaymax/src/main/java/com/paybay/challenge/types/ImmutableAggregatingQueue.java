@@ -0,0 +1,463 @@
+package com.paybay.challenge.types;
+
+import com.paybay.challenge.utils.TypeCheckUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EmptyStackException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A queue that keeps the aggregate of its elements under an {@link Aggregator}, so {@link #aggregate()} is O(1)
+ * instead of a pass over the queue. Like {@link ImmutableQueue} it is made of an outgoing and an incoming stack, but
+ * every stack node also caches the aggregate of the elements from it to the bottom of its stack:
+ *  - outgoing nodes hold the aggregate of their element followed by the elements under them;
+ *  - incoming nodes hold the aggregate of the elements under them followed by their element.
+ * The aggregate of the queue is then the combination of the two top nodes. Enqueue costs one {@code lift} and one
+ * {@code combine}; the reversal of the incoming stack recomputes the aggregates of its nodes. As in
+ * {@link ImmutableQueue} the reversal is computed at most once and shared, through {@link AbstractTwoStackQueue}, by
+ * every version holding the same incoming stack, so dequeue is amortized O(1) even when old versions are dequeued
+ * again.
+ *
+ * Because each aggregate only covers a suffix of a stack, any associative operation works, including min and max,
+ * which cannot be maintained by subtracting dequeued elements.
+ * @param <T> The type of element stored by the queue.
+ * @param <A> The type of the aggregate.
+ */
+public final class ImmutableAggregatingQueue<T, A> extends AbstractTwoStackQueue<ImmutableAggregatingQueue.Node<T, A>>
+        implements Queue<T> {
+
+    /**
+     * The operation the aggregates are computed with.
+     */
+    private final Aggregator<T, A> aggregator;
+
+    /**
+     * The side of the queue elements are dequeued from, front of the queue on top; {@code null} when the queue is
+     * empty.
+     */
+    private final Node<T, A> outgoing;
+
+    /**
+     * The side of the queue elements are enqueued to, back of the queue on top; {@code null} when empty. Only ever
+     * non-empty when {@link #outgoing} is.
+     */
+    private final Node<T, A> incoming;
+
+    /**
+     * Initializes a new instance of the {@link ImmutableAggregatingQueue} class that owns its incoming stack.
+     *
+     * @param aggregator The operation the aggregates are computed with.
+     * @param outgoing The outgoing stack; may be {@code null}.
+     * @param incoming The incoming stack; may be {@code null}.
+     */
+    private ImmutableAggregatingQueue(Aggregator<T, A> aggregator, Node<T, A> outgoing, Node<T, A> incoming) {
+        this(aggregator, outgoing, incoming, null);
+    }
+
+    /**
+     * Initializes a new instance of the {@link ImmutableAggregatingQueue} class.
+     *
+     * @param aggregator The operation the aggregates are computed with.
+     * @param outgoing The outgoing stack; may be {@code null}.
+     * @param incoming The incoming stack; may be {@code null}.
+     * @param reversal The reversal link of {@code incoming}, see {@link AbstractTwoStackQueue}; {@code null} if this
+     *                 queue owns {@code incoming}.
+     */
+    private ImmutableAggregatingQueue(Aggregator<T, A> aggregator, Node<T, A> outgoing, Node<T, A> incoming,
+                                      Object reversal) {
+        super(reversal);
+        this.aggregator = aggregator;
+        this.outgoing = outgoing;
+        this.incoming = incoming;
+    }
+
+    /**
+     * Gets an empty queue aggregating with {@code aggregator}.
+     *
+     * @param <T> The type of element stored by the queue.
+     * @param <A> The type of the aggregate.
+     * @param aggregator The operation the aggregates are computed with.
+     * @return The empty queue.
+     */
+    public static <T, A> ImmutableAggregatingQueue<T, A> empty(Aggregator<T, A> aggregator) {
+        TypeCheckUtil.notNull(aggregator, "aggregator");
+
+        return new ImmutableAggregatingQueue<T, A>(aggregator, null, null);
+    }
+
+    /**
+     * Creates a queue of the elements, in iteration order, aggregating with {@code aggregator}. The elements go
+     * straight onto the outgoing stack, so no later reversal is needed.
+     *
+     * @param <T> The type of element stored by the queue.
+     * @param <A> The type of the aggregate.
+     * @param aggregator The operation the aggregates are computed with.
+     * @param items The elements.
+     * @return The queue.
+     */
+    public static <T, A> ImmutableAggregatingQueue<T, A> createAll(Aggregator<T, A> aggregator,
+            Iterable<? extends T> items) {
+        TypeCheckUtil.notNull(aggregator, "aggregator");
+        TypeCheckUtil.notNull(items, "items");
+
+        List<T> list = new ArrayList<T>();
+        for (T item : items) {
+            list.add(item);
+        }
+
+        Node<T, A> outgoing = null;
+        for (int i = list.size() - 1; i >= 0; i--) {
+            outgoing = front(aggregator, list.get(i), outgoing);
+        }
+
+        return new ImmutableAggregatingQueue<T, A>(aggregator, outgoing, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableAggregatingQueue<T, A> enQueue(T value) {
+        if (outgoing == null) {
+            return new ImmutableAggregatingQueue<T, A>(aggregator, front(aggregator, value, null), null);
+        }
+
+        return new ImmutableAggregatingQueue<T, A>(aggregator, outgoing, back(aggregator, incoming, value));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableAggregatingQueue<T, A> deQueue() {
+        if (outgoing == null) {
+            throw new EmptyStackException();
+        }
+
+        if (outgoing.next != null) {
+            return new ImmutableAggregatingQueue<T, A>(aggregator, outgoing.next, incoming,
+                    derivedReversal(incoming == null));
+        } else if (incoming == null) {
+            return new ImmutableAggregatingQueue<T, A>(aggregator, null, null);
+        }
+
+        return new ImmutableAggregatingQueue<T, A>(aggregator, sharedReversal().get(), null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableAggregatingQueue<T, A> deQueue(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count < 0: " + count);
+        } else if (count > size()) {
+            throw new EmptyStackException();
+        }
+
+        ImmutableAggregatingQueue<T, A> queue = this;
+        for (int i = 0; i < count; i++) {
+            queue = queue.deQueue();
+        }
+
+        return queue;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T head() {
+        if (outgoing == null) {
+            throw new EmptyStackException();
+        }
+
+        return outgoing.value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return outgoing == null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return sizeOf(outgoing) + sizeOf(incoming);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableAggregatingQueue<T, A> clear() {
+        return outgoing == null ? this : new ImmutableAggregatingQueue<T, A>(aggregator, null, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableAggregatingQueue<T, A> enQueueAll(Iterable<? extends T> values) {
+        TypeCheckUtil.notNull(values, "values");
+
+        Node<T, A> out = outgoing;
+        Node<T, A> in = incoming;
+        Iterator<? extends T> iterator = values.iterator();
+        if (out == null && iterator.hasNext()) {
+            out = front(aggregator, iterator.next(), null);
+        }
+
+        while (iterator.hasNext()) {
+            in = back(aggregator, in, iterator.next());
+        }
+
+        if (out == outgoing && in == incoming) {
+            return this;
+        }
+
+        return new ImmutableAggregatingQueue<T, A>(aggregator, out, in);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableAggregatingQueue<T, A> enQueueAll(T... values) {
+        TypeCheckUtil.notNull(values, "values");
+
+        return enQueueAll(Arrays.asList(values));
+    }
+
+    /**
+     * Gets the aggregate of the elements, front of the queue first, in constant time.
+     *
+     * @return The aggregate; {@link Aggregator#identity()} if the queue is empty.
+     */
+    public A aggregate() {
+        if (outgoing == null) {
+            return aggregator.identity();
+        } else if (incoming == null) {
+            return outgoing.aggregate;
+        }
+
+        return aggregator.combine(outgoing.aggregate, incoming.aggregate);
+    }
+
+    /**
+     * Gets the operation the aggregates are computed with.
+     *
+     * @return The aggregator.
+     */
+    public Aggregator<T, A> aggregator() {
+        return aggregator;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Itr<T, A>(outgoing, incoming);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Reversal<Node<T, A>> newReversal() {
+        return new NodeReversal<T, A>(aggregator, incoming);
+    }
+
+    /**
+     * Pushes an element onto an outgoing stack.
+     */
+    private static <T, A> Node<T, A> front(Aggregator<T, A> aggregator, T value, Node<T, A> next) {
+        A aggregate = aggregator.lift(value);
+        if (next != null) {
+            aggregate = aggregator.combine(aggregate, next.aggregate);
+        }
+
+        return new Node<T, A>(value, next, aggregate);
+    }
+
+    /**
+     * Pushes an element onto an incoming stack.
+     */
+    private static <T, A> Node<T, A> back(Aggregator<T, A> aggregator, Node<T, A> next, T value) {
+        A aggregate = aggregator.lift(value);
+        if (next != null) {
+            aggregate = aggregator.combine(next.aggregate, aggregate);
+        }
+
+        return new Node<T, A>(value, next, aggregate);
+    }
+
+    private static int sizeOf(Node<?, ?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * The {@link Reversal} of an incoming stack into an outgoing one, recomputing the aggregates of its nodes.
+     * @param <T>
+     * @param <A>
+     */
+    private static final class NodeReversal<T, A> extends Reversal<Node<T, A>> {
+
+        /**
+         * The operation the aggregates are computed with.
+         */
+        private final Aggregator<T, A> aggregator;
+
+        NodeReversal(Aggregator<T, A> aggregator, Node<T, A> incoming) {
+            super(incoming);
+            this.aggregator = aggregator;
+        }
+
+        @Override
+        protected Node<T, A> reverse(Node<T, A> stack) {
+            Node<T, A> reversed = null;
+            for (Node<T, A> node = stack; node != null; node = node.next) {
+                reversed = front(aggregator, node.value, reversed);
+            }
+
+            return reversed;
+        }
+    }
+
+    /**
+     * A stack node with the aggregate of the elements from it to the bottom of its stack. Package-private only
+     * because it is the stack type of {@link AbstractTwoStackQueue}.
+     * @param <T>
+     * @param <A>
+     */
+    static final class Node<T, A> {
+
+        /**
+         * The element of this node.
+         */
+        private final T value;
+
+        /**
+         * The node under this one; {@code null} at the bottom of the stack.
+         */
+        private final Node<T, A> next;
+
+        /**
+         * The aggregate of this node's element and the elements under it, in queue order.
+         */
+        private final A aggregate;
+
+        /**
+         * The number of elements from this node to the bottom of the stack.
+         */
+        private final int size;
+
+        /**
+         * Initializes a new instance of the {@link Node} class.
+         *
+         * @param value The element.
+         * @param next The node under this one; may be {@code null}.
+         * @param aggregate The aggregate from this node to the bottom of the stack.
+         */
+        private Node(T value, Node<T, A> next, A aggregate) {
+            this.value = value;
+            this.next = next;
+            this.aggregate = aggregate;
+            this.size = sizeOf(next) + 1;
+        }
+    }
+
+    /**
+     * Enumerates the outgoing stack, then the incoming stack from the bottom up, which it copies into an array when
+     * the outgoing stack is exhausted.
+     * @param <T>
+     * @param <A>
+     */
+    private static final class Itr<T, A> implements Iterator<T> {
+
+        /**
+         * The remaining outgoing nodes.
+         */
+        private Node<T, A> remaining;
+
+        /**
+         * The incoming stack, until it is copied into {@link #tail}.
+         */
+        private Node<T, A> incoming;
+
+        /**
+         * The incoming elements in queue order, once the outgoing stack is exhausted.
+         */
+        private Object[] tail;
+
+        /**
+         * The index of the next element of {@link #tail}.
+         */
+        private int index;
+
+        /**
+         * Initializes a new instance of the {@link Itr} class.
+         *
+         * @param outgoing The outgoing stack.
+         * @param incoming The incoming stack.
+         */
+        private Itr(Node<T, A> outgoing, Node<T, A> incoming) {
+            this.remaining = outgoing;
+            this.incoming = incoming;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            return remaining != null || incoming != null || (tail != null && index < tail.length);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (remaining != null) {
+                T value = remaining.value;
+                remaining = remaining.next;
+                return value;
+            }
+
+            if (incoming != null) {
+                tail = new Object[incoming.size];
+                int i = tail.length;
+                for (Node<T, A> node = incoming; node != null; node = node.next) {
+                    tail[--i] = node.value;
+                }
+
+                incoming = null;
+            }
+
+            if (tail == null || index == tail.length) {
+                throw new NoSuchElementException();
+            }
+
+            return (T)tail[index++];
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.paybay.challenge.types;
+
+import com.paybay.challenge.utils.TypeCheckUtil;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A sliding window: an immutable queue that holds at most {@link WindowPolicy#capacity()} elements, and, with a
+ * time-based policy, only the elements younger than {@link WindowPolicy#maxAge()}. Enqueueing past the capacity
+ * evicts the head; {@link #enQueue(Object, Consumer)} reports the evicted elements.
+ *
+ * Eviction is a dequeue of the underlying {@link ImmutableQueue}, so it runs in amortized, not worst-case, constant
+ * time: a full window moves its incoming stack across once per {@code capacity} evictions, and that one enqueue
+ * reverses up to {@code capacity - 1} elements. Versions sharing the incoming stack share the reversal. Callers that
+ * need every enqueue bounded can keep the window in an {@link ImmutableRealTimeQueue} themselves, at the price of its
+ * larger versions.
+ *
+ * A window is an {@link ImmutableQueue} plus a reference to its policy, so it costs one object over the queue it
+ * wraps; empty windows are the policy's shared {@link WindowPolicy#empty()} instance and cost nothing. This keeps
+ * a window per key cheap when there are millions of keys.
+ * @param <T>
+ */
+public final class ImmutableBoundedQueue<T> implements Queue<T> {
+
+    /**
+     * The eviction rules, shared by every window derived from the same empty window.
+     */
+    private final WindowPolicy<T> policy;
+
+    /**
+     * The elements in the window, oldest first.
+     */
+    private final ImmutableQueue<T> elements;
+
+    /**
+     * Initializes a new instance of the {@link ImmutableBoundedQueue} class.
+     *
+     * @param policy The eviction rules.
+     * @param elements The elements in the window.
+     */
+    ImmutableBoundedQueue(WindowPolicy<T> policy, ImmutableQueue<T> elements) {
+        TypeCheckUtil.notNull(policy, "policy");
+        TypeCheckUtil.notNull(elements, "elements");
+
+        this.policy = policy;
+        this.elements = elements;
+    }
+
+    /**
+     * Gets an empty window that keeps the last {@code capacity} elements.
+     *
+     * @param <T> The type of element stored by the window.
+     * @param capacity The maximum number of elements in the window.
+     * @return The empty window.
+     * @throws IllegalArgumentException if {@code capacity} is not positive.
+     */
+    public static <T> ImmutableBoundedQueue<T> empty(int capacity) {
+        return WindowPolicy.<T>capacity(capacity).empty();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * If the window is full, its head is evicted; with a time-based policy, so are the elements that have expired at
+     * the timestamp of {@code value}. Amortized O(1) per evicted element, see {@link ImmutableBoundedQueue}.
+     */
+    @Override
+    public ImmutableBoundedQueue<T> enQueue(T value) {
+        return enQueue(value, null);
+    }
+
+    /**
+     * Adds an element to the back of the window, evicting as {@link #enQueue(Object)} does.
+     *
+     * @param value The element to add.
+     * @param evicted Receives the evicted elements, oldest first; may be {@code null}.
+     * @return The new window.
+     */
+    public ImmutableBoundedQueue<T> enQueue(T value, Consumer<? super T> evicted) {
+        ImmutableQueue<T> next = elements.enQueue(value);
+        if (next.size() > policy.capacity()) {
+            next = evict(next, evicted);
+        }
+
+        if (policy.isTimed()) {
+            next = expire(next, policy.timestampOf(value), evicted);
+        }
+
+        return new ImmutableBoundedQueue<T>(policy, next);
+    }
+
+    /**
+     * Evicts the elements that have expired at time {@code now}. Windows whose policy is not time-based are
+     * returned as they are.
+     *
+     * @param now The current time, in the units of the policy's timestamps.
+     * @return The new window.
+     */
+    public ImmutableBoundedQueue<T> expire(long now) {
+        return expire(now, null);
+    }
+
+    /**
+     * Evicts the elements that have expired at time {@code now}.
+     *
+     * @param now The current time, in the units of the policy's timestamps.
+     * @param evicted Receives the evicted elements, oldest first; may be {@code null}.
+     * @return The new window.
+     */
+    public ImmutableBoundedQueue<T> expire(long now, Consumer<? super T> evicted) {
+        if (!policy.isTimed()) {
+            return this;
+        }
+
+        return with(expire(elements, now, evicted));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableBoundedQueue<T> deQueue() {
+        return with(elements.deQueue());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableBoundedQueue<T> deQueue(int count) {
+        return with(elements.deQueue(count));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T head() {
+        return elements.head();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return elements.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableBoundedQueue<T> clear() {
+        return policy.empty();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Only the resulting window is allocated on top of the queue operations; no intermediate windows are.
+     */
+    @Override
+    public ImmutableBoundedQueue<T> enQueueAll(Iterable<? extends T> values) {
+        TypeCheckUtil.notNull(values, "values");
+
+        ImmutableQueue<T> next = elements;
+        for (T value : values) {
+            next = next.enQueue(value);
+            if (next.size() > policy.capacity()) {
+                next = evict(next, null);
+            }
+
+            if (policy.isTimed()) {
+                next = expire(next, policy.timestampOf(value), null);
+            }
+        }
+
+        return with(next);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableBoundedQueue<T> enQueueAll(T... values) {
+        TypeCheckUtil.notNull(values, "values");
+
+        return enQueueAll(Arrays.asList(values));
+    }
+
+    /**
+     * Gets the eviction rules of this window.
+     *
+     * @return The policy.
+     */
+    public WindowPolicy<T> policy() {
+        return policy;
+    }
+
+    /**
+     * Gets the elements in the window as an unbounded queue; enqueueing on it evicts nothing.
+     *
+     * @return The queue of the elements, oldest first.
+     */
+    public ImmutableQueue<T> toQueue() {
+        return elements;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return elements.iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return elements.spliterator();
+    }
+
+    private ImmutableBoundedQueue<T> with(ImmutableQueue<T> next) {
+        if (next == elements) {
+            return this;
+        } else if (next.isEmpty()) {
+            return policy.empty();
+        }
+
+        return new ImmutableBoundedQueue<T>(policy, next);
+    }
+
+    private static <T> ImmutableQueue<T> evict(ImmutableQueue<T> queue, Consumer<? super T> evicted) {
+        if (evicted != null) {
+            evicted.accept(queue.head());
+        }
+
+        return queue.deQueue();
+    }
+
+    private ImmutableQueue<T> expire(ImmutableQueue<T> queue, long now, Consumer<? super T> evicted) {
+        while (!queue.isEmpty() && policy.isExpired(policy.timestampOf(queue.head()), now)) {
+            queue = evict(queue, evicted);
+        }
+
+        return queue;
+    }
+}
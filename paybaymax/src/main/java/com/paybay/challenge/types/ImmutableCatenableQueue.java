@@ -0,0 +1,748 @@
+package com.paybay.challenge.types;
+
+import com.paybay.challenge.utils.TypeCheckUtil;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This Queue implementation is a 2-3 finger tree annotated with subtree sizes.
+ *
+ * Both ends are held in short digits of one to four elements, so {@link #enQueue(Object)}, {@link #deQueue()} and
+ * {@link #head()} are amortized O(1) (O(log n) worst case). The size annotations make {@link #concat} O(log min(n, m))
+ * and {@link #splitAt(int)} and {@link #get(int)} O(log n); both halves of a split share all untouched subtrees with
+ * the original queue, nothing is copied.
+ *
+ * Elements are stored untyped: every object of the tree that is not one of its private structural classes is an
+ * element of the queue.
+ * @param <T>
+ */
+public class ImmutableCatenableQueue<T> implements Queue<T> {
+
+    /**
+     * The singleton empty queue.
+     */
+    private static final ImmutableCatenableQueue<?> EMPTY_QUEUE = new ImmutableCatenableQueue<Object>(Empty.INSTANCE);
+
+    private static final Object[] NO_ITEMS = new Object[0];
+
+    /**
+     * The finger tree holding the elements, front of the queue first.
+     */
+    private final Tree tree;
+
+    /**
+     * Initializes a new instance of the {@link ImmutableCatenableQueue} class.
+     *
+     * @param tree The finger tree holding the elements.
+     */
+    private ImmutableCatenableQueue(Tree tree) {
+        TypeCheckUtil.notNull(tree, "tree");
+
+        this.tree = tree;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableCatenableQueue<T> enQueue(T value) {
+        return new ImmutableCatenableQueue<T>(pushBack(tree, value));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableCatenableQueue<T> deQueue() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        return wrap(popFront(tree));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T head() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        @SuppressWarnings("unchecked")
+        T result = (T)first(tree);
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return tree == Empty.INSTANCE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return tree.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableCatenableQueue<T> clear() {
+        return empty();
+    }
+
+    /**
+     * Creates a queue holding the elements of this queue followed by the elements of {@code other}, in
+     * O(log min(n, m)). Both queues keep sharing their subtrees with the result.
+     *
+     * @param other The queue whose elements go to the back.
+     * @return The new queue.
+     */
+    public ImmutableCatenableQueue<T> concat(ImmutableCatenableQueue<? extends T> other) {
+        TypeCheckUtil.notNull(other, "other");
+
+        if (other.isEmpty()) {
+            return this;
+        } else if (isEmpty()) {
+            @SuppressWarnings("unchecked")
+            ImmutableCatenableQueue<T> result = (ImmutableCatenableQueue<T>)other;
+            return result;
+        }
+
+        return new ImmutableCatenableQueue<T>(app3(tree, NO_ITEMS, other.tree));
+    }
+
+    /**
+     * Splits the queue in front of the element at {@code index}, in O(log n).
+     *
+     * @param index The number of elements that go to the front part.
+     * @return The first {@code index} elements and the remaining ones.
+     * @throws IndexOutOfBoundsException if {@code index} is negative or greater than the size of the queue.
+     */
+    public Split<ImmutableCatenableQueue<T>> splitAt(int index) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size());
+        }
+
+        if (index == 0) {
+            return new Split<ImmutableCatenableQueue<T>>(ImmutableCatenableQueue.<T>empty(), this);
+        } else if (index == size()) {
+            return new Split<ImmutableCatenableQueue<T>>(this, ImmutableCatenableQueue.<T>empty());
+        }
+
+        Parts parts = splitTree(tree, index);
+        return new Split<ImmutableCatenableQueue<T>>(wrap(parts.left), wrap(pushFront(parts.right, parts.item)));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Splits the tree in O(log n); see {@link #splitAt(int)}.
+     */
+    @Override
+    public Split<ImmutableCatenableQueue<T>> split(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count < 0: " + count);
+        }
+
+        return splitAt(Math.min(count, size()));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Splits the tree in O(log n); see {@link #splitAt(int)}.
+     */
+    @Override
+    public ImmutableCatenableQueue<T> deQueue(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count < 0: " + count);
+        } else if (count > size()) {
+            throw new EmptyStackException();
+        }
+
+        return splitAt(count).rest();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Splits the tree in O(log n); see {@link #splitAt(int)}.
+     */
+    @Override
+    public ImmutableCatenableQueue<T> take(int count) {
+        return split(count).front();
+    }
+
+    /**
+     * Gets the element at {@code index}, counted from the front of the queue, in O(log n).
+     *
+     * @param index The position of the element.
+     * @return The element.
+     * @throws IndexOutOfBoundsException if {@code index} is negative or not less than the size of the queue.
+     */
+    public T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size());
+        }
+
+        Tree t = tree;
+        int i = index;
+        Object item;
+        while (true) {
+            if (t instanceof Single) {
+                item = ((Single)t).item;
+                break;
+            }
+
+            Deep deep = (Deep)t;
+            int prefixSize = measure(deep.prefix);
+            if (i < prefixSize) {
+                item = descend(deep.prefix, i);
+                break;
+            }
+
+            i -= prefixSize;
+            if (i >= deep.middle.size()) {
+                item = descend(deep.suffix, i - deep.middle.size());
+                break;
+            }
+
+            t = deep.middle;
+        }
+
+        if (item instanceof Node) {
+            item = descend(((Node)item).items, i);
+        }
+
+        @SuppressWarnings("unchecked")
+        T result = (T)item;
+        return result;
+    }
+
+    /**
+     * Gets the empty queue.
+     *
+     * @param <T> The type of element stored by the queue.
+     * @return The empty queue.
+     */
+    public static <T> ImmutableCatenableQueue<T> empty() {
+        @SuppressWarnings("unchecked")
+        ImmutableCatenableQueue<T> result = (ImmutableCatenableQueue<T>)EMPTY_QUEUE;
+        return result;
+    }
+
+    /**
+     * Creates a new immutable collection pre-filled with the specified items.
+     *
+     * @param <T> The type of items stored by the collection.
+     * @param items The items to pre-populate.
+     * @return The immutable collection.
+     */
+    public static <T> ImmutableCatenableQueue<T> create(T... items) {
+        TypeCheckUtil.notNull(items, "items");
+
+        return createAll(Arrays.asList(items));
+    }
+
+    /**
+     * Creates a new immutable collection pre-filled with the specified items.
+     *
+     * @param <T> The type of items stored by the collection.
+     * @param items The items to pre-populate.
+     * @return The immutable collection.
+     */
+    public static <T> ImmutableCatenableQueue<T> createAll(Iterable<? extends T> items) {
+        TypeCheckUtil.notNull(items, "items");
+
+        Tree tree = Empty.INSTANCE;
+        for (T item : items) {
+            tree = pushBack(tree, item);
+        }
+
+        return wrap(tree);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Itr<T>(tree);
+    }
+
+    /**
+     * Wraps a tree, reusing the empty queue.
+     *
+     * @param tree The tree.
+     * @return The queue.
+     */
+    private static <T> ImmutableCatenableQueue<T> wrap(Tree tree) {
+        return tree == Empty.INSTANCE ? ImmutableCatenableQueue.<T>empty() : new ImmutableCatenableQueue<T>(tree);
+    }
+
+    /**
+     * Gets a value indicating whether an object of a tree is an element of the queue rather than a structural one.
+     *
+     * @param item The object.
+     * @return {@code true} if {@code item} is an element.
+     */
+    private static boolean isElement(Object item) {
+        return !(item instanceof Node) && !(item instanceof Tree);
+    }
+
+    /**
+     * Walks down from the objects of a digit or node to the element at {@code index} under them.
+     *
+     * @param items The objects of a digit or node.
+     * @param index The position of the element under {@code items}.
+     * @return The element.
+     */
+    private static Object descend(Object[] items, int index) {
+        while (true) {
+            for (Object item : items) {
+                int size = measure(item);
+                if (index >= size) {
+                    index -= size;
+                } else if (item instanceof Node) {
+                    items = ((Node)item).items;
+                    break;
+                } else {
+                    return item;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of elements under an object of a tree.
+     *
+     * @param item An element or a {@link Node}.
+     * @return The number of elements.
+     */
+    private static int measure(Object item) {
+        return item instanceof Node ? ((Node)item).size : 1;
+    }
+
+    /**
+     * Gets the number of elements under the objects of a digit.
+     *
+     * @param digit The digit.
+     * @return The number of elements.
+     */
+    private static int measure(Object[] digit) {
+        int size = 0;
+        for (Object item : digit) {
+            size += measure(item);
+        }
+
+        return size;
+    }
+
+    private static Deep deep(Object[] prefix, Tree middle, Object[] suffix) {
+        return new Deep(measure(prefix) + middle.size() + measure(suffix), prefix, middle, suffix);
+    }
+
+    private static Tree pushFront(Tree tree, Object item) {
+        if (tree == Empty.INSTANCE) {
+            return new Single(item);
+        } else if (tree instanceof Single) {
+            return deep(new Object[] { item }, Empty.INSTANCE, new Object[] { ((Single)tree).item });
+        }
+
+        Deep deep = (Deep)tree;
+        Object[] prefix = deep.prefix;
+        if (prefix.length == 4) {
+            Tree middle = pushFront(deep.middle, new Node(new Object[] { prefix[1], prefix[2], prefix[3] }));
+            return deep(new Object[] { item, prefix[0] }, middle, deep.suffix);
+        }
+
+        Object[] newPrefix = new Object[prefix.length + 1];
+        newPrefix[0] = item;
+        System.arraycopy(prefix, 0, newPrefix, 1, prefix.length);
+        return new Deep(deep.size + measure(item), newPrefix, deep.middle, deep.suffix);
+    }
+
+    private static Tree pushBack(Tree tree, Object item) {
+        if (tree == Empty.INSTANCE) {
+            return new Single(item);
+        } else if (tree instanceof Single) {
+            return deep(new Object[] { ((Single)tree).item }, Empty.INSTANCE, new Object[] { item });
+        }
+
+        Deep deep = (Deep)tree;
+        Object[] suffix = deep.suffix;
+        if (suffix.length == 4) {
+            Tree middle = pushBack(deep.middle, new Node(new Object[] { suffix[0], suffix[1], suffix[2] }));
+            return deep(deep.prefix, middle, new Object[] { suffix[3], item });
+        }
+
+        Object[] newSuffix = Arrays.copyOf(suffix, suffix.length + 1);
+        newSuffix[suffix.length] = item;
+        return new Deep(deep.size + measure(item), deep.prefix, deep.middle, newSuffix);
+    }
+
+    private static Object first(Tree tree) {
+        return tree instanceof Single ? ((Single)tree).item : ((Deep)tree).prefix[0];
+    }
+
+    private static Object last(Tree tree) {
+        if (tree instanceof Single) {
+            return ((Single)tree).item;
+        }
+
+        Object[] suffix = ((Deep)tree).suffix;
+        return suffix[suffix.length - 1];
+    }
+
+    private static Tree popFront(Tree tree) {
+        if (tree instanceof Single) {
+            return Empty.INSTANCE;
+        }
+
+        Deep deep = (Deep)tree;
+        return deepLeft(Arrays.copyOfRange(deep.prefix, 1, deep.prefix.length), deep.middle, deep.suffix);
+    }
+
+    private static Tree popBack(Tree tree) {
+        if (tree instanceof Single) {
+            return Empty.INSTANCE;
+        }
+
+        Deep deep = (Deep)tree;
+        return deepRight(deep.prefix, deep.middle, Arrays.copyOf(deep.suffix, deep.suffix.length - 1));
+    }
+
+    /**
+     * Builds a tree from digits of which the prefix may be empty, borrowing a node from the middle tree if so.
+     */
+    private static Tree deepLeft(Object[] prefix, Tree middle, Object[] suffix) {
+        if (prefix.length > 0) {
+            return deep(prefix, middle, suffix);
+        } else if (middle == Empty.INSTANCE) {
+            return fromDigit(suffix);
+        }
+
+        return deep(((Node)first(middle)).items, popFront(middle), suffix);
+    }
+
+    /**
+     * Builds a tree from digits of which the suffix may be empty, borrowing a node from the middle tree if so.
+     */
+    private static Tree deepRight(Object[] prefix, Tree middle, Object[] suffix) {
+        if (suffix.length > 0) {
+            return deep(prefix, middle, suffix);
+        } else if (middle == Empty.INSTANCE) {
+            return fromDigit(prefix);
+        }
+
+        return deep(prefix, popBack(middle), ((Node)last(middle)).items);
+    }
+
+    private static Tree fromDigit(Object[] digit) {
+        if (digit.length == 0) {
+            return Empty.INSTANCE;
+        } else if (digit.length == 1) {
+            return new Single(digit[0]);
+        }
+
+        int half = digit.length / 2;
+        return deep(Arrays.copyOf(digit, half), Empty.INSTANCE, Arrays.copyOfRange(digit, half, digit.length));
+    }
+
+    /**
+     * Concatenates two trees with some loose objects of their level between them.
+     */
+    private static Tree app3(Tree left, Object[] items, Tree right) {
+        if (left == Empty.INSTANCE) {
+            Tree result = right;
+            for (int i = items.length - 1; i >= 0; i--) {
+                result = pushFront(result, items[i]);
+            }
+
+            return result;
+        } else if (right == Empty.INSTANCE) {
+            Tree result = left;
+            for (Object item : items) {
+                result = pushBack(result, item);
+            }
+
+            return result;
+        } else if (left instanceof Single) {
+            return pushFront(app3(Empty.INSTANCE, items, right), ((Single)left).item);
+        } else if (right instanceof Single) {
+            return pushBack(app3(left, items, Empty.INSTANCE), ((Single)right).item);
+        }
+
+        Deep l = (Deep)left;
+        Deep r = (Deep)right;
+        Object[] between = new Object[l.suffix.length + items.length + r.prefix.length];
+        System.arraycopy(l.suffix, 0, between, 0, l.suffix.length);
+        System.arraycopy(items, 0, between, l.suffix.length, items.length);
+        System.arraycopy(r.prefix, 0, between, l.suffix.length + items.length, r.prefix.length);
+        return deep(l.prefix, app3(l.middle, nodes(between), r.middle), r.suffix);
+    }
+
+    /**
+     * Groups 2 to 12 objects into nodes of two or three.
+     */
+    private static Object[] nodes(Object[] items) {
+        int n = items.length;
+        Object[] result = new Object[(n + 2) / 3];
+        int count = 0;
+        int i = 0;
+        while (n - i > 4 || n - i == 3) {
+            result[count++] = new Node(new Object[] { items[i], items[i + 1], items[i + 2] });
+            i += 3;
+        }
+
+        while (i < n) {
+            result[count++] = new Node(new Object[] { items[i], items[i + 1] });
+            i += 2;
+        }
+
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Splits a non-empty tree around the object that holds the element at {@code index}.
+     */
+    private static Parts splitTree(Tree tree, int index) {
+        if (tree instanceof Single) {
+            return new Parts(Empty.INSTANCE, ((Single)tree).item, Empty.INSTANCE);
+        }
+
+        Deep deep = (Deep)tree;
+        int prefixSize = measure(deep.prefix);
+        if (index < prefixSize) {
+            int k = findInDigit(deep.prefix, index);
+            return new Parts(
+                    fromDigit(Arrays.copyOf(deep.prefix, k)),
+                    deep.prefix[k],
+                    deepLeft(Arrays.copyOfRange(deep.prefix, k + 1, deep.prefix.length), deep.middle, deep.suffix));
+        }
+
+        int middleSize = deep.middle.size();
+        if (index < prefixSize + middleSize) {
+            int i = index - prefixSize;
+            Parts middle = splitTree(deep.middle, i);
+            Object[] items = ((Node)middle.item).items;
+            int k = findInDigit(items, i - middle.left.size());
+            return new Parts(
+                    deepRight(deep.prefix, middle.left, Arrays.copyOf(items, k)),
+                    items[k],
+                    deepLeft(Arrays.copyOfRange(items, k + 1, items.length), middle.right, deep.suffix));
+        }
+
+        int k = findInDigit(deep.suffix, index - prefixSize - middleSize);
+        return new Parts(
+                deepRight(deep.prefix, deep.middle, Arrays.copyOf(deep.suffix, k)),
+                deep.suffix[k],
+                fromDigit(Arrays.copyOfRange(deep.suffix, k + 1, deep.suffix.length)));
+    }
+
+    /**
+     * Gets the position of the object of a digit that holds the element at {@code index}.
+     */
+    private static int findInDigit(Object[] digit, int index) {
+        int k = 0;
+        for (int size = measure(digit[0]); index >= size; size += measure(digit[k])) {
+            k++;
+        }
+
+        return k;
+    }
+
+    /**
+     * A finger tree of elements or, for middle trees, of nodes.
+     */
+    private abstract static class Tree {
+
+        /**
+         * Gets the number of elements in the tree.
+         *
+         * @return The number of elements.
+         */
+        abstract int size();
+    }
+
+    private static final class Empty extends Tree {
+
+        static final Empty INSTANCE = new Empty();
+
+        @Override
+        int size() {
+            return 0;
+        }
+    }
+
+    private static final class Single extends Tree {
+
+        final Object item;
+
+        Single(Object item) {
+            this.item = item;
+        }
+
+        @Override
+        int size() {
+            return measure(item);
+        }
+    }
+
+    private static final class Deep extends Tree {
+
+        /**
+         * The number of elements in the tree.
+         */
+        final int size;
+
+        /**
+         * One to four objects at the front.
+         */
+        final Object[] prefix;
+
+        /**
+         * The tree of nodes between the digits.
+         */
+        final Tree middle;
+
+        /**
+         * One to four objects at the back.
+         */
+        final Object[] suffix;
+
+        Deep(int size, Object[] prefix, Tree middle, Object[] suffix) {
+            this.size = size;
+            this.prefix = prefix;
+            this.middle = middle;
+            this.suffix = suffix;
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Two or three objects of the level below, with the number of elements under them.
+     */
+    private static final class Node {
+
+        final int size;
+
+        final Object[] items;
+
+        Node(Object[] items) {
+            this.items = items;
+            this.size = measure(items);
+        }
+    }
+
+    /**
+     * The result of {@link #splitTree}: the objects before the one holding the index, that object and the ones after.
+     */
+    private static final class Parts {
+
+        final Tree left;
+
+        final Object item;
+
+        final Tree right;
+
+        Parts(Tree left, Object item, Tree right) {
+            this.left = left;
+            this.item = item;
+            this.right = right;
+        }
+    }
+
+    private static final class Itr<T> implements Iterator<T> {
+
+        /**
+         * The parts of the tree not yet enumerated, next part on top: trees, nodes and elements.
+         */
+        private ImmutableStack<Object> pending;
+
+        /**
+         * Initializes a new instance of the {@link Itr} class.
+         *
+         * @param tree The tree to enumerate.
+         */
+        public Itr(Tree tree) {
+            this.pending = ImmutableStack.empty();
+            if (tree != Empty.INSTANCE) {
+                this.pending = pending.push(tree);
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            return !pending.isEmpty();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public T next() {
+            if (pending.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+
+            Object item = pending.peek();
+            pending = pending.pop();
+            while (!isElement(item)) {
+                if (item instanceof Deep) {
+                    Deep deep = (Deep)item;
+                    pushAll(deep.suffix);
+                    if (deep.middle != Empty.INSTANCE) {
+                        pending = pending.push(deep.middle);
+                    }
+
+                    pushAll(deep.prefix);
+                } else if (item instanceof Single) {
+                    pending = pending.push(((Single)item).item);
+                } else {
+                    pushAll(((Node)item).items);
+                }
+
+                item = pending.peek();
+                pending = pending.pop();
+            }
+
+            @SuppressWarnings("unchecked")
+            T result = (T)item;
+            return result;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        private void pushAll(Object[] items) {
+            for (int i = items.length - 1; i >= 0; i--) {
+                pending = pending.push(items[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.paybay.challenge.types;
+
+import com.paybay.challenge.utils.TypeCheckUtil;
+
+import java.util.EmptyStackException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Supplier;
+
+/**
+ * This Queue implementation takes in consideration of 2 stacks
+ *  - backwards and forwards - both based upon the unrolled {@link ImmutableChunkedStack}, which stores elements in
+ *  small shared arrays instead of one node per element.
+ * @param <T>
+ */
+public class ImmutableChunkedQueue<T> extends AbstractTwoStackQueue<ImmutableChunkedStack<T>> implements Queue<T> {
+
+    /**
+     * The singleton empty queue.
+     */
+    private static final ImmutableChunkedQueue<?> EMPTY_QUEUE = new ImmutableChunkedQueue<Object>(
+            ImmutableChunkedStack.empty(), ImmutableChunkedStack.empty());
+
+    /**
+     * front side of the queue where elements are pushed
+     */
+    private final ImmutableChunkedStack<T> incoming;
+
+    /**
+     * rear side of the queue from which elements are polled.
+     */
+    private final ImmutableChunkedStack<T> outgoing;
+
+    /**
+     * Initializes a new instance of the {@link ImmutableChunkedQueue} class that owns its incoming stack.
+     *
+     * @param outgoing The outgoing stack.
+     * @param incoming The incoming stack.
+     */
+    private ImmutableChunkedQueue(ImmutableChunkedStack<T> outgoing, ImmutableChunkedStack<T> incoming) {
+        this(outgoing, incoming, null);
+    }
+
+    /**
+     * Initializes a new instance of the {@link ImmutableChunkedQueue} class.
+     *
+     * @param outgoing The outgoing stack.
+     * @param incoming The incoming stack.
+     * @param reversal The reversal link of {@code incoming}, see {@link AbstractTwoStackQueue}; {@code null} if this
+     *                 queue owns {@code incoming}.
+     */
+    private ImmutableChunkedQueue(ImmutableChunkedStack<T> outgoing, ImmutableChunkedStack<T> incoming,
+                                  Object reversal) {
+        super(reversal);
+        TypeCheckUtil.notNull(outgoing, "outgoing");
+        TypeCheckUtil.notNull(incoming, "incoming");
+
+        this.outgoing = outgoing;
+        this.incoming = incoming;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableChunkedQueue<T> enQueue(T value) {
+        if (isEmpty()) {
+            return new ImmutableChunkedQueue<T>(ImmutableChunkedStack.<T>empty().push(value),
+                    ImmutableChunkedStack.<T>empty());
+        } else {
+            return new ImmutableChunkedQueue<T>(outgoing, incoming.push(value));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableChunkedQueue<T> deQueue() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        ImmutableChunkedStack<T> f = outgoing.pop();
+        if (!f.isEmpty()) {
+            return new ImmutableChunkedQueue<T>(f, incoming, derivedReversal(incoming.isEmpty()));
+        } else if (incoming.isEmpty()) {
+            return empty();
+        } else {
+            return new ImmutableChunkedQueue<T>(getIncomingReversed(), ImmutableChunkedStack.<T>empty());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T head() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        return outgoing.peek();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return outgoing.isEmpty() && incoming.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return outgoing.size() + incoming.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableChunkedQueue<T> clear() {
+        return empty();
+    }
+
+    /**
+     * Creates a new immutable collection pre-filled with the specified items.
+     *
+     * @param <T> The type of items stored by the collection.
+     * @param items The items to pre-populate.
+     * @return The immutable collection.
+     */
+    public static <T> ImmutableChunkedQueue<T> create(T... items) {
+        TypeCheckUtil.notNull(items, "items");
+
+        ImmutableChunkedQueue<T> queue = empty();
+        for (T item : items) {
+            queue = queue.enQueue(item);
+        }
+
+        return queue;
+    }
+
+    /**
+     * Creates a new immutable collection pre-filled with the specified items.
+     *
+     * @param <T> The type of items stored by the collection.
+     * @param items The items to pre-populate.
+     * @return The immutable collection.
+     */
+    public static <T> ImmutableChunkedQueue<T> createAll(Iterable<? extends T> items) {
+        TypeCheckUtil.notNull(items, "items");
+
+        ImmutableChunkedQueue<T> queue = empty();
+        for (T item : items) {
+            queue = queue.enQueue(item);
+        }
+
+        return queue;
+    }
+
+    public static <T> ImmutableChunkedQueue<T> empty() {
+        @SuppressWarnings("unchecked")
+        ImmutableChunkedQueue<T> result = (ImmutableChunkedQueue<T>)EMPTY_QUEUE;
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Itr<T>(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The first split separates the outgoing stack from the incoming one, which is reversed only when its part of the
+     * spliterator is first used; further splits are done by the stacks' own spliterators.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        if (incoming.isEmpty()) {
+            return outgoing.spliterator();
+        }
+
+        return new ConcatSpliterator<T>(outgoing.spliterator(), new Supplier<Spliterator<T>>() {
+            @Override
+            public Spliterator<T> get() {
+                return getIncomingReversed().spliterator();
+            }
+        }, incoming.size());
+    }
+
+    private ImmutableChunkedStack<T> getIncomingReversed() {
+        if (incoming.isEmpty()) {
+            return incoming;
+        }
+
+        return sharedReversal().get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Reversal<ImmutableChunkedStack<T>> newReversal() {
+        return new ChunkedReversal<T>(incoming);
+    }
+
+    /**
+     * The {@link Reversal} of an incoming {@link ImmutableChunkedStack}.
+     * @param <T>
+     */
+    private static final class ChunkedReversal<T> extends Reversal<ImmutableChunkedStack<T>> {
+
+        ChunkedReversal(ImmutableChunkedStack<T> incoming) {
+            super(incoming);
+        }
+
+        @Override
+        protected ImmutableChunkedStack<T> reverse(ImmutableChunkedStack<T> stack) {
+            return stack.reverse();
+        }
+    }
+
+    private static final class Itr<T> implements Iterator<T> {
+
+        /**
+         * The original queue being enumerated.
+         */
+        private final ImmutableChunkedQueue<T> originalQueue;
+        /**
+         * The iterator over the forwards stack, then over the reversed backwards stack.
+         */
+        private Iterator<T> remaining;
+        /**
+         * Whether {@link #remaining} has moved on to the backwards stack.
+         */
+        private boolean backwards;
+
+        /**
+         * Initializes a new instance of the {@link Itr} class.
+         *
+         * @param originalQueue The queue to enumerate.
+         */
+        public Itr(ImmutableChunkedQueue<T> originalQueue) {
+            this.originalQueue = originalQueue;
+            this.remaining = originalQueue.outgoing.iterator();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            if (!remaining.hasNext() && !backwards) {
+                backwards = true;
+                remaining = originalQueue.getIncomingReversed().iterator();
+            }
+
+            return remaining.hasNext();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return remaining.next();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,476 @@
+package com.paybay.challenge.types;
+
+import com.paybay.challenge.utils.TypeCheckUtil;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.Consumer;
+
+/**
+ * This is an unrolled (chunked) singly linked list based Stack.
+ *
+ * Elements are stored in arrays of {@link #CHUNK_SIZE} slots; only the top chunk may be partially filled and all
+ * chunks below it are full. A stack version is the top chunk plus the number of its slots that belong to the version,
+ * so versions share both the chunks below and the filled prefix of the top chunk.
+ *
+ * A push writes into the next free slot of the top chunk when no other version has claimed that slot yet. Otherwise
+ * (a second push onto the same version) the live prefix of the top chunk is copied, i.e. copy-on-write happens at chunk
+ * granularity and never touches the chunks below.
+ *
+ * Publication: a claimed slot is written with a plain store, so the stack relies on its final fields rather than on
+ * the claim to publish it. The slot is written before the version that includes it is constructed, which makes the
+ * write visible, through the final {@code chunk} and {@code items} fields, to every thread that gets hold of that
+ * version, even through a data race. Slots must therefore only ever be read through a version that includes them,
+ * and a push must keep writing the slot before constructing the new version.
+ * @param <T>
+ */
+public class ImmutableChunkedStack<T> implements Stack<T> {
+
+    /**
+     * The number of elements held by a full chunk.
+     */
+    static final int CHUNK_SIZE = 32;
+
+    private static final ImmutableChunkedStack<?> EMPTY_STACK = new ImmutableChunkedStack<Object>(null, 0);
+
+    /**
+     * The chunk holding the top of the stack; {@code null} for the empty stack.
+     */
+    private final Chunk chunk;
+
+    /**
+     * The number of slots of {@link #chunk} that belong to this stack; the top element is at {@code count - 1}.
+     */
+    private final int count;
+
+    /**
+     * Initializes a new instance of the {@link ImmutableChunkedStack} class.
+     *
+     * @param chunk The chunk holding the top of the stack.
+     * @param count The number of slots of {@code chunk} that belong to this stack.
+     */
+    private ImmutableChunkedStack(Chunk chunk, int count) {
+        this.chunk = chunk;
+        this.count = count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableChunkedStack<T> push(T value) {
+        if (chunk == null || count == CHUNK_SIZE) {
+            Object[] items = new Object[CHUNK_SIZE];
+            items[0] = value;
+            return new ImmutableChunkedStack<T>(new Chunk(items, 1, chunk), 1);
+        }
+
+        if (chunk.claim(count)) {
+            // Before the new version is constructed, so that its final fields publish the slot; see the class doc.
+            chunk.items[count] = value;
+            return new ImmutableChunkedStack<T>(chunk, count + 1);
+        }
+
+        // Another version already owns the next slot.
+        Object[] items = new Object[CHUNK_SIZE];
+        System.arraycopy(chunk.items, 0, items, 0, count);
+        items[count] = value;
+        return new ImmutableChunkedStack<T>(new Chunk(items, count + 1, chunk.next), count + 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableChunkedStack<T> pop() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        if (count > 1) {
+            return new ImmutableChunkedStack<T>(chunk, count - 1);
+        } else if (chunk.next == null) {
+            return empty();
+        } else {
+            return new ImmutableChunkedStack<T>(chunk.next, CHUNK_SIZE);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T peek() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        @SuppressWarnings("unchecked")
+        T result = (T)chunk.items[count - 1];
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return chunk == null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return chunk == null ? 0 : chunk.base + count;
+    }
+
+    /**
+     * Gets the empty stack, upon which all stacks are built.
+     *
+     * @param <T> The type of element stored by the stack.
+     * @return The empty stack.
+     */
+    public static <T> ImmutableChunkedStack<T> empty() {
+        @SuppressWarnings("unchecked")
+        ImmutableChunkedStack<T> result = (ImmutableChunkedStack<T>)EMPTY_STACK;
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableChunkedStack<T> clear() {
+        return empty();
+    }
+
+    /**
+     * Creates a new immutable collection pre-filled with the specified items.
+     *
+     * @param <T> The type of items stored by the collection.
+     * @param items The items to pre-populate.
+     * @return The immutable collection.
+     */
+    public static <T> ImmutableChunkedStack<T> create(T... items) {
+        TypeCheckUtil.notNull(items, "items");
+
+        return createAll(Arrays.asList(items));
+    }
+
+    /**
+     * Creates a new immutable collection pre-filled with the specified items.
+     *
+     * @param <T> The type of items stored by the collection.
+     * @param items The items to pre-populate.
+     * @return The immutable collection.
+     */
+    public static <T> ImmutableChunkedStack<T> createAll(Iterable<? extends T> items) {
+        TypeCheckUtil.notNull(items, "items");
+
+        Filler<T> filler = new Filler<T>();
+        for (T item : items) {
+            filler.push(item);
+        }
+
+        return filler.toStack();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Itr<T>(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Splits at a chunk boundary near the middle of the remaining elements, hopping over whole chunks; no elements are
+     * copied.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new Spl<T>(chunk, count - 1, size());
+    }
+
+    /**
+     * Reverses the order of the stack.
+     *
+     * @return The reversed stack.
+     */
+    public ImmutableChunkedStack<T> reverse() {
+        Filler<T> filler = new Filler<T>();
+        for (T item : this) {
+            filler.push(item);
+        }
+
+        return filler.toStack();
+    }
+
+    /**
+     * A block of stack slots. {@link #claimed} counts the slots that have been written; a slot is written exactly once,
+     * by the version that claimed it, so the written prefix is identical for every version sharing the chunk.
+     */
+    private static final class Chunk {
+
+        private static final AtomicIntegerFieldUpdater<Chunk> CLAIMED =
+                AtomicIntegerFieldUpdater.newUpdater(Chunk.class, "claimed");
+
+        /**
+         * The slots, bottom of the chunk first.
+         */
+        final Object[] items;
+
+        /**
+         * The full chunk below this one; {@code null} for the bottom chunk.
+         */
+        final Chunk next;
+
+        /**
+         * The number of elements in the chunks below this one.
+         */
+        final int base;
+
+        /**
+         * The number of slots handed out so far.
+         */
+        private volatile int claimed;
+
+        Chunk(Object[] items, int claimed, Chunk next) {
+            this.items = items;
+            this.claimed = claimed;
+            this.next = next;
+            this.base = next == null ? 0 : next.base + CHUNK_SIZE;
+        }
+
+        /**
+         * Tries to take ownership of the slot at {@code index}, which must be the first slot after the caller's prefix.
+         *
+         * @param index The slot to claim.
+         * @return {@code true} if the caller may write the slot.
+         */
+        boolean claim(int index) {
+            return claimed == index && CLAIMED.compareAndSet(this, index, index + 1);
+        }
+    }
+
+    /**
+     * Builds a stack from a sequence of pushes, filling private arrays without any claiming or per-element wrapper.
+     */
+    static final class Filler<T> {
+
+        private Object[] items;
+
+        private int count;
+
+        private Chunk below;
+
+        void push(T value) {
+            if (items == null) {
+                items = new Object[CHUNK_SIZE];
+            } else if (count == CHUNK_SIZE) {
+                below = new Chunk(items, CHUNK_SIZE, below);
+                items = new Object[CHUNK_SIZE];
+                count = 0;
+            }
+
+            items[count++] = value;
+        }
+
+        ImmutableChunkedStack<T> toStack() {
+            if (items == null) {
+                return empty();
+            }
+
+            return new ImmutableChunkedStack<T>(new Chunk(items, count, below), count);
+        }
+    }
+
+    private static final class Itr<T> implements Iterator<T> {
+
+        /**
+         * The chunk being enumerated.
+         */
+        private Chunk chunk;
+
+        /**
+         * The index of the next element in {@link #chunk}.
+         */
+        private int index;
+
+        /**
+         * Initializes a new instance of the {@link Itr} class.
+         *
+         * @param originalStack The stack to enumerate.
+         */
+        public Itr(ImmutableChunkedStack<T> originalStack) {
+            this.chunk = originalStack.chunk;
+            this.index = originalStack.count - 1;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            return chunk != null;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public T next() {
+            if (chunk == null) {
+                throw new NoSuchElementException();
+            }
+
+            @SuppressWarnings("unchecked")
+            T result = (T)chunk.items[index];
+            if (index > 0) {
+                index--;
+            } else {
+                chunk = chunk.next;
+                index = CHUNK_SIZE - 1;
+            }
+
+            return result;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class Spl<T> implements Spliterator<T> {
+
+        /**
+         * Ranges shorter than this are not split any further.
+         */
+        private static final int MIN_SPLIT_SIZE = 1024;
+
+        /**
+         * The chunk holding the next element.
+         */
+        private Chunk chunk;
+
+        /**
+         * The index of the next element in {@link #chunk}.
+         */
+        private int index;
+
+        /**
+         * The number of elements left in this range.
+         */
+        private int remaining;
+
+        Spl(Chunk chunk, int index, int remaining) {
+            this.chunk = chunk;
+            this.index = index;
+            this.remaining = remaining;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (remaining == 0) {
+                return false;
+            }
+
+            @SuppressWarnings("unchecked")
+            T result = (T)chunk.items[index];
+            action.accept(result);
+            remaining--;
+            if (index > 0) {
+                index--;
+            } else {
+                chunk = chunk.next;
+                index = CHUNK_SIZE - 1;
+            }
+
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            while (remaining > 0) {
+                int n = Math.min(index + 1, remaining);
+                Object[] items = chunk.items;
+                for (int i = index; i > index - n; i--) {
+                    @SuppressWarnings("unchecked")
+                    T result = (T)items[i];
+                    action.accept(result);
+                }
+
+                remaining -= n;
+                if (remaining > 0) {
+                    chunk = chunk.next;
+                    index = CHUNK_SIZE - 1;
+                } else {
+                    index -= n;
+                }
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Spliterator<T> trySplit() {
+            if (remaining < MIN_SPLIT_SIZE) {
+                return null;
+            }
+
+            // The prefix ends with the chunk in which the middle element lies.
+            int inFirstChunk = index + 1;
+            int hops = (remaining / 2 - inFirstChunk + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            int prefixSize = inFirstChunk + hops * CHUNK_SIZE;
+            if (prefixSize >= remaining) {
+                return null;
+            }
+
+            Chunk middle = chunk.next;
+            for (int i = 0; i < hops; i++) {
+                middle = middle.next;
+            }
+
+            Spl<T> prefix = new Spl<T>(chunk, index, prefixSize);
+            chunk = middle;
+            index = CHUNK_SIZE - 1;
+            remaining -= prefixSize;
+            return prefix;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int characteristics() {
+            return ConcatSpliterator.CHARACTERISTICS;
+        }
+    }
+}
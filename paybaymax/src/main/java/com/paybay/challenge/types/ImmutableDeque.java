@@ -0,0 +1,434 @@
+package com.paybay.challenge.types;
+
+import com.paybay.challenge.utils.TypeCheckUtil;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Supplier;
+
+/**
+ * This is a banker's deque built from two singly linked list based stacks, one per end.
+ *
+ * Each end is served by the top of its own stack. When a dequeue empties one stack, the other stack is split and the
+ * three quarters nearest the emptied end are reversed onto it; moving more than half keeps pure FIFO (or LIFO) use
+ * close to the cost of {@link ImmutableQueue}, while the quarter left behind keeps the split amortized O(1) when both
+ * ends are used. The split is done by the dequeue itself and its result is memoized on the version dequeued from, so
+ * every version derived from that one shares a single split. Enqueues never leave a stack empty while the other holds
+ * more than three elements, so no other version has to split.
+ * @param <T>
+ */
+public class ImmutableDeque<T> implements Deque<T> {
+
+    /**
+     * The singleton empty deque.
+     */
+    private static final ImmutableDeque<?> EMPTY_DEQUE = new ImmutableDeque<Object>(ImmutableStack.empty(), ImmutableStack.empty());
+
+    /**
+     * The front of the deque; the top of the stack is the first element.
+     */
+    private final ImmutableStack<T> front;
+
+    /**
+     * The back of the deque; the top of the stack is the last element.
+     */
+    private final ImmutableStack<T> back;
+
+    /**
+     * The backing field for {@link #balanced()}.
+     */
+    private ImmutableDeque<T> balanced;
+
+    /**
+     * The backing field for {@link #drained()}.
+     */
+    private ImmutableDeque<T> drained;
+
+    /**
+     * Initializes a new instance of the {@link ImmutableDeque} class.
+     *
+     * @param front The front stack.
+     * @param back The back stack.
+     */
+    private ImmutableDeque(ImmutableStack<T> front, ImmutableStack<T> back) {
+        TypeCheckUtil.notNull(front, "front");
+        TypeCheckUtil.notNull(back, "back");
+
+        this.front = front;
+        this.back = back;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableDeque<T> enQueueFront(T value) {
+        if (back.isEmpty()) {
+            // The front holds at most three elements, which become the back.
+            return new ImmutableDeque<T>(ImmutableStack.<T>empty().push(value), front.reverse());
+        }
+
+        return new ImmutableDeque<T>(front.push(value), back);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableDeque<T> enQueueBack(T value) {
+        if (front.isEmpty()) {
+            // The back holds at most three elements, which become the front.
+            return new ImmutableDeque<T>(back.reverse(), ImmutableStack.<T>empty().push(value));
+        }
+
+        return new ImmutableDeque<T>(front, back.push(value));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableDeque<T> enQueue(T value) {
+        return enQueueBack(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableDeque<T> deQueueFront() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        if (front.isEmpty()) {
+            return balanced().deQueueFront();
+        } else if (front.isSingleton() && back.size() > 1) {
+            return drained();
+        }
+
+        return create(front.pop(), back);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableDeque<T> deQueueBack() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        if (back.isEmpty()) {
+            return balanced().deQueueBack();
+        } else if (back.isSingleton() && front.size() > 1) {
+            return drained();
+        }
+
+        return create(front, back.pop());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableDeque<T> deQueue() {
+        return deQueueFront();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T peekFirst() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        return front.isEmpty() ? balanced().front.peek() : front.peek();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T peekLast() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        return back.isEmpty() ? balanced().back.peek() : back.peek();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T head() {
+        return peekFirst();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return front.isEmpty() && back.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return front.size() + back.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableDeque<T> clear() {
+        return empty();
+    }
+
+    /**
+     * Gets the empty deque.
+     *
+     * @param <T> The type of element stored by the deque.
+     * @return The empty deque.
+     */
+    public static <T> ImmutableDeque<T> empty() {
+        @SuppressWarnings("unchecked")
+        ImmutableDeque<T> result = (ImmutableDeque<T>)EMPTY_DEQUE;
+        return result;
+    }
+
+    /**
+     * Creates a new immutable collection pre-filled with the specified items.
+     *
+     * @param <T> The type of items stored by the collection.
+     * @param items The items to pre-populate, front of the deque first.
+     * @return The immutable collection.
+     */
+    public static <T> ImmutableDeque<T> create(T... items) {
+        TypeCheckUtil.notNull(items, "items");
+
+        return createAll(Arrays.asList(items));
+    }
+
+    /**
+     * Creates a new immutable collection pre-filled with the specified items.
+     *
+     * @param <T> The type of items stored by the collection.
+     * @param items The items to pre-populate, front of the deque first.
+     * @return The immutable collection.
+     */
+    public static <T> ImmutableDeque<T> createAll(Iterable<? extends T> items) {
+        TypeCheckUtil.notNull(items, "items");
+
+        ImmutableStack<T> back = ImmutableStack.empty();
+        for (T item : items) {
+            back = back.push(item);
+        }
+
+        ImmutableDeque<T> result = create(ImmutableStack.<T>empty(), back);
+        return back.size() < 4 ? result : result.balanced();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Itr<T>(front, back);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<T> descendingIterator() {
+        return new Itr<T>(back, front);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The first split separates the front stack from the back one, which is reversed only when its part of the
+     * spliterator is first used.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        if (back.isEmpty()) {
+            return front.spliterator();
+        }
+
+        return new ConcatSpliterator<T>(front.spliterator(), new Supplier<Spliterator<T>>() {
+            @Override
+            public Spliterator<T> get() {
+                return back.reverse().spliterator();
+            }
+        }, back.size());
+    }
+
+    /**
+     * Gets the deque with the same elements in which neither stack is empty unless the deque holds fewer than four
+     * elements. Only called when one of the stacks is empty; the result is computed once per version.
+     *
+     * @return The balanced deque.
+     */
+    private ImmutableDeque<T> balanced() {
+        ImmutableDeque<T> result = balanced;
+        if (result == null) {
+            if (front.isEmpty()) {
+                ImmutableStack<T>[] parts = split(back);
+                result = new ImmutableDeque<T>(parts[1], parts[0]);
+            } else {
+                ImmutableStack<T>[] parts = split(front);
+                result = new ImmutableDeque<T>(parts[0], parts[1]);
+            }
+
+            balanced = result;
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets the deque without the single element of one of its stacks, with the other stack split as
+     * {@link #balanced()} does. Only called when one stack holds a single element and the other more than one; the
+     * result is computed once per version.
+     *
+     * @return The rebalanced deque.
+     */
+    private ImmutableDeque<T> drained() {
+        ImmutableDeque<T> result = drained;
+        if (result == null) {
+            if (front.isSingleton()) {
+                result = new ImmutableDeque<T>(ImmutableStack.<T>empty(), back).balanced();
+            } else {
+                result = new ImmutableDeque<T>(front, ImmutableStack.<T>empty()).balanced();
+            }
+
+            drained = result;
+        }
+
+        return result;
+    }
+
+    /**
+     * Splits a stack of {@code n} elements into its top {@code n / 4} elements, in the same order, and the remaining
+     * bottom elements, reversed so that the bottom of {@code stack} becomes the top of the second stack.
+     *
+     * @param stack The stack to split.
+     * @return The top part and the reversed bottom part.
+     */
+    private static <T> ImmutableStack<T>[] split(ImmutableStack<T> stack) {
+        int n = stack.size();
+        int keep = n / 4;
+        Object[] items = new Object[n];
+        int i = 0;
+        for (T item : stack) {
+            items[i++] = item;
+        }
+
+        ImmutableStack<T> top = ImmutableStack.empty();
+        for (i = keep - 1; i >= 0; i--) {
+            @SuppressWarnings("unchecked")
+            T item = (T)items[i];
+            top = top.push(item);
+        }
+
+        ImmutableStack<T> bottom = ImmutableStack.empty();
+        for (i = keep; i < n; i++) {
+            @SuppressWarnings("unchecked")
+            T item = (T)items[i];
+            bottom = bottom.push(item);
+        }
+
+        @SuppressWarnings("unchecked")
+        ImmutableStack<T>[] result = (ImmutableStack<T>[])new ImmutableStack<?>[] { top, bottom };
+        return result;
+    }
+
+    /**
+     * Creates a deque from its stacks, reusing the empty deque.
+     *
+     * @param front The front stack.
+     * @param back The back stack.
+     * @return The deque.
+     */
+    private static <T> ImmutableDeque<T> create(ImmutableStack<T> front, ImmutableStack<T> back) {
+        if (front.isEmpty() && back.isEmpty()) {
+            return empty();
+        }
+
+        return new ImmutableDeque<T>(front, back);
+    }
+
+    /**
+     * Walks one stack from its top, then the other one from its bottom.
+     */
+    private static final class Itr<T> implements Iterator<T> {
+
+        /**
+         * The remaining part of the stack walked from its top.
+         */
+        private ImmutableStack<T> near;
+
+        /**
+         * The stack walked from its bottom; reversed into {@link #near} when that is exhausted.
+         */
+        private ImmutableStack<T> far;
+
+        /**
+         * Initializes a new instance of the {@link Itr} class.
+         *
+         * @param near The stack to walk first, from its top.
+         * @param far The stack to walk next, from its bottom.
+         */
+        public Itr(ImmutableStack<T> near, ImmutableStack<T> far) {
+            this.near = near;
+            this.far = far;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            return !near.isEmpty() || !far.isEmpty();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public T next() {
+            if (near.isEmpty()) {
+                if (far.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+
+                near = far.reverse();
+                far = ImmutableStack.empty();
+            }
+
+            T result = near.peek();
+            near = near.pop();
+            return result;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package com.paybay.challenge.types;
+
+import com.paybay.challenge.utils.TypeCheckUtil;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EmptyStackException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This is a persistent pairing heap. Every node keeps its sub-heaps on a singly linked list based stack, so
+ * {@link #insert(Object)}, {@link #findMin()} and {@link #merge(PriorityQueue)} are O(1) and {@link #deleteMin()} is
+ * O(log n) amortized.
+ *
+ * deleteMin combines the sub-heaps of the root with the usual two passes, done iteratively. Its result is memoized on
+ * the version it was computed for, so calling it again on an old version does not repeat the passes.
+ * @param <T>
+ */
+public class ImmutablePriorityQueue<T> implements PriorityQueue<T> {
+
+    /**
+     * The singleton empty queue in natural order.
+     */
+    private static final ImmutablePriorityQueue<?> EMPTY_NATURAL_QUEUE =
+            new ImmutablePriorityQueue<Object>(naturalOrder(), null, 0);
+
+    /**
+     * The order of the elements.
+     */
+    private final Comparator<? super T> comparator;
+
+    /**
+     * The root of the heap, holding the smallest element; {@code null} for the empty queue.
+     */
+    private final Node<T> root;
+
+    /**
+     * The number of elements in the queue.
+     */
+    private final int size;
+
+    /**
+     * The backing field for {@link #deleteMin()}.
+     */
+    private ImmutablePriorityQueue<T> deleted;
+
+    /**
+     * Initializes a new instance of the {@link ImmutablePriorityQueue} class.
+     *
+     * @param comparator The order of the elements.
+     * @param root The root of the heap.
+     * @param size The number of elements in the heap.
+     */
+    private ImmutablePriorityQueue(Comparator<? super T> comparator, Node<T> root, int size) {
+        TypeCheckUtil.notNull(comparator, "comparator");
+
+        this.comparator = comparator;
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutablePriorityQueue<T> insert(T value) {
+        Node<T> node = new Node<T>(value, ImmutableStack.<Node<T>>empty());
+        return new ImmutablePriorityQueue<T>(comparator, link(root, node, comparator), size + 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutablePriorityQueue<T> deleteMin() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        ImmutablePriorityQueue<T> result = deleted;
+        if (result == null) {
+            Node<T> newRoot = mergePairs(root.children, comparator);
+            result = newRoot == null ? clear() : new ImmutablePriorityQueue<T>(comparator, newRoot, size - 1);
+            deleted = result;
+        }
+
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T findMin() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        return root.value;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * O(1) when {@code other} is an {@link ImmutablePriorityQueue} with an equal comparator; otherwise the elements of
+     * {@code other} are inserted one by one.
+     */
+    @Override
+    public ImmutablePriorityQueue<T> merge(PriorityQueue<T> other) {
+        TypeCheckUtil.notNull(other, "other");
+
+        if (other.isEmpty()) {
+            return this;
+        }
+
+        if (other instanceof ImmutablePriorityQueue && comparator.equals(other.comparator())) {
+            ImmutablePriorityQueue<T> heap = (ImmutablePriorityQueue<T>)other;
+            if (isEmpty()) {
+                return heap;
+            }
+
+            return new ImmutablePriorityQueue<T>(comparator, link(root, heap.root, comparator), size + heap.size);
+        }
+
+        ImmutablePriorityQueue<T> result = this;
+        for (T value : other) {
+            result = result.insert(value);
+        }
+
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Comparator<? super T> comparator() {
+        return comparator;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutablePriorityQueue<T> clear() {
+        return isEmpty() ? this : empty(comparator);
+    }
+
+    /**
+     * Gets the empty queue in natural order.
+     *
+     * @param <T> The type of element stored by the queue.
+     * @return The empty queue.
+     */
+    public static <T extends Comparable<? super T>> ImmutablePriorityQueue<T> empty() {
+        @SuppressWarnings("unchecked")
+        ImmutablePriorityQueue<T> result = (ImmutablePriorityQueue<T>)EMPTY_NATURAL_QUEUE;
+        return result;
+    }
+
+    /**
+     * Gets an empty queue ordered by {@code comparator}.
+     *
+     * @param <T> The type of element stored by the queue.
+     * @param comparator The order of the elements.
+     * @return The empty queue.
+     */
+    public static <T> ImmutablePriorityQueue<T> empty(Comparator<? super T> comparator) {
+        if (comparator == EMPTY_NATURAL_QUEUE.comparator) {
+            @SuppressWarnings("unchecked")
+            ImmutablePriorityQueue<T> result = (ImmutablePriorityQueue<T>)EMPTY_NATURAL_QUEUE;
+            return result;
+        }
+
+        return new ImmutablePriorityQueue<T>(comparator, null, 0);
+    }
+
+    /**
+     * Creates a new immutable collection in natural order pre-filled with the specified items.
+     *
+     * @param <T> The type of items stored by the collection.
+     * @param items The items to pre-populate.
+     * @return The immutable collection.
+     */
+    public static <T extends Comparable<? super T>> ImmutablePriorityQueue<T> create(T... items) {
+        TypeCheckUtil.notNull(items, "items");
+
+        return createAll(ImmutablePriorityQueue.<T>naturalOrder(), Arrays.asList(items));
+    }
+
+    /**
+     * Creates a new immutable collection pre-filled with the specified items.
+     *
+     * @param <T> The type of items stored by the collection.
+     * @param comparator The order of the elements.
+     * @param items The items to pre-populate.
+     * @return The immutable collection.
+     */
+    public static <T> ImmutablePriorityQueue<T> createAll(Comparator<? super T> comparator, Iterable<? extends T> items) {
+        TypeCheckUtil.notNull(comparator, "comparator");
+        TypeCheckUtil.notNull(items, "items");
+
+        Node<T> root = null;
+        int size = 0;
+        for (T item : items) {
+            root = link(root, new Node<T>(item, ImmutableStack.<Node<T>>empty()), comparator);
+            size++;
+        }
+
+        if (root == null) {
+            return empty(comparator);
+        }
+
+        return new ImmutablePriorityQueue<T>(comparator, root, size);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The elements are visited in ascending order; every step costs O(log n) amortized. The intermediate heaps are not
+     * memoized, so iterating does not keep them alive.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Itr<T>(root, comparator);
+    }
+
+    /**
+     * Makes the root with the larger element a sub-heap of the other root.
+     *
+     * @param left The first heap; may be {@code null}.
+     * @param right The second heap; may be {@code null}.
+     * @param comparator The order of the elements.
+     * @return The combined heap.
+     */
+    private static <T> Node<T> link(Node<T> left, Node<T> right, Comparator<? super T> comparator) {
+        if (left == null) {
+            return right;
+        } else if (right == null) {
+            return left;
+        } else if (comparator.compare(right.value, left.value) < 0) {
+            return new Node<T>(right.value, right.children.push(left));
+        } else {
+            return new Node<T>(left.value, left.children.push(right));
+        }
+    }
+
+    /**
+     * Combines sub-heaps into one: the first pass links them in pairs from the front of the list, the second links the
+     * pairs into one heap from the back of the list.
+     *
+     * @param children The sub-heaps.
+     * @param comparator The order of the elements.
+     * @return The combined heap; {@code null} if there are no sub-heaps.
+     */
+    private static <T> Node<T> mergePairs(ImmutableStack<Node<T>> children, Comparator<? super T> comparator) {
+        // The pairs are pushed as they are linked, so popping them walks the list from the back.
+        ImmutableStack<Node<T>> pairs = ImmutableStack.empty();
+        while (!children.isEmpty()) {
+            Node<T> first = children.peek();
+            children = children.pop();
+            if (children.isEmpty()) {
+                pairs = pairs.push(first);
+            } else {
+                pairs = pairs.push(link(first, children.peek(), comparator));
+                children = children.pop();
+            }
+        }
+
+        Node<T> result = null;
+        for (Node<T> pair : pairs) {
+            result = link(pair, result, comparator);
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets the natural order of {@link Comparable} elements.
+     *
+     * @param <T> The type of element to compare.
+     * @return The comparator.
+     */
+    private static <T> Comparator<T> naturalOrder() {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Comparator<T> result = (Comparator<T>)(Comparator)Comparator.naturalOrder();
+        return result;
+    }
+
+    /**
+     * A heap-ordered tree: {@link #value} is not greater than any element of the sub-heaps.
+     */
+    private static final class Node<T> {
+
+        /**
+         * The smallest element of the tree.
+         */
+        final T value;
+
+        /**
+         * The sub-heaps, most recently linked first.
+         */
+        final ImmutableStack<Node<T>> children;
+
+        Node(T value, ImmutableStack<Node<T>> children) {
+            this.value = value;
+            this.children = children;
+        }
+    }
+
+    private static final class Itr<T> implements Iterator<T> {
+
+        /**
+         * The heap of the elements not yet enumerated.
+         */
+        private Node<T> remaining;
+
+        /**
+         * The order of the elements.
+         */
+        private final Comparator<? super T> comparator;
+
+        /**
+         * Initializes a new instance of the {@link Itr} class.
+         *
+         * @param root The heap to enumerate.
+         * @param comparator The order of the elements.
+         */
+        public Itr(Node<T> root, Comparator<? super T> comparator) {
+            this.remaining = root;
+            this.comparator = comparator;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            return remaining != null;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public T next() {
+            if (remaining == null) {
+                throw new NoSuchElementException();
+            }
+
+            T result = remaining.value;
+            remaining = mergePairs(remaining.children, comparator);
+            return result;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
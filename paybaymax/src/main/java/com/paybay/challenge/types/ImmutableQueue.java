@@ -1,17 +1,32 @@
 package com.paybay.challenge.types;
 
+import com.paybay.challenge.metrics.QueueMetrics;
 import com.paybay.challenge.utils.TypeCheckUtil;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.EmptyStackException;
 import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
 
 /**
  * This Queue implementation takes in consideration of 2 stacks
  *  - backwards and forwards - both based upon singly linked list based stack impl
  * @param <T>
  */
-public class ImmutableQueue<T> implements Queue<T> {
+public class ImmutableQueue<T> extends AbstractTwoStackQueue<ImmutableStack<T>> implements Queue<T> {
 
     /**
      * The singleton empty queue.
@@ -29,23 +44,30 @@ public class ImmutableQueue<T> implements Queue<T> {
     private final ImmutableStack<T> outgoing;
 
     /**
-     * The backing field for {@link #getIncomingReversed()}.
+     * Initializes a new instance of the {@link ImmutableQueue} class that owns its incoming stack.
+     *
+     * @param outgoing The outgoing stack.
+     * @param incoming The incoming stack.
      */
-    private ImmutableStack<T> incomingReversed;
+    private ImmutableQueue(ImmutableStack<T> outgoing, ImmutableStack<T> incoming) {
+        this(outgoing, incoming, null);
+    }
 
     /**
      * Initializes a new instance of the {@link ImmutableQueue} class.
      *
      * @param outgoing The outgoing stack.
      * @param incoming The incoming stack.
+     * @param reversal The reversal link of {@code incoming}, see {@link AbstractTwoStackQueue}; {@code null} if this
+     *                 queue owns {@code incoming}.
      */
-    private ImmutableQueue(ImmutableStack<T> outgoing, ImmutableStack<T> incoming) {
+    private ImmutableQueue(ImmutableStack<T> outgoing, ImmutableStack<T> incoming, Object reversal) {
+        super(reversal);
         TypeCheckUtil.notNull(outgoing, "outgoing");
         TypeCheckUtil.notNull(incoming, "incoming");
 
         this.outgoing = outgoing;
         this.incoming = incoming;
-        this.incomingReversed = null;
     }
 
 
@@ -54,6 +76,10 @@ public class ImmutableQueue<T> implements Queue<T> {
      */
     @Override
     public ImmutableQueue<T> enQueue(T value) {
+        if (QueueMetrics.ENABLED) {
+            QueueMetrics.recordEnqueues(1);
+        }
+
         if (isEmpty()) {
             return new ImmutableQueue<T>(ImmutableStack.<T>empty().push(value), ImmutableStack.<T>empty());
         } else {
@@ -70,9 +96,13 @@ public class ImmutableQueue<T> implements Queue<T> {
             throw new EmptyStackException();
         }
 
+        if (QueueMetrics.ENABLED) {
+            QueueMetrics.recordDequeues(1);
+        }
+
         ImmutableStack<T> f = outgoing.pop();
         if (!f.isEmpty()) {
-            return new ImmutableQueue<T>(f, incoming);
+            return new ImmutableQueue<T>(f, incoming, derivedReversal(incoming.isEmpty()));
         } else if (incoming.isEmpty()) {
             return empty();
         } else {
@@ -92,6 +122,36 @@ public class ImmutableQueue<T> implements Queue<T> {
         return outgoing.peek();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The front of a non-empty queue is always on the outgoing stack, so this is a single field read.
+     */
+    @Override
+    public T headOrNull() {
+        return outgoing.peekOrNull();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T headOrDefault(T defaultValue) {
+        return outgoing.isEmpty() ? defaultValue : outgoing.peek();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Polled<T, ImmutableQueue<T>> pollHead() {
+        if (outgoing.isEmpty()) {
+            return null;
+        }
+
+        return new Polled<T, ImmutableQueue<T>>(outgoing.peek(), deQueue());
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -100,6 +160,14 @@ public class ImmutableQueue<T> implements Queue<T> {
         return outgoing.isEmpty() && incoming.isEmpty();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return outgoing.size() + incoming.size();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -108,6 +176,119 @@ public class ImmutableQueue<T> implements Queue<T> {
         return empty();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Only the stack nodes of the new elements and the resulting queue are allocated. When this queue is empty and
+     * {@code values} is a {@link List}, the elements go straight onto the outgoing stack so no later reversal is needed.
+     */
+    @Override
+    public ImmutableQueue<T> enQueueAll(Iterable<? extends T> values) {
+        TypeCheckUtil.notNull(values, "values");
+
+        if (isEmpty() && values instanceof List) {
+            ImmutableQueue<T> result = fromList((List<? extends T>)values);
+            if (QueueMetrics.ENABLED) {
+                QueueMetrics.recordEnqueues(result.size());
+            }
+
+            return result;
+        }
+
+        ImmutableStack<T> out = outgoing;
+        ImmutableStack<T> in = incoming;
+        Iterator<? extends T> iterator = values.iterator();
+        if (out.isEmpty() && iterator.hasNext()) {
+            out = out.push(iterator.next());
+        }
+
+        while (iterator.hasNext()) {
+            in = in.push(iterator.next());
+        }
+
+        if (QueueMetrics.ENABLED) {
+            QueueMetrics.recordEnqueues(out.size() - outgoing.size() + in.size() - incoming.size());
+        }
+
+        if (out == outgoing && in == incoming) {
+            return this;
+        }
+
+        return new ImmutableQueue<T>(out, in);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableQueue<T> enQueueAll(T... values) {
+        TypeCheckUtil.notNull(values, "values");
+
+        return enQueueAll(Arrays.asList(values));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * No intermediate queue is allocated for the removed elements.
+     */
+    @Override
+    public ImmutableQueue<T> deQueue(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count < 0: " + count);
+        } else if (count > size()) {
+            throw new EmptyStackException();
+        }
+
+        return advance(count, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableQueue<T> take(int count) {
+        return split(count).front();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * No intermediate queue is allocated for the transferred elements.
+     */
+    @Override
+    public ImmutableQueue<T> drainTo(Collection<? super T> target, int maxElements) {
+        TypeCheckUtil.notNull(target, "target");
+        if (maxElements < 0) {
+            throw new IllegalArgumentException("maxElements < 0: " + maxElements);
+        }
+
+        return advance(maxElements, target);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The front part gets a fresh outgoing stack built in one pass; the rest shares the stacks of this queue. If the
+     * queue holds no more than {@code count} elements, the front part is this very queue.
+     */
+    @Override
+    public Split<ImmutableQueue<T>> split(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count < 0: " + count);
+        }
+
+        if (count == 0) {
+            return new Split<ImmutableQueue<T>>(ImmutableQueue.<T>empty(), this);
+        } else if (count >= size()) {
+            return new Split<ImmutableQueue<T>>(this, ImmutableQueue.<T>empty());
+        }
+
+        List<T> front = new ArrayList<T>(count);
+        ImmutableQueue<T> rest = advance(count, front);
+        return new Split<ImmutableQueue<T>>(fromList(front), rest);
+    }
+
     /**
      * Creates a new immutable collection pre-filled with the specified item.
      *
@@ -129,12 +310,7 @@ public class ImmutableQueue<T> implements Queue<T> {
     public static <T> ImmutableQueue<T> create(T... items) {
         TypeCheckUtil.notNull(items, "items");
 
-        ImmutableQueue<T> queue = empty();
-        for (T item : items) {
-            queue = queue.enQueue(item);
-        }
-
-        return queue;
+        return ImmutableQueue.<T>empty().enQueueAll(items);
     }
 
     /**
@@ -147,12 +323,48 @@ public class ImmutableQueue<T> implements Queue<T> {
     public static <T> ImmutableQueue<T> createAll(Iterable<? extends T> items) {
         TypeCheckUtil.notNull(items, "items");
 
-        ImmutableQueue<T> queue = empty();
-        for (T item : items) {
-            queue = queue.enQueue(item);
-        }
+        return ImmutableQueue.<T>empty().enQueueAll(items);
+    }
 
-        return queue;
+    /**
+     * Gets a {@link Collector} that collects the elements of a stream, in encounter order, into a queue. Elements are
+     * accumulated into arrays, partial results of parallel streams are concatenated without copying, and the finisher
+     * builds the outgoing stack in one pass, so the queue never needs a reversal.
+     *
+     * @param <T> The type of items stored by the collection.
+     * @return The collector.
+     */
+    public static <T> Collector<T, ?, ImmutableQueue<T>> toQueue() {
+        return Collector.of(new Supplier<ChunkAccumulator<T>>() {
+            @Override
+            public ChunkAccumulator<T> get() {
+                return new ChunkAccumulator<T>();
+            }
+        }, new BiConsumer<ChunkAccumulator<T>, T>() {
+            @Override
+            public void accept(ChunkAccumulator<T> chunks, T value) {
+                chunks.add(value);
+            }
+        }, new BinaryOperator<ChunkAccumulator<T>>() {
+            @Override
+            public ChunkAccumulator<T> apply(ChunkAccumulator<T> left, ChunkAccumulator<T> right) {
+                return left.combine(right);
+            }
+        }, new Function<ChunkAccumulator<T>, ImmutableQueue<T>>() {
+            @Override
+            public ImmutableQueue<T> apply(ChunkAccumulator<T> chunks) {
+                if (chunks.size() == 0) {
+                    return empty();
+                }
+
+                if (QueueMetrics.ENABLED) {
+                    QueueMetrics.recordEnqueues(chunks.size());
+                }
+
+                ImmutableStack<T> outgoing = chunks.pushBackwards(ImmutableStack.<T>empty());
+                return new ImmutableQueue<T>(outgoing, ImmutableStack.<T>empty());
+            }
+        });
     }
 
     public static <T> ImmutableQueue<T> empty() {
@@ -161,6 +373,34 @@ public class ImmutableQueue<T> implements Queue<T> {
         return result;
     }
 
+    /**
+     * Creates a poller that removes the elements of this queue one at a time.
+     *
+     * @return The poller, owned by the calling thread.
+     */
+    public Poller<T> poller() {
+        return new Poller<T>(this);
+    }
+
+    /**
+     * Creates a builder that starts out empty.
+     *
+     * @param <T> The type of items stored by the collection.
+     * @return The builder, owned by the calling thread.
+     */
+    public static <T> Builder<T> builder() {
+        return ImmutableQueue.<T>empty().toBuilder();
+    }
+
+    /**
+     * Creates a builder that starts out with the elements of this queue and shares its structure.
+     *
+     * @return The builder, owned by the calling thread.
+     */
+    public Builder<T> toBuilder() {
+        return new Builder<T>(this);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -169,12 +409,479 @@ public class ImmutableQueue<T> implements Queue<T> {
         return new Itr<T>(this);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The first split separates the outgoing stack from the incoming one, which is reversed only when its part of the
+     * spliterator is first used; further splits are done by the stacks' own spliterators.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        if (incoming.isEmpty()) {
+            return outgoing.spliterator();
+        }
+
+        return new ConcatSpliterator<T>(outgoing.spliterator(), new Supplier<Spliterator<T>>() {
+            @Override
+            public Spliterator<T> get() {
+                return getIncomingReversed().spliterator();
+            }
+        }, incoming.size());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Visits the elements front to back without allocating: the outgoing stack is followed from the top, then the
+     * incoming stack is read from its cached reversal if some version has computed it, and from the bottom up with
+     * per thread scratch arrays otherwise. Unlike the iterator, this never reverses the incoming stack.
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        TypeCheckUtil.notNull(action, "action");
+
+        outgoing.forEach(action);
+        ImmutableStack<T> reversed = reversedIncomingIfComputed();
+        if (reversed != null) {
+            reversed.forEach(action);
+        } else {
+            incoming.forEachReverse(action);
+        }
+    }
+
+    /**
+     * Performs an action for each element from the back of the queue to the front, without allocating.
+     *
+     * @param action The action to perform.
+     */
+    public void forEachReverse(Consumer<? super T> action) {
+        TypeCheckUtil.notNull(action, "action");
+
+        incoming.forEach(action);
+        outgoing.forEachReverse(action);
+    }
+
+    /**
+     * Combines the elements front to back into a result, traversing the queue as {@link #forEach(Consumer)} does.
+     *
+     * @param <R> The type of the result.
+     * @param identity The initial result.
+     * @param accumulator Combines the result so far with the next element.
+     * @return The result after the last element; {@code identity} if the queue is empty.
+     */
+    public <R> R fold(R identity, BiFunction<R, ? super T, R> accumulator) {
+        TypeCheckUtil.notNull(accumulator, "accumulator");
+
+        R result = outgoing.fold(identity, accumulator);
+        ImmutableStack<T> reversed = reversedIncomingIfComputed();
+        if (reversed != null) {
+            return reversed.fold(result, accumulator);
+        }
+
+        return incoming.foldFromBottom(result, accumulator);
+    }
+
+    /**
+     * Gets whether any element matches a predicate, front to back, stopping at the first match. The incoming stack
+     * is only visited if no element of the outgoing one matches.
+     *
+     * @param predicate The predicate to test the elements with.
+     * @return {@code true} if an element matches; {@code false} if none does or the queue is empty.
+     */
+    public boolean anyMatch(Predicate<? super T> predicate) {
+        TypeCheckUtil.notNull(predicate, "predicate");
+
+        if (outgoing.anyMatch(predicate)) {
+            return true;
+        }
+
+        ImmutableStack<T> reversed = reversedIncomingIfComputed();
+        if (reversed != null) {
+            return reversed.anyMatch(predicate);
+        }
+
+        return incoming.anyMatchFromBottom(predicate);
+    }
+
+    /**
+     * Creates a queue holding the elements of {@code items}, all of them on the outgoing stack.
+     *
+     * @param items The items, front of the queue first.
+     * @return The queue.
+     */
+    private static <T> ImmutableQueue<T> fromList(List<? extends T> items) {
+        ImmutableStack<T> out = ImmutableStack.empty();
+        for (ListIterator<? extends T> iterator = items.listIterator(items.size()); iterator.hasPrevious(); ) {
+            out = out.push(iterator.previous());
+        }
+
+        if (out.isEmpty()) {
+            return empty();
+        }
+
+        return new ImmutableQueue<T>(out, ImmutableStack.<T>empty());
+    }
+
+    /**
+     * Removes up to {@code count} elements from the front of the queue by walking the stacks directly, without
+     * materializing the intermediate queues.
+     *
+     * @param count The maximum number of elements to remove.
+     * @param sink Receives the removed elements in queue order; may be {@code null}.
+     * @return The remaining queue.
+     */
+    private ImmutableQueue<T> advance(int count, Collection<? super T> sink) {
+        if (count == 0) {
+            return this;
+        }
+
+        ImmutableStack<T> out = outgoing;
+        ImmutableStack<T> in = incoming;
+        for (int i = 0; i < count; i++) {
+            if (out.isEmpty()) {
+                if (in.isEmpty()) {
+                    break;
+                }
+
+                out = getIncomingReversed();
+                in = ImmutableStack.empty();
+            }
+
+            if (sink != null) {
+                sink.add(out.peek());
+            }
+
+            out = out.pop();
+        }
+
+        if (QueueMetrics.ENABLED) {
+            QueueMetrics.recordDequeues(size() - out.size() - in.size());
+        }
+
+        if (out.isEmpty()) {
+            if (in.isEmpty()) {
+                return empty();
+            }
+
+            // Only reachable while in is still the incoming stack of this queue.
+            out = getIncomingReversed();
+            in = ImmutableStack.empty();
+        }
+
+        return new ImmutableQueue<T>(out, in, in == incoming ? derivedReversal(in.isEmpty()) : null);
+    }
+
+    ImmutableStack<T> outgoing() {
+        return outgoing;
+    }
+
+    ImmutableStack<T> incoming() {
+        return incoming;
+    }
+
     private ImmutableStack<T> getIncomingReversed() {
-        if (incomingReversed == null) {
-            incomingReversed = incoming.reverse();
+        if (incoming.isEmpty()) {
+            return incoming;
+        }
+
+        return sharedReversal().get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Reversal<ImmutableStack<T>> newReversal() {
+        return new StackReversal<T>(incoming);
+    }
+
+    /**
+     * The {@link Reversal} of an incoming {@link ImmutableStack}, recorded in {@link QueueMetrics}. A static class, so
+     * the holder keeps no queue reachable.
+     * @param <T>
+     */
+    private static final class StackReversal<T> extends Reversal<ImmutableStack<T>> {
+
+        StackReversal(ImmutableStack<T> incoming) {
+            super(incoming);
+        }
+
+        @Override
+        protected ImmutableStack<T> reverse(ImmutableStack<T> stack) {
+            long start = QueueMetrics.ENABLED ? System.nanoTime() : 0L;
+            ImmutableStack<T> result = stack.reverse();
+            if (QueueMetrics.ENABLED) {
+                QueueMetrics.recordReversal(stack.size(), System.nanoTime() - start);
+            }
+
+            return result;
+        }
+    }
+
+    /**
+     * Transient form of an {@link ImmutableQueue}: added elements are collected in an array instead of allocating a
+     * new queue per element, and {@link #build()} pushes them onto the stacks in one pass. Elements added to an empty
+     * queue are pushed straight onto the outgoing stack in queue order, as {@link #create} does, so the built queue
+     * dequeues without ever reversing them. Elements added after a non-empty queue go onto its incoming stack, which
+     * keeps that queue's nodes shared.
+     *
+     * The builder only ever pushes new nodes on top of the shared stacks, so every queue built from it (and the queue
+     * it was created from) stays valid. It may only be used by the thread that created it.
+     * @param <T>
+     */
+    public static final class Builder<T> {
+
+        /**
+         * The thread allowed to use this builder.
+         */
+        private final Thread owner;
+
+        /**
+         * The queue returned by {@link #build()} while nothing has been added.
+         */
+        private ImmutableQueue<T> built;
+
+        /**
+         * The outgoing stack being built.
+         */
+        private ImmutableStack<T> outgoing;
+
+        /**
+         * The incoming stack being built.
+         */
+        private ImmutableStack<T> incoming;
+
+        /**
+         * The elements added since the last {@link #build()}, in queue order; {@code null} until the first add.
+         */
+        private ArrayList<T> pending;
+
+        /**
+         * Initializes a new instance of the {@link Builder} class.
+         *
+         * @param source The queue to start from.
+         */
+        private Builder(ImmutableQueue<T> source) {
+            this.owner = Thread.currentThread();
+            this.built = source;
+            this.outgoing = source.outgoing;
+            this.incoming = source.incoming;
+        }
+
+        /**
+         * Adds an element to the back of the queue being built.
+         *
+         * @param value The element to add.
+         * @return This builder.
+         * @throws IllegalStateException if called by a thread other than the owner.
+         */
+        public Builder<T> add(T value) {
+            ensureOwner();
+
+            if (QueueMetrics.ENABLED) {
+                QueueMetrics.recordEnqueues(1);
+            }
+
+            if (pending == null) {
+                pending = new ArrayList<T>();
+            }
+
+            pending.add(value);
+            built = null;
+            return this;
+        }
+
+        /**
+         * Adds the elements, in iteration order, to the back of the queue being built.
+         *
+         * @param values The elements to add.
+         * @return This builder.
+         * @throws IllegalStateException if called by a thread other than the owner.
+         */
+        public Builder<T> addAll(Iterable<? extends T> values) {
+            TypeCheckUtil.notNull(values, "values");
+
+            for (T value : values) {
+                add(value);
+            }
+
+            return this;
         }
 
-        return incomingReversed;
+        /**
+         * Adds the elements, in array order, to the back of the queue being built.
+         *
+         * @param values The elements to add.
+         * @return This builder.
+         * @throws IllegalStateException if called by a thread other than the owner.
+         */
+        public Builder<T> addAll(T... values) {
+            TypeCheckUtil.notNull(values, "values");
+
+            for (T value : values) {
+                add(value);
+            }
+
+            return this;
+        }
+
+        /**
+         * Gets the number of elements of the queue being built.
+         *
+         * @return The number of elements.
+         */
+        public int size() {
+            return outgoing.size() + incoming.size() + (pending == null ? 0 : pending.size());
+        }
+
+        /**
+         * Creates an immutable queue of the elements added so far, in time proportional to the number of elements added
+         * since the last call. The builder can keep being used afterwards without affecting the returned queue.
+         *
+         * @return The immutable queue.
+         * @throws IllegalStateException if called by a thread other than the owner.
+         */
+        public ImmutableQueue<T> build() {
+            ensureOwner();
+
+            if (built == null) {
+                if (outgoing.isEmpty()) {
+                    built = fromList(pending);
+                    outgoing = built.outgoing;
+                } else {
+                    ImmutableStack<T> in = incoming;
+                    for (T value : pending) {
+                        in = in.push(value);
+                    }
+
+                    incoming = in;
+                    built = new ImmutableQueue<T>(outgoing, in);
+                }
+
+                pending.clear();
+            }
+
+            return built;
+        }
+
+        private void ensureOwner() {
+            if (Thread.currentThread() != owner) {
+                throw new IllegalStateException("Builder used by a thread other than its owner");
+            }
+        }
+    }
+
+    /**
+     * Reusable cursor that removes elements from the front of a queue without throwing and without allocating per
+     * element: {@link #poll()} walks the stacks directly, and the remaining queue is only created by {@link #rest()}.
+     * The incoming stack is reversed at most once, through the reversal shared with the source queue. Unlike the
+     * {@link Polled} results of {@link ImmutableQueue#pollHead()}, which are allocated whenever they merge with the {@code null}
+     * result of an empty queue, the single poller of a drain loop can be scalar replaced as a whole. It may only be
+     * used by the thread that created it.
+     * @param <T>
+     */
+    public static final class Poller<T> {
+
+        /**
+         * The thread allowed to use this poller.
+         */
+        private final Thread owner;
+
+        /**
+         * The queue being polled.
+         */
+        private final ImmutableQueue<T> source;
+
+        /**
+         * The remaining outgoing stack.
+         */
+        private ImmutableStack<T> outgoing;
+
+        /**
+         * The remaining incoming stack; either that of {@link #source} or empty.
+         */
+        private ImmutableStack<T> incoming;
+
+        /**
+         * The element removed by the last successful {@link #poll()}.
+         */
+        private T head;
+
+        /**
+         * Initializes a new instance of the {@link Poller} class.
+         *
+         * @param source The queue to poll.
+         */
+        private Poller(ImmutableQueue<T> source) {
+            this.owner = Thread.currentThread();
+            this.source = source;
+            this.outgoing = source.outgoing;
+            this.incoming = source.incoming;
+        }
+
+        /**
+         * Removes the element at the front of the remaining queue; read it with {@link #head()}.
+         *
+         * @return {@code true} if an element was removed; {@code false} if the remaining queue is empty.
+         * @throws IllegalStateException if called by a thread other than the owner.
+         */
+        public boolean poll() {
+            ensureOwner();
+
+            if (outgoing.isEmpty()) {
+                if (incoming.isEmpty()) {
+                    return false;
+                }
+
+                outgoing = source.getIncomingReversed();
+                incoming = ImmutableStack.empty();
+            }
+
+            if (QueueMetrics.ENABLED) {
+                QueueMetrics.recordDequeues(1);
+            }
+
+            head = outgoing.peek();
+            outgoing = outgoing.pop();
+            return true;
+        }
+
+        /**
+         * Gets the element removed by the last successful {@link #poll()}.
+         *
+         * @return The element, or {@code null} if nothing has been polled.
+         */
+        public T head() {
+            return head;
+        }
+
+        /**
+         * Gets the elements that have not been polled.
+         *
+         * @return The remaining queue.
+         * @throws IllegalStateException if called by a thread other than the owner.
+         */
+        public ImmutableQueue<T> rest() {
+            ensureOwner();
+
+            if (outgoing == source.outgoing) {
+                return source;
+            } else if (!outgoing.isEmpty()) {
+                return new ImmutableQueue<T>(outgoing, incoming,
+                        incoming == source.incoming ? source.derivedReversal(incoming.isEmpty()) : null);
+            } else if (incoming.isEmpty()) {
+                return empty();
+            }
+
+            // The outgoing stack of the source has been drained but its incoming stack not yet reversed.
+            return new ImmutableQueue<T>(source.getIncomingReversed(), ImmutableStack.<T>empty());
+        }
+
+        private void ensureOwner() {
+            if (Thread.currentThread() != owner) {
+                throw new IllegalStateException("Poller used by a thread other than its owner");
+            }
+        }
     }
 
     private static final class Itr<T> implements Iterator<T> {
@@ -198,6 +905,10 @@ public class ImmutableQueue<T> implements Queue<T> {
          * @param originalQueue The queue to enumerate.
          */
         public Itr(ImmutableQueue<T> originalQueue) {
+            if (QueueMetrics.ENABLED) {
+                QueueMetrics.recordIterator();
+            }
+
             this.originalQueue = originalQueue;
         }
 
@@ -0,0 +1,449 @@
+package com.paybay.challenge.types;
+
+import com.paybay.challenge.utils.TypeCheckUtil;
+
+import java.util.EmptyStackException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Hood-Melville real-time queue: a two stack queue whose reversal of the incoming stack is spread over the following
+ * operations instead of being done in one go, so every {@link #enQueue(Object)} and {@link #deQueue()} runs in
+ * worst-case constant time.
+ *
+ * When the incoming stack grows longer than the outgoing one a rotation is started, computing
+ * {@code outgoing ++ reverse(incoming)} two steps per operation. The rotation always finishes before the old outgoing
+ * stack runs dry, at which point its result becomes the new outgoing stack.
+ * @param <T>
+ */
+public class ImmutableRealTimeQueue<T> implements Queue<T> {
+
+    /**
+     * The singleton empty queue.
+     */
+    private static final ImmutableRealTimeQueue<?> EMPTY_QUEUE = new ImmutableRealTimeQueue<Object>(
+            0, ImmutableStack.empty(), Idle.instance(), 0, ImmutableStack.empty());
+
+    /**
+     * The number of elements logically on the outgoing side, including the ones still being rotated.
+     */
+    private final int outgoingSize;
+
+    /**
+     * rear side of the queue from which elements are polled.
+     */
+    private final ImmutableStack<T> outgoing;
+
+    /**
+     * The rotation in progress, or {@link Idle}.
+     */
+    private final Rotation<T> rotation;
+
+    /**
+     * The number of elements on the incoming stack.
+     */
+    private final int incomingSize;
+
+    /**
+     * front side of the queue where elements are pushed
+     */
+    private final ImmutableStack<T> incoming;
+
+    /**
+     * Initializes a new instance of the {@link ImmutableRealTimeQueue} class.
+     *
+     * @param outgoingSize The number of elements logically on the outgoing side.
+     * @param outgoing The outgoing stack.
+     * @param rotation The rotation in progress.
+     * @param incomingSize The number of elements on the incoming stack.
+     * @param incoming The incoming stack.
+     */
+    private ImmutableRealTimeQueue(int outgoingSize, ImmutableStack<T> outgoing, Rotation<T> rotation,
+                                   int incomingSize, ImmutableStack<T> incoming) {
+        TypeCheckUtil.notNull(outgoing, "outgoing");
+        TypeCheckUtil.notNull(rotation, "rotation");
+        TypeCheckUtil.notNull(incoming, "incoming");
+
+        this.outgoingSize = outgoingSize;
+        this.outgoing = outgoing;
+        this.rotation = rotation;
+        this.incomingSize = incomingSize;
+        this.incoming = incoming;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableRealTimeQueue<T> enQueue(T value) {
+        return check(outgoingSize, outgoing, rotation, incomingSize + 1, incoming.push(value));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableRealTimeQueue<T> deQueue() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        return check(outgoingSize - 1, outgoing.pop(), rotation.invalidate(), incomingSize, incoming);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T head() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        return outgoing.peek();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return outgoingSize == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return outgoingSize + incomingSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableRealTimeQueue<T> clear() {
+        return empty();
+    }
+
+    /**
+     * Gets the empty queue.
+     *
+     * @param <T> The type of items stored by the queue.
+     * @return The empty queue.
+     */
+    public static <T> ImmutableRealTimeQueue<T> empty() {
+        @SuppressWarnings("unchecked")
+        ImmutableRealTimeQueue<T> result = (ImmutableRealTimeQueue<T>)EMPTY_QUEUE;
+        return result;
+    }
+
+    /**
+     * Creates a new immutable collection pre-filled with the specified items.
+     *
+     * @param <T> The type of items stored by the collection.
+     * @param items The items to pre-populate.
+     * @return The immutable collection.
+     */
+    public static <T> ImmutableRealTimeQueue<T> create(T... items) {
+        TypeCheckUtil.notNull(items, "items");
+
+        ImmutableRealTimeQueue<T> queue = empty();
+        for (T item : items) {
+            queue = queue.enQueue(item);
+        }
+
+        return queue;
+    }
+
+    /**
+     * Creates a new immutable collection pre-filled with the specified items.
+     *
+     * @param <T> The type of items stored by the collection.
+     * @param items The items to pre-populate.
+     * @return The immutable collection.
+     */
+    public static <T> ImmutableRealTimeQueue<T> createAll(Iterable<? extends T> items) {
+        TypeCheckUtil.notNull(items, "items");
+
+        ImmutableRealTimeQueue<T> queue = empty();
+        for (T item : items) {
+            queue = queue.enQueue(item);
+        }
+
+        return queue;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Itr<T>(this);
+    }
+
+    /**
+     * Restores the invariant {@code incomingSize <= outgoingSize}, starting a rotation when it would be broken, and
+     * advances the rotation in progress by two steps.
+     */
+    private static <T> ImmutableRealTimeQueue<T> check(int outgoingSize, ImmutableStack<T> outgoing,
+                                                      Rotation<T> rotation, int incomingSize,
+                                                      ImmutableStack<T> incoming) {
+        if (incomingSize <= outgoingSize) {
+            return exec2(outgoingSize, outgoing, rotation, incomingSize, incoming);
+        }
+
+        Rotation<T> started = new Reversing<T>(0, outgoing, ImmutableStack.<T>empty(), incoming,
+                ImmutableStack.<T>empty(), incoming);
+        return exec2(outgoingSize + incomingSize, outgoing, started, 0, ImmutableStack.<T>empty());
+    }
+
+    private static <T> ImmutableRealTimeQueue<T> exec2(int outgoingSize, ImmutableStack<T> outgoing,
+                                                      Rotation<T> rotation, int incomingSize,
+                                                      ImmutableStack<T> incoming) {
+        if (outgoingSize == 0) {
+            return empty();
+        }
+
+        Rotation<T> next = rotation.exec().exec();
+        if (next instanceof Done) {
+            return new ImmutableRealTimeQueue<T>(outgoingSize, ((Done<T>)next).result, Idle.<T>instance(),
+                    incomingSize, incoming);
+        }
+
+        return new ImmutableRealTimeQueue<T>(outgoingSize, outgoing, next, incomingSize, incoming);
+    }
+
+    /**
+     * One state of the incremental computation of {@code outgoing ++ reverse(incoming)}.
+     */
+    private abstract static class Rotation<T> {
+
+        /**
+         * Performs one step of the rotation.
+         *
+         * @return The next state.
+         */
+        abstract Rotation<T> exec();
+
+        /**
+         * Accounts for one element dequeued from the live outgoing stack while the rotation is running, so the
+         * rotation does not copy it into the result.
+         *
+         * @return The next state.
+         */
+        abstract Rotation<T> invalidate();
+
+        /**
+         * Gets the incoming stack this rotation was started with, which still holds the elements that are not yet on
+         * the live outgoing stack.
+         *
+         * @return The rotated incoming stack; the empty stack if no rotation is running.
+         */
+        ImmutableStack<T> rotatedIncoming() {
+            return ImmutableStack.empty();
+        }
+    }
+
+    private static final class Idle<T> extends Rotation<T> {
+
+        private static final Idle<?> INSTANCE = new Idle<Object>();
+
+        static <T> Idle<T> instance() {
+            @SuppressWarnings("unchecked")
+            Idle<T> result = (Idle<T>)INSTANCE;
+            return result;
+        }
+
+        @Override
+        Rotation<T> exec() {
+            return this;
+        }
+
+        @Override
+        Rotation<T> invalidate() {
+            return this;
+        }
+    }
+
+    /**
+     * First phase: reverses the old outgoing stack and the incoming stack in lock step.
+     */
+    private static final class Reversing<T> extends Rotation<T> {
+
+        /**
+         * The number of elements of the reversed outgoing stack that are still live.
+         */
+        private final int ok;
+        private final ImmutableStack<T> outgoing;
+        private final ImmutableStack<T> outgoingReversed;
+        private final ImmutableStack<T> incoming;
+        private final ImmutableStack<T> incomingReversed;
+        private final ImmutableStack<T> rotatedIncoming;
+
+        Reversing(int ok, ImmutableStack<T> outgoing, ImmutableStack<T> outgoingReversed,
+                  ImmutableStack<T> incoming, ImmutableStack<T> incomingReversed,
+                  ImmutableStack<T> rotatedIncoming) {
+            this.ok = ok;
+            this.outgoing = outgoing;
+            this.outgoingReversed = outgoingReversed;
+            this.incoming = incoming;
+            this.incomingReversed = incomingReversed;
+            this.rotatedIncoming = rotatedIncoming;
+        }
+
+        @Override
+        Rotation<T> exec() {
+            if (!outgoing.isEmpty()) {
+                return new Reversing<T>(ok + 1, outgoing.pop(), outgoingReversed.push(outgoing.peek()),
+                        incoming.pop(), incomingReversed.push(incoming.peek()), rotatedIncoming);
+            }
+
+            // The incoming stack is exactly one element longer than the outgoing one.
+            return new Appending<T>(ok, outgoingReversed, incomingReversed.push(incoming.peek()), rotatedIncoming);
+        }
+
+        @Override
+        Rotation<T> invalidate() {
+            return new Reversing<T>(ok - 1, outgoing, outgoingReversed, incoming, incomingReversed, rotatedIncoming);
+        }
+
+        @Override
+        ImmutableStack<T> rotatedIncoming() {
+            return rotatedIncoming;
+        }
+    }
+
+    /**
+     * Second phase: moves the live part of the reversed outgoing stack onto the reversed incoming stack.
+     */
+    private static final class Appending<T> extends Rotation<T> {
+
+        /**
+         * The number of elements of {@link #outgoingReversed} that are still live.
+         */
+        private final int ok;
+        private final ImmutableStack<T> outgoingReversed;
+        private final ImmutableStack<T> result;
+        private final ImmutableStack<T> rotatedIncoming;
+
+        Appending(int ok, ImmutableStack<T> outgoingReversed, ImmutableStack<T> result,
+                  ImmutableStack<T> rotatedIncoming) {
+            this.ok = ok;
+            this.outgoingReversed = outgoingReversed;
+            this.result = result;
+            this.rotatedIncoming = rotatedIncoming;
+        }
+
+        @Override
+        Rotation<T> exec() {
+            if (ok == 0) {
+                return new Done<T>(result);
+            }
+
+            return new Appending<T>(ok - 1, outgoingReversed.pop(), result.push(outgoingReversed.peek()),
+                    rotatedIncoming);
+        }
+
+        @Override
+        Rotation<T> invalidate() {
+            if (ok == 0) {
+                return new Done<T>(result.pop());
+            }
+
+            return new Appending<T>(ok - 1, outgoingReversed, result, rotatedIncoming);
+        }
+
+        @Override
+        ImmutableStack<T> rotatedIncoming() {
+            return rotatedIncoming;
+        }
+    }
+
+    /**
+     * Final state: the rotation produced the new outgoing stack. Never stored in a queue.
+     */
+    private static final class Done<T> extends Rotation<T> {
+
+        private final ImmutableStack<T> result;
+
+        Done(ImmutableStack<T> result) {
+            this.result = result;
+        }
+
+        @Override
+        Rotation<T> exec() {
+            return this;
+        }
+
+        @Override
+        Rotation<T> invalidate() {
+            return this;
+        }
+    }
+
+    private static final class Itr<T> implements Iterator<T> {
+
+        /**
+         * The original queue being enumerated.
+         */
+        private final ImmutableRealTimeQueue<T> originalQueue;
+        /**
+         * The stack currently being enumerated.
+         */
+        private ImmutableStack<T> remainingStack;
+        /**
+         * The number of stacks enumerated so far: the live outgoing stack, the rotated incoming stack and the incoming
+         * stack, the latter two reversed when they are reached.
+         */
+        private int stage;
+
+        /**
+         * Initializes a new instance of the {@link Itr} class.
+         *
+         * @param originalQueue The queue to enumerate.
+         */
+        public Itr(ImmutableRealTimeQueue<T> originalQueue) {
+            this.originalQueue = originalQueue;
+            this.remainingStack = originalQueue.outgoing;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            while (remainingStack.isEmpty() && stage < 2) {
+                stage++;
+                remainingStack = stage == 1
+                        ? originalQueue.rotation.rotatedIncoming().reverse()
+                        : originalQueue.incoming.reverse();
+            }
+
+            return !remainingStack.isEmpty();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            T result = remainingStack.peek();
+            remainingStack = remainingStack.pop();
+            return result;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
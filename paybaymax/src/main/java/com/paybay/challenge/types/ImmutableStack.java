@@ -1,10 +1,20 @@
 package com.paybay.challenge.types;
 
+import com.paybay.challenge.metrics.QueueMetrics;
 import com.paybay.challenge.utils.TypeCheckUtil;
 
 import java.util.EmptyStackException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
 
 /**
  * This is a Singly linked list based Stack
@@ -24,12 +34,19 @@ public class ImmutableStack<T> implements Stack<T> {
      */
     private final ImmutableStack<T> tail;
 
+    /**
+     * The number of elements on the stack. With compressed references the field fits in the alignment padding of
+     * the node, so it does not grow the per-node footprint (24 bytes).
+     */
+    private final int size;
+
     /**
      * Initializes a new instance of the {@link ImmutableStack} class that acts as the empty stack.
      */
     private ImmutableStack() {
         head = null;
         tail = null;
+        size = 0;
     }
 
     /**
@@ -40,9 +57,13 @@ public class ImmutableStack<T> implements Stack<T> {
      */
     private ImmutableStack(T head, ImmutableStack<T> tail) {
         TypeCheckUtil.notNull(tail, "tail");
+        if (QueueMetrics.ENABLED) {
+            QueueMetrics.recordNode();
+        }
 
         this.head = head;
         this.tail = tail;
+        this.size = tail.size + 1;
     }
 
 
@@ -78,6 +99,31 @@ public class ImmutableStack<T> implements Stack<T> {
         return head;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The empty stack holds {@code null} as its head, so this is a plain field read.
+     */
+    @Override
+    public T peekOrNull() {
+        return head;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Allocates a {@link Polled} per call unless it is scalar replaced, which the loop-carried result of a drain loop
+     * usually defeats; drain with {@link #popper()}, or with {@link #peekOrNull()} and {@link #pop()}, instead.
+     */
+    @Override
+    public Polled<T, ImmutableStack<T>> tryPop() {
+        if (tail == null) {
+            return null;
+        }
+
+        return new Polled<T, ImmutableStack<T>>(head, tail);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -86,6 +132,22 @@ public class ImmutableStack<T> implements Stack<T> {
         return tail == null;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isSingleton() {
+        return size == 1;
+    }
+
     /**
      * Gets the empty stack, upon which all stacks are built.
      *
@@ -153,6 +215,37 @@ public class ImmutableStack<T> implements Stack<T> {
         return stack;
     }
 
+    /**
+     * Gets a {@link Collector} that pushes the elements of a stream in encounter order, so the last one ends up on
+     * top, as {@link #createAll(Iterable)} does. Elements are accumulated into arrays, partial results of parallel
+     * streams are concatenated without copying, and the finisher pushes them in one pass.
+     *
+     * @param <T> The type of items stored by the collection.
+     * @return The collector.
+     */
+    public static <T> Collector<T, ?, ImmutableStack<T>> toStack() {
+        return Collector.of(new Supplier<ChunkAccumulator<T>>() {
+            @Override
+            public ChunkAccumulator<T> get() {
+                return new ChunkAccumulator<T>();
+            }
+        }, new BiConsumer<ChunkAccumulator<T>, T>() {
+            @Override
+            public void accept(ChunkAccumulator<T> chunks, T value) {
+                chunks.add(value);
+            }
+        }, new BinaryOperator<ChunkAccumulator<T>>() {
+            @Override
+            public ChunkAccumulator<T> apply(ChunkAccumulator<T> left, ChunkAccumulator<T> right) {
+                return left.combine(right);
+            }
+        }, new Function<ChunkAccumulator<T>, ImmutableStack<T>>() {
+            @Override
+            public ImmutableStack<T> apply(ChunkAccumulator<T> chunks) {
+                return chunks.pushForwards(ImmutableStack.<T>empty());
+            }
+        });
+    }
 
     /**
      * {@inheritDoc}
@@ -162,6 +255,26 @@ public class ImmutableStack<T> implements Stack<T> {
         return new Itr<T>(this);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Splits at the middle of the remaining nodes: no elements are copied, the prefix and the suffix are both ranges
+     * of the shared nodes.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new Spl<T>(this, size);
+    }
+
+    /**
+     * Creates a popper that removes the elements of this stack one at a time.
+     *
+     * @return The popper, owned by the calling thread.
+     */
+    public Popper<T> popper() {
+        return new Popper<T>(this);
+    }
+
     /**
      * Reverses the order of the stack.
      *
@@ -176,6 +289,210 @@ public class ImmutableStack<T> implements Stack<T> {
         return result;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Visits the elements from the top down by following the nodes; unlike the iterator, nothing is allocated.
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        TypeCheckUtil.notNull(action, "action");
+
+        for (ImmutableStack<T> f = this; f.size != 0; f = f.tail) {
+            action.accept(f.head);
+        }
+    }
+
+    /**
+     * Performs an action for each element from the bottom of the stack up, without allocating a reversed copy; see
+     * {@link BottomUpWalk}.
+     *
+     * @param action The action to perform.
+     */
+    public void forEachReverse(Consumer<? super T> action) {
+        TypeCheckUtil.notNull(action, "action");
+
+        if (size == 0) {
+            return;
+        }
+
+        BottomUpWalk walk = BottomUpWalk.start(this);
+        try {
+            for (int s = walk.segments() - 1; s >= 0; s--) {
+                for (int i = walk.load(s) - 1; i >= 0; i--) {
+                    action.accept(walk.<T>element(i));
+                }
+            }
+        } finally {
+            walk.finish();
+        }
+    }
+
+    /**
+     * Combines the elements from the top down into a result. Nothing is allocated by the traversal itself.
+     *
+     * @param <R> The type of the result.
+     * @param identity The initial result.
+     * @param accumulator Combines the result so far with the next element.
+     * @return The result after the last element; {@code identity} if the stack is empty.
+     */
+    public <R> R fold(R identity, BiFunction<R, ? super T, R> accumulator) {
+        TypeCheckUtil.notNull(accumulator, "accumulator");
+
+        R result = identity;
+        for (ImmutableStack<T> f = this; f.size != 0; f = f.tail) {
+            result = accumulator.apply(result, f.head);
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets whether any element matches a predicate, from the top down, stopping at the first match.
+     *
+     * @param predicate The predicate to test the elements with.
+     * @return {@code true} if an element matches; {@code false} if none does or the stack is empty.
+     */
+    public boolean anyMatch(Predicate<? super T> predicate) {
+        TypeCheckUtil.notNull(predicate, "predicate");
+
+        for (ImmutableStack<T> f = this; f.size != 0; f = f.tail) {
+            if (predicate.test(f.head)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Folds the elements from the bottom of the stack up, as {@link #forEachReverse(Consumer)} visits them.
+     */
+    <R> R foldFromBottom(R identity, BiFunction<R, ? super T, R> accumulator) {
+        R result = identity;
+        if (size == 0) {
+            return result;
+        }
+
+        BottomUpWalk walk = BottomUpWalk.start(this);
+        try {
+            for (int s = walk.segments() - 1; s >= 0; s--) {
+                for (int i = walk.load(s) - 1; i >= 0; i--) {
+                    result = accumulator.apply(result, walk.<T>element(i));
+                }
+            }
+        } finally {
+            walk.finish();
+        }
+
+        return result;
+    }
+
+    /**
+     * Tests the elements from the bottom of the stack up, stopping at the first match.
+     */
+    boolean anyMatchFromBottom(Predicate<? super T> predicate) {
+        if (size == 0) {
+            return false;
+        }
+
+        BottomUpWalk walk = BottomUpWalk.start(this);
+        try {
+            for (int s = walk.segments() - 1; s >= 0; s--) {
+                for (int i = walk.load(s) - 1; i >= 0; i--) {
+                    if (predicate.test(walk.<T>element(i))) {
+                        return true;
+                    }
+                }
+            }
+        } finally {
+            walk.finish();
+        }
+
+        return false;
+    }
+
+    /**
+     * Reusable cursor that removes elements from the top of a stack without throwing and without allocating per
+     * element: {@link #pop()} follows the nodes and {@link #rest()} returns the remaining node itself. It is the stack
+     * counterpart of {@link ImmutableQueue.Poller}, and likewise the single popper of a drain loop can be scalar
+     * replaced as a whole where the {@link Polled} results of {@link ImmutableStack#tryPop()} are not. It may only be
+     * used by the thread that created it.
+     * @param <T>
+     */
+    public static final class Popper<T> {
+
+        /**
+         * The thread allowed to use this popper.
+         */
+        private final Thread owner;
+
+        /**
+         * The remaining stack.
+         */
+        private ImmutableStack<T> remaining;
+
+        /**
+         * The element removed by the last successful {@link #pop()}.
+         */
+        private T head;
+
+        /**
+         * Initializes a new instance of the {@link Popper} class.
+         *
+         * @param source The stack to pop.
+         */
+        private Popper(ImmutableStack<T> source) {
+            this.owner = Thread.currentThread();
+            this.remaining = source;
+        }
+
+        /**
+         * Removes the element on the top of the remaining stack; read it with {@link #head()}.
+         *
+         * @return {@code true} if an element was removed; {@code false} if the remaining stack is empty.
+         * @throws IllegalStateException if called by a thread other than the owner.
+         */
+        public boolean pop() {
+            ensureOwner();
+
+            if (remaining.tail == null) {
+                return false;
+            }
+
+            head = remaining.head;
+            remaining = remaining.tail;
+            return true;
+        }
+
+        /**
+         * Gets the element removed by the last successful {@link #pop()}.
+         *
+         * @return The element, or {@code null} if nothing has been popped.
+         */
+        public T head() {
+            return head;
+        }
+
+        /**
+         * Gets the elements that have not been popped.
+         *
+         * @return The remaining stack.
+         * @throws IllegalStateException if called by a thread other than the owner.
+         */
+        public ImmutableStack<T> rest() {
+            ensureOwner();
+
+            return remaining;
+        }
+
+        private void ensureOwner() {
+            if (Thread.currentThread() != owner) {
+                throw new IllegalStateException("Popper used by a thread other than its owner");
+            }
+        }
+    }
+
     private static final class Itr<T> implements Iterator<T> {
 
         /**
@@ -193,6 +510,10 @@ public class ImmutableStack<T> implements Stack<T> {
          * @param originalStack The stack to enumerate.
          */
         public Itr(ImmutableStack<T> originalStack) {
+            if (QueueMetrics.ENABLED) {
+                QueueMetrics.recordIterator();
+            }
+
             this.originalStack = originalStack;
         }
 
@@ -234,4 +555,100 @@ public class ImmutableStack<T> implements Stack<T> {
             throw new UnsupportedOperationException();
         }
     }
+
+    private static final class Spl<T> implements Spliterator<T> {
+
+        /**
+         * Ranges shorter than this are not split any further.
+         */
+        private static final int MIN_SPLIT_SIZE = 1024;
+
+        /**
+         * The stack whose top is the next element.
+         */
+        private ImmutableStack<T> current;
+
+        /**
+         * The number of elements left in this range.
+         */
+        private int remaining;
+
+        /**
+         * Initializes a new instance of the {@link Spl} class.
+         *
+         * @param current The stack whose top is the first element of the range.
+         * @param remaining The number of elements in the range.
+         */
+        Spl(ImmutableStack<T> current, int remaining) {
+            this.current = current;
+            this.remaining = remaining;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (remaining == 0) {
+                return false;
+            }
+
+            action.accept(current.head);
+            current = current.tail;
+            remaining--;
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            ImmutableStack<T> node = current;
+            for (int i = remaining; i > 0; i--) {
+                action.accept(node.head);
+                node = node.tail;
+            }
+
+            current = node;
+            remaining = 0;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Spliterator<T> trySplit() {
+            if (remaining < MIN_SPLIT_SIZE) {
+                return null;
+            }
+
+            int half = remaining >>> 1;
+            ImmutableStack<T> middle = current;
+            for (int i = 0; i < half; i++) {
+                middle = middle.tail;
+            }
+
+            Spl<T> prefix = new Spl<T>(current, half);
+            current = middle;
+            remaining -= half;
+            return prefix;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int characteristics() {
+            return ConcatSpliterator.CHARACTERISTICS;
+        }
+    }
 }
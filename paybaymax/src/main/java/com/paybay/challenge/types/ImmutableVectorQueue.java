@@ -0,0 +1,556 @@
+package com.paybay.challenge.types;
+
+import com.paybay.challenge.utils.TypeCheckUtil;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This Queue implementation is a persistent bit-partitioned vector trie with {@value #WIDTH}-way branching, plus a
+ * start offset.
+ *
+ * Elements live at absolute positions {@code start .. end - 1}. The last, partially filled leaf is kept outside the
+ * trie as the tail, so {@link #enQueue(Object)} copies at most one leaf and pushes a full tail into the trie once every
+ * {@value #WIDTH} elements. {@link #deQueue()} only advances {@code start}; every {@value #WIDTH} elements the path to
+ * the new first leaf is copied with everything in front of it dropped, so dequeued elements do not stay reachable.
+ *
+ * {@link #get(int)} and {@link #set(int, Object)} walk one path of depth log32(n), which is effectively constant time,
+ * and {@link #slice(int, int)} shares the trie with this queue.
+ * @param <T>
+ */
+public class ImmutableVectorQueue<T> implements Queue<T> {
+
+    private static final int BITS = 5;
+
+    /**
+     * The number of children of a trie node, and of elements in a leaf.
+     */
+    static final int WIDTH = 1 << BITS;
+
+    private static final int MASK = WIDTH - 1;
+
+    /**
+     * Start offsets beyond this are rebased by rebuilding the queue, long before positions overflow.
+     */
+    private static final int MAX_START = 1 << 30;
+
+    /**
+     * The trie node without any children; never modified.
+     */
+    private static final Object[] EMPTY_NODE = new Object[WIDTH];
+
+    private static final Object[] EMPTY_TAIL = new Object[0];
+
+    /**
+     * The singleton empty queue.
+     */
+    private static final ImmutableVectorQueue<?> EMPTY_QUEUE =
+            new ImmutableVectorQueue<Object>(0, 0, BITS, EMPTY_NODE, EMPTY_TAIL);
+
+    /**
+     * The position of the front element.
+     */
+    private final int start;
+
+    /**
+     * The position after the back element.
+     */
+    private final int end;
+
+    /**
+     * The number of position bits below the root node.
+     */
+    private final int shift;
+
+    /**
+     * The root of the trie holding the full leaves.
+     */
+    private final Object[] root;
+
+    /**
+     * The elements at the positions from {@link #tailOffset(int)} to {@link #end}.
+     */
+    private final Object[] tail;
+
+    /**
+     * Initializes a new instance of the {@link ImmutableVectorQueue} class.
+     *
+     * @param start The position of the front element.
+     * @param end The position after the back element.
+     * @param shift The number of position bits below the root node.
+     * @param root The root of the trie.
+     * @param tail The last leaf.
+     */
+    private ImmutableVectorQueue(int start, int end, int shift, Object[] root, Object[] tail) {
+        this.start = start;
+        this.end = end;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableVectorQueue<T> enQueue(T value) {
+        if (end - tailOffset(end) < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = value;
+            return new ImmutableVectorQueue<T>(start, end + 1, shift, root, newTail);
+        }
+
+        // The tail is full: it becomes the leaf at its position in the trie.
+        int tailOffset = tailOffset(end);
+        Object[] newRoot;
+        int newShift = shift;
+        if ((tailOffset >>> BITS) >= (1 << shift)) {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tailOffset, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(tailOffset, shift, root, tail);
+        }
+
+        return new ImmutableVectorQueue<T>(start, end + 1, newShift, newRoot, new Object[] { value });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableVectorQueue<T> deQueue() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        int newStart = start + 1;
+        if (newStart == end) {
+            return empty();
+        } else if (newStart >= MAX_START) {
+            return createAll(this).deQueue();
+        }
+
+        Object[] newRoot = root;
+        if ((newStart & MASK) == 0) {
+            newRoot = newStart >= tailOffset(end) ? EMPTY_NODE : dropBefore(shift, root, newStart);
+        }
+
+        return new ImmutableVectorQueue<T>(newStart, end, shift, newRoot, tail);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T head() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        return elementAt(start);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return start == end;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return end - start;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableVectorQueue<T> clear() {
+        return empty();
+    }
+
+    /**
+     * Gets the element at {@code index}, counted from the front of the queue.
+     *
+     * @param index The position of the element.
+     * @return The element.
+     * @throws IndexOutOfBoundsException if {@code index} is negative or not less than the size of the queue.
+     */
+    public T get(int index) {
+        checkIndex(index);
+
+        return elementAt(start + index);
+    }
+
+    /**
+     * Replaces the element at {@code index}, counted from the front of the queue. Only the path to its leaf is
+     * copied.
+     *
+     * @param index The position of the element.
+     * @param value The new element.
+     * @return The new queue.
+     * @throws IndexOutOfBoundsException if {@code index} is negative or not less than the size of the queue.
+     */
+    public ImmutableVectorQueue<T> set(int index, T value) {
+        checkIndex(index);
+
+        int position = start + index;
+        if (position >= tailOffset(end)) {
+            Object[] newTail = tail.clone();
+            newTail[position & MASK] = value;
+            return new ImmutableVectorQueue<T>(start, end, shift, root, newTail);
+        }
+
+        return new ImmutableVectorQueue<T>(start, end, shift, assoc(shift, root, position, value), tail);
+    }
+
+    /**
+     * Creates a queue of the elements from {@code from}, inclusive, to {@code to}, exclusive. The slice shares the
+     * trie with this queue; only the paths at its two ends are copied.
+     *
+     * @param from The position of the first element of the slice.
+     * @param to The position after the last element of the slice.
+     * @return The slice.
+     * @throws IndexOutOfBoundsException if the range is not within the queue.
+     */
+    public ImmutableVectorQueue<T> slice(int from, int to) {
+        if (from < 0 || to > size() || from > to) {
+            throw new IndexOutOfBoundsException("from: " + from + ", to: " + to + ", size: " + size());
+        }
+
+        if (from == to) {
+            return empty();
+        } else if (from == 0 && to == size()) {
+            return this;
+        }
+
+        int newStart = start + from;
+        int newEnd = start + to;
+        int newTailOffset = tailOffset(newEnd);
+        Object[] newRoot = root;
+        Object[] newTail;
+        if (newEnd == end) {
+            newTail = tail;
+        } else if (newTailOffset == tailOffset(end)) {
+            newTail = Arrays.copyOf(tail, newEnd - newTailOffset);
+        } else {
+            newTail = Arrays.copyOf(leafFor(newTailOffset), newEnd - newTailOffset);
+            // When the slice starts in its own last leaf, the path to the leaf before may already have been dropped.
+            newRoot = newStart >= newTailOffset ? EMPTY_NODE : dropAfter(shift, root, newTailOffset - 1);
+        }
+
+        if (newStart >= newTailOffset) {
+            newRoot = EMPTY_NODE;
+        } else if (newStart >= WIDTH) {
+            newRoot = dropBefore(shift, newRoot, newStart);
+        }
+
+        return new ImmutableVectorQueue<T>(newStart, newEnd, shift, newRoot, newTail);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Slices the queue in O(log n); see {@link #slice(int, int)}.
+     */
+    @Override
+    public ImmutableVectorQueue<T> deQueue(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count < 0: " + count);
+        } else if (count > size()) {
+            throw new EmptyStackException();
+        }
+
+        return slice(count, size());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Slices the queue in O(log n); see {@link #slice(int, int)}.
+     */
+    @Override
+    public ImmutableVectorQueue<T> take(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count < 0: " + count);
+        }
+
+        return slice(0, Math.min(count, size()));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Slices the queue in O(log n); see {@link #slice(int, int)}.
+     */
+    @Override
+    public Split<ImmutableVectorQueue<T>> split(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count < 0: " + count);
+        }
+
+        int index = Math.min(count, size());
+        return new Split<ImmutableVectorQueue<T>>(slice(0, index), slice(index, size()));
+    }
+
+    /**
+     * Gets the empty queue.
+     *
+     * @param <T> The type of element stored by the queue.
+     * @return The empty queue.
+     */
+    public static <T> ImmutableVectorQueue<T> empty() {
+        @SuppressWarnings("unchecked")
+        ImmutableVectorQueue<T> result = (ImmutableVectorQueue<T>)EMPTY_QUEUE;
+        return result;
+    }
+
+    /**
+     * Creates a new immutable collection pre-filled with the specified items.
+     *
+     * @param <T> The type of items stored by the collection.
+     * @param items The items to pre-populate.
+     * @return The immutable collection.
+     */
+    public static <T> ImmutableVectorQueue<T> create(T... items) {
+        TypeCheckUtil.notNull(items, "items");
+
+        return createAll(Arrays.asList(items));
+    }
+
+    /**
+     * Creates a new immutable collection pre-filled with the specified items. The leaves are filled in place and
+     * pushed into the trie once full.
+     *
+     * @param <T> The type of items stored by the collection.
+     * @param items The items to pre-populate.
+     * @return The immutable collection.
+     */
+    public static <T> ImmutableVectorQueue<T> createAll(Iterable<? extends T> items) {
+        TypeCheckUtil.notNull(items, "items");
+
+        Object[] root = EMPTY_NODE;
+        int shift = BITS;
+        int end = 0;
+        Object[] leaf = new Object[WIDTH];
+        int count = 0;
+        for (T item : items) {
+            if (count == WIDTH) {
+                int leafOffset = end - WIDTH;
+                if ((leafOffset >>> BITS) >= (1 << shift)) {
+                    Object[] newRoot = new Object[WIDTH];
+                    newRoot[0] = root;
+                    newRoot[1] = newPath(shift, leafOffset, leaf);
+                    root = newRoot;
+                    shift += BITS;
+                } else {
+                    root = pushTail(leafOffset, shift, root, leaf);
+                }
+
+                leaf = new Object[WIDTH];
+                count = 0;
+            }
+
+            leaf[count++] = item;
+            end++;
+        }
+
+        if (end == 0) {
+            return empty();
+        }
+
+        Object[] tail = count == WIDTH ? leaf : Arrays.copyOf(leaf, count);
+        return new ImmutableVectorQueue<T>(0, end, shift, root, tail);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Itr<T>(this);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size());
+        }
+    }
+
+    /**
+     * Gets the position of the first element of the tail for a queue ending at {@code end}.
+     */
+    private static int tailOffset(int end) {
+        return end == 0 ? 0 : ((end - 1) >>> BITS) << BITS;
+    }
+
+    private T elementAt(int position) {
+        @SuppressWarnings("unchecked")
+        T result = (T)leafFor(position)[position & MASK];
+        return result;
+    }
+
+    /**
+     * Gets the leaf holding the element at an absolute position.
+     */
+    private Object[] leafFor(int position) {
+        if (position >= tailOffset(end)) {
+            return tail;
+        }
+
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[])node[(position >>> level) & MASK];
+        }
+
+        return node;
+    }
+
+    /**
+     * Copies the path to the leaf at {@code leafOffset}, creating the missing nodes, and stores {@code leaf} there.
+     */
+    private static Object[] pushTail(int leafOffset, int level, Object[] node, Object[] leaf) {
+        int index = (leafOffset >>> level) & MASK;
+        Object[] result = node.clone();
+        if (level == BITS) {
+            result[index] = leaf;
+        } else {
+            Object[] child = (Object[])node[index];
+            result[index] = child == null
+                    ? newPath(level - BITS, leafOffset, leaf)
+                    : pushTail(leafOffset, level - BITS, child, leaf);
+        }
+
+        return result;
+    }
+
+    /**
+     * Creates the nodes from {@code level} down to {@code leaf}, each holding only the child on the path to
+     * {@code leafOffset}. The path is not always through the first children: after the root has been reset by
+     * {@link #deQueue()} or {@link #slice(int, int)}, leaves are pushed at any offset under the kept shift.
+     */
+    private static Object[] newPath(int level, int leafOffset, Object[] leaf) {
+        if (level == 0) {
+            return leaf;
+        }
+
+        Object[] result = new Object[WIDTH];
+        result[(leafOffset >>> level) & MASK] = newPath(level - BITS, leafOffset, leaf);
+        return result;
+    }
+
+    /**
+     * Copies the path to the element at {@code position} and replaces the element.
+     */
+    private static Object[] assoc(int level, Object[] node, int position, Object value) {
+        Object[] result = node.clone();
+        if (level == 0) {
+            result[position & MASK] = value;
+        } else {
+            int index = (position >>> level) & MASK;
+            result[index] = assoc(level - BITS, (Object[])node[index], position, value);
+        }
+
+        return result;
+    }
+
+    /**
+     * Copies the path to the leaf holding {@code position}, dropping every subtree in front of the path.
+     */
+    private static Object[] dropBefore(int level, Object[] node, int position) {
+        int index = (position >>> level) & MASK;
+        Object[] result = new Object[WIDTH];
+        System.arraycopy(node, index, result, index, WIDTH - index);
+        if (level > BITS) {
+            result[index] = dropBefore(level - BITS, (Object[])node[index], position);
+        }
+
+        return result;
+    }
+
+    /**
+     * Copies the path to the leaf holding {@code position}, dropping every subtree behind the path.
+     */
+    private static Object[] dropAfter(int level, Object[] node, int position) {
+        int index = (position >>> level) & MASK;
+        Object[] result = new Object[WIDTH];
+        System.arraycopy(node, 0, result, 0, index + 1);
+        if (level > BITS) {
+            result[index] = dropAfter(level - BITS, (Object[])node[index], position);
+        }
+
+        return result;
+    }
+
+    private static final class Itr<T> implements Iterator<T> {
+
+        /**
+         * The queue being enumerated.
+         */
+        private final ImmutableVectorQueue<T> queue;
+
+        /**
+         * The absolute position of the next element.
+         */
+        private int position;
+
+        /**
+         * The leaf holding the next element; looked up again at every leaf boundary.
+         */
+        private Object[] leaf;
+
+        /**
+         * Initializes a new instance of the {@link Itr} class.
+         *
+         * @param queue The queue to enumerate.
+         */
+        public Itr(ImmutableVectorQueue<T> queue) {
+            this.queue = queue;
+            this.position = queue.start;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            return position < queue.end;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public T next() {
+            if (position >= queue.end) {
+                throw new NoSuchElementException();
+            }
+
+            if (leaf == null || (position & MASK) == 0) {
+                leaf = queue.leafFor(position);
+            }
+
+            @SuppressWarnings("unchecked")
+            T result = (T)leaf[position & MASK];
+            position++;
+            return result;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,685 @@
+package com.paybay.challenge.types;
+
+import com.paybay.challenge.utils.TypeCheckUtil;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A lazily evaluated, memoized view of a sequence: {@link #map(Function)}, {@link #filter(Predicate)},
+ * {@link #takeWhile(Predicate)}, {@link #dropWhile(Predicate)} and {@link #zip(Queue, BiFunction)} return new views
+ * without evaluating anything, and a chain of them does the work of every stage for one element at a time, only for
+ * the elements that are actually read. Nothing is copied into intermediate queues; {@link #force()} materializes an
+ * {@link ImmutableQueue} when one is needed.
+ *
+ * A view is a chain of cells. A cell is evaluated once, on the first call to {@link #head()}, {@link #deQueue()} or
+ * {@link #isEmpty()}, and then keeps its element and the view of the rest, so repeated reads of the same view never
+ * recompute; the functions given to the operations are applied at most once per element. Each cell is claimed with a
+ * compare-and-set before it is evaluated, so views can be shared between threads, and a view over an
+ * {@link Iterable} consumes its iterator exactly once.
+ *
+ * {@link #size()} and {@link #enQueue(Object)} are linear: the first evaluates the whole view, the second appends
+ * lazily by wrapping every cell of the view. Force a view before enqueueing many elements to it. {@link #take(int)},
+ * {@link #split(int)} and {@link #spliterator()} never call either, so they stay lazy too.
+ * @param <T>
+ */
+public final class LazyQueue<T> implements Queue<T> {
+
+    /**
+     * The singleton empty view.
+     */
+    private static final LazyQueue<?> EMPTY = new LazyQueue<Object>();
+
+    /**
+     * The state of a cell that has not been evaluated yet.
+     */
+    private static final int PENDING = 0;
+
+    /**
+     * The state of a cell being evaluated by some thread.
+     */
+    private static final int COMPUTING = 1;
+
+    /**
+     * The state of an evaluated cell.
+     */
+    private static final int DONE = 2;
+
+    /**
+     * Claims a cell for evaluation.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<LazyQueue> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(LazyQueue.class, "state");
+
+    /**
+     * Computes this cell; {@code null} once it is evaluated. Shared by all the cells of a stage when it keeps no
+     * per-cell state.
+     */
+    private Thunk<T> thunk;
+
+    /**
+     * The position in the upstream view this cell is computed from; {@code null} once evaluated.
+     */
+    private LazyQueue<?> source;
+
+    /**
+     * The first element; set on evaluation.
+     */
+    private T head;
+
+    /**
+     * The view of the rest of the elements; set on evaluation, {@code null} if the view is empty.
+     */
+    private LazyQueue<T> tail;
+
+    /**
+     * {@link #PENDING}, {@link #COMPUTING} or {@link #DONE}. {@link #DONE} is written last, so reading it
+     * publishes {@link #head} and {@link #tail}.
+     */
+    private volatile int state;
+
+    /**
+     * Initializes a new instance of the {@link LazyQueue} class that acts as the empty view.
+     */
+    private LazyQueue() {
+        this.state = DONE;
+    }
+
+    /**
+     * Initializes a new instance of the {@link LazyQueue} class.
+     *
+     * @param thunk Computes the cell.
+     * @param source The position in the upstream view; may be {@code null}.
+     */
+    private LazyQueue(Thunk<T> thunk, LazyQueue<?> source) {
+        this.thunk = thunk;
+        this.source = source;
+    }
+
+    /**
+     * Gets the empty view.
+     *
+     * @param <T> The type of items in the view.
+     * @return The empty view.
+     */
+    public static <T> LazyQueue<T> empty() {
+        @SuppressWarnings("unchecked")
+        LazyQueue<T> result = (LazyQueue<T>)EMPTY;
+        return result;
+    }
+
+    /**
+     * Creates a view of the elements of {@code source}, in iteration order. The source is iterated on demand, once;
+     * it should be immutable, like the queues of this package.
+     *
+     * @param <T> The type of items in the view.
+     * @param source The elements.
+     * @return The view.
+     */
+    public static <T> LazyQueue<T> of(Iterable<? extends T> source) {
+        TypeCheckUtil.notNull(source, "source");
+
+        if (source instanceof LazyQueue) {
+            @SuppressWarnings("unchecked")
+            LazyQueue<T> view = (LazyQueue<T>)source;
+            return view;
+        }
+
+        return new LazyQueue<T>(new Source<T>(source.iterator()), null);
+    }
+
+    /**
+     * Gets a view of the results of applying {@code mapper} to the elements.
+     *
+     * @param <R> The type of the results.
+     * @param mapper Applied at most once to each element.
+     * @return The view.
+     */
+    public <R> LazyQueue<R> map(Function<? super T, ? extends R> mapper) {
+        TypeCheckUtil.notNull(mapper, "mapper");
+
+        return new LazyQueue<R>(new Mapped<T, R>(mapper), this);
+    }
+
+    /**
+     * Gets a view of the elements that match {@code predicate}.
+     *
+     * @param predicate Applied at most once to each element.
+     * @return The view.
+     */
+    public LazyQueue<T> filter(Predicate<? super T> predicate) {
+        TypeCheckUtil.notNull(predicate, "predicate");
+
+        return new LazyQueue<T>(new Filter<T>(predicate), this);
+    }
+
+    /**
+     * Gets a view of the elements up to, excluding, the first one that does not match {@code predicate}.
+     *
+     * @param predicate Applied at most once to each element.
+     * @return The view.
+     */
+    public LazyQueue<T> takeWhile(Predicate<? super T> predicate) {
+        TypeCheckUtil.notNull(predicate, "predicate");
+
+        return new LazyQueue<T>(new TakeWhile<T>(predicate), this);
+    }
+
+    /**
+     * Gets a view of the elements from the first one that does not match {@code predicate}.
+     *
+     * @param predicate Applied at most once to each element.
+     * @return The view.
+     */
+    public LazyQueue<T> dropWhile(Predicate<? super T> predicate) {
+        TypeCheckUtil.notNull(predicate, "predicate");
+
+        return new LazyQueue<T>(new DropWhile<T>(predicate), this);
+    }
+
+    /**
+     * Gets a view of the results of applying {@code zipper} to the elements of this view and of {@code other}, pair
+     * by pair, as long as both have elements.
+     *
+     * @param <U> The type of the elements of {@code other}.
+     * @param <R> The type of the results.
+     * @param other The second sequence; iterated on demand.
+     * @param zipper Applied at most once to each pair.
+     * @return The view.
+     */
+    public <U, R> LazyQueue<R> zip(Queue<? extends U> other, BiFunction<? super T, ? super U, ? extends R> zipper) {
+        TypeCheckUtil.notNull(other, "other");
+        TypeCheckUtil.notNull(zipper, "zipper");
+
+        return new LazyQueue<R>(new Zip<T, U, R>(LazyQueue.<U>of(other), zipper), this);
+    }
+
+    /**
+     * Evaluates the whole view into an immutable queue.
+     *
+     * @return The queue of the elements of the view.
+     */
+    public ImmutableQueue<T> force() {
+        ImmutableQueue.Builder<T> builder = ImmutableQueue.builder();
+        for (LazyQueue<T> view = this; !view.isEmpty(); view = view.tail) {
+            builder.add(view.head);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The element is appended lazily; every cell of the new view wraps a cell of this one.
+     */
+    @Override
+    public LazyQueue<T> enQueue(T value) {
+        return new LazyQueue<T>(new Append<T>(value), this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LazyQueue<T> deQueue() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        return tail;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LazyQueue<T> deQueue(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count < 0: " + count);
+        }
+
+        LazyQueue<T> view = this;
+        for (int i = 0; i < count; i++) {
+            view = view.deQueue();
+        }
+
+        return view;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The result is a view; nothing is evaluated until it is read.
+     */
+    @Override
+    public LazyQueue<T> take(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count < 0: " + count);
+        }
+
+        return count == 0 ? LazyQueue.<T>empty() : new LazyQueue<T>(new Take<T>(count), this);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Both parts are views; nothing is evaluated until they are read, and the rest skips the front part in a loop
+     * when it is first read.
+     */
+    @Override
+    public Split<LazyQueue<T>> split(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count < 0: " + count);
+        }
+
+        LazyQueue<T> rest = count == 0 ? this : new LazyQueue<T>(new Drop<T>(count), this);
+        return new Split<LazyQueue<T>>(take(count), rest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T head() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        return head;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        evaluate();
+        return tail == null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Unlike the other queues, this evaluates the whole view, in linear time.
+     */
+    @Override
+    public int size() {
+        int size = 0;
+        for (LazyQueue<T> view = this; !view.isEmpty(); view = view.tail) {
+            size++;
+        }
+
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Evaluates at most the first two cells.
+     */
+    @Override
+    public boolean isSingleton() {
+        return !isEmpty() && tail.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LazyQueue<T> clear() {
+        return empty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LazyQueue<T> enQueueAll(Iterable<? extends T> values) {
+        TypeCheckUtil.notNull(values, "values");
+
+        return new LazyQueue<T>(new Concat<T>(LazyQueue.<T>of(values)), this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LazyQueue<T> enQueueAll(T... values) {
+        TypeCheckUtil.notNull(values, "values");
+
+        return enQueueAll(Arrays.asList(values));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The iterator evaluates the view as it goes.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Itr<T>(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Unlike the other queues the spliterator is not {@link Spliterator#SIZED SIZED}: it evaluates the view as it
+     * goes, so a short-circuiting stream only evaluates the elements it reads.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    /**
+     * Evaluates this cell, once. The thread that claims the cell computes it; other threads wait for it, which is
+     * short since a cell only computes one element of each stage above it. A claim is released if the computation
+     * throws, so that a later read retries it.
+     */
+    private void evaluate() {
+        while (true) {
+            int current = state;
+            if (current == DONE) {
+                return;
+            } else if (current == PENDING && STATE.compareAndSet(this, PENDING, COMPUTING)) {
+                try {
+                    thunk.compute(this, source);
+                } catch (RuntimeException | Error e) {
+                    state = PENDING;
+                    throw e;
+                }
+
+                thunk = null;
+                source = null;
+                state = DONE;
+                return;
+            }
+
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Sets the contents of a cell being evaluated; cells left unset are empty.
+     */
+    private void set(T head, LazyQueue<T> tail) {
+        this.head = head;
+        this.tail = tail;
+    }
+
+    /**
+     * Computes a cell of a view by calling {@link LazyQueue#set(Object, LazyQueue)} on it, unless the view is empty.
+     * @param <T>
+     */
+    private abstract static class Thunk<T> {
+
+        /**
+         * Computes {@code cell}.
+         *
+         * @param cell The cell to set.
+         * @param source The position in the upstream view the cell was created with.
+         */
+        abstract void compute(LazyQueue<T> cell, LazyQueue<?> source);
+
+        @SuppressWarnings("unchecked")
+        static <S> LazyQueue<S> upstream(LazyQueue<?> source) {
+            return (LazyQueue<S>)source;
+        }
+    }
+
+    private static final class Source<T> extends Thunk<T> {
+
+        /**
+         * The remaining elements; advanced by one on each evaluation, which are ordered since each cell is only
+         * reachable from the evaluated cell before it.
+         */
+        private final Iterator<? extends T> iterator;
+
+        Source(Iterator<? extends T> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        void compute(LazyQueue<T> cell, LazyQueue<?> source) {
+            if (iterator.hasNext()) {
+                cell.set(iterator.next(), new LazyQueue<T>(this, null));
+            }
+        }
+    }
+
+    private static final class Mapped<T, R> extends Thunk<R> {
+
+        private final Function<? super T, ? extends R> mapper;
+
+        Mapped(Function<? super T, ? extends R> mapper) {
+            this.mapper = mapper;
+        }
+
+        @Override
+        void compute(LazyQueue<R> cell, LazyQueue<?> source) {
+            LazyQueue<T> view = upstream(source);
+            if (!view.isEmpty()) {
+                cell.set(mapper.apply(view.head), new LazyQueue<R>(this, view.tail));
+            }
+        }
+    }
+
+    private static final class Filter<T> extends Thunk<T> {
+
+        private final Predicate<? super T> predicate;
+
+        Filter(Predicate<? super T> predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override
+        void compute(LazyQueue<T> cell, LazyQueue<?> source) {
+            // A loop rather than recursion, so long runs of rejected elements do not grow the stack.
+            for (LazyQueue<T> view = upstream(source); !view.isEmpty(); view = view.tail) {
+                if (predicate.test(view.head)) {
+                    cell.set(view.head, new LazyQueue<T>(this, view.tail));
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class TakeWhile<T> extends Thunk<T> {
+
+        private final Predicate<? super T> predicate;
+
+        TakeWhile(Predicate<? super T> predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override
+        void compute(LazyQueue<T> cell, LazyQueue<?> source) {
+            LazyQueue<T> view = upstream(source);
+            if (!view.isEmpty() && predicate.test(view.head)) {
+                cell.set(view.head, new LazyQueue<T>(this, view.tail));
+            }
+        }
+    }
+
+    private static final class DropWhile<T> extends Thunk<T> {
+
+        private final Predicate<? super T> predicate;
+
+        DropWhile(Predicate<? super T> predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override
+        void compute(LazyQueue<T> cell, LazyQueue<?> source) {
+            LazyQueue<T> view = upstream(source);
+            while (!view.isEmpty() && predicate.test(view.head)) {
+                view = view.tail;
+            }
+
+            if (!view.isEmpty()) {
+                // The rest of the view is shared as it is.
+                cell.set(view.head, view.tail);
+            }
+        }
+    }
+
+    private static final class Zip<T, U, R> extends Thunk<R> {
+
+        /**
+         * The position in the second view, which differs for every cell.
+         */
+        private final LazyQueue<U> right;
+
+        private final BiFunction<? super T, ? super U, ? extends R> zipper;
+
+        Zip(LazyQueue<U> right, BiFunction<? super T, ? super U, ? extends R> zipper) {
+            this.right = right;
+            this.zipper = zipper;
+        }
+
+        @Override
+        void compute(LazyQueue<R> cell, LazyQueue<?> source) {
+            LazyQueue<T> left = upstream(source);
+            if (!left.isEmpty() && !right.isEmpty()) {
+                cell.set(zipper.apply(left.head, right.head),
+                        new LazyQueue<R>(new Zip<T, U, R>(right.tail, zipper), left.tail));
+            }
+        }
+    }
+
+    private static final class Take<T> extends Thunk<T> {
+
+        /**
+         * The number of elements left to take, counting this cell; differs for every cell.
+         */
+        private final int remaining;
+
+        Take(int remaining) {
+            this.remaining = remaining;
+        }
+
+        @Override
+        void compute(LazyQueue<T> cell, LazyQueue<?> source) {
+            LazyQueue<T> view = upstream(source);
+            if (!view.isEmpty()) {
+                cell.set(view.head, remaining == 1
+                        ? LazyQueue.<T>empty() : new LazyQueue<T>(new Take<T>(remaining - 1), view.tail));
+            }
+        }
+    }
+
+    private static final class Drop<T> extends Thunk<T> {
+
+        /**
+         * The number of elements to skip.
+         */
+        private final int count;
+
+        Drop(int count) {
+            this.count = count;
+        }
+
+        @Override
+        void compute(LazyQueue<T> cell, LazyQueue<?> source) {
+            LazyQueue<T> view = upstream(source);
+            for (int i = 0; i < count && !view.isEmpty(); i++) {
+                view = view.tail;
+            }
+
+            if (!view.isEmpty()) {
+                // The rest of the view is shared as it is.
+                cell.set(view.head, view.tail);
+            }
+        }
+    }
+
+    private static final class Append<T> extends Thunk<T> {
+
+        private final T value;
+
+        Append(T value) {
+            this.value = value;
+        }
+
+        @Override
+        void compute(LazyQueue<T> cell, LazyQueue<?> source) {
+            LazyQueue<T> view = upstream(source);
+            if (view.isEmpty()) {
+                cell.set(value, LazyQueue.<T>empty());
+            } else {
+                cell.set(view.head, new LazyQueue<T>(this, view.tail));
+            }
+        }
+    }
+
+    private static final class Concat<T> extends Thunk<T> {
+
+        private final LazyQueue<T> second;
+
+        Concat(LazyQueue<T> second) {
+            this.second = second;
+        }
+
+        @Override
+        void compute(LazyQueue<T> cell, LazyQueue<?> source) {
+            LazyQueue<T> first = upstream(source);
+            if (!first.isEmpty()) {
+                cell.set(first.head, new LazyQueue<T>(this, first.tail));
+            } else if (!second.isEmpty()) {
+                cell.set(second.head, second.tail);
+            }
+        }
+    }
+
+    private static final class Itr<T> implements Iterator<T> {
+
+        /**
+         * The view of the remaining elements.
+         */
+        private LazyQueue<T> remaining;
+
+        Itr(LazyQueue<T> view) {
+            this.remaining = view;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            return !remaining.isEmpty();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public T next() {
+            if (remaining.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+
+            T value = remaining.head;
+            remaining = remaining.tail;
+            return value;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.paybay.challenge.types;
+
+/**
+ * The element at the front of a collection together with the collection without it, as returned by
+ * {@link Queue#pollHead()} and {@link Stack#tryPop()}.
+ *
+ * Instances are small and immutable and are meant to be read right away, so that escape analysis can replace them by
+ * their two fields once the call is inlined. HotSpot before JDK 22 does not do so where the result merges with the
+ * {@code null} returned for an empty collection, as it does in a drain loop; {@link ImmutableQueue.Poller} drains
+ * without a result object.
+ *
+ * @param <T> The type of the element.
+ * @param <Q> The type of the remaining collection.
+ */
+public final class Polled<T, Q> {
+
+    /**
+     * The element that was removed.
+     */
+    private final T head;
+
+    /**
+     * The collection without the removed element.
+     */
+    private final Q rest;
+
+    /**
+     * Initializes a new instance of the {@link Polled} class.
+     *
+     * @param head The element that was removed.
+     * @param rest The collection without the removed element.
+     */
+    public Polled(T head, Q rest) {
+        this.head = head;
+        this.rest = rest;
+    }
+
+    /**
+     * Gets the element that was removed.
+     *
+     * @return The former front (or top) element.
+     */
+    public T head() {
+        return head;
+    }
+
+    /**
+     * Gets the collection without the removed element.
+     *
+     * @return The remaining collection.
+     */
+    public Q rest() {
+        return rest;
+    }
+}
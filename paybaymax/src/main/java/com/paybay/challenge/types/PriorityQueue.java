@@ -0,0 +1,72 @@
+package com.paybay.challenge.types;
+
+import java.util.Comparator;
+import java.util.EmptyStackException;
+
+/**
+ * A queue that hands out its elements in the order of a {@link Comparator}, smallest first. Iteration visits the
+ * elements in that order as well.
+ * @param <T>
+ */
+public interface PriorityQueue<T> extends Iterable<T> {
+
+    /**
+     * Adds an element to the queue.
+     *
+     * @param value The element to add to the queue.
+     * @return The new queue.
+     */
+    public PriorityQueue<T> insert(T value);
+
+    /**
+     * Removes the smallest element of the queue.
+     *
+     * @return The new queue; never {@code null}.
+     * @throws EmptyStackException if the queue is empty.
+     */
+    public PriorityQueue<T> deleteMin();
+
+    /**
+     * Gets the smallest element of the queue.
+     *
+     * @return The smallest element.
+     * @throws EmptyStackException if the queue is empty.
+     */
+    public T findMin();
+
+    /**
+     * Combines the elements of this queue and {@code other} into one queue, ordered by the comparator of this queue.
+     *
+     * @param other The queue to merge with.
+     * @return The new queue.
+     */
+    public PriorityQueue<T> merge(PriorityQueue<T> other);
+
+    /**
+     * Gets the comparator that orders the elements.
+     *
+     * @return The comparator.
+     */
+    public Comparator<? super T> comparator();
+
+    /**
+     * Gets a value indicating whether this is the empty queue.
+     *
+     * @return {@code true} if this queue is empty; otherwise {@code false}.
+     */
+    public boolean isEmpty();
+
+    /**
+     * Gets the number of elements in the queue, in constant time.
+     *
+     * @return The number of elements.
+     */
+    public int size();
+
+    /**
+     * helper - Gets an empty queue with the same comparator.
+     *
+     * @return The empty queue.
+     */
+    public PriorityQueue<T> clear();
+}
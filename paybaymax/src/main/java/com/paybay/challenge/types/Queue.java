@@ -1,6 +1,14 @@
 package com.paybay.challenge.types;
 
+import com.paybay.challenge.utils.TypeCheckUtil;
+
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.EmptyStackException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public interface Queue<T> extends Iterable<T> {
 
@@ -28,6 +36,39 @@ public interface Queue<T> extends Iterable<T> {
      */
     public T head();
 
+    /**
+     * Gets the element at the front of the queue, or {@code null} if the queue is empty. Unlike {@link #head()}, this
+     * never throws, so polling an often empty queue costs no exception.
+     *
+     * @return The element at the front of the queue, or {@code null}.
+     */
+    public default T headOrNull() {
+        return isEmpty() ? null : head();
+    }
+
+    /**
+     * Gets the element at the front of the queue, or {@code defaultValue} if the queue is empty.
+     *
+     * @param defaultValue The value to return if the queue is empty.
+     * @return The element at the front of the queue, or {@code defaultValue}.
+     */
+    public default T headOrDefault(T defaultValue) {
+        return isEmpty() ? defaultValue : head();
+    }
+
+    /**
+     * Gets the element at the front of the queue and the queue without it in one call, without throwing.
+     *
+     * @return The head and the rest of the queue, or {@code null} if the queue is empty.
+     */
+    public default Polled<T, ? extends Queue<T>> pollHead() {
+        if (isEmpty()) {
+            return null;
+        }
+
+        return new Polled<T, Queue<T>>(head(), deQueue());
+    }
+
     /**
      * Gets a value indicating whether this is the empty queue.
      *
@@ -35,6 +76,24 @@ public interface Queue<T> extends Iterable<T> {
      */
     public boolean isEmpty();
 
+    /**
+     * Gets the number of elements in the queue. The queues of this package answer in constant time, except
+     * {@link LazyQueue}, which evaluates the whole view; code that may be handed a lazy view should not call it just to
+     * test for elements or to size a buffer.
+     *
+     * @return The number of elements.
+     */
+    public int size();
+
+    /**
+     * Gets a value indicating whether the queue holds exactly one element.
+     *
+     * @return {@code true} if this queue holds a single element; otherwise {@code false}.
+     */
+    public default boolean isSingleton() {
+        return size() == 1;
+    }
+
     /**
      * helper - Gets an empty queue.
      *
@@ -42,4 +101,141 @@ public interface Queue<T> extends Iterable<T> {
      */
     public Queue<T> clear();
 
+    /**
+     * Adds the elements, in iteration order, to the back of the queue.
+     *
+     * @param values The elements to add to the queue.
+     * @return The new queue.
+     */
+    public default Queue<T> enQueueAll(Iterable<? extends T> values) {
+        TypeCheckUtil.notNull(values, "values");
+
+        Queue<T> queue = this;
+        for (T value : values) {
+            queue = queue.enQueue(value);
+        }
+
+        return queue;
+    }
+
+    /**
+     * Adds the elements, in array order, to the back of the queue.
+     *
+     * @param values The elements to add to the queue.
+     * @return The new queue.
+     */
+    public default Queue<T> enQueueAll(T... values) {
+        TypeCheckUtil.notNull(values, "values");
+
+        return enQueueAll(Arrays.asList(values));
+    }
+
+    /**
+     * Removes {@code count} elements at the beginning of the immutable queue, and returns the new queue.
+     *
+     * @param count The number of elements to remove.
+     * @return The new queue; never {@code null}.
+     * @throws IllegalArgumentException if {@code count} is negative.
+     * @throws EmptyStackException if the queue holds fewer than {@code count} elements.
+     */
+    public default Queue<T> deQueue(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count < 0: " + count);
+        }
+
+        Queue<T> queue = this;
+        for (int i = 0; i < count; i++) {
+            queue = queue.deQueue();
+        }
+
+        return queue;
+    }
+
+    /**
+     * Gets a queue of the first {@code count} elements, or of all elements if the queue holds fewer.
+     *
+     * @param count The maximum number of elements to take.
+     * @return The queue of the first elements.
+     * @throws IllegalArgumentException if {@code count} is negative.
+     */
+    public default Queue<T> take(int count) {
+        return split(count).front();
+    }
+
+    /**
+     * Removes up to {@code maxElements} elements at the beginning of the queue, adding them to {@code target} in
+     * queue order, and returns the new queue.
+     *
+     * @param target The collection to transfer the elements to.
+     * @param maxElements The maximum number of elements to transfer.
+     * @return The new queue; never {@code null}.
+     * @throws IllegalArgumentException if {@code maxElements} is negative.
+     */
+    public default Queue<T> drainTo(Collection<? super T> target, int maxElements) {
+        TypeCheckUtil.notNull(target, "target");
+        if (maxElements < 0) {
+            throw new IllegalArgumentException("maxElements < 0: " + maxElements);
+        }
+
+        Queue<T> queue = this;
+        for (int i = 0; i < maxElements && !queue.isEmpty(); i++) {
+            target.add(queue.head());
+            queue = queue.deQueue();
+        }
+
+        return queue;
+    }
+
+    /**
+     * Splits the queue after its first {@code count} elements (or after all of them if the queue holds fewer).
+     *
+     * @param count The number of elements in the front part.
+     * @return The front part and the rest of the queue.
+     * @throws IllegalArgumentException if {@code count} is negative.
+     */
+    public default Split<? extends Queue<T>> split(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count < 0: " + count);
+        }
+
+        Queue<T> front = clear();
+        Queue<T> rest = this;
+        for (int i = 0; i < count && !rest.isEmpty(); i++) {
+            front = front.enQueue(rest.head());
+            rest = rest.deQueue();
+        }
+
+        return new Split<Queue<T>>(front, rest);
+    }
+
+    /**
+     * Creates a {@link Spliterator} over the elements, front of the queue first. The spliterator is
+     * {@link Spliterator#SIZED SIZED}, {@link Spliterator#ORDERED ORDERED} and
+     * {@link Spliterator#IMMUTABLE IMMUTABLE}.
+     *
+     * @return The spliterator.
+     */
+    @Override
+    public default Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), ConcatSpliterator.CHARACTERISTICS);
+    }
+
+    /**
+     * Gets a sequential {@link Stream} over the elements, front of the queue first.
+     *
+     * @return The stream.
+     */
+    public default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Gets a possibly parallel {@link Stream} over the elements, front of the queue first.
+     *
+     * @return The stream.
+     */
+    public default Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,185 @@
+package com.paybay.challenge.types;
+
+import com.paybay.challenge.utils.TypeCheckUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The difference between two versions of an {@link ImmutableQueue}: the number of elements dequeued from the front of
+ * the base version and the elements enqueued at its back.
+ *
+ * {@link #between} finds the part shared by the two versions through the identity of their stack nodes rather than by
+ * comparing elements, so its cost is proportional to the size of the delta, not of the queues. When no shared part can
+ * be proven (e.g. the target went through a reversal of elements enqueued after the base) the delta falls back to
+ * dequeuing everything and enqueuing all elements of the target, i.e. a full snapshot; {@link #isFull()} tells the two
+ * apart.
+ * @param <T>
+ */
+public final class QueueDelta<T> {
+
+    /**
+     * The size of the version the delta applies to.
+     */
+    private final int baseSize;
+
+    /**
+     * The number of elements removed from the front of the base version.
+     */
+    private final int dequeued;
+
+    /**
+     * The elements added at the back, front first.
+     */
+    private final List<T> enqueued;
+
+    /**
+     * Initializes a new instance of the {@link QueueDelta} class.
+     *
+     * @param baseSize The size of the version the delta applies to.
+     * @param dequeued The number of elements removed from the front of the base version.
+     * @param enqueued The elements added at the back, front first.
+     */
+    public QueueDelta(int baseSize, int dequeued, List<? extends T> enqueued) {
+        TypeCheckUtil.notNull(enqueued, "enqueued");
+        if (dequeued < 0 || dequeued > baseSize) {
+            throw new IllegalArgumentException("dequeued " + dequeued + " out of range for base size " + baseSize);
+        }
+
+        this.baseSize = baseSize;
+        this.dequeued = dequeued;
+        this.enqueued = Collections.unmodifiableList(new ArrayList<T>(enqueued));
+    }
+
+    /**
+     * Private constructor that takes ownership of {@code enqueued}.
+     */
+    private QueueDelta(int baseSize, int dequeued, ArrayList<T> enqueued) {
+        this.baseSize = baseSize;
+        this.dequeued = dequeued;
+        this.enqueued = Collections.unmodifiableList(enqueued);
+    }
+
+    /**
+     * Computes the delta that turns {@code base} into {@code target}.
+     *
+     * @param <T> The type of element stored by the queues.
+     * @param base The version the replica holds.
+     * @param target The version to replicate.
+     * @return The delta.
+     */
+    public static <T> QueueDelta<T> between(ImmutableQueue<T> base, ImmutableQueue<T> target) {
+        TypeCheckUtil.notNull(base, "base");
+        TypeCheckUtil.notNull(target, "target");
+
+        ImmutableStack<T> baseOutgoing = base.outgoing();
+        ImmutableStack<T> baseIncoming = base.incoming();
+        ImmutableStack<T> targetOutgoing = target.outgoing();
+        ImmutableStack<T> targetIncoming = target.incoming();
+
+        // Only dequeues and enqueues onto the same incoming stack: the target's outgoing stack is a tail of the base's
+        // and its incoming stack has the base's as a tail.
+        if (isTail(targetOutgoing, baseOutgoing) && isTail(baseIncoming, targetIncoming)) {
+            return new QueueDelta<T>(base.size(), baseOutgoing.size() - targetOutgoing.size(),
+                    inEnqueueOrder(targetIncoming, targetIncoming.size() - baseIncoming.size()));
+        }
+
+        // The base's own incoming stack was reversed onto the outgoing side and the target's incoming stack holds only
+        // elements enqueued after that.
+        ImmutableStack<T> reversed = base.reversedIncomingIfComputed();
+        if (reversed != null && !targetOutgoing.isEmpty() && isTail(targetOutgoing, reversed)) {
+            return new QueueDelta<T>(base.size(), base.size() - targetOutgoing.size(),
+                    inEnqueueOrder(targetIncoming, targetIncoming.size()));
+        }
+
+        ArrayList<T> all = new ArrayList<T>(target.size());
+        for (T element : target) {
+            all.add(element);
+        }
+
+        return new QueueDelta<T>(base.size(), base.size(), all);
+    }
+
+    /**
+     * Applies the delta to a replica of the base version.
+     *
+     * @param replica A queue holding the same elements as the base version.
+     * @return A queue holding the same elements as the target version.
+     * @throws IllegalArgumentException if the replica does not have the size of the base version.
+     */
+    public ImmutableQueue<T> applyTo(ImmutableQueue<T> replica) {
+        TypeCheckUtil.notNull(replica, "replica");
+        if (replica.size() != baseSize) {
+            throw new IllegalArgumentException("replica size " + replica.size() + ", delta base size " + baseSize);
+        }
+
+        return replica.deQueue(dequeued).enQueueAll(enqueued);
+    }
+
+    /**
+     * Gets the size of the version the delta applies to.
+     *
+     * @return The base size.
+     */
+    public int baseSize() {
+        return baseSize;
+    }
+
+    /**
+     * Gets the number of elements removed from the front of the base version.
+     *
+     * @return The dequeued count.
+     */
+    public int dequeued() {
+        return dequeued;
+    }
+
+    /**
+     * Gets the elements added at the back.
+     *
+     * @return The enqueued elements, front first.
+     */
+    public List<T> enqueued() {
+        return enqueued;
+    }
+
+    /**
+     * Gets whether the delta replaces every element of a non-empty base version, i.e. carries a full snapshot.
+     *
+     * @return {@code true} if nothing of the base version is kept.
+     */
+    public boolean isFull() {
+        return baseSize > 0 && dequeued == baseSize;
+    }
+
+    /**
+     * Gets whether {@code tail} is {@code stack} or one of the stacks below it, by node identity.
+     */
+    private static <T> boolean isTail(ImmutableStack<T> tail, ImmutableStack<T> stack) {
+        int depth = stack.size() - tail.size();
+        if (depth < 0) {
+            return false;
+        }
+
+        for (int i = 0; i < depth; i++) {
+            stack = stack.pop();
+        }
+
+        return stack == tail;
+    }
+
+    /**
+     * Copies the top {@code count} elements of an incoming stack in the order they were enqueued.
+     */
+    private static <T> ArrayList<T> inEnqueueOrder(ImmutableStack<T> stack, int count) {
+        ArrayList<T> elements = new ArrayList<T>(count);
+        for (int i = 0; i < count; i++) {
+            elements.add(stack.peek());
+            stack = stack.pop();
+        }
+
+        Collections.reverse(elements);
+        return elements;
+    }
+}
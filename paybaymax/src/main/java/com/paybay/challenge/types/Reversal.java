@@ -0,0 +1,59 @@
+package com.paybay.challenge.types;
+
+/**
+ * The reversal of the incoming stack of a two stack queue, computed at most once and safely published to every thread
+ * by double-checked locking. All versions of a queue holding the same incoming stack share one instance, so persistent
+ * readers dequeuing their own versions of a snapshot pay for a single reversal between them. The versions find it
+ * through {@link AbstractTwoStackQueue}; each queue type supplies the reversal itself.
+ *
+ * @param <S> The type of the stacks.
+ */
+public abstract class Reversal<S> {
+
+    /**
+     * The stack to reverse.
+     */
+    private final S incoming;
+
+    /**
+     * The reversed stack; {@code null} until computed.
+     */
+    volatile S reversed;
+
+    /**
+     * Initializes a new instance of the {@link Reversal} class.
+     *
+     * @param incoming The stack to reverse.
+     */
+    protected Reversal(S incoming) {
+        this.incoming = incoming;
+    }
+
+    /**
+     * Gets the reversed stack, computing it if no thread has yet.
+     *
+     * @return The reversed stack.
+     */
+    public final S get() {
+        S result = reversed;
+        if (result == null) {
+            synchronized (this) {
+                result = reversed;
+                if (result == null) {
+                    result = reverse(incoming);
+                    reversed = result;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Reverses a stack; called at most once, under the lock.
+     *
+     * @param stack The stack to reverse.
+     * @return The reversed stack.
+     */
+    protected abstract S reverse(S stack);
+}
@@ -0,0 +1,53 @@
+package com.paybay.challenge.types;
+
+import com.paybay.challenge.utils.TypeCheckUtil;
+
+/**
+ * The two parts of a collection split at a position.
+ *
+ * @param <Q> The type of the parts.
+ */
+public final class Split<Q> {
+
+    /**
+     * The elements before the split position.
+     */
+    private final Q front;
+
+    /**
+     * The elements from the split position on.
+     */
+    private final Q rest;
+
+    /**
+     * Initializes a new instance of the {@link Split} class.
+     *
+     * @param front The elements before the split position.
+     * @param rest The elements from the split position on.
+     */
+    public Split(Q front, Q rest) {
+        TypeCheckUtil.notNull(front, "front");
+        TypeCheckUtil.notNull(rest, "rest");
+
+        this.front = front;
+        this.rest = rest;
+    }
+
+    /**
+     * Gets the elements before the split position.
+     *
+     * @return The front part.
+     */
+    public Q front() {
+        return front;
+    }
+
+    /**
+     * Gets the elements from the split position on.
+     *
+     * @return The remaining part.
+     */
+    public Q rest() {
+        return rest;
+    }
+}
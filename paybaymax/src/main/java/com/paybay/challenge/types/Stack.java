@@ -1,6 +1,10 @@
 package com.paybay.challenge.types;
 
 import java.util.EmptyStackException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public interface Stack<T> extends Iterable<T> {
 
@@ -28,6 +32,29 @@ public interface Stack<T> extends Iterable<T> {
      */
     T peek();
 
+    /**
+     * Gets the element on the top of the stack, or {@code null} if the stack is empty. Unlike {@link #peek()}, this
+     * never throws.
+     *
+     * @return The element on the top of the stack, or {@code null}.
+     */
+    default T peekOrNull() {
+        return isEmpty() ? null : peek();
+    }
+
+    /**
+     * Gets the element on the top of the stack and the stack without it in one call, without throwing.
+     *
+     * @return The top element and the rest of the stack, or {@code null} if the stack is empty.
+     */
+    default Polled<T, ? extends Stack<T>> tryPop() {
+        if (isEmpty()) {
+            return null;
+        }
+
+        return new Polled<T, Stack<T>>(peek(), pop());
+    }
+
     /**
      * Gets a value indicating whether this is the empty stack.
      *
@@ -35,6 +62,22 @@ public interface Stack<T> extends Iterable<T> {
      */
     boolean isEmpty();
 
+    /**
+     * Gets the number of elements in the stack, in constant time.
+     *
+     * @return The number of elements.
+     */
+    int size();
+
+    /**
+     * Gets a value indicating whether the stack holds exactly one element.
+     *
+     * @return {@code true} if this stack holds a single element; otherwise {@code false}.
+     */
+    default boolean isSingleton() {
+        return size() == 1;
+    }
+
     /**
      * Gets an empty stack.
      *
@@ -42,4 +85,34 @@ public interface Stack<T> extends Iterable<T> {
      */
     Stack<T> clear();
 
+    /**
+     * Creates a {@link Spliterator} over the elements, top of the stack first. The spliterator is
+     * {@link Spliterator#SIZED SIZED}, {@link Spliterator#ORDERED ORDERED} and
+     * {@link Spliterator#IMMUTABLE IMMUTABLE}.
+     *
+     * @return The spliterator.
+     */
+    @Override
+    default Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), ConcatSpliterator.CHARACTERISTICS);
+    }
+
+    /**
+     * Gets a sequential {@link Stream} over the elements, top of the stack first.
+     *
+     * @return The stream.
+     */
+    default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Gets a possibly parallel {@link Stream} over the elements, top of the stack first.
+     *
+     * @return The stream.
+     */
+    default Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.paybay.challenge.types;
+
+import com.paybay.challenge.utils.TypeCheckUtil;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * The eviction rules of an {@link ImmutableBoundedQueue}: a capacity and, optionally, a maximum age measured with a
+ * timestamp extracted from the elements.
+ *
+ * A policy is meant to be shared by many windows (e.g. one per key): the windows only keep a reference to it, and all
+ * of them start from the policy's single {@link #empty()} window.
+ * @param <T>
+ */
+public final class WindowPolicy<T> {
+
+    /**
+     * The maximum number of elements in a window.
+     */
+    private final int capacity;
+
+    /**
+     * Elements whose timestamp is this much or more older than the newest timestamp are evicted.
+     */
+    private final long maxAge;
+
+    /**
+     * Extracts the timestamps of elements; {@code null} when the policy is not time-based.
+     */
+    private final ToLongFunction<? super T> timestamps;
+
+    /**
+     * The empty window of this policy.
+     */
+    private final ImmutableBoundedQueue<T> empty;
+
+    /**
+     * Initializes a new instance of the {@link WindowPolicy} class.
+     *
+     * @param capacity The maximum number of elements in a window.
+     * @param maxAge The maximum age of an element.
+     * @param timestamps Extracts the timestamps of elements; may be {@code null}.
+     */
+    private WindowPolicy(int capacity, long maxAge, ToLongFunction<? super T> timestamps) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity <= 0: " + capacity);
+        } else if (maxAge <= 0) {
+            throw new IllegalArgumentException("maxAge <= 0: " + maxAge);
+        }
+
+        this.capacity = capacity;
+        this.maxAge = maxAge;
+        this.timestamps = timestamps;
+        this.empty = new ImmutableBoundedQueue<T>(this, ImmutableQueue.<T>empty());
+    }
+
+    /**
+     * Creates a policy that keeps the last {@code capacity} elements.
+     *
+     * @param <T> The type of element stored by the windows.
+     * @param capacity The maximum number of elements in a window.
+     * @return The policy.
+     * @throws IllegalArgumentException if {@code capacity} is not positive.
+     */
+    public static <T> WindowPolicy<T> capacity(int capacity) {
+        return new WindowPolicy<T>(capacity, Long.MAX_VALUE, null);
+    }
+
+    /**
+     * Creates a policy that keeps at most the last {@code capacity} elements, and only those younger than
+     * {@code maxAge}. Age is measured against the timestamp of the newest element, or the time passed to
+     * {@link ImmutableBoundedQueue#expire(long)}; timestamps are expected not to decrease along a window.
+     *
+     * @param <T> The type of element stored by the windows.
+     * @param capacity The maximum number of elements in a window; {@link Integer#MAX_VALUE} for no limit.
+     * @param maxAge The age, in timestamp units, at which an element is evicted.
+     * @param timestamps Extracts the timestamp of an element.
+     * @return The policy.
+     * @throws IllegalArgumentException if {@code capacity} or {@code maxAge} is not positive.
+     */
+    public static <T> WindowPolicy<T> timed(int capacity, long maxAge, ToLongFunction<? super T> timestamps) {
+        TypeCheckUtil.notNull(timestamps, "timestamps");
+
+        return new WindowPolicy<T>(capacity, maxAge, timestamps);
+    }
+
+    /**
+     * Gets the empty window of this policy.
+     *
+     * @return The empty window.
+     */
+    public ImmutableBoundedQueue<T> empty() {
+        return empty;
+    }
+
+    /**
+     * Gets the maximum number of elements in a window.
+     *
+     * @return The capacity.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the age at which elements are evicted.
+     *
+     * @return The maximum age; {@link Long#MAX_VALUE} if the policy is not time-based.
+     */
+    public long maxAge() {
+        return maxAge;
+    }
+
+    /**
+     * Gets whether elements are evicted by age.
+     *
+     * @return {@code true} if the policy has a timestamp extractor.
+     */
+    public boolean isTimed() {
+        return timestamps != null;
+    }
+
+    /**
+     * Gets the timestamp of an element of a time-based policy.
+     */
+    long timestampOf(T value) {
+        return timestamps.applyAsLong(value);
+    }
+
+    /**
+     * Gets whether an element with timestamp {@code timestamp} has expired at time {@code now}.
+     */
+    boolean isExpired(long timestamp, long now) {
+        return now - timestamp >= maxAge;
+    }
+}
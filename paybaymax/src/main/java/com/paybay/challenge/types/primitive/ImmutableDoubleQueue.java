@@ -0,0 +1,278 @@
+package com.paybay.challenge.types.primitive;
+
+import com.paybay.challenge.types.AbstractTwoStackQueue;
+import com.paybay.challenge.types.Reversal;
+import com.paybay.challenge.utils.TypeCheckUtil;
+
+import java.util.EmptyStackException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.DoubleConsumer;
+
+/**
+ * This Queue implementation takes in consideration of 2 stacks
+ *  - backwards and forwards - both based upon {@link ImmutableDoubleStack}, so elements are never boxed.
+ */
+public class ImmutableDoubleQueue extends AbstractTwoStackQueue<ImmutableDoubleStack> implements DoubleQueue {
+
+    /**
+     * The singleton empty queue.
+     */
+    private static final ImmutableDoubleQueue EMPTY_QUEUE = new ImmutableDoubleQueue(ImmutableDoubleStack.empty(),
+            ImmutableDoubleStack.empty(), 0);
+
+    /**
+     * front side of the queue where elements are pushed
+     */
+    private final ImmutableDoubleStack incoming;
+
+    /**
+     * rear side of the queue from which elements are polled.
+     */
+    private final ImmutableDoubleStack outgoing;
+
+    /**
+     * The number of elements on both stacks, kept here so the stack nodes stay as small as the element allows.
+     */
+    private final int size;
+
+    /**
+     * Initializes a new instance of the {@link ImmutableDoubleQueue} class that owns its incoming stack.
+     *
+     * @param outgoing The outgoing stack.
+     * @param incoming The incoming stack.
+     * @param size     The number of elements on both stacks.
+     */
+    private ImmutableDoubleQueue(ImmutableDoubleStack outgoing, ImmutableDoubleStack incoming, int size) {
+        this(outgoing, incoming, size, null);
+    }
+
+    /**
+     * Initializes a new instance of the {@link ImmutableDoubleQueue} class.
+     *
+     * @param outgoing The outgoing stack.
+     * @param incoming The incoming stack.
+     * @param size     The number of elements on both stacks.
+     * @param reversal The reversal link of {@code incoming}, see {@link AbstractTwoStackQueue}; {@code null} if this
+     *                 queue owns {@code incoming}.
+     */
+    private ImmutableDoubleQueue(ImmutableDoubleStack outgoing, ImmutableDoubleStack incoming, int size,
+                                 Object reversal) {
+        super(reversal);
+        TypeCheckUtil.notNull(outgoing, "outgoing");
+        TypeCheckUtil.notNull(incoming, "incoming");
+
+        this.outgoing = outgoing;
+        this.incoming = incoming;
+        this.size = size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableDoubleQueue enQueue(double value) {
+        if (isEmpty()) {
+            return new ImmutableDoubleQueue(ImmutableDoubleStack.empty().push(value), ImmutableDoubleStack.empty(), 1);
+        } else {
+            return new ImmutableDoubleQueue(outgoing, incoming.push(value), size + 1);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableDoubleQueue deQueue() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        ImmutableDoubleStack f = outgoing.pop();
+        if (!f.isEmpty()) {
+            return new ImmutableDoubleQueue(f, incoming, size - 1, derivedReversal(incoming.isEmpty()));
+        } else if (incoming.isEmpty()) {
+            return empty();
+        } else {
+            return new ImmutableDoubleQueue(getIncomingReversed(), ImmutableDoubleStack.empty(), size - 1);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double headDouble() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        return outgoing.peekDouble();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return outgoing.isEmpty() && incoming.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableDoubleQueue clear() {
+        return empty();
+    }
+
+    /**
+     * Creates a new immutable collection pre-filled with the specified items.
+     *
+     * @param items The items to pre-populate.
+     * @return The immutable collection.
+     */
+    public static ImmutableDoubleQueue create(double... items) {
+        TypeCheckUtil.notNull(items, "items");
+
+        // Built directly as the outgoing stack, front element on top, without intermediate queues.
+        ImmutableDoubleStack outgoing = ImmutableDoubleStack.empty();
+        for (int i = items.length - 1; i >= 0; i--) {
+            outgoing = outgoing.push(items[i]);
+        }
+
+        return outgoing.isEmpty() ? empty() : new ImmutableDoubleQueue(outgoing, ImmutableDoubleStack.empty(), items.length);
+    }
+
+    public static ImmutableDoubleQueue empty() {
+        return EMPTY_QUEUE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PrimitiveIterator.OfDouble iterator() {
+        return new Itr(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(DoubleConsumer action) {
+        TypeCheckUtil.notNull(action, "action");
+
+        outgoing.forEach(action);
+        if (!incoming.isEmpty()) {
+            getIncomingReversed().forEach(action);
+        }
+    }
+
+    private ImmutableDoubleStack getIncomingReversed() {
+        if (incoming.isEmpty()) {
+            return incoming;
+        }
+
+        return sharedReversal().get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Reversal<ImmutableDoubleStack> newReversal() {
+        return new DoubleReversal(incoming);
+    }
+
+    /**
+     * The {@link Reversal} of an incoming {@link ImmutableDoubleStack}.
+     */
+    private static final class DoubleReversal extends Reversal<ImmutableDoubleStack> {
+
+        DoubleReversal(ImmutableDoubleStack incoming) {
+            super(incoming);
+        }
+
+        @Override
+        protected ImmutableDoubleStack reverse(ImmutableDoubleStack stack) {
+            return stack.reverse();
+        }
+    }
+
+    private static final class Itr implements PrimitiveIterator.OfDouble {
+
+        /**
+         * The original queue being enumerated.
+         */
+        private final ImmutableDoubleQueue originalQueue;
+        /**
+         * The remaining forwards queue not yet enumerated.
+         */
+        private ImmutableDoubleStack remainingForwardsStack;
+        /**
+         * The remaining backwards stack not yet enumerated. Its order is reversed when the field is first initialized.
+         */
+        private ImmutableDoubleStack remainingBackwardsStack;
+
+        /**
+         * Initializes a new instance of the {@link Itr} class.
+         *
+         * @param originalQueue The queue to enumerate.
+         */
+        public Itr(ImmutableDoubleQueue originalQueue) {
+            this.originalQueue = originalQueue;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            if (remainingForwardsStack == null) {
+                return !originalQueue.isEmpty();
+            } else {
+                return !remainingForwardsStack.isEmpty() || !remainingBackwardsStack.isEmpty();
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public double nextDouble() {
+            if (remainingForwardsStack == null) {
+                remainingForwardsStack = originalQueue.outgoing;
+                remainingBackwardsStack = originalQueue.getIncomingReversed();
+            }
+
+            if (!remainingForwardsStack.isEmpty()) {
+                double result = remainingForwardsStack.peekDouble();
+                remainingForwardsStack = remainingForwardsStack.pop();
+                return result;
+            } else if (!remainingBackwardsStack.isEmpty()) {
+                double result = remainingBackwardsStack.peekDouble();
+                remainingBackwardsStack = remainingBackwardsStack.pop();
+                return result;
+            }
+
+            throw new NoSuchElementException();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.paybay.challenge.types.primitive;
+
+import com.paybay.challenge.utils.TypeCheckUtil;
+
+import java.util.EmptyStackException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.DoubleConsumer;
+
+/**
+ * This is a Singly linked list based Stack of primitive {@code double} values; every node holds its element unboxed.
+ */
+public class ImmutableDoubleStack implements DoubleStack {
+
+    private static final ImmutableDoubleStack EMPTY_STACK = new ImmutableDoubleStack();
+
+    /**
+     * The element on the top of the stack.
+     */
+    private final double head;
+
+    /**
+     * A stack that contains the rest of the elements (under the top element);
+     */
+    private final ImmutableDoubleStack tail;
+
+    /**
+     * Initializes a new instance of the {@link ImmutableDoubleStack} class that acts as the empty stack.
+     */
+    private ImmutableDoubleStack() {
+        head = 0;
+        tail = null;
+    }
+
+    /**
+     * Initializes a new instance of the {@link ImmutableDoubleStack} class.
+     *
+     * @param head The head element on the stack.
+     * @param tail The rest of the elements on the stack.
+     */
+    private ImmutableDoubleStack(double head, ImmutableDoubleStack tail) {
+        TypeCheckUtil.notNull(tail, "tail");
+
+        this.head = head;
+        this.tail = tail;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableDoubleStack push(double value) {
+        return new ImmutableDoubleStack(value, this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableDoubleStack pop() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        return tail;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double peekDouble() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        return head;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return tail == null;
+    }
+
+    /**
+     * Gets the empty stack, upon which all stacks are built.
+     *
+     * @return The empty stack.
+     */
+    public static ImmutableDoubleStack empty() {
+        return EMPTY_STACK;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableDoubleStack clear() {
+        return empty();
+    }
+
+    /**
+     * Creates a new immutable collection pre-filled with the specified items.
+     *
+     * @param items The items to pre-populate.
+     * @return The immutable collection.
+     */
+    public static ImmutableDoubleStack create(double... items) {
+        TypeCheckUtil.notNull(items, "items");
+
+        ImmutableDoubleStack stack = empty();
+        for (double item : items) {
+            stack = stack.push(item);
+        }
+
+        return stack;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PrimitiveIterator.OfDouble iterator() {
+        return new Itr(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(DoubleConsumer action) {
+        TypeCheckUtil.notNull(action, "action");
+
+        for (ImmutableDoubleStack s = this; !s.isEmpty(); s = s.tail) {
+            action.accept(s.head);
+        }
+    }
+
+    /**
+     * Reverses the order of the stack.
+     *
+     * @return The reversed stack.
+     */
+    public ImmutableDoubleStack reverse() {
+        ImmutableDoubleStack result = clear();
+        for (ImmutableDoubleStack f = this; !f.isEmpty(); f = f.tail) {
+            result = result.push(f.head);
+        }
+
+        return result;
+    }
+
+    private static final class Itr implements PrimitiveIterator.OfDouble {
+
+        /**
+         * The remaining stack not yet enumerated.
+         */
+        private ImmutableDoubleStack remainingStack;
+
+        /**
+         * Initializes a new instance of the {@link Itr} class.
+         *
+         * @param originalStack The stack to enumerate.
+         */
+        public Itr(ImmutableDoubleStack originalStack) {
+            this.remainingStack = originalStack;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            return !remainingStack.isEmpty();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public double nextDouble() {
+            if (remainingStack.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+
+            double result = remainingStack.head;
+            remainingStack = remainingStack.tail;
+            return result;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.paybay.challenge.types.primitive;
+
+import com.paybay.challenge.types.AbstractTwoStackQueue;
+import com.paybay.challenge.types.Reversal;
+import com.paybay.challenge.utils.TypeCheckUtil;
+
+import java.util.EmptyStackException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * This Queue implementation takes in consideration of 2 stacks
+ *  - backwards and forwards - both based upon {@link ImmutableIntStack}, so elements are never boxed.
+ */
+public class ImmutableIntQueue extends AbstractTwoStackQueue<ImmutableIntStack> implements IntQueue {
+
+    /**
+     * The singleton empty queue.
+     */
+    private static final ImmutableIntQueue EMPTY_QUEUE = new ImmutableIntQueue(ImmutableIntStack.empty(),
+            ImmutableIntStack.empty(), 0);
+
+    /**
+     * front side of the queue where elements are pushed
+     */
+    private final ImmutableIntStack incoming;
+
+    /**
+     * rear side of the queue from which elements are polled.
+     */
+    private final ImmutableIntStack outgoing;
+
+    /**
+     * The number of elements on both stacks, kept here so the stack nodes stay as small as the element allows.
+     */
+    private final int size;
+
+    /**
+     * Initializes a new instance of the {@link ImmutableIntQueue} class that owns its incoming stack.
+     *
+     * @param outgoing The outgoing stack.
+     * @param incoming The incoming stack.
+     * @param size     The number of elements on both stacks.
+     */
+    private ImmutableIntQueue(ImmutableIntStack outgoing, ImmutableIntStack incoming, int size) {
+        this(outgoing, incoming, size, null);
+    }
+
+    /**
+     * Initializes a new instance of the {@link ImmutableIntQueue} class.
+     *
+     * @param outgoing The outgoing stack.
+     * @param incoming The incoming stack.
+     * @param size     The number of elements on both stacks.
+     * @param reversal The reversal link of {@code incoming}, see {@link AbstractTwoStackQueue}; {@code null} if this
+     *                 queue owns {@code incoming}.
+     */
+    private ImmutableIntQueue(ImmutableIntStack outgoing, ImmutableIntStack incoming, int size,
+                              Object reversal) {
+        super(reversal);
+        TypeCheckUtil.notNull(outgoing, "outgoing");
+        TypeCheckUtil.notNull(incoming, "incoming");
+
+        this.outgoing = outgoing;
+        this.incoming = incoming;
+        this.size = size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableIntQueue enQueue(int value) {
+        if (isEmpty()) {
+            return new ImmutableIntQueue(ImmutableIntStack.empty().push(value), ImmutableIntStack.empty(), 1);
+        } else {
+            return new ImmutableIntQueue(outgoing, incoming.push(value), size + 1);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableIntQueue deQueue() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        ImmutableIntStack f = outgoing.pop();
+        if (!f.isEmpty()) {
+            return new ImmutableIntQueue(f, incoming, size - 1, derivedReversal(incoming.isEmpty()));
+        } else if (incoming.isEmpty()) {
+            return empty();
+        } else {
+            return new ImmutableIntQueue(getIncomingReversed(), ImmutableIntStack.empty(), size - 1);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int headInt() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        return outgoing.peekInt();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return outgoing.isEmpty() && incoming.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableIntQueue clear() {
+        return empty();
+    }
+
+    /**
+     * Creates a new immutable collection pre-filled with the specified items.
+     *
+     * @param items The items to pre-populate.
+     * @return The immutable collection.
+     */
+    public static ImmutableIntQueue create(int... items) {
+        TypeCheckUtil.notNull(items, "items");
+
+        // Built directly as the outgoing stack, front element on top, without intermediate queues.
+        ImmutableIntStack outgoing = ImmutableIntStack.empty();
+        for (int i = items.length - 1; i >= 0; i--) {
+            outgoing = outgoing.push(items[i]);
+        }
+
+        return outgoing.isEmpty() ? empty() : new ImmutableIntQueue(outgoing, ImmutableIntStack.empty(), items.length);
+    }
+
+    public static ImmutableIntQueue empty() {
+        return EMPTY_QUEUE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new Itr(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(IntConsumer action) {
+        TypeCheckUtil.notNull(action, "action");
+
+        outgoing.forEach(action);
+        if (!incoming.isEmpty()) {
+            getIncomingReversed().forEach(action);
+        }
+    }
+
+    private ImmutableIntStack getIncomingReversed() {
+        if (incoming.isEmpty()) {
+            return incoming;
+        }
+
+        return sharedReversal().get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Reversal<ImmutableIntStack> newReversal() {
+        return new IntReversal(incoming);
+    }
+
+    /**
+     * The {@link Reversal} of an incoming {@link ImmutableIntStack}.
+     */
+    private static final class IntReversal extends Reversal<ImmutableIntStack> {
+
+        IntReversal(ImmutableIntStack incoming) {
+            super(incoming);
+        }
+
+        @Override
+        protected ImmutableIntStack reverse(ImmutableIntStack stack) {
+            return stack.reverse();
+        }
+    }
+
+    private static final class Itr implements PrimitiveIterator.OfInt {
+
+        /**
+         * The original queue being enumerated.
+         */
+        private final ImmutableIntQueue originalQueue;
+        /**
+         * The remaining forwards queue not yet enumerated.
+         */
+        private ImmutableIntStack remainingForwardsStack;
+        /**
+         * The remaining backwards stack not yet enumerated. Its order is reversed when the field is first initialized.
+         */
+        private ImmutableIntStack remainingBackwardsStack;
+
+        /**
+         * Initializes a new instance of the {@link Itr} class.
+         *
+         * @param originalQueue The queue to enumerate.
+         */
+        public Itr(ImmutableIntQueue originalQueue) {
+            this.originalQueue = originalQueue;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            if (remainingForwardsStack == null) {
+                return !originalQueue.isEmpty();
+            } else {
+                return !remainingForwardsStack.isEmpty() || !remainingBackwardsStack.isEmpty();
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int nextInt() {
+            if (remainingForwardsStack == null) {
+                remainingForwardsStack = originalQueue.outgoing;
+                remainingBackwardsStack = originalQueue.getIncomingReversed();
+            }
+
+            if (!remainingForwardsStack.isEmpty()) {
+                int result = remainingForwardsStack.peekInt();
+                remainingForwardsStack = remainingForwardsStack.pop();
+                return result;
+            } else if (!remainingBackwardsStack.isEmpty()) {
+                int result = remainingBackwardsStack.peekInt();
+                remainingBackwardsStack = remainingBackwardsStack.pop();
+                return result;
+            }
+
+            throw new NoSuchElementException();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
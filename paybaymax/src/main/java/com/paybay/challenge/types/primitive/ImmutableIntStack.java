@@ -0,0 +1,202 @@
+package com.paybay.challenge.types.primitive;
+
+import com.paybay.challenge.utils.TypeCheckUtil;
+
+import java.util.EmptyStackException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * This is a Singly linked list based Stack of primitive {@code int} values; every node holds its element unboxed.
+ */
+public class ImmutableIntStack implements IntStack {
+
+    private static final ImmutableIntStack EMPTY_STACK = new ImmutableIntStack();
+
+    /**
+     * The element on the top of the stack.
+     */
+    private final int head;
+
+    /**
+     * A stack that contains the rest of the elements (under the top element);
+     */
+    private final ImmutableIntStack tail;
+
+    /**
+     * Initializes a new instance of the {@link ImmutableIntStack} class that acts as the empty stack.
+     */
+    private ImmutableIntStack() {
+        head = 0;
+        tail = null;
+    }
+
+    /**
+     * Initializes a new instance of the {@link ImmutableIntStack} class.
+     *
+     * @param head The head element on the stack.
+     * @param tail The rest of the elements on the stack.
+     */
+    private ImmutableIntStack(int head, ImmutableIntStack tail) {
+        TypeCheckUtil.notNull(tail, "tail");
+
+        this.head = head;
+        this.tail = tail;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableIntStack push(int value) {
+        return new ImmutableIntStack(value, this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableIntStack pop() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        return tail;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int peekInt() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        return head;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return tail == null;
+    }
+
+    /**
+     * Gets the empty stack, upon which all stacks are built.
+     *
+     * @return The empty stack.
+     */
+    public static ImmutableIntStack empty() {
+        return EMPTY_STACK;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableIntStack clear() {
+        return empty();
+    }
+
+    /**
+     * Creates a new immutable collection pre-filled with the specified items.
+     *
+     * @param items The items to pre-populate.
+     * @return The immutable collection.
+     */
+    public static ImmutableIntStack create(int... items) {
+        TypeCheckUtil.notNull(items, "items");
+
+        ImmutableIntStack stack = empty();
+        for (int item : items) {
+            stack = stack.push(item);
+        }
+
+        return stack;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new Itr(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(IntConsumer action) {
+        TypeCheckUtil.notNull(action, "action");
+
+        for (ImmutableIntStack s = this; !s.isEmpty(); s = s.tail) {
+            action.accept(s.head);
+        }
+    }
+
+    /**
+     * Reverses the order of the stack.
+     *
+     * @return The reversed stack.
+     */
+    public ImmutableIntStack reverse() {
+        ImmutableIntStack result = clear();
+        for (ImmutableIntStack f = this; !f.isEmpty(); f = f.tail) {
+            result = result.push(f.head);
+        }
+
+        return result;
+    }
+
+    private static final class Itr implements PrimitiveIterator.OfInt {
+
+        /**
+         * The remaining stack not yet enumerated.
+         */
+        private ImmutableIntStack remainingStack;
+
+        /**
+         * Initializes a new instance of the {@link Itr} class.
+         *
+         * @param originalStack The stack to enumerate.
+         */
+        public Itr(ImmutableIntStack originalStack) {
+            this.remainingStack = originalStack;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            return !remainingStack.isEmpty();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int nextInt() {
+            if (remainingStack.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+
+            int result = remainingStack.head;
+            remainingStack = remainingStack.tail;
+            return result;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
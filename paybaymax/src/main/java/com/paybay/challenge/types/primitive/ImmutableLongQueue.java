@@ -0,0 +1,278 @@
+package com.paybay.challenge.types.primitive;
+
+import com.paybay.challenge.types.AbstractTwoStackQueue;
+import com.paybay.challenge.types.Reversal;
+import com.paybay.challenge.utils.TypeCheckUtil;
+
+import java.util.EmptyStackException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+
+/**
+ * This Queue implementation takes in consideration of 2 stacks
+ *  - backwards and forwards - both based upon {@link ImmutableLongStack}, so elements are never boxed.
+ */
+public class ImmutableLongQueue extends AbstractTwoStackQueue<ImmutableLongStack> implements LongQueue {
+
+    /**
+     * The singleton empty queue.
+     */
+    private static final ImmutableLongQueue EMPTY_QUEUE = new ImmutableLongQueue(ImmutableLongStack.empty(),
+            ImmutableLongStack.empty(), 0);
+
+    /**
+     * front side of the queue where elements are pushed
+     */
+    private final ImmutableLongStack incoming;
+
+    /**
+     * rear side of the queue from which elements are polled.
+     */
+    private final ImmutableLongStack outgoing;
+
+    /**
+     * The number of elements on both stacks, kept here so the stack nodes stay as small as the element allows.
+     */
+    private final int size;
+
+    /**
+     * Initializes a new instance of the {@link ImmutableLongQueue} class that owns its incoming stack.
+     *
+     * @param outgoing The outgoing stack.
+     * @param incoming The incoming stack.
+     * @param size     The number of elements on both stacks.
+     */
+    private ImmutableLongQueue(ImmutableLongStack outgoing, ImmutableLongStack incoming, int size) {
+        this(outgoing, incoming, size, null);
+    }
+
+    /**
+     * Initializes a new instance of the {@link ImmutableLongQueue} class.
+     *
+     * @param outgoing The outgoing stack.
+     * @param incoming The incoming stack.
+     * @param size     The number of elements on both stacks.
+     * @param reversal The reversal link of {@code incoming}, see {@link AbstractTwoStackQueue}; {@code null} if this
+     *                 queue owns {@code incoming}.
+     */
+    private ImmutableLongQueue(ImmutableLongStack outgoing, ImmutableLongStack incoming, int size,
+                               Object reversal) {
+        super(reversal);
+        TypeCheckUtil.notNull(outgoing, "outgoing");
+        TypeCheckUtil.notNull(incoming, "incoming");
+
+        this.outgoing = outgoing;
+        this.incoming = incoming;
+        this.size = size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableLongQueue enQueue(long value) {
+        if (isEmpty()) {
+            return new ImmutableLongQueue(ImmutableLongStack.empty().push(value), ImmutableLongStack.empty(), 1);
+        } else {
+            return new ImmutableLongQueue(outgoing, incoming.push(value), size + 1);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableLongQueue deQueue() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        ImmutableLongStack f = outgoing.pop();
+        if (!f.isEmpty()) {
+            return new ImmutableLongQueue(f, incoming, size - 1, derivedReversal(incoming.isEmpty()));
+        } else if (incoming.isEmpty()) {
+            return empty();
+        } else {
+            return new ImmutableLongQueue(getIncomingReversed(), ImmutableLongStack.empty(), size - 1);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long headLong() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        return outgoing.peekLong();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return outgoing.isEmpty() && incoming.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableLongQueue clear() {
+        return empty();
+    }
+
+    /**
+     * Creates a new immutable collection pre-filled with the specified items.
+     *
+     * @param items The items to pre-populate.
+     * @return The immutable collection.
+     */
+    public static ImmutableLongQueue create(long... items) {
+        TypeCheckUtil.notNull(items, "items");
+
+        // Built directly as the outgoing stack, front element on top, without intermediate queues.
+        ImmutableLongStack outgoing = ImmutableLongStack.empty();
+        for (int i = items.length - 1; i >= 0; i--) {
+            outgoing = outgoing.push(items[i]);
+        }
+
+        return outgoing.isEmpty() ? empty() : new ImmutableLongQueue(outgoing, ImmutableLongStack.empty(), items.length);
+    }
+
+    public static ImmutableLongQueue empty() {
+        return EMPTY_QUEUE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PrimitiveIterator.OfLong iterator() {
+        return new Itr(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(LongConsumer action) {
+        TypeCheckUtil.notNull(action, "action");
+
+        outgoing.forEach(action);
+        if (!incoming.isEmpty()) {
+            getIncomingReversed().forEach(action);
+        }
+    }
+
+    private ImmutableLongStack getIncomingReversed() {
+        if (incoming.isEmpty()) {
+            return incoming;
+        }
+
+        return sharedReversal().get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Reversal<ImmutableLongStack> newReversal() {
+        return new LongReversal(incoming);
+    }
+
+    /**
+     * The {@link Reversal} of an incoming {@link ImmutableLongStack}.
+     */
+    private static final class LongReversal extends Reversal<ImmutableLongStack> {
+
+        LongReversal(ImmutableLongStack incoming) {
+            super(incoming);
+        }
+
+        @Override
+        protected ImmutableLongStack reverse(ImmutableLongStack stack) {
+            return stack.reverse();
+        }
+    }
+
+    private static final class Itr implements PrimitiveIterator.OfLong {
+
+        /**
+         * The original queue being enumerated.
+         */
+        private final ImmutableLongQueue originalQueue;
+        /**
+         * The remaining forwards queue not yet enumerated.
+         */
+        private ImmutableLongStack remainingForwardsStack;
+        /**
+         * The remaining backwards stack not yet enumerated. Its order is reversed when the field is first initialized.
+         */
+        private ImmutableLongStack remainingBackwardsStack;
+
+        /**
+         * Initializes a new instance of the {@link Itr} class.
+         *
+         * @param originalQueue The queue to enumerate.
+         */
+        public Itr(ImmutableLongQueue originalQueue) {
+            this.originalQueue = originalQueue;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            if (remainingForwardsStack == null) {
+                return !originalQueue.isEmpty();
+            } else {
+                return !remainingForwardsStack.isEmpty() || !remainingBackwardsStack.isEmpty();
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long nextLong() {
+            if (remainingForwardsStack == null) {
+                remainingForwardsStack = originalQueue.outgoing;
+                remainingBackwardsStack = originalQueue.getIncomingReversed();
+            }
+
+            if (!remainingForwardsStack.isEmpty()) {
+                long result = remainingForwardsStack.peekLong();
+                remainingForwardsStack = remainingForwardsStack.pop();
+                return result;
+            } else if (!remainingBackwardsStack.isEmpty()) {
+                long result = remainingBackwardsStack.peekLong();
+                remainingBackwardsStack = remainingBackwardsStack.pop();
+                return result;
+            }
+
+            throw new NoSuchElementException();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
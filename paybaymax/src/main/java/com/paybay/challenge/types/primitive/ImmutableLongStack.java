@@ -0,0 +1,202 @@
+package com.paybay.challenge.types.primitive;
+
+import com.paybay.challenge.utils.TypeCheckUtil;
+
+import java.util.EmptyStackException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+
+/**
+ * This is a Singly linked list based Stack of primitive {@code long} values; every node holds its element unboxed.
+ */
+public class ImmutableLongStack implements LongStack {
+
+    private static final ImmutableLongStack EMPTY_STACK = new ImmutableLongStack();
+
+    /**
+     * The element on the top of the stack.
+     */
+    private final long head;
+
+    /**
+     * A stack that contains the rest of the elements (under the top element);
+     */
+    private final ImmutableLongStack tail;
+
+    /**
+     * Initializes a new instance of the {@link ImmutableLongStack} class that acts as the empty stack.
+     */
+    private ImmutableLongStack() {
+        head = 0;
+        tail = null;
+    }
+
+    /**
+     * Initializes a new instance of the {@link ImmutableLongStack} class.
+     *
+     * @param head The head element on the stack.
+     * @param tail The rest of the elements on the stack.
+     */
+    private ImmutableLongStack(long head, ImmutableLongStack tail) {
+        TypeCheckUtil.notNull(tail, "tail");
+
+        this.head = head;
+        this.tail = tail;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableLongStack push(long value) {
+        return new ImmutableLongStack(value, this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableLongStack pop() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        return tail;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long peekLong() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+
+        return head;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return tail == null;
+    }
+
+    /**
+     * Gets the empty stack, upon which all stacks are built.
+     *
+     * @return The empty stack.
+     */
+    public static ImmutableLongStack empty() {
+        return EMPTY_STACK;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutableLongStack clear() {
+        return empty();
+    }
+
+    /**
+     * Creates a new immutable collection pre-filled with the specified items.
+     *
+     * @param items The items to pre-populate.
+     * @return The immutable collection.
+     */
+    public static ImmutableLongStack create(long... items) {
+        TypeCheckUtil.notNull(items, "items");
+
+        ImmutableLongStack stack = empty();
+        for (long item : items) {
+            stack = stack.push(item);
+        }
+
+        return stack;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PrimitiveIterator.OfLong iterator() {
+        return new Itr(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(LongConsumer action) {
+        TypeCheckUtil.notNull(action, "action");
+
+        for (ImmutableLongStack s = this; !s.isEmpty(); s = s.tail) {
+            action.accept(s.head);
+        }
+    }
+
+    /**
+     * Reverses the order of the stack.
+     *
+     * @return The reversed stack.
+     */
+    public ImmutableLongStack reverse() {
+        ImmutableLongStack result = clear();
+        for (ImmutableLongStack f = this; !f.isEmpty(); f = f.tail) {
+            result = result.push(f.head);
+        }
+
+        return result;
+    }
+
+    private static final class Itr implements PrimitiveIterator.OfLong {
+
+        /**
+         * The remaining stack not yet enumerated.
+         */
+        private ImmutableLongStack remainingStack;
+
+        /**
+         * Initializes a new instance of the {@link Itr} class.
+         *
+         * @param originalStack The stack to enumerate.
+         */
+        public Itr(ImmutableLongStack originalStack) {
+            this.remainingStack = originalStack;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            return !remainingStack.isEmpty();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long nextLong() {
+            if (remainingStack.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+
+            long result = remainingStack.head;
+            remainingStack = remainingStack.tail;
+            return result;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
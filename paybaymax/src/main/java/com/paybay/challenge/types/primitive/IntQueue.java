@@ -0,0 +1,71 @@
+package com.paybay.challenge.types.primitive;
+
+import java.util.EmptyStackException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * An immutable first-in first-out queue of primitive {@code int} values that never boxes its elements.
+ */
+public interface IntQueue {
+
+    /**
+     * Adds an element to the back of the queue.
+     *
+     * @param value The element to add to the queue.
+     * @return The new queue.
+     */
+    public IntQueue enQueue(int value);
+
+    /**
+     * Removes the element at the beginning of the immutable queue, and returns the new queue.
+     *
+     * @return The new queue; never {@code null}.
+     * @throws EmptyStackException if the queue is empty.
+     */
+    public IntQueue deQueue();
+
+    /**
+     * Gets the element at the front of the queue.
+     *
+     * @return The element at the front of the queue.
+     * @throws EmptyStackException if the queue is empty.
+     */
+    public int headInt();
+
+    /**
+     * Gets a value indicating whether this is the empty queue.
+     *
+     * @return {@code true} if this queue is empty; otherwise {@code false}.
+     */
+    public boolean isEmpty();
+
+    /**
+     * Gets the number of elements in the queue, in constant time.
+     *
+     * @return The number of elements.
+     */
+    public int size();
+
+    /**
+     * helper - Gets an empty queue.
+     *
+     * @return The empty queue.
+     */
+    public IntQueue clear();
+
+    /**
+     * Gets an iterator over the elements, front of the queue first.
+     *
+     * @return The iterator.
+     */
+    public PrimitiveIterator.OfInt iterator();
+
+    /**
+     * Performs the given action for each element, front of the queue first.
+     *
+     * @param action The action to perform.
+     */
+    public void forEach(IntConsumer action);
+
+}
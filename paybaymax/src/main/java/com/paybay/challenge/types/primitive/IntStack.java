@@ -0,0 +1,64 @@
+package com.paybay.challenge.types.primitive;
+
+import java.util.EmptyStackException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * An immutable last-in first-out stack of primitive {@code int} values that never boxes its elements.
+ */
+public interface IntStack {
+
+    /**
+     * Pushes an element onto a stack and returns the new stack.
+     *
+     * @param value The element to push onto the stack.
+     * @return The new stack.
+     */
+    IntStack push(int value);
+
+    /**
+     * Pops the top element off the stack.
+     *
+     * @return The new stack; never {@code null}.
+     * @throws EmptyStackException if the stack is empty.
+     */
+    IntStack pop();
+
+    /**
+     * Gets the element on the top of the stack.
+     *
+     * @return The element on the top of the stack.
+     * @throws EmptyStackException if the stack is empty.
+     */
+    int peekInt();
+
+    /**
+     * Gets a value indicating whether this is the empty stack.
+     *
+     * @return {@code true} if this stack is empty; otherwise {@code false}.
+     */
+    boolean isEmpty();
+
+    /**
+     * Gets an empty stack.
+     *
+     * @return The empty stack.
+     */
+    IntStack clear();
+
+    /**
+     * Gets an iterator over the elements, top of the stack first.
+     *
+     * @return The iterator.
+     */
+    PrimitiveIterator.OfInt iterator();
+
+    /**
+     * Performs the given action for each element, top of the stack first.
+     *
+     * @param action The action to perform.
+     */
+    void forEach(IntConsumer action);
+
+}
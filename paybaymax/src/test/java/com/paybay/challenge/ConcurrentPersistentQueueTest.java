@@ -0,0 +1,185 @@
+package com.paybay.challenge;
+
+import com.google.common.collect.Iterables;
+import com.paybay.challenge.concurrent.ConcurrentPersistentQueue;
+import com.paybay.challenge.types.ImmutableQueue;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+
+public class ConcurrentPersistentQueueTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void offerAndPollKeepFifoOrder() {
+        ConcurrentPersistentQueue<Integer> queue = new ConcurrentPersistentQueue<Integer>();
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertNull(queue.poll());
+        Assert.assertNull(queue.peek());
+
+        Assert.assertTrue(queue.offer(1));
+        Assert.assertTrue(queue.offer(2));
+        Assert.assertEquals(3, queue.offerAll(3, 4, 5));
+        Assert.assertEquals(5, queue.size());
+        Assert.assertEquals(Integer.valueOf(1), queue.peek());
+
+        Assert.assertEquals(Integer.valueOf(1), queue.poll());
+        assertEqualSequences(Arrays.asList(2, 3), queue.pollBatch(2));
+        List<Integer> drained = new ArrayList<Integer>();
+        Assert.assertEquals(2, queue.drainTo(drained, 10));
+        Assert.assertEquals(Arrays.asList(4, 5), drained);
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertTrue(queue.pollBatch(3).isEmpty());
+    }
+
+    @Test
+    public void snapshotIsUnaffectedByLaterOperations() {
+        ConcurrentPersistentQueue<Integer> queue =
+                new ConcurrentPersistentQueue<Integer>(ImmutableQueue.create(1, 2, 3));
+        ImmutableQueue<Integer> snapshot = queue.snapshot();
+
+        queue.poll();
+        queue.offer(4);
+        assertEqualSequences(Arrays.asList(1, 2, 3), snapshot);
+        assertEqualSequences(Arrays.asList(2, 3, 4), queue.snapshot());
+
+        assertEqualSequences(Arrays.asList(2, 3, 4), queue.clear());
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void offerNullThrows() {
+        thrown.expect(instanceOf(NullPointerException.class));
+        new ConcurrentPersistentQueue<Integer>().offer(null);
+    }
+
+    @Test
+    public void initialQueueWithNullElementThrows() {
+        thrown.expect(instanceOf(NullPointerException.class));
+        new ConcurrentPersistentQueue<Integer>(ImmutableQueue.<Integer>create(1, 2).enQueue(null).enQueue(4));
+    }
+
+    @Test
+    public void offerAllWithNullElementLeavesQueueUnchanged() {
+        ConcurrentPersistentQueue<Integer> queue = new ConcurrentPersistentQueue<Integer>();
+        try {
+            queue.offerAll(1, null);
+            Assert.fail();
+        } catch (NullPointerException expected) {
+            Assert.assertTrue(queue.isEmpty());
+        }
+    }
+
+    @Test
+    public void pollBatchNegativeThrows() {
+        thrown.expect(instanceOf(IllegalArgumentException.class));
+        new ConcurrentPersistentQueue<Integer>().pollBatch(-1);
+    }
+
+    @Test
+    public void concurrentProducersAndConsumersLoseNothing() throws Exception {
+        final int producers = 4;
+        final int consumers = 4;
+        final int perProducer = 20000;
+        final ConcurrentPersistentQueue<Integer> queue = new ConcurrentPersistentQueue<Integer>();
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(producers + consumers);
+        try {
+            for (int p = 0; p < producers; p++) {
+                final int first = p * perProducer;
+                pool.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        start.await();
+                        for (int i = 0; i < perProducer; i++) {
+                            if (i % 3 == 0 && i + 2 < perProducer) {
+                                queue.offerAll(first + i, first + i + 1, first + i + 2);
+                                i += 2;
+                            } else {
+                                queue.offer(first + i);
+                            }
+                        }
+                        return null;
+                    }
+                });
+            }
+
+            final int total = producers * perProducer;
+            final AtomicInteger consumed = new AtomicInteger();
+            List<Future<List<Integer>>> results = new ArrayList<Future<List<Integer>>>();
+            for (int c = 0; c < consumers; c++) {
+                final boolean batched = c % 2 == 0;
+                results.add(pool.submit(new Callable<List<Integer>>() {
+                    @Override
+                    public List<Integer> call() throws Exception {
+                        start.await();
+                        List<Integer> seen = new ArrayList<Integer>();
+                        while (consumed.get() < total) {
+                            int n;
+                            if (batched) {
+                                n = queue.drainTo(seen, 16);
+                            } else {
+                                Integer value = queue.poll();
+                                n = value == null ? 0 : 1;
+                                if (value != null) {
+                                    seen.add(value);
+                                }
+                            }
+
+                            if (n == 0) {
+                                Thread.yield();
+                            } else {
+                                consumed.addAndGet(n);
+                            }
+                        }
+                        return seen;
+                    }
+                }));
+            }
+
+            start.countDown();
+            BitSet all = new BitSet(total);
+            for (Future<List<Integer>> result : results) {
+                List<Integer> seen = result.get(60, TimeUnit.SECONDS);
+                int last = -1;
+                for (Integer value : seen) {
+                    Assert.assertFalse("duplicate " + value, all.get(value));
+                    all.set(value);
+                    // Values of one producer reach a single consumer in the order they were offered.
+                    if (last >= 0 && last / perProducer == value / perProducer) {
+                        Assert.assertTrue(last < value);
+                    }
+                    last = value;
+                }
+            }
+
+            Assert.assertEquals(total, all.cardinality());
+            Assert.assertTrue(queue.isEmpty());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static <T> void assertEqualSequences(Iterable<? extends T> left, Iterable<? extends T> right) {
+        Object[] leftArray = Iterables.toArray(left, Object.class);
+        Object[] rightArray = Iterables.toArray(right, Object.class);
+        Assert.assertArrayEquals(leftArray, rightArray);
+    }
+}
@@ -0,0 +1,174 @@
+package com.paybay.challenge;
+
+import com.google.common.collect.Iterables;
+import com.paybay.challenge.types.Aggregator;
+import com.paybay.challenge.types.Aggregators;
+import com.paybay.challenge.types.ImmutableAggregatingQueue;
+import com.paybay.challenge.types.ImmutableQueue;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EmptyStackException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ImmutableAggregatingQueueTest {
+
+    /**
+     * Concatenation: associative but not commutative, so it catches aggregates combined out of order.
+     */
+    private static final Aggregator<String, String> CONCAT = new Aggregator<String, String>() {
+        @Override
+        public String identity() {
+            return "";
+        }
+
+        @Override
+        public String lift(String value) {
+            return value;
+        }
+
+        @Override
+        public String combine(String front, String back) {
+            return front + back;
+        }
+    };
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void aggregateFollowsQueueOrderAcrossReversal() {
+        ImmutableAggregatingQueue<String, String> queue = ImmutableAggregatingQueue.empty(CONCAT);
+        Assert.assertEquals("", queue.aggregate());
+
+        queue = queue.enQueue("a").enQueue("b").enQueue("c");
+        Assert.assertEquals("abc", queue.aggregate());
+
+        queue = queue.deQueue();
+        Assert.assertEquals("bc", queue.aggregate());
+
+        queue = queue.enQueue("d").deQueue();
+        Assert.assertEquals("cd", queue.aggregate());
+        assertEqualSequences(Arrays.asList("c", "d"), queue);
+    }
+
+    @Test
+    public void versionsShareOneReversal() {
+        final AtomicInteger lifts = new AtomicInteger();
+        Aggregator<String, String> counting = new Aggregator<String, String>() {
+            @Override
+            public String identity() {
+                return "";
+            }
+
+            @Override
+            public String lift(String value) {
+                lifts.incrementAndGet();
+                return value;
+            }
+
+            @Override
+            public String combine(String front, String back) {
+                return front + back;
+            }
+        };
+
+        ImmutableAggregatingQueue<String, String> queue = ImmutableAggregatingQueue.createAll(counting,
+                Arrays.asList("x", "y"));
+        for (int i = 0; i < 100; i++) {
+            queue = queue.enQueue(Integer.toString(i % 10));
+        }
+
+        // Every version holding the same incoming stack reuses the reversal computed by the first of them.
+        ImmutableAggregatingQueue<String, String> derived = queue.deQueue();
+        lifts.set(0);
+        ImmutableAggregatingQueue<String, String> reversed = derived.deQueue();
+        Assert.assertEquals(100, lifts.get());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(reversed.aggregate(), derived.deQueue().aggregate());
+            Assert.assertEquals(reversed.aggregate(), queue.deQueue().deQueue().aggregate());
+        }
+
+        Assert.assertEquals(100, lifts.get());
+    }
+
+    @Test
+    public void randomOperationsMatchRecomputation() {
+        Random random = new Random(42);
+        Aggregator<Integer, Integer> min = Aggregators.min(Comparator.<Integer>naturalOrder());
+        Aggregator<Integer, Integer> max = Aggregators.max(Comparator.<Integer>naturalOrder());
+        ImmutableAggregatingQueue<Integer, Integer> minQueue = ImmutableAggregatingQueue.empty(min);
+        ImmutableAggregatingQueue<Integer, Integer> maxQueue = ImmutableAggregatingQueue.empty(max);
+        ImmutableQueue<Integer> expected = ImmutableQueue.empty();
+
+        for (int i = 0; i < 2000; i++) {
+            if (!expected.isEmpty() && random.nextInt(3) == 0) {
+                minQueue = minQueue.deQueue();
+                maxQueue = maxQueue.deQueue();
+                expected = expected.deQueue();
+            } else {
+                int value = random.nextInt(1000);
+                minQueue = minQueue.enQueue(value);
+                maxQueue = maxQueue.enQueue(value);
+                expected = expected.enQueue(value);
+            }
+
+            Integer expectedMin = null;
+            Integer expectedMax = null;
+            for (Integer value : expected) {
+                expectedMin = expectedMin == null || value < expectedMin ? value : expectedMin;
+                expectedMax = expectedMax == null || value > expectedMax ? value : expectedMax;
+            }
+
+            Assert.assertEquals(expectedMin, minQueue.aggregate());
+            Assert.assertEquals(expectedMax, maxQueue.aggregate());
+            Assert.assertEquals(expected.size(), minQueue.size());
+        }
+
+        assertEqualSequences(expected, minQueue);
+    }
+
+    @Test
+    public void builtInAggregators() {
+        Iterable<Integer> values = Arrays.asList(4, 1, 5, 2);
+
+        Assert.assertEquals(Long.valueOf(4), ImmutableAggregatingQueue.createAll(Aggregators.<Integer>count(), values).aggregate());
+        Assert.assertEquals(Long.valueOf(12), ImmutableAggregatingQueue.createAll(Aggregators.sum(Integer::longValue), values).aggregate());
+        Assert.assertEquals(Integer.valueOf(1), ImmutableAggregatingQueue.createAll(Aggregators.min(Comparator.<Integer>naturalOrder()), values).aggregate());
+        Assert.assertEquals(Integer.valueOf(5), ImmutableAggregatingQueue.createAll(Aggregators.max(Comparator.<Integer>naturalOrder()), values).aggregate());
+
+        Aggregators.Mean mean = ImmutableAggregatingQueue.createAll(Aggregators.mean(Integer::doubleValue), values).deQueue().aggregate();
+        Assert.assertEquals(3, mean.count());
+        Assert.assertEquals(8.0 / 3, mean.value(), 1e-9);
+        Assert.assertTrue(Double.isNaN(ImmutableAggregatingQueue.empty(Aggregators.mean(Integer::doubleValue)).aggregate().value()));
+    }
+
+    @Test
+    public void persistentVersionsKeepTheirAggregates() {
+        ImmutableAggregatingQueue<Integer, Long> base = ImmutableAggregatingQueue.empty(Aggregators.sum(Integer::longValue)).enQueueAll(1, 2, 3);
+        ImmutableAggregatingQueue<Integer, Long> left = base.enQueue(10);
+        ImmutableAggregatingQueue<Integer, Long> right = base.deQueue().enQueue(20);
+
+        Assert.assertEquals(Long.valueOf(6), base.aggregate());
+        Assert.assertEquals(Long.valueOf(16), left.aggregate());
+        Assert.assertEquals(Long.valueOf(25), right.aggregate());
+    }
+
+    @Test
+    public void dequeueEmptyQueueThrows() {
+        thrown.expect(EmptyStackException.class);
+
+        ImmutableAggregatingQueue.empty(Aggregators.count()).deQueue();
+    }
+
+    private static <T> void assertEqualSequences(Iterable<? extends T> left, Iterable<? extends T> right) {
+        Object[] leftArray = Iterables.toArray(left, Object.class);
+        Object[] rightArray = Iterables.toArray(right, Object.class);
+        Assert.assertArrayEquals(leftArray, rightArray);
+    }
+}
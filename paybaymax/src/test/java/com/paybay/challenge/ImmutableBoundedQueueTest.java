@@ -0,0 +1,120 @@
+package com.paybay.challenge;
+
+import com.google.common.collect.Iterables;
+import com.paybay.challenge.types.ImmutableBoundedQueue;
+import com.paybay.challenge.types.WindowPolicy;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EmptyStackException;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+public class ImmutableBoundedQueueTest {
+
+    private static final ToLongFunction<Long> IDENTITY = new ToLongFunction<Long>() {
+        @Override
+        public long applyAsLong(Long value) {
+            return value;
+        }
+    };
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void enqueueBeyondCapacityEvictsHead() {
+        ImmutableBoundedQueue<Integer> window = ImmutableBoundedQueue.<Integer>empty(3).enQueue(1).enQueue(2).enQueue(3);
+        assertEqualSequences(new Integer[]{1, 2, 3}, window);
+
+        List<Integer> evicted = new ArrayList<Integer>();
+        ImmutableBoundedQueue<Integer> next = window.enQueue(4, evicted::add);
+        assertEqualSequences(new Integer[]{2, 3, 4}, next);
+        Assert.assertEquals(Arrays.asList(1), evicted);
+        Assert.assertEquals(3, next.size());
+
+        // The original version is untouched.
+        assertEqualSequences(new Integer[]{1, 2, 3}, window);
+    }
+
+    @Test
+    public void windowsOfOnePolicyShareTheEmptyWindow() {
+        WindowPolicy<Integer> policy = WindowPolicy.capacity(2);
+        ImmutableBoundedQueue<Integer> window = policy.empty().enQueue(1).enQueue(2).enQueue(3);
+
+        Assert.assertSame(policy, window.policy());
+        Assert.assertSame(policy.empty(), window.clear());
+        Assert.assertSame(policy.empty(), window.deQueue().deQueue());
+        Assert.assertSame(policy.empty(), window.deQueue(2));
+    }
+
+    @Test
+    public void enqueueAllKeepsTheLastElements() {
+        ImmutableBoundedQueue<Integer> window = ImmutableBoundedQueue.<Integer>empty(3).enQueue(0).enQueueAll(1, 2, 3, 4, 5);
+
+        assertEqualSequences(new Integer[]{3, 4, 5}, window);
+        Assert.assertEquals(Integer.valueOf(3), window.head());
+    }
+
+    @Test
+    public void timedWindowEvictsByAgeOfNewestElement() {
+        WindowPolicy<Long> policy = WindowPolicy.timed(Integer.MAX_VALUE, 10, IDENTITY);
+        ImmutableBoundedQueue<Long> window = policy.empty().enQueue(1L).enQueue(5L).enQueue(10L);
+        assertEqualSequences(new Long[]{1L, 5L, 10L}, window);
+
+        List<Long> evicted = new ArrayList<Long>();
+        ImmutableBoundedQueue<Long> next = window.enQueue(15L, evicted::add);
+        assertEqualSequences(new Long[]{10L, 15L}, next);
+        Assert.assertEquals(Arrays.asList(1L, 5L), evicted);
+    }
+
+    @Test
+    public void timedWindowIsAlsoBoundedByCapacity() {
+        WindowPolicy<Long> policy = WindowPolicy.timed(2, 100, IDENTITY);
+        ImmutableBoundedQueue<Long> window = policy.empty().enQueueAll(1L, 2L, 3L);
+
+        assertEqualSequences(new Long[]{2L, 3L}, window);
+    }
+
+    @Test
+    public void expireEvictsWithoutEnqueueing() {
+        WindowPolicy<Long> policy = WindowPolicy.timed(10, 10, IDENTITY);
+        ImmutableBoundedQueue<Long> window = policy.empty().enQueueAll(1L, 5L, 8L);
+
+        Assert.assertSame(window, window.expire(10));
+        assertEqualSequences(new Long[]{5L, 8L}, window.expire(11));
+        Assert.assertSame(policy.empty(), window.expire(100));
+
+        ImmutableBoundedQueue<Integer> untimed = ImmutableBoundedQueue.<Integer>empty(2).enQueue(1);
+        Assert.assertSame(untimed, untimed.expire(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void dequeueEmptyWindowThrows() {
+        thrown.expect(EmptyStackException.class);
+
+        ImmutableBoundedQueue.<Integer>empty(1).deQueue();
+    }
+
+    @Test
+    public void nonPositiveCapacityIsRejected() {
+        thrown.expect(IllegalArgumentException.class);
+
+        WindowPolicy.capacity(0);
+    }
+
+    @Test
+    public void nonPositiveMaxAgeIsRejected() {
+        thrown.expect(IllegalArgumentException.class);
+
+        WindowPolicy.timed(1, 0, IDENTITY);
+    }
+
+    private static <T> void assertEqualSequences(T[] expected, Iterable<T> actual) {
+        Assert.assertArrayEquals(expected, Iterables.toArray(actual, Object.class));
+    }
+}
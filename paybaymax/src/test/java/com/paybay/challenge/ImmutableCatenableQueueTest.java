@@ -0,0 +1,164 @@
+package com.paybay.challenge;
+
+import com.google.common.collect.Iterables;
+import com.paybay.challenge.types.ImmutableCatenableQueue;
+import com.paybay.challenge.types.Split;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EmptyStackException;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+
+public class ImmutableCatenableQueueTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void create() {
+        ImmutableCatenableQueue<Integer> queue = ImmutableCatenableQueue.create();
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertSame(ImmutableCatenableQueue.<Integer>empty(), queue);
+
+        queue = ImmutableCatenableQueue.create(1, 2, 3);
+        Assert.assertEquals(3, queue.size());
+        Assert.assertEquals(Integer.valueOf(1), queue.head());
+        assertEqualSequences(Arrays.asList(1, 2, 3), queue);
+        Assert.assertSame(ImmutableCatenableQueue.<Integer>empty(), queue.deQueue().deQueue().deQueue());
+    }
+
+    @Test
+    public void concatTest() {
+        ImmutableCatenableQueue<Integer> left = ImmutableCatenableQueue.create(1, 2, 3);
+        ImmutableCatenableQueue<Integer> right = ImmutableCatenableQueue.create(4, 5);
+        ImmutableCatenableQueue<Integer> both = left.concat(right);
+
+        assertEqualSequences(Arrays.asList(1, 2, 3, 4, 5), both);
+        assertEqualSequences(Arrays.asList(1, 2, 3), left);
+        assertEqualSequences(Arrays.asList(4, 5), right);
+        Assert.assertSame(left, left.concat(ImmutableCatenableQueue.<Integer>empty()));
+        Assert.assertSame(right, ImmutableCatenableQueue.<Integer>empty().concat(right));
+    }
+
+    @Test
+    public void splitAtTest() {
+        ImmutableCatenableQueue<Integer> queue = ImmutableCatenableQueue.createAll(range(0, 100));
+        Split<ImmutableCatenableQueue<Integer>> split = queue.splitAt(37);
+        assertEqualSequences(range(0, 37), split.front());
+        assertEqualSequences(range(37, 100), split.rest());
+        Assert.assertEquals(37, split.front().size());
+        Assert.assertEquals(63, split.rest().size());
+
+        Assert.assertTrue(queue.splitAt(0).front().isEmpty());
+        Assert.assertSame(queue, queue.splitAt(100).front());
+        assertEqualSequences(range(90, 100), queue.deQueue(90));
+        assertEqualSequences(range(0, 10), queue.take(10));
+    }
+
+    @Test
+    public void splitAtOutOfRangeThrows() {
+        thrown.expect(instanceOf(IndexOutOfBoundsException.class));
+        ImmutableCatenableQueue.create(1, 2).splitAt(3);
+    }
+
+    @Test
+    public void getOutOfRangeThrows() {
+        thrown.expect(instanceOf(IndexOutOfBoundsException.class));
+        ImmutableCatenableQueue.create(1, 2).get(2);
+    }
+
+    @Test
+    public void deQueueEmptyThrows() {
+        thrown.expect(instanceOf(EmptyStackException.class));
+        ImmutableCatenableQueue.<Integer>empty().deQueue();
+    }
+
+    @Test
+    public void arrayElementsAreKept() {
+        Object[] element = new Object[] { "x" };
+        ImmutableCatenableQueue<Object> queue = ImmutableCatenableQueue.<Object>createAll(range(0, 50)).enQueue(element);
+        Assert.assertSame(element, queue.get(50));
+        Assert.assertSame(element, Iterables.getLast(queue));
+    }
+
+    @Test
+    public void randomOperationsMatchList() {
+        Random random = new Random(11);
+        List<ImmutableCatenableQueue<Integer>> queues = new ArrayList<ImmutableCatenableQueue<Integer>>();
+        List<List<Integer>> expected = new ArrayList<List<Integer>>();
+        queues.add(ImmutableCatenableQueue.<Integer>empty());
+        expected.add(new ArrayList<Integer>());
+        int next = 0;
+        for (int step = 0; step < 3000; step++) {
+            int pick = random.nextInt(queues.size());
+            ImmutableCatenableQueue<Integer> queue = queues.get(pick);
+            List<Integer> list = expected.get(pick);
+            int op = random.nextInt(4);
+            if (op == 0) {
+                int count = random.nextInt(50);
+                for (int i = 0; i < count; i++) {
+                    queue = queue.enQueue(next);
+                    list = append(list, next++);
+                }
+            } else if (op == 1 && !list.isEmpty()) {
+                queue = queue.deQueue();
+                list = new ArrayList<Integer>(list.subList(1, list.size()));
+            } else if (op == 2) {
+                int other = random.nextInt(queues.size());
+                queue = queue.concat(queues.get(other));
+                list = new ArrayList<Integer>(list);
+                list.addAll(expected.get(other));
+            } else {
+                int index = random.nextInt(list.size() + 1);
+                Split<ImmutableCatenableQueue<Integer>> split = queue.splitAt(index);
+                queues.add(split.front());
+                expected.add(new ArrayList<Integer>(list.subList(0, index)));
+                queue = split.rest();
+                list = new ArrayList<Integer>(list.subList(index, list.size()));
+            }
+
+            Assert.assertEquals(list.size(), queue.size());
+            if (!list.isEmpty()) {
+                int index = random.nextInt(list.size());
+                Assert.assertEquals(list.get(index), queue.get(index));
+            }
+
+            if (list.size() < 5000) {
+                queues.add(queue);
+                expected.add(list);
+            }
+        }
+
+        for (int i = 0; i < queues.size(); i++) {
+            assertEqualSequences(expected.get(i), queues.get(i));
+        }
+    }
+
+    private static List<Integer> append(List<Integer> list, int value) {
+        List<Integer> result = new ArrayList<Integer>(list);
+        result.add(value);
+        return result;
+    }
+
+    private static List<Integer> range(int from, int to) {
+        List<Integer> result = new ArrayList<Integer>();
+        for (int i = from; i < to; i++) {
+            result.add(i);
+        }
+
+        return result;
+    }
+
+    private static <T> void assertEqualSequences(Iterable<? extends T> left, Iterable<? extends T> right) {
+        Object[] leftArray = Iterables.toArray(left, Object.class);
+        Object[] rightArray = Iterables.toArray(right, Object.class);
+        Assert.assertArrayEquals(leftArray, rightArray);
+    }
+}
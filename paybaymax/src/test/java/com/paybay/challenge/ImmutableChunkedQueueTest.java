@@ -0,0 +1,198 @@
+package com.paybay.challenge;
+
+import com.google.common.collect.Iterables;
+import com.paybay.challenge.types.ImmutableChunkedQueue;
+import com.paybay.challenge.types.ImmutableChunkedStack;
+import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.Queue;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EmptyStackException;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+
+public class ImmutableChunkedQueueTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void create() {
+        ImmutableChunkedQueue<Integer> queue = ImmutableChunkedQueue.create();
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertSame(ImmutableChunkedQueue.<Integer>empty(), queue);
+
+        queue = ImmutableChunkedQueue.create(1, 2);
+        assertEqualSequences(Arrays.asList(1, 2), queue);
+
+        queue = ImmutableChunkedQueue.createAll(Arrays.asList(1, 2, 3));
+        assertEqualSequences(Arrays.asList(1, 2, 3), queue);
+    }
+
+    @Test
+    public void peekEmptyThrows() {
+        thrown.expect(instanceOf(EmptyStackException.class));
+        ImmutableChunkedQueue.<Integer>empty().head();
+    }
+
+    @Test
+    public void popEmptyStackThrows() {
+        thrown.expect(instanceOf(EmptyStackException.class));
+        ImmutableChunkedStack.<Integer>empty().pop();
+    }
+
+    @Test
+    public void stackOrderAcrossChunks() {
+        List<Integer> values = new ArrayList<Integer>();
+        for (int i = 0; i < 100; i++) {
+            values.add(i);
+        }
+
+        ImmutableChunkedStack<Integer> stack = ImmutableChunkedStack.createAll(values);
+        Assert.assertEquals(100, stack.size());
+        Assert.assertEquals(100, stack.reverse().size());
+        Assert.assertEquals(101, stack.push(100).size());
+        for (int i = 99; i >= 0; i--) {
+            Assert.assertEquals(i + 1, stack.size());
+            Assert.assertEquals(i, (int)stack.peek());
+            stack = stack.pop();
+        }
+
+        Assert.assertTrue(stack.isEmpty());
+        Assert.assertSame(ImmutableChunkedStack.<Integer>empty(), stack);
+    }
+
+    @Test
+    public void pushOntoSharedVersionCopiesOnWrite() {
+        ImmutableChunkedStack<Integer> base = ImmutableChunkedStack.create(1, 2, 3);
+        ImmutableChunkedStack<Integer> left = base.push(4);
+        ImmutableChunkedStack<Integer> right = base.push(5);
+        ImmutableChunkedStack<Integer> leftAgain = left.push(6);
+
+        assertEqualSequences(Arrays.asList(3, 2, 1), base);
+        assertEqualSequences(Arrays.asList(4, 3, 2, 1), left);
+        assertEqualSequences(Arrays.asList(5, 3, 2, 1), right);
+        assertEqualSequences(Arrays.asList(6, 4, 3, 2, 1), leftAgain);
+        assertEqualSequences(Arrays.asList(7, 3, 2, 1), base.push(7));
+        assertEqualSequences(Arrays.asList(8, 2, 1), base.pop().push(8));
+    }
+
+    @Test
+    public void randomOperationsMatchLinkedQueue() {
+        Random random = new Random(7);
+        Queue<Integer> chunked = ImmutableChunkedQueue.empty();
+        Queue<Integer> linked = ImmutableQueue.empty();
+        ArrayDeque<Integer> expected = new ArrayDeque<Integer>();
+
+        for (int i = 0; i < 20000; i++) {
+            if (expected.isEmpty() || random.nextInt(3) != 0) {
+                chunked = chunked.enQueue(i);
+                linked = linked.enQueue(i);
+                expected.addLast(i);
+            } else {
+                Assert.assertEquals(linked.head(), chunked.head());
+                chunked = chunked.deQueue();
+                linked = linked.deQueue();
+                expected.removeFirst();
+            }
+
+            Assert.assertEquals(expected.size(), chunked.size());
+            if (i % 101 == 0) {
+                assertEqualSequences(expected, chunked);
+            }
+        }
+
+        assertEqualSequences(expected, chunked);
+    }
+
+    @Test
+    public void olderVersionsAreUnaffected() {
+        ImmutableChunkedQueue<Integer> queue = ImmutableChunkedQueue.create(0, 1, 2);
+        ImmutableChunkedQueue<Integer> left = queue.enQueue(3);
+        ImmutableChunkedQueue<Integer> right = queue.enQueue(-3).deQueue();
+
+        assertEqualSequences(Arrays.asList(0, 1, 2), queue);
+        assertEqualSequences(Arrays.asList(0, 1, 2, 3), left);
+        assertEqualSequences(Arrays.asList(1, 2, -3), right);
+    }
+
+    @Test
+    public void racingVersionsReadOneReversal() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            ImmutableChunkedQueue<Integer> queue = ImmutableChunkedQueue.empty();
+            final List<Integer> expected = new ArrayList<Integer>();
+            for (int i = 0; i < 3000; i++) {
+                queue = queue.enQueue(i);
+                expected.add(i);
+            }
+
+            // Every reader reaches the reversal through a different version that holds the same incoming stack.
+            final ImmutableChunkedQueue<Integer> version = queue.deQueue();
+            final List<Throwable> failures = Collections.synchronizedList(new ArrayList<Throwable>());
+            Thread[] readers = new Thread[4];
+            for (int t = 0; t < readers.length; t++) {
+                final int skip = t;
+                readers[t] = new Thread(() -> {
+                    try {
+                        ImmutableChunkedQueue<Integer> derived = version;
+                        for (int i = 0; i < skip; i++) {
+                            derived = derived.deQueue();
+                        }
+
+                        assertEqualSequences(expected.subList(1 + skip, expected.size()), derived);
+                    } catch (Throwable e) {
+                        failures.add(e);
+                    }
+                });
+            }
+
+            for (Thread reader : readers) {
+                reader.start();
+            }
+
+            for (Thread reader : readers) {
+                reader.join();
+            }
+
+            Assert.assertEquals(Collections.<Throwable>emptyList(), failures);
+        }
+    }
+
+    @Test
+    public void parallelStreamKeepsOrder() {
+        List<Integer> expected = new ArrayList<Integer>();
+        ImmutableChunkedQueue<Integer> queue = ImmutableChunkedQueue.empty();
+        for (int i = 0; i < 50000; i++) {
+            queue = queue.enQueue(i);
+            expected.add(i);
+        }
+
+        queue = queue.deQueue().enQueue(-1);
+        expected.remove(0);
+        expected.add(-1);
+
+        Assert.assertEquals(expected.size(), queue.spliterator().estimateSize());
+        Assert.assertEquals(expected, queue.parallelStream().collect(Collectors.toList()));
+
+        ImmutableChunkedStack<Integer> stack = ImmutableChunkedStack.createAll(expected).pop();
+        List<Integer> reversed = new ArrayList<Integer>(expected.subList(0, expected.size() - 1));
+        Collections.reverse(reversed);
+        Assert.assertEquals(reversed, stack.parallelStream().collect(Collectors.toList()));
+    }
+
+    private static <T> void assertEqualSequences(Iterable<? extends T> left, Iterable<? extends T> right) {
+        Object[] leftArray = Iterables.toArray(left, Object.class);
+        Object[] rightArray = Iterables.toArray(right, Object.class);
+        Assert.assertArrayEquals(leftArray, rightArray);
+    }
+}
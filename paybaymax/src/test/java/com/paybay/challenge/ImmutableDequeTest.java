@@ -0,0 +1,146 @@
+package com.paybay.challenge;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.paybay.challenge.types.ImmutableDeque;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.EmptyStackException;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+
+public class ImmutableDequeTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void create() {
+        ImmutableDeque<Integer> deque = ImmutableDeque.create();
+        Assert.assertTrue(deque.isEmpty());
+        Assert.assertSame(ImmutableDeque.<Integer>empty(), deque);
+
+        deque = ImmutableDeque.create(1, 2, 3);
+        Assert.assertEquals(3, deque.size());
+        assertEqualSequences(Arrays.asList(1, 2, 3), deque);
+        assertEqualSequences(Arrays.asList(3, 2, 1), Lists.newArrayList(deque.descendingIterator()));
+    }
+
+    @Test
+    public void bothEnds() {
+        ImmutableDeque<Integer> deque = ImmutableDeque.<Integer>empty().enQueueFront(2).enQueueBack(3).enQueueFront(1);
+        Assert.assertEquals(Integer.valueOf(1), deque.peekFirst());
+        Assert.assertEquals(Integer.valueOf(3), deque.peekLast());
+        assertEqualSequences(Arrays.asList(1, 2, 3), deque);
+
+        assertEqualSequences(Arrays.asList(2, 3), deque.deQueueFront());
+        assertEqualSequences(Arrays.asList(1, 2), deque.deQueueBack());
+        Assert.assertSame(ImmutableDeque.<Integer>empty(), deque.deQueueBack().deQueueFront().deQueueBack());
+    }
+
+    @Test
+    public void oneSidedDequeIsServedFromBothEnds() {
+        ImmutableDeque<Integer> backOnly = ImmutableDeque.create(1, 2, 3, 4, 5);
+        Assert.assertEquals(Integer.valueOf(1), backOnly.peekFirst());
+        Assert.assertEquals(Integer.valueOf(5), backOnly.peekLast());
+        assertEqualSequences(Arrays.asList(2, 3, 4, 5), backOnly.deQueueFront());
+        assertEqualSequences(Arrays.asList(1, 2, 3, 4), backOnly.deQueueBack());
+
+        ImmutableDeque<Integer> frontOnly = ImmutableDeque.<Integer>empty().enQueueFront(3).enQueueFront(2).enQueueFront(1);
+        Assert.assertEquals(Integer.valueOf(3), frontOnly.peekLast());
+        assertEqualSequences(Arrays.asList(1, 2), frontOnly.deQueueBack());
+        assertEqualSequences(Arrays.asList(2, 3), frontOnly.deQueueFront());
+    }
+
+    @Test
+    public void splitIsSharedByVersionsDerivedFromOneDequeue() {
+        // One element on the front stack, the rest on the back stack.
+        ImmutableDeque<Integer> deque = ImmutableDeque.<Integer>empty().enQueueBack(0).enQueueBack(1);
+        for (int i = 2; i < 1000; i++) {
+            deque = deque.enQueueBack(i);
+        }
+
+        // The dequeue that empties the front splits the back once, for every caller.
+        ImmutableDeque<Integer> drained = deque.deQueueFront();
+        Assert.assertSame(drained, deque.deQueueFront());
+        Assert.assertEquals(Integer.valueOf(1), drained.peekFirst());
+        Assert.assertEquals(Integer.valueOf(999), drained.peekLast());
+        assertEqualSequences(deque.deQueueFront().deQueueFront(), drained.deQueueFront());
+
+        ImmutableDeque<Integer> mirrored = ImmutableDeque.<Integer>empty().enQueueFront(0).enQueueFront(1);
+        for (int i = 2; i < 1000; i++) {
+            mirrored = mirrored.enQueueFront(i);
+        }
+
+        Assert.assertSame(mirrored.deQueueBack(), mirrored.deQueueBack());
+        Assert.assertEquals(Integer.valueOf(1), mirrored.deQueueBack().peekLast());
+    }
+
+    @Test
+    public void olderVersionsAreUnaffected() {
+        ImmutableDeque<Integer> deque = ImmutableDeque.create(1, 2, 3);
+        ImmutableDeque<Integer> shorter = deque.deQueueFront();
+        ImmutableDeque<Integer> longer = deque.enQueueFront(0);
+
+        assertEqualSequences(Arrays.asList(1, 2, 3), deque);
+        assertEqualSequences(Arrays.asList(2, 3), shorter);
+        assertEqualSequences(Arrays.asList(0, 1, 2, 3), longer);
+        Assert.assertEquals(Arrays.asList(1, 2, 3), deque.stream().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void peekEmptyThrows() {
+        thrown.expect(instanceOf(EmptyStackException.class));
+        ImmutableDeque.<Integer>empty().peekLast();
+    }
+
+    @Test
+    public void deQueueBackEmptyThrows() {
+        thrown.expect(instanceOf(EmptyStackException.class));
+        ImmutableDeque.<Integer>empty().deQueueBack();
+    }
+
+    @Test
+    public void randomOperationsMatchArrayDeque() {
+        Random random = new Random(42);
+        ArrayDeque<Integer> expected = new ArrayDeque<Integer>();
+        ImmutableDeque<Integer> actual = ImmutableDeque.empty();
+        for (int i = 0; i < 10000; i++) {
+            int op = random.nextInt(4);
+            if (op == 0) {
+                expected.addFirst(i);
+                actual = actual.enQueueFront(i);
+            } else if (op == 1) {
+                expected.addLast(i);
+                actual = actual.enQueueBack(i);
+            } else if (expected.isEmpty()) {
+                continue;
+            } else if (op == 2) {
+                Assert.assertEquals(expected.pollFirst(), actual.peekFirst());
+                actual = actual.deQueueFront();
+            } else {
+                Assert.assertEquals(expected.pollLast(), actual.peekLast());
+                actual = actual.deQueueBack();
+            }
+
+            Assert.assertEquals(expected.size(), actual.size());
+        }
+
+        assertEqualSequences(expected, actual);
+        assertEqualSequences(Lists.newArrayList(expected.descendingIterator()),
+                Lists.newArrayList(actual.descendingIterator()));
+    }
+
+    private static <T> void assertEqualSequences(Iterable<? extends T> left, Iterable<? extends T> right) {
+        Object[] leftArray = Iterables.toArray(left, Object.class);
+        Object[] rightArray = Iterables.toArray(right, Object.class);
+        Assert.assertArrayEquals(leftArray, rightArray);
+    }
+}
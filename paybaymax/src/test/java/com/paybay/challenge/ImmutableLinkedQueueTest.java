@@ -2,13 +2,18 @@ package com.paybay.challenge;
 
 import com.google.common.collect.Iterables;
 import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.ImmutableStack;
 import com.paybay.challenge.types.Queue;
+import com.paybay.challenge.types.QueueDelta;
+import com.paybay.challenge.types.Split;
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 
@@ -146,6 +151,219 @@ public class ImmutableLinkedQueueTest {
         enumeratorStruct.next();
     }
 
+    @Test
+    public void enQueueAllTest() {
+        ImmutableQueue<Integer> queue = ImmutableQueue.<Integer>empty().enQueueAll(Arrays.asList(1, 2, 3));
+        assertEqualSequences(Arrays.asList(1, 2, 3), queue);
+
+        // Non-list iterables and arrays on a non-empty queue.
+        queue = queue.deQueue().enQueueAll(new LinkedHashSet<Integer>(Arrays.asList(4, 5))).enQueueAll(6, 7);
+        assertEqualSequences(Arrays.asList(2, 3, 4, 5, 6, 7), queue);
+
+        Assert.assertSame(queue, queue.enQueueAll(Collections.<Integer>emptyList()));
+        Assert.assertSame(ImmutableQueue.<Integer>empty(), ImmutableQueue.<Integer>empty().enQueueAll());
+
+        // Interface test
+        Queue<Integer> queueInterface = ImmutableQueue.<Integer>empty();
+        assertEqualSequences(Arrays.asList(8, 9), queueInterface.enQueueAll(Arrays.asList(8, 9)));
+    }
+
+    @Test
+    public void deQueueCountTest() {
+        ImmutableQueue<Integer> queue = ImmutableQueue.create(1, 2).enQueue(3).enQueue(4).enQueue(5);
+        Assert.assertSame(queue, queue.deQueue(0));
+        assertEqualSequences(Arrays.asList(3, 4, 5), queue.deQueue(2));
+        assertEqualSequences(Arrays.asList(4, 5), queue.deQueue(3));
+        Assert.assertSame(ImmutableQueue.<Integer>empty(), queue.deQueue(5));
+
+        // The original version is untouched.
+        assertEqualSequences(Arrays.asList(1, 2, 3, 4, 5), queue);
+    }
+
+    @Test
+    public void deQueueCountBeyondSizeThrows() {
+        thrown.expect(instanceOf(EmptyStackException.class));
+        ImmutableQueue.create(1, 2).deQueue(3);
+    }
+
+    @Test
+    public void deQueueNegativeCountThrows() {
+        thrown.expect(instanceOf(IllegalArgumentException.class));
+        ImmutableQueue.create(1, 2).deQueue(-1);
+    }
+
+    @Test
+    public void takeAndSplitTest() {
+        ImmutableQueue<Integer> queue = ImmutableQueue.create(1, 2).enQueue(3).enQueue(4);
+        assertEqualSequences(Arrays.asList(1, 2, 3), queue.take(3));
+        Assert.assertTrue(queue.take(0).isEmpty());
+
+        Split<ImmutableQueue<Integer>> split = queue.split(3);
+        assertEqualSequences(Arrays.asList(1, 2, 3), split.front());
+        assertEqualSequences(Collections.singletonList(4), split.rest());
+        assertEqualSequences(Arrays.asList(4, 5), split.rest().enQueue(5));
+
+        // Taking everything shares the original queue.
+        split = queue.split(10);
+        Assert.assertSame(queue, split.front());
+        Assert.assertTrue(split.rest().isEmpty());
+        Assert.assertSame(queue, queue.take(4));
+    }
+
+    @Test
+    public void drainToTest() {
+        ImmutableQueue<Integer> queue = ImmutableQueue.create(1).enQueue(2).enQueue(3);
+        List<Integer> target = new ArrayList<Integer>();
+        ImmutableQueue<Integer> rest = queue.drainTo(target, 2);
+        Assert.assertEquals(Arrays.asList(1, 2), target);
+        assertEqualSequences(Collections.singletonList(3), rest);
+
+        rest = rest.drainTo(target, 100);
+        Assert.assertEquals(Arrays.asList(1, 2, 3), target);
+        Assert.assertSame(ImmutableQueue.<Integer>empty(), rest);
+    }
+
+    @Test
+    public void sizeTest() {
+        ImmutableQueue<Integer> queue = ImmutableQueue.empty();
+        Assert.assertEquals(0, queue.size());
+        Assert.assertFalse(queue.isSingleton());
+
+        queue = queue.enQueue(1);
+        Assert.assertEquals(1, queue.size());
+        Assert.assertTrue(queue.isSingleton());
+
+        queue = queue.enQueue(2).enQueue(3);
+        Assert.assertEquals(3, queue.size());
+        Assert.assertFalse(queue.isSingleton());
+
+        // Moves the incoming elements to the outgoing stack.
+        queue = queue.deQueue().enQueue(4);
+        Assert.assertEquals(3, queue.size());
+        Assert.assertEquals(Iterables.size(queue), queue.size());
+        Assert.assertEquals(1, queue.deQueue(2).size());
+        Assert.assertEquals(2, queue.take(2).size());
+        Assert.assertEquals(5, queue.enQueueAll(5, 6).size());
+
+        ImmutableStack<Integer> stack = ImmutableStack.create(1, 2, 3);
+        Assert.assertEquals(3, stack.size());
+        Assert.assertEquals(2, stack.pop().size());
+        Assert.assertTrue(stack.pop().pop().isSingleton());
+        Assert.assertEquals(0, stack.clear().size());
+    }
+
+    @Test
+    public void streamTest() {
+        ImmutableQueue<Integer> queue = ImmutableQueue.empty();
+        List<Integer> expected = new ArrayList<Integer>();
+        for (int i = 0; i < 10000; i++) {
+            queue = queue.enQueue(i);
+            expected.add(i);
+            if (i == 5000) {
+                // Leave elements on both stacks.
+                queue = queue.deQueue();
+                expected.remove(0);
+            }
+        }
+
+        Spliterator<Integer> spliterator = queue.spliterator();
+        Assert.assertEquals(queue.size(), spliterator.estimateSize());
+        Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.ORDERED | Spliterator.IMMUTABLE));
+
+        Assert.assertEquals(expected, queue.stream().collect(Collectors.toList()));
+        Assert.assertEquals(expected, queue.parallelStream().collect(Collectors.toList()));
+        Assert.assertEquals(expected.size(), queue.parallelStream().count());
+        Assert.assertEquals(Integer.valueOf(1), queue.parallelStream().findFirst().get());
+
+        ImmutableStack<Integer> stack = ImmutableStack.createAll(expected);
+        Collections.reverse(expected);
+        Assert.assertEquals(expected, stack.parallelStream().collect(Collectors.toList()));
+        Assert.assertTrue(ImmutableQueue.<Integer>empty().stream().collect(Collectors.toList()).isEmpty());
+    }
+
+    @Test
+    public void collectorsPreserveEncounterOrder() {
+        List<Integer> expected = new ArrayList<Integer>();
+        for (int i = 0; i < 100000; i++) {
+            expected.add(i);
+        }
+
+        ImmutableQueue<Integer> sequential = expected.stream().collect(ImmutableQueue.<Integer>toQueue());
+        ImmutableQueue<Integer> parallel = expected.parallelStream().collect(ImmutableQueue.<Integer>toQueue());
+        assertEqualSequences(expected, sequential);
+        assertEqualSequences(expected, parallel);
+        Assert.assertEquals(expected.size(), parallel.size());
+        Assert.assertSame(ImmutableQueue.<Integer>empty(), Stream.<Integer>empty().collect(ImmutableQueue.<Integer>toQueue()));
+
+        ImmutableStack<Integer> stack = expected.parallelStream().collect(ImmutableStack.<Integer>toStack());
+        assertEqualSequences(ImmutableStack.createAll(expected), stack);
+        Assert.assertEquals(expected.size(), stack.size());
+        Assert.assertTrue(Stream.<Integer>empty().collect(ImmutableStack.<Integer>toStack()).isEmpty());
+    }
+
+    @Test
+    public void builderTest() {
+        ImmutableQueue.Builder<Integer> builder = ImmutableQueue.builder();
+        Assert.assertSame(ImmutableQueue.<Integer>empty(), builder.build());
+
+        builder.add(1).add(2).addAll(Arrays.asList(3, 4)).addAll(5);
+        Assert.assertEquals(5, builder.size());
+        ImmutableQueue<Integer> first = builder.build();
+        Assert.assertSame(first, builder.build());
+        assertEqualSequences(Arrays.asList(1, 2, 3, 4, 5), first);
+
+        // Keep using the builder; the queue built before is not affected.
+        ImmutableQueue<Integer> second = builder.add(6).build();
+        assertEqualSequences(Arrays.asList(1, 2, 3, 4, 5), first);
+        assertEqualSequences(Arrays.asList(1, 2, 3, 4, 5, 6), second);
+
+        // Starting from an existing queue shares it.
+        ImmutableQueue<Integer> source = first.deQueue();
+        Assert.assertSame(source, source.toBuilder().build());
+        assertEqualSequences(Arrays.asList(2, 3, 4, 5, 7), source.toBuilder().add(7).build());
+        assertEqualSequences(Arrays.asList(2, 3, 4, 5), source);
+    }
+
+    @Test
+    public void builtQueueDequeuesWithoutReversal() {
+        ImmutableQueue.Builder<Integer> builder = ImmutableQueue.builder();
+        for (int i = 0; i < 100; i++) {
+            builder.add(i);
+        }
+
+        ImmutableQueue<Integer> built = builder.build();
+        ImmutableQueue<Integer> longer = builder.add(100).build();
+        Assert.assertEquals(Integer.valueOf(1), built.deQueue().head());
+
+        // QueueDelta proves shared structure through node identity only. Had either dequeue reversed an incoming
+        // stack, the two versions would hold distinct reversed copies and the delta would be a full snapshot.
+        QueueDelta<Integer> delta = QueueDelta.between(built.deQueue(), longer.deQueue());
+        Assert.assertFalse(delta.isFull());
+        Assert.assertEquals(0, delta.dequeued());
+        Assert.assertEquals(Arrays.asList(100), delta.enqueued());
+    }
+
+    @Test
+    public void builderRejectsOtherThreads() throws InterruptedException {
+        final ImmutableQueue.Builder<Integer> builder = ImmutableQueue.builder();
+        final Throwable[] failure = new Throwable[1];
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    builder.add(1);
+                } catch (Throwable e) {
+                    failure[0] = e;
+                }
+            }
+        });
+        thread.start();
+        thread.join();
+
+        Assert.assertThat(failure[0], instanceOf(IllegalStateException.class));
+        Assert.assertEquals(0, builder.size());
+    }
+
     private static <T> void assertEqualSequences(Iterable<? extends T> left, Iterable<? extends T> right) {
         Object[] leftArray = Iterables.toArray(left, Object.class);
         Object[] rightArray = Iterables.toArray(right, Object.class);
@@ -0,0 +1,151 @@
+package com.paybay.challenge;
+
+import com.paybay.challenge.types.primitive.ImmutableDoubleQueue;
+import com.paybay.challenge.types.primitive.ImmutableIntQueue;
+import com.paybay.challenge.types.primitive.ImmutableIntStack;
+import com.paybay.challenge.types.primitive.ImmutableLongQueue;
+import com.paybay.challenge.types.primitive.ImmutableLongStack;
+import com.paybay.challenge.types.primitive.LongQueue;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.lang.reflect.Field;
+import java.util.EmptyStackException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+
+public class ImmutablePrimitiveQueueTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void enQueueDeQueueKeepsFifoOrder() {
+        LongQueue queue = ImmutableLongQueue.empty();
+        Assert.assertTrue(queue.isEmpty());
+        for (long i = 0; i < 100; i++) {
+            queue = queue.enQueue(i * 1000000007L);
+        }
+
+        // Interleave so that both stacks hold elements.
+        queue = queue.deQueue().enQueue(-1L);
+
+        for (long i = 1; i < 100; i++) {
+            Assert.assertEquals(i * 1000000007L, queue.headLong());
+            queue = queue.deQueue();
+        }
+
+        Assert.assertEquals(-1L, queue.headLong());
+        Assert.assertSame(ImmutableLongQueue.empty(), queue.deQueue());
+    }
+
+    @Test
+    public void iteratorAndForEachAgree() {
+        ImmutableLongQueue queue = ImmutableLongQueue.create(1, 2, 3).deQueue().enQueue(4).enQueue(5);
+
+        final StringBuilder visited = new StringBuilder();
+        queue.forEach(new LongConsumer() {
+            @Override
+            public void accept(long value) {
+                visited.append(value);
+            }
+        });
+        Assert.assertEquals("2345", visited.toString());
+
+        PrimitiveIterator.OfLong iterator = queue.iterator();
+        for (long expected = 2; expected <= 5; expected++) {
+            Assert.assertTrue(iterator.hasNext());
+            Assert.assertEquals(expected, iterator.nextLong());
+        }
+
+        Assert.assertFalse(iterator.hasNext());
+        thrown.expect(NoSuchElementException.class);
+        iterator.nextLong();
+    }
+
+    @Test
+    public void stacksAreLastInFirstOut() {
+        ImmutableLongStack longs = ImmutableLongStack.create(1, 2, 3);
+        Assert.assertEquals(3L, longs.peekLong());
+        Assert.assertEquals(2L, longs.pop().peekLong());
+        Assert.assertEquals(1L, longs.reverse().peekLong());
+
+        ImmutableIntStack ints = ImmutableIntStack.create(7, 8);
+        Assert.assertEquals(8, ints.peekInt());
+        Assert.assertTrue(ints.pop().pop().isEmpty());
+    }
+
+    @Test
+    public void intAndDoubleQueues() {
+        ImmutableIntQueue ints = ImmutableIntQueue.create(1, 2).enQueue(3);
+        Assert.assertEquals(1, ints.headInt());
+        Assert.assertEquals(2, ints.deQueue().headInt());
+        Assert.assertEquals(3, ints.deQueue().deQueue().headInt());
+
+        ImmutableDoubleQueue doubles = ImmutableDoubleQueue.create(0.5).enQueue(1.5);
+        Assert.assertEquals(0.5, doubles.headDouble(), 0.0);
+        Assert.assertEquals(1.5, doubles.deQueue().headDouble(), 0.0);
+        Assert.assertTrue(doubles.clear().isEmpty());
+    }
+
+    @Test
+    public void sizeCountsBothStacks() {
+        LongQueue longs = ImmutableLongQueue.empty();
+        Assert.assertEquals(0, longs.size());
+        for (long i = 0; i < 10; i++) {
+            longs = longs.enQueue(i);
+            Assert.assertEquals(i + 1, longs.size());
+        }
+
+        // The first dequeue moves the elements across; the count must not change with it.
+        longs = longs.deQueue().deQueue().enQueue(10L);
+        Assert.assertEquals(9, longs.size());
+        Assert.assertEquals(0, longs.clear().size());
+
+        Assert.assertEquals(3, ImmutableIntQueue.create(1, 2).enQueue(3).size());
+        Assert.assertEquals(2, ImmutableIntQueue.create(1, 2).enQueue(3).deQueue().size());
+        Assert.assertEquals(0, ImmutableIntQueue.create().size());
+        Assert.assertEquals(1, ImmutableDoubleQueue.create(0.5, 1.5).deQueue().size());
+    }
+
+    @Test
+    public void versionsShareOneReversal() throws ReflectiveOperationException {
+        ImmutableIntQueue ints = ImmutableIntQueue.create(1, 2).enQueue(3).enQueue(4);
+        ImmutableIntQueue left = ints.deQueue().deQueue();
+        ImmutableIntQueue right = ints.deQueue().deQueue();
+        Assert.assertEquals(3, left.headInt());
+        Assert.assertSame(outgoing(left), outgoing(right));
+
+        ImmutableLongQueue longs = ImmutableLongQueue.create(1).enQueue(2);
+        Assert.assertSame(outgoing(longs.deQueue()), outgoing(longs.deQueue()));
+
+        ImmutableDoubleQueue doubles = ImmutableDoubleQueue.create(0.5, 1.0).enQueue(1.5);
+        Assert.assertSame(outgoing(doubles.deQueue().deQueue()), outgoing(doubles.deQueue().deQueue()));
+    }
+
+    @Test
+    public void headEmptyThrows() {
+        thrown.expect(instanceOf(EmptyStackException.class));
+        ImmutableLongQueue.empty().headLong();
+    }
+
+    @Test
+    public void deQueueEmptyThrows() {
+        thrown.expect(instanceOf(EmptyStackException.class));
+        ImmutableIntQueue.empty().deQueue();
+    }
+
+    /**
+     * Gets the outgoing stack of a primitive queue, so tests can tell whether two versions share its nodes.
+     */
+    private static Object outgoing(Object queue) throws ReflectiveOperationException {
+        Field field = queue.getClass().getDeclaredField("outgoing");
+        field.setAccessible(true);
+        return field.get(queue);
+    }
+}
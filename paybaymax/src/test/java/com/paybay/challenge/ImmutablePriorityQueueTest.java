@@ -0,0 +1,116 @@
+package com.paybay.challenge;
+
+import com.google.common.collect.Iterables;
+import com.paybay.challenge.types.ImmutablePriorityQueue;
+import com.paybay.challenge.types.PriorityQueue;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EmptyStackException;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+
+public class ImmutablePriorityQueueTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void create() {
+        ImmutablePriorityQueue<Integer> queue = ImmutablePriorityQueue.create();
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertSame(ImmutablePriorityQueue.<Integer>empty(), queue);
+
+        queue = ImmutablePriorityQueue.create(5, 1, 4, 2, 3);
+        Assert.assertEquals(5, queue.size());
+        Assert.assertEquals(Integer.valueOf(1), queue.findMin());
+        assertEqualSequences(Arrays.asList(1, 2, 3, 4, 5), queue);
+    }
+
+    @Test
+    public void comparatorDefinesTheOrder() {
+        ImmutablePriorityQueue<String> queue = ImmutablePriorityQueue.createAll(
+                Comparator.comparing(String::length), Arrays.asList("ccc", "a", "bb"));
+        Assert.assertEquals("a", queue.findMin());
+        assertEqualSequences(Arrays.asList("bb", "ccc"), queue.deleteMin());
+        Assert.assertSame(queue.comparator(), queue.clear().comparator());
+    }
+
+    @Test
+    public void olderVersionsAreUnaffected() {
+        ImmutablePriorityQueue<Integer> queue = ImmutablePriorityQueue.create(3, 1, 2);
+        ImmutablePriorityQueue<Integer> smaller = queue.deleteMin();
+        ImmutablePriorityQueue<Integer> larger = queue.insert(0);
+
+        assertEqualSequences(Arrays.asList(1, 2, 3), queue);
+        assertEqualSequences(Arrays.asList(2, 3), smaller);
+        assertEqualSequences(Arrays.asList(0, 1, 2, 3), larger);
+        Assert.assertSame(smaller, queue.deleteMin());
+        Assert.assertTrue(queue.deleteMin().deleteMin().deleteMin().isEmpty());
+    }
+
+    @Test
+    public void mergeTest() {
+        ImmutablePriorityQueue<Integer> left = ImmutablePriorityQueue.create(1, 5, 9);
+        ImmutablePriorityQueue<Integer> right = ImmutablePriorityQueue.create(2, 6);
+        PriorityQueue<Integer> merged = left.merge(right);
+        Assert.assertEquals(5, merged.size());
+        assertEqualSequences(Arrays.asList(1, 2, 5, 6, 9), merged);
+        Assert.assertSame(left, left.merge(ImmutablePriorityQueue.<Integer>empty()));
+
+        ImmutablePriorityQueue<Integer> descending =
+                ImmutablePriorityQueue.createAll(Collections.<Integer>reverseOrder(), Arrays.asList(3, 7));
+        assertEqualSequences(Arrays.asList(1, 3, 5, 7, 9), left.merge(descending));
+        assertEqualSequences(Arrays.asList(9, 7, 5, 3, 1), descending.merge(left));
+    }
+
+    @Test
+    public void findMinEmptyThrows() {
+        thrown.expect(instanceOf(EmptyStackException.class));
+        ImmutablePriorityQueue.<Integer>empty().findMin();
+    }
+
+    @Test
+    public void deleteMinEmptyThrows() {
+        thrown.expect(instanceOf(EmptyStackException.class));
+        ImmutablePriorityQueue.<Integer>empty().deleteMin();
+    }
+
+    @Test
+    public void randomOperationsMatchJavaPriorityQueue() {
+        Random random = new Random(7);
+        java.util.PriorityQueue<Integer> expected = new java.util.PriorityQueue<Integer>();
+        ImmutablePriorityQueue<Integer> actual = ImmutablePriorityQueue.empty();
+        for (int i = 0; i < 10000; i++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                int value = random.nextInt(1000);
+                expected.add(value);
+                actual = actual.insert(value);
+            } else {
+                Assert.assertEquals(expected.poll(), actual.findMin());
+                actual = actual.deleteMin();
+            }
+
+            Assert.assertEquals(expected.size(), actual.size());
+        }
+
+        while (!expected.isEmpty()) {
+            Assert.assertEquals(expected.poll(), actual.findMin());
+            actual = actual.deleteMin();
+        }
+
+        Assert.assertTrue(actual.isEmpty());
+    }
+
+    private static <T> void assertEqualSequences(Iterable<? extends T> left, Iterable<? extends T> right) {
+        Object[] leftArray = Iterables.toArray(left, Object.class);
+        Object[] rightArray = Iterables.toArray(right, Object.class);
+        Assert.assertArrayEquals(leftArray, rightArray);
+    }
+}
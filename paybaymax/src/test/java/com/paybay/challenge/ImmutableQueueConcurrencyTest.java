@@ -0,0 +1,142 @@
+package com.paybay.challenge;
+
+import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.QueueDelta;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Stress tests for the reversal shared between versions of an {@link ImmutableQueue}. Many threads race to dequeue
+ * from one version whose outgoing stack is about to run dry; all of them must end up on the very same reversed stack.
+ * Identity of the stacks is observed through {@link QueueDelta}, which only finds an empty delta between two versions
+ * whose stacks are the same nodes.
+ */
+public class ImmutableQueueConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    private static final int ROUNDS = 200;
+
+    private static final int INCOMING = 2000;
+
+    @Test
+    public void racingReadersShareOneReversal() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                final ImmutableQueue<Integer> version = queue(1, INCOMING);
+                List<ImmutableQueue<Integer>> results = race(executor, new Callable<ImmutableQueue<Integer>>() {
+                    @Override
+                    public ImmutableQueue<Integer> call() {
+                        return version.deQueue();
+                    }
+                });
+
+                assertSameStructure(results);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void derivedVersionsShareOneReversal() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                // Each reader dequeues through its own chain of versions; every chain holds the same incoming stack.
+                final ImmutableQueue<Integer> version = queue(3, INCOMING);
+                List<ImmutableQueue<Integer>> results = race(executor, new Callable<ImmutableQueue<Integer>>() {
+                    @Override
+                    public ImmutableQueue<Integer> call() {
+                        return version.deQueue().deQueue().deQueue();
+                    }
+                });
+
+                assertSameStructure(results);
+                Assert.assertEquals(Integer.valueOf(3), results.get(0).head());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void batchDequeuesShareOneReversal() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                // deQueue(int) leaves the incoming stack in place; the next dequeue reverses it.
+                final ImmutableQueue<Integer> version = queue(3, INCOMING);
+                List<ImmutableQueue<Integer>> results = race(executor, new Callable<ImmutableQueue<Integer>>() {
+                    @Override
+                    public ImmutableQueue<Integer> call() {
+                        return version.deQueue(2).deQueue();
+                    }
+                });
+
+                assertSameStructure(results);
+                Assert.assertEquals(Integer.valueOf(3), results.get(0).head());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<ImmutableQueue<Integer>> race(ExecutorService executor,
+                                                      final Callable<ImmutableQueue<Integer>> reader) throws Exception {
+        final CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        List<Future<ImmutableQueue<Integer>>> futures = new ArrayList<Future<ImmutableQueue<Integer>>>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(new Callable<ImmutableQueue<Integer>>() {
+                @Override
+                public ImmutableQueue<Integer> call() throws Exception {
+                    barrier.await();
+                    return reader.call();
+                }
+            }));
+        }
+
+        List<ImmutableQueue<Integer>> results = new ArrayList<ImmutableQueue<Integer>>();
+        for (Future<ImmutableQueue<Integer>> future : futures) {
+            results.add(future.get());
+        }
+
+        return results;
+    }
+
+    private static void assertSameStructure(List<ImmutableQueue<Integer>> results) {
+        ImmutableQueue<Integer> first = results.get(0);
+        for (ImmutableQueue<Integer> result : results) {
+            QueueDelta<Integer> delta = QueueDelta.between(first, result);
+            Assert.assertFalse("reversal computed more than once", delta.isFull());
+            Assert.assertEquals(0, delta.dequeued());
+            Assert.assertTrue(delta.enqueued().isEmpty());
+        }
+    }
+
+    /**
+     * Builds a queue with {@code outgoing} elements on the outgoing stack and {@code incoming} on the incoming stack.
+     */
+    private static ImmutableQueue<Integer> queue(int outgoing, int incoming) {
+        List<Integer> front = new ArrayList<Integer>();
+        for (int i = 0; i < outgoing; i++) {
+            front.add(i);
+        }
+
+        ImmutableQueue<Integer> queue = ImmutableQueue.createAll(front);
+        for (int i = 0; i < incoming; i++) {
+            queue = queue.enQueue(outgoing + i);
+        }
+
+        return queue;
+    }
+}
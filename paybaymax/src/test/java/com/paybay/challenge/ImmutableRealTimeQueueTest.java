@@ -0,0 +1,140 @@
+package com.paybay.challenge;
+
+import com.google.common.collect.Iterables;
+import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.ImmutableRealTimeQueue;
+import com.paybay.challenge.types.Queue;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EmptyStackException;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+
+public class ImmutableRealTimeQueueTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void create() {
+        ImmutableRealTimeQueue<Integer> queue = ImmutableRealTimeQueue.create();
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertSame(ImmutableRealTimeQueue.<Integer>empty(), queue);
+
+        queue = ImmutableRealTimeQueue.create(1, 2, 3);
+        Assert.assertFalse(queue.isEmpty());
+        assertEqualSequences(Arrays.asList(1, 2, 3), queue);
+
+        queue = ImmutableRealTimeQueue.createAll(Arrays.asList(1, 2));
+        assertEqualSequences(Arrays.asList(1, 2), queue);
+    }
+
+    @Test
+    public void clearTheQueueTest() {
+        ImmutableRealTimeQueue<Integer> queue = ImmutableRealTimeQueue.create(1, 2);
+        Assert.assertSame(ImmutableRealTimeQueue.<Integer>empty(), queue.clear());
+        Assert.assertSame(ImmutableRealTimeQueue.<Integer>empty(), queue.deQueue().deQueue());
+    }
+
+    @Test
+    public void peekEmptyThrows() {
+        thrown.expect(instanceOf(EmptyStackException.class));
+        ImmutableRealTimeQueue.<Integer>empty().head();
+    }
+
+    @Test
+    public void deQueueEmptyThrows() {
+        thrown.expect(instanceOf(EmptyStackException.class));
+        ImmutableRealTimeQueue.<Integer>empty().deQueue();
+    }
+
+    @Test
+    public void burstThenDrainKeepsFifoOrder() {
+        Queue<Integer> queue = ImmutableRealTimeQueue.empty();
+        for (int i = 0; i < 10000; i++) {
+            queue = queue.enQueue(i);
+        }
+
+        for (int i = 0; i < 10000; i++) {
+            Assert.assertEquals(i, (int)queue.head());
+            queue = queue.deQueue();
+        }
+
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void randomOperationsMatchAmortizedQueue() {
+        Random random = new Random(42);
+        Queue<Integer> realTime = ImmutableRealTimeQueue.empty();
+        Queue<Integer> amortized = ImmutableQueue.empty();
+        ArrayDeque<Integer> expected = new ArrayDeque<Integer>();
+
+        for (int i = 0; i < 20000; i++) {
+            if (expected.isEmpty() || random.nextInt(3) != 0) {
+                realTime = realTime.enQueue(i);
+                amortized = amortized.enQueue(i);
+                expected.addLast(i);
+            } else {
+                Assert.assertEquals(expected.peekFirst(), realTime.head());
+                Assert.assertEquals(amortized.head(), realTime.head());
+                realTime = realTime.deQueue();
+                amortized = amortized.deQueue();
+                expected.removeFirst();
+            }
+
+            Assert.assertEquals(expected.size(), realTime.size());
+            if (i % 97 == 0) {
+                // Iteration must see the elements still being rotated.
+                assertEqualSequences(expected, realTime);
+            }
+        }
+
+        assertEqualSequences(expected, realTime);
+    }
+
+    @Test
+    public void olderVersionsAreUnaffected() {
+        ImmutableRealTimeQueue<Integer> queue = ImmutableRealTimeQueue.empty();
+        List<ImmutableRealTimeQueue<Integer>> versions = new ArrayList<ImmutableRealTimeQueue<Integer>>();
+        for (int i = 0; i < 100; i++) {
+            queue = queue.enQueue(i);
+            versions.add(queue);
+        }
+
+        for (int i = 0; i < 50; i++) {
+            queue = queue.deQueue();
+            versions.add(queue);
+        }
+
+        for (int v = 0; v < 100; v++) {
+            Assert.assertEquals(v + 1, Iterables.size(versions.get(v)));
+            Assert.assertEquals(0, (int)versions.get(v).head());
+            Assert.assertEquals(v, (int)Iterables.getLast(versions.get(v)));
+        }
+
+        for (int v = 100; v < 150; v++) {
+            ImmutableRealTimeQueue<Integer> version = versions.get(v);
+            Assert.assertEquals(v - 99, (int)version.head());
+
+            // Branch off an old version; the other branches must not see it.
+            ImmutableRealTimeQueue<Integer> branch = version.enQueue(-1);
+            Assert.assertEquals(-1, (int)Iterables.getLast(branch));
+            Assert.assertEquals(99, (int)Iterables.getLast(version));
+        }
+    }
+
+    private static <T> void assertEqualSequences(Iterable<? extends T> left, Iterable<? extends T> right) {
+        Object[] leftArray = Iterables.toArray(left, Object.class);
+        Object[] rightArray = Iterables.toArray(right, Object.class);
+        Assert.assertArrayEquals(leftArray, rightArray);
+    }
+}
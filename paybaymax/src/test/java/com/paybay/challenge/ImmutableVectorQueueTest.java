@@ -0,0 +1,192 @@
+package com.paybay.challenge;
+
+import com.google.common.collect.Iterables;
+import com.paybay.challenge.types.ImmutableVectorQueue;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EmptyStackException;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+
+public class ImmutableVectorQueueTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void create() {
+        ImmutableVectorQueue<Integer> queue = ImmutableVectorQueue.create();
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertSame(ImmutableVectorQueue.<Integer>empty(), queue);
+
+        queue = ImmutableVectorQueue.create(1, 2, 3);
+        Assert.assertEquals(3, queue.size());
+        Assert.assertEquals(Integer.valueOf(1), queue.head());
+        assertEqualSequences(Arrays.asList(1, 2, 3), queue);
+        Assert.assertSame(ImmutableVectorQueue.<Integer>empty(), queue.deQueue().deQueue().deQueue());
+    }
+
+    @Test
+    public void createAllMatchesEnQueue() {
+        ImmutableVectorQueue<Integer> built = ImmutableVectorQueue.createAll(range(0, 40000));
+        ImmutableVectorQueue<Integer> enQueued = ImmutableVectorQueue.empty();
+        for (int i = 0; i < 40000; i++) {
+            enQueued = enQueued.enQueue(i);
+        }
+
+        assertEqualSequences(built, enQueued);
+        for (int i = 0; i < 40000; i += 997) {
+            Assert.assertEquals(Integer.valueOf(i), built.get(i));
+            Assert.assertEquals(Integer.valueOf(i), enQueued.get(i));
+        }
+    }
+
+    @Test
+    public void setTest() {
+        ImmutableVectorQueue<Integer> queue = ImmutableVectorQueue.createAll(range(0, 100)).deQueue(10);
+        ImmutableVectorQueue<Integer> patched = queue.set(0, -1).set(50, -2).set(89, -3);
+
+        Assert.assertEquals(Integer.valueOf(10), queue.get(0));
+        Assert.assertEquals(Integer.valueOf(-1), patched.get(0));
+        Assert.assertEquals(Integer.valueOf(-2), patched.get(50));
+        Assert.assertEquals(Integer.valueOf(-3), patched.get(89));
+        Assert.assertEquals(Integer.valueOf(60), queue.get(50));
+    }
+
+    @Test
+    public void sliceTest() {
+        ImmutableVectorQueue<Integer> queue = ImmutableVectorQueue.createAll(range(0, 2000));
+        ImmutableVectorQueue<Integer> slice = queue.slice(100, 1500);
+        Assert.assertEquals(1400, slice.size());
+        assertEqualSequences(range(100, 1500), slice);
+        assertEqualSequences(range(100, 1500).subList(0, 10), slice.take(10));
+        assertEqualSequences(range(100, 1500).subList(1390, 1400), slice.deQueue(1390));
+
+        // Enqueueing behind a slice overwrites the positions it dropped.
+        assertEqualSequences(Arrays.asList(1498, 1499, -1, -2), slice.enQueue(-1).enQueue(-2).deQueue(1398));
+        assertEqualSequences(range(0, 2000), queue);
+        Assert.assertSame(queue, queue.slice(0, 2000));
+        Assert.assertTrue(queue.slice(5, 5).isEmpty());
+    }
+
+    @Test
+    public void sliceOutOfRangeThrows() {
+        thrown.expect(instanceOf(IndexOutOfBoundsException.class));
+        ImmutableVectorQueue.create(1, 2).slice(1, 3);
+    }
+
+    @Test
+    public void getOutOfRangeThrows() {
+        thrown.expect(instanceOf(IndexOutOfBoundsException.class));
+        ImmutableVectorQueue.create(1, 2).deQueue().get(1);
+    }
+
+    @Test
+    public void deQueueEmptyThrows() {
+        thrown.expect(instanceOf(EmptyStackException.class));
+        ImmutableVectorQueue.<Integer>empty().deQueue();
+    }
+
+    @Test
+    public void enQueueAfterDrainingTheTrieAcrossAShiftBoundary() {
+        ImmutableVectorQueue<Integer> queue = ImmutableVectorQueue.empty();
+        for (int i = 0; i < 1109; i++) {
+            queue = queue.enQueue(i);
+        }
+
+        // Leaves only the tail, with the root reset but a shift of 10 kept.
+        for (int i = 0; i < 1088; i++) {
+            queue = queue.deQueue();
+        }
+
+        for (int i = 1109; i < 1200; i++) {
+            queue = queue.enQueue(i);
+        }
+
+        Assert.assertEquals(Integer.valueOf(1088), queue.head());
+        assertEqualSequences(range(1088, 1200), queue);
+        for (int i = 0; i < queue.size(); i++) {
+            Assert.assertEquals(Integer.valueOf(1088 + i), queue.get(i));
+        }
+    }
+
+    @Test
+    public void enQueueAfterSliceWithinTheTail() {
+        ImmutableVectorQueue<Integer> queue = ImmutableVectorQueue.createAll(range(0, 1109)).slice(763, 767);
+        List<Integer> expected = range(763, 767);
+        for (int i = 0; i < 547; i++) {
+            queue = queue.enQueue(-i);
+            expected.add(-i);
+        }
+
+        assertEqualSequences(expected, queue);
+        Assert.assertEquals(expected.get(500), queue.get(500));
+    }
+
+    @Test
+    public void sliceWithinTheFirstLeafAfterDroppingASubtree() {
+        ImmutableVectorQueue<Integer> queue = ImmutableVectorQueue.createAll(range(0, 2000)).deQueue(1024);
+
+        ImmutableVectorQueue<Integer> slice = queue.slice(1, 3);
+        assertEqualSequences(range(1025, 1027), slice);
+        assertEqualSequences(Arrays.asList(1025, 1026, -1), slice.enQueue(-1));
+    }
+
+    @Test
+    public void randomOperationsMatchList() {
+        Random random = new Random(5);
+        List<Integer> expected = new ArrayList<Integer>();
+        ImmutableVectorQueue<Integer> actual = ImmutableVectorQueue.empty();
+        int next = 0;
+        for (int step = 0; step < 20000; step++) {
+            int op = random.nextInt(10);
+            if (op < 5) {
+                expected.add(next);
+                actual = actual.enQueue(next++);
+            } else if (op < 8 && !expected.isEmpty()) {
+                expected.remove(0);
+                actual = actual.deQueue();
+            } else if (op == 8 && !expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                expected.set(index, -step);
+                actual = actual.set(index, -step);
+            } else if (!expected.isEmpty()) {
+                int from = random.nextInt(expected.size());
+                int to = from + random.nextInt(expected.size() - from + 1);
+                expected = new ArrayList<Integer>(expected.subList(from, to));
+                actual = actual.slice(from, to);
+            }
+
+            Assert.assertEquals(expected.size(), actual.size());
+            if (!expected.isEmpty()) {
+                Assert.assertEquals(expected.get(0), actual.head());
+                int index = random.nextInt(expected.size());
+                Assert.assertEquals(expected.get(index), actual.get(index));
+            }
+        }
+
+        assertEqualSequences(expected, actual);
+    }
+
+    private static List<Integer> range(int from, int to) {
+        List<Integer> result = new ArrayList<Integer>();
+        for (int i = from; i < to; i++) {
+            result.add(i);
+        }
+
+        return result;
+    }
+
+    private static <T> void assertEqualSequences(Iterable<? extends T> left, Iterable<? extends T> right) {
+        Object[] leftArray = Iterables.toArray(left, Object.class);
+        Object[] rightArray = Iterables.toArray(right, Object.class);
+        Assert.assertArrayEquals(leftArray, rightArray);
+    }
+}
@@ -0,0 +1,130 @@
+package com.paybay.challenge;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.ImmutableStack;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class InternalIterationTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void stackVisitsTopDownAndBottomUp() {
+        ImmutableStack<Integer> stack = ImmutableStack.create(1, 2, 3, 4);
+
+        Assert.assertEquals(Lists.newArrayList(4, 3, 2, 1), forEach(stack));
+        Assert.assertEquals(Lists.newArrayList(1, 2, 3, 4), forEachReverse(stack));
+        Assert.assertEquals("4321", stack.fold("", (result, value) -> result + value));
+        Assert.assertTrue(forEach(ImmutableStack.<Integer>empty()).isEmpty());
+        Assert.assertTrue(forEachReverse(ImmutableStack.<Integer>empty()).isEmpty());
+    }
+
+    @Test
+    public void queueVisitsInQueueOrderWithoutReversing() {
+        // Two elements outgoing and three incoming whose reversal has not been computed.
+        ImmutableQueue<Integer> queue = ImmutableQueue.<Integer>empty().enQueueAll(0, 1, 2).deQueue().enQueueAll(3, 4, 5);
+
+        assertVisitsInOrder(queue);
+        Assert.assertEquals(Lists.newArrayList(5, 4, 3, 2, 1), forEachReverse(queue));
+        Assert.assertEquals(Integer.valueOf(15), queue.fold(0, (sum, value) -> sum + value));
+
+        // Same again once the iterator has cached the reversal.
+        Assert.assertEquals(5, Iterables.size(queue));
+        assertVisitsInOrder(queue);
+    }
+
+    @Test
+    public void largeIncomingStacksAreVisitedInOrder() {
+        for (int size : new int[]{2047, 2048, 2049, 5000, 100000}) {
+            ImmutableQueue<Integer> queue = ImmutableQueue.<Integer>empty().enQueue(-1);
+            List<Integer> expected = Lists.newArrayList(-1);
+            for (int i = 0; i < size; i++) {
+                queue = queue.enQueue(i);
+                expected.add(i);
+            }
+
+            Assert.assertEquals(expected, forEach(queue));
+            Assert.assertEquals(Lists.reverse(expected), forEachReverse(queue));
+            Assert.assertEquals(Integer.valueOf(size - 1), queue.fold(null, (last, value) -> value));
+        }
+    }
+
+    @Test
+    public void anyMatchStopsAtFirstMatch() {
+        ImmutableQueue<Integer> queue = ImmutableQueue.<Integer>empty().enQueueAll(1, 2, 3, 4, 5, 6);
+        List<Integer> tested = new ArrayList<Integer>();
+
+        Assert.assertTrue(queue.anyMatch(value -> tested.add(value) && value == 3));
+        Assert.assertEquals(Lists.newArrayList(1, 2, 3), tested);
+        Assert.assertFalse(queue.anyMatch(value -> value > 6));
+        Assert.assertFalse(ImmutableQueue.<Integer>empty().anyMatch(value -> true));
+        Assert.assertTrue(ImmutableStack.create(1, 2).anyMatch(value -> value == 1));
+    }
+
+    @Test
+    public void nestedWalksDoNotInterfere() {
+        ImmutableQueue<Integer> queue = ImmutableQueue.<Integer>empty().enQueue(0);
+        for (int i = 1; i < 3000; i++) {
+            queue = queue.enQueue(i);
+        }
+
+        ImmutableQueue<Integer> inner = ImmutableQueue.<Integer>empty().enQueueAll(-1, -2, -3).deQueue().enQueue(-4);
+        List<Integer> visited = new ArrayList<Integer>();
+        List<Integer> outer = new ArrayList<Integer>();
+        queue.forEach(value -> {
+            if (value % 1000 == 0) {
+                inner.forEach(visited::add);
+            }
+            visited.add(value);
+            outer.add(value);
+        });
+
+        Assert.assertEquals(3000 + 3 * 3, visited.size());
+        Assert.assertEquals(Lists.newArrayList(-2, -3, -4, 0, 1), visited.subList(0, 5));
+        Assert.assertEquals(Lists.newArrayList(queue.iterator()), outer);
+    }
+
+    @Test
+    public void nullActionIsRejected() {
+        thrown.expect(NullPointerException.class);
+
+        ImmutableQueue.<Integer>empty().forEach(null);
+    }
+
+    private static <T> void assertVisitsInOrder(ImmutableQueue<T> queue) {
+        List<T> expected = Lists.newArrayList(queue.iterator());
+        Assert.assertEquals(expected, forEach(queue));
+        Assert.assertEquals(expected, queue.fold(new ArrayList<T>(), (list, value) -> {
+            list.add(value);
+            return list;
+        }));
+    }
+
+    private static <T> List<T> forEach(Iterable<T> items) {
+        List<T> visited = new ArrayList<T>();
+        items.forEach(visited::add);
+        return visited;
+    }
+
+    private static <T> List<T> forEachReverse(ImmutableStack<T> stack) {
+        List<T> visited = new ArrayList<T>();
+        stack.forEachReverse(visited::add);
+        return visited;
+    }
+
+    private static <T> List<T> forEachReverse(ImmutableQueue<T> queue) {
+        List<T> visited = new ArrayList<T>();
+        queue.forEachReverse(visited::add);
+        return visited;
+    }
+}
@@ -0,0 +1,151 @@
+package com.paybay.challenge;
+
+import com.google.common.collect.Iterables;
+import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.LazyQueue;
+import com.paybay.challenge.types.Split;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+public class LazyQueueTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void operationsMatchEagerResults() {
+        ImmutableQueue<Integer> source = ImmutableQueue.create(1, 2, 3, 4, 5, 6, 7, 8).deQueue().enQueue(9);
+        LazyQueue<Integer> view = LazyQueue.of(source);
+
+        assertEqualSequences(Arrays.asList(4, 6, 8, 10, 12, 14, 16, 18), view.map(x -> x * 2));
+        assertEqualSequences(Arrays.asList(2, 4, 6, 8), view.filter(x -> x % 2 == 0));
+        assertEqualSequences(Arrays.asList(2, 3, 4), view.takeWhile(x -> x < 5));
+        assertEqualSequences(Arrays.asList(5, 6, 7, 8, 9), view.dropWhile(x -> x < 5));
+        assertEqualSequences(Arrays.asList("2a", "3b"), view.zip(ImmutableQueue.create("a", "b"), (x, y) -> x + y));
+        assertEqualSequences(source, view.force());
+        Assert.assertEquals(8, view.size());
+    }
+
+    @Test
+    public void queueOperations() {
+        LazyQueue<Integer> view = LazyQueue.of(ImmutableQueue.create(1, 2)).map(x -> x + 10);
+
+        Assert.assertEquals(Integer.valueOf(11), view.head());
+        assertEqualSequences(Arrays.asList(12), view.deQueue());
+        assertEqualSequences(Arrays.asList(11, 12, 13), view.enQueue(13));
+        assertEqualSequences(Arrays.asList(11, 12, 3, 4), view.enQueueAll(3, 4));
+        Assert.assertTrue(view.deQueue(2).isEmpty());
+        Assert.assertSame(LazyQueue.<Integer>empty(), view.clear());
+        assertEqualSequences(Arrays.asList(11, 12), view);
+    }
+
+    @Test
+    public void functionsRunOncePerElementAndOnlyOnDemand() {
+        final AtomicInteger calls = new AtomicInteger();
+        Function<Integer, Integer> counted = new Function<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer value) {
+                calls.incrementAndGet();
+                return value * 10;
+            }
+        };
+
+        LazyQueue<Integer> view = LazyQueue.of(ImmutableQueue.create(1, 2, 3, 4)).map(counted).filter(x -> x > 10);
+        Assert.assertEquals(0, calls.get());
+
+        Assert.assertEquals(Integer.valueOf(20), view.head());
+        Assert.assertEquals(2, calls.get());
+
+        // Memoized: reading again and dequeuing the same view recompute nothing.
+        Assert.assertEquals(Integer.valueOf(20), view.head());
+        Assert.assertSame(view.deQueue(), view.deQueue());
+        Assert.assertEquals(2, calls.get());
+        Assert.assertEquals(Integer.valueOf(30), view.deQueue().head());
+        Assert.assertEquals(Integer.valueOf(30), view.deQueue().head());
+        Assert.assertEquals(3, calls.get());
+
+        view.force();
+        view.force();
+        Assert.assertEquals(4, calls.get());
+    }
+
+    @Test
+    public void takeWhileStopsReadingTheSource() {
+        final AtomicInteger calls = new AtomicInteger();
+        ImmutableQueue.Builder<Integer> builder = ImmutableQueue.builder();
+        for (int i = 0; i < 100000; i++) {
+            builder.add(i);
+        }
+
+        LazyQueue<Integer> view = LazyQueue.of(builder.build()).map(x -> {
+            calls.incrementAndGet();
+            return x;
+        }).takeWhile(x -> x < 10);
+
+        Assert.assertEquals(10, view.force().size());
+        Assert.assertEquals(11, calls.get());
+    }
+
+    @Test
+    public void longFilteredRunsDoNotOverflowTheStack() {
+        ImmutableQueue.Builder<Integer> builder = ImmutableQueue.builder();
+        for (int i = 0; i < 1000000; i++) {
+            builder.add(i);
+        }
+
+        LazyQueue<Integer> view = LazyQueue.of(builder.build()).filter(x -> x == 999999);
+        assertEqualSequences(Arrays.asList(999999), view);
+    }
+
+    @Test
+    public void streamsTakeAndSplitStayLazy() {
+        final AtomicInteger calls = new AtomicInteger();
+        ImmutableQueue.Builder<Integer> builder = ImmutableQueue.builder();
+        for (int i = 0; i < 100000; i++) {
+            builder.add(i);
+        }
+
+        LazyQueue<Integer> view = LazyQueue.of(builder.build()).map(x -> {
+            calls.incrementAndGet();
+            return x;
+        });
+
+        Assert.assertEquals(Integer.valueOf(0), view.stream().findFirst().get());
+        Assert.assertEquals(1, calls.get());
+
+        LazyQueue<Integer> front = view.take(20000);
+        Assert.assertEquals(1, calls.get());
+        Assert.assertEquals(20000, front.size());
+        Assert.assertEquals(Integer.valueOf(19999), Iterables.getLast(front));
+        Assert.assertEquals(20000, calls.get());
+
+        Split<LazyQueue<Integer>> split = view.split(3);
+        assertEqualSequences(Arrays.asList(0, 1, 2), split.front());
+        Assert.assertEquals(Integer.valueOf(3), split.rest().head());
+        Assert.assertEquals(20000, calls.get());
+        Assert.assertTrue(view.take(0).isEmpty());
+        assertEqualSequences(Arrays.asList(1, 2), LazyQueue.of(ImmutableQueue.create(1, 2)).take(5));
+        Assert.assertTrue(LazyQueue.of(ImmutableQueue.create(1, 2)).split(5).rest().isEmpty());
+        Assert.assertTrue(view.take(1).isSingleton());
+    }
+
+    @Test
+    public void headOfEmptyViewThrows() {
+        thrown.expect(EmptyStackException.class);
+
+        LazyQueue.of(ImmutableQueue.create(1, 2)).filter(x -> x > 5).head();
+    }
+
+    private static <T> void assertEqualSequences(Iterable<? extends T> left, Iterable<? extends T> right) {
+        Object[] leftArray = Iterables.toArray(left, Object.class);
+        Object[] rightArray = Iterables.toArray(right, Object.class);
+        Assert.assertArrayEquals(leftArray, rightArray);
+    }
+}
@@ -0,0 +1,205 @@
+package com.paybay.challenge;
+
+import com.google.common.collect.Iterables;
+import com.paybay.challenge.io.ElementCodecs;
+import com.paybay.challenge.io.MappedQueue;
+import com.paybay.challenge.io.MappedQueueStore;
+import com.paybay.challenge.types.Split;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EmptyStackException;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+
+public class MappedQueueTest {
+
+    private static final int SEGMENT_SIZE = 256;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void enQueueAndDeQueue() throws IOException {
+        try (MappedQueueStore<String> store = open()) {
+            MappedQueue<String> empty = store.queue();
+            Assert.assertTrue(empty.isEmpty());
+
+            MappedQueue<String> queue = empty.enQueue("a").enQueue("").enQueue("ccc");
+            Assert.assertEquals(3, queue.size());
+            Assert.assertEquals("a", queue.head());
+            assertEqualSequences(Arrays.asList("a", "", "ccc"), queue);
+
+            MappedQueue<String> rest = queue.deQueue();
+            assertEqualSequences(Arrays.asList("", "ccc"), rest);
+            assertEqualSequences(Arrays.asList("a", "", "ccc"), queue);
+            Assert.assertTrue(rest.deQueue().deQueue().isEmpty());
+            Assert.assertTrue(empty.isEmpty());
+        }
+    }
+
+    @Test
+    public void deQueueEmptyThrows() throws IOException {
+        try (MappedQueueStore<String> store = open()) {
+            thrown.expect(instanceOf(EmptyStackException.class));
+            store.queue().deQueue();
+        }
+    }
+
+    @Test
+    public void enQueueOnStaleVersionThrows() throws IOException {
+        try (MappedQueueStore<String> store = open()) {
+            MappedQueue<String> queue = store.queue().enQueue("a");
+            queue.enQueue("b");
+
+            thrown.expect(instanceOf(IllegalStateException.class));
+            queue.enQueue("c");
+        }
+    }
+
+    @Test
+    public void splitDoesNotAppendToTheLog() throws IOException {
+        try (MappedQueueStore<String> store = open()) {
+            MappedQueue<String> queue = store.queue().enQueue("a").enQueue("b").enQueue("c");
+
+            MappedQueue<String> front = queue.take(2);
+            assertEqualSequences(Arrays.asList("a", "b"), front);
+            Assert.assertEquals(3, store.queue().size());
+
+            Split<MappedQueue<String>> split = queue.split(1);
+            assertEqualSequences(Arrays.asList("a"), split.front());
+            assertEqualSequences(Arrays.asList("b", "c"), split.rest());
+            Assert.assertTrue(queue.split(0).front().isEmpty());
+            assertEqualSequences(Arrays.asList("a", "b", "c"), queue.split(5).front());
+            Assert.assertTrue(queue.split(5).rest().isEmpty());
+
+            // The log was never written to, so the version can still be appended to.
+            assertEqualSequences(Arrays.asList("a", "b", "c", "d"), queue.enQueue("d"));
+            assertEqualSequences(Arrays.asList("b", "c", "d"), store.queue().deQueue());
+        }
+    }
+
+    @Test
+    public void recordsRollOverSegments() throws IOException {
+        try (MappedQueueStore<String> store = open()) {
+            MappedQueue<String> queue = store.queue();
+            List<String> expected = new ArrayList<String>();
+            for (int i = 0; i < 100; i++) {
+                String value = "value-" + i;
+                expected.add(value);
+                queue = queue.enQueue(value);
+            }
+
+            Assert.assertTrue(segmentFiles().size() > 5);
+            assertEqualSequences(expected, queue);
+            Assert.assertEquals("value-99", Iterables.getLast(queue.deQueue(99)));
+        }
+    }
+
+    @Test
+    public void commitReclaimsSegmentsAndSurvivesReopen() throws IOException {
+        List<String> expected = new ArrayList<String>();
+        try (MappedQueueStore<String> store = open()) {
+            MappedQueue<String> queue = store.queue();
+            for (int i = 0; i < 100; i++) {
+                queue = queue.enQueue("value-" + i);
+            }
+
+            int before = segmentFiles().size();
+            queue = queue.deQueue(60);
+            store.commit(queue);
+            Assert.assertTrue(segmentFiles().size() < before);
+
+            // Appended after the commit: recovered by scanning the log.
+            queue = queue.enQueue("late");
+            for (String value : queue) {
+                expected.add(value);
+            }
+        }
+
+        try (MappedQueueStore<String> store = open()) {
+            MappedQueue<String> queue = store.queue();
+            Assert.assertEquals(41, queue.size());
+            assertEqualSequences(expected, queue);
+            assertEqualSequences(Arrays.asList("late", "more"), queue.enQueue("more").deQueue(40));
+        }
+    }
+
+    @Test
+    public void tornRecordIsDroppedOnReopen() throws IOException {
+        try (MappedQueueStore<String> store = open()) {
+            store.queue().enQueue("a").enQueue("b");
+        }
+
+        // A header whose payload never made it to disk.
+        Path segment = segmentFiles().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(8);
+            header.putInt(6).putInt(12345).flip();
+            channel.write(header, 2 * (8 + 1));
+        }
+
+        try (MappedQueueStore<String> store = open()) {
+            MappedQueue<String> queue = store.queue();
+            assertEqualSequences(Arrays.asList("a", "b"), queue);
+            assertEqualSequences(Arrays.asList("a", "b", "c"), queue.enQueue("c"));
+        }
+
+        try (MappedQueueStore<String> store = open()) {
+            assertEqualSequences(Arrays.asList("a", "b", "c"), store.queue());
+        }
+    }
+
+    @Test
+    public void truncatedCheckpointIsReportedAsCorrupt() throws IOException {
+        try (MappedQueueStore<String> store = open()) {
+            store.commit(store.queue().enQueue("a"));
+        }
+
+        Path checkpoint = folder.getRoot().toPath().resolve("queue").resolve("checkpoint");
+        Files.write(checkpoint, Arrays.copyOf(Files.readAllBytes(checkpoint), 10));
+
+        thrown.expect(instanceOf(IOException.class));
+        thrown.expectMessage("corrupt checkpoint");
+        open();
+    }
+
+    private MappedQueueStore<String> open() throws IOException {
+        return MappedQueueStore.open(folder.getRoot().toPath().resolve("queue"), ElementCodecs.utf8(), SEGMENT_SIZE);
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        List<Path> result = new ArrayList<Path>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(folder.getRoot().toPath().resolve("queue"), "*.seg")) {
+            for (Path file : files) {
+                result.add(file);
+            }
+        }
+
+        Collections.sort(result);
+        return result;
+    }
+
+    private static <T> void assertEqualSequences(Iterable<? extends T> left, Iterable<? extends T> right) {
+        Object[] leftArray = Iterables.toArray(left, Object.class);
+        Object[] rightArray = Iterables.toArray(right, Object.class);
+        Assert.assertArrayEquals(leftArray, rightArray);
+    }
+}
@@ -0,0 +1,162 @@
+package com.paybay.challenge;
+
+import com.google.common.collect.Iterables;
+import com.paybay.challenge.types.ImmutableChunkedQueue;
+import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.ImmutableStack;
+import com.paybay.challenge.types.Polled;
+import com.paybay.challenge.types.Queue;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class PollingTest {
+
+    @Test
+    public void pollHeadReturnsHeadAndRest() {
+        ImmutableQueue<Integer> queue = ImmutableQueue.<Integer>empty().enQueueAll(1, 2, 3);
+
+        Polled<Integer, ImmutableQueue<Integer>> polled = queue.pollHead();
+        Assert.assertEquals(Integer.valueOf(1), polled.head());
+        assertEqualSequences(new Integer[]{2, 3}, polled.rest());
+
+        // The original version is untouched.
+        assertEqualSequences(new Integer[]{1, 2, 3}, queue);
+    }
+
+    @Test
+    public void pollingDrainsAcrossTheReversal() {
+        ImmutableQueue<Integer> queue = ImmutableQueue.<Integer>empty().enQueue(1).enQueue(2).enQueue(3);
+        List<Integer> drained = new ArrayList<Integer>();
+
+        for (Polled<Integer, ImmutableQueue<Integer>> polled = queue.pollHead(); polled != null;
+                polled = polled.rest().pollHead()) {
+            drained.add(polled.head());
+        }
+
+        Assert.assertEquals(Arrays.asList(1, 2, 3), drained);
+    }
+
+    @Test
+    public void pollerDrainsAndKeepsTheRest() {
+        ImmutableQueue<Integer> queue = ImmutableQueue.<Integer>empty().enQueueAll(1, 2).enQueue(3).enQueue(4);
+        ImmutableQueue.Poller<Integer> poller = queue.poller();
+
+        Assert.assertSame(queue, poller.rest());
+        Assert.assertTrue(poller.poll());
+        Assert.assertEquals(Integer.valueOf(1), poller.head());
+        assertEqualSequences(new Integer[]{2, 3, 4}, poller.rest());
+        Assert.assertTrue(poller.poll());
+        assertEqualSequences(new Integer[]{3, 4}, poller.rest());
+        Assert.assertTrue(poller.poll());
+        Assert.assertEquals(Integer.valueOf(3), poller.head());
+        assertEqualSequences(new Integer[]{4}, poller.rest());
+        Assert.assertTrue(poller.poll());
+        Assert.assertFalse(poller.poll());
+        Assert.assertEquals(Integer.valueOf(4), poller.head());
+        Assert.assertSame(ImmutableQueue.empty(), poller.rest());
+
+        Assert.assertFalse(ImmutableQueue.empty().poller().poll());
+    }
+
+    @Test
+    public void pollerRejectsOtherThreads() throws InterruptedException {
+        final ImmutableQueue.Poller<Integer> poller = ImmutableQueue.create(1).poller();
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+        Thread thread = new Thread(() -> {
+            try {
+                poller.poll();
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        thread.start();
+        thread.join();
+
+        Assert.assertTrue(failure.get() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void emptyQueueYieldsNullOrDefault() {
+        ImmutableQueue<Integer> queue = ImmutableQueue.empty();
+
+        Assert.assertNull(queue.pollHead());
+        Assert.assertNull(queue.headOrNull());
+        Assert.assertEquals(Integer.valueOf(-1), queue.headOrDefault(-1));
+        Assert.assertEquals(Integer.valueOf(7), queue.enQueue(7).headOrDefault(-1));
+        Assert.assertEquals(Integer.valueOf(7), queue.enQueue(7).headOrNull());
+    }
+
+    @Test
+    public void defaultMethodsWorkForOtherQueues() {
+        Queue<Integer> queue = ImmutableChunkedQueue.<Integer>empty().enQueueAll(1, 2);
+
+        Polled<Integer, ? extends Queue<Integer>> polled = queue.pollHead();
+        Assert.assertEquals(Integer.valueOf(1), polled.head());
+        Assert.assertEquals(Integer.valueOf(2), polled.rest().headOrNull());
+        Assert.assertNull(polled.rest().deQueue().pollHead());
+        Assert.assertEquals(Integer.valueOf(0), queue.clear().headOrDefault(0));
+    }
+
+    @Test
+    public void tryPopReturnsTopAndRest() {
+        ImmutableStack<Integer> stack = ImmutableStack.create(1, 2);
+
+        Polled<Integer, ImmutableStack<Integer>> popped = stack.tryPop();
+        Assert.assertEquals(Integer.valueOf(2), popped.head());
+        Assert.assertSame(stack.pop(), popped.rest());
+        Assert.assertEquals(Integer.valueOf(2), stack.peekOrNull());
+    }
+
+    @Test
+    public void popperDrainsAndKeepsTheRest() {
+        ImmutableStack<Integer> stack = ImmutableStack.create(1, 2, 3);
+        ImmutableStack.Popper<Integer> popper = stack.popper();
+
+        Assert.assertSame(stack, popper.rest());
+        Assert.assertNull(popper.head());
+        Assert.assertTrue(popper.pop());
+        Assert.assertEquals(Integer.valueOf(3), popper.head());
+        Assert.assertSame(stack.pop(), popper.rest());
+        Assert.assertTrue(popper.pop());
+        Assert.assertTrue(popper.pop());
+        Assert.assertFalse(popper.pop());
+        Assert.assertEquals(Integer.valueOf(1), popper.head());
+        Assert.assertSame(ImmutableStack.empty(), popper.rest());
+
+        Assert.assertFalse(ImmutableStack.empty().popper().pop());
+    }
+
+    @Test
+    public void popperRejectsOtherThreads() throws InterruptedException {
+        final ImmutableStack.Popper<Integer> popper = ImmutableStack.create(1).popper();
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+        Thread thread = new Thread(() -> {
+            try {
+                popper.pop();
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        thread.start();
+        thread.join();
+
+        Assert.assertTrue(failure.get() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void emptyStackYieldsNull() {
+        Assert.assertNull(ImmutableStack.empty().tryPop());
+        Assert.assertNull(ImmutableStack.empty().peekOrNull());
+    }
+
+    private static <T> void assertEqualSequences(T[] expected, Iterable<T> actual) {
+        Assert.assertArrayEquals(expected, Iterables.toArray(actual, Object.class));
+    }
+}
@@ -0,0 +1,125 @@
+package com.paybay.challenge;
+
+import com.google.common.collect.Iterables;
+import com.paybay.challenge.io.ElementCodecs;
+import com.paybay.challenge.io.SnapshotReader;
+import com.paybay.challenge.io.SnapshotWriter;
+import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.QueueDelta;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+public class QueueDeltaTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void enqueuesAndDequeuesAreFoundByIdentity() {
+        ImmutableQueue<Integer> base = ImmutableQueue.create(1, 2, 3).enQueue(4).enQueue(5);
+        ImmutableQueue<Integer> target = base.deQueue().deQueue().enQueue(6).enQueue(7);
+
+        QueueDelta<Integer> delta = QueueDelta.between(base, target);
+        Assert.assertFalse(delta.isFull());
+        Assert.assertEquals(5, delta.baseSize());
+        Assert.assertEquals(2, delta.dequeued());
+        Assert.assertEquals(Arrays.asList(6, 7), delta.enqueued());
+        assertEqualSequences(target, delta.applyTo(ImmutableQueue.create(1, 2, 3, 4, 5)));
+    }
+
+    @Test
+    public void sameVersionGivesEmptyDelta() {
+        ImmutableQueue<Integer> queue = ImmutableQueue.create(1, 2).enQueue(3);
+
+        QueueDelta<Integer> delta = QueueDelta.between(queue, queue);
+        Assert.assertEquals(0, delta.dequeued());
+        Assert.assertTrue(delta.enqueued().isEmpty());
+    }
+
+    @Test
+    public void reversalOfTheBaseIncomingStackIsFound() {
+        ImmutableQueue<Integer> base = ImmutableQueue.create(1).enQueue(2).enQueue(3);
+        ImmutableQueue<Integer> target = base.deQueue().deQueue().enQueue(4);
+
+        QueueDelta<Integer> delta = QueueDelta.between(base, target);
+        Assert.assertFalse(delta.isFull());
+        Assert.assertEquals(2, delta.dequeued());
+        Assert.assertEquals(Collections.singletonList(4), delta.enqueued());
+        assertEqualSequences(target, delta.applyTo(base));
+    }
+
+    @Test
+    public void unrelatedVersionsFallBackToFullSnapshot() {
+        ImmutableQueue<Integer> base = ImmutableQueue.create(1, 2, 3);
+        ImmutableQueue<Integer> target = ImmutableQueue.create(2, 3, 4);
+
+        QueueDelta<Integer> delta = QueueDelta.between(base, target);
+        Assert.assertTrue(delta.isFull());
+        Assert.assertEquals(Arrays.asList(2, 3, 4), delta.enqueued());
+        assertEqualSequences(target, delta.applyTo(base));
+    }
+
+    @Test
+    public void randomHistoriesReplicate() {
+        Random random = new Random(42);
+        ImmutableQueue<Integer> primary = ImmutableQueue.empty();
+        ImmutableQueue<Integer> replica = ImmutableQueue.empty();
+        int full = 0;
+        for (int round = 0; round < 1000; round++) {
+            ImmutableQueue<Integer> next = primary;
+            for (int op = random.nextInt(8); op > 0; op--) {
+                if (next.isEmpty() || random.nextInt(3) > 0) {
+                    next = next.enQueue(random.nextInt());
+                } else {
+                    next = next.deQueue();
+                }
+            }
+
+            QueueDelta<Integer> delta = QueueDelta.between(primary, next);
+            if (delta.isFull()) {
+                full++;
+            }
+
+            replica = delta.applyTo(replica);
+            assertEqualSequences(next, replica);
+            primary = next;
+        }
+
+        Assert.assertTrue("full snapshots: " + full, full < 100);
+    }
+
+    @Test
+    public void roundTripThroughSnapshotFormat() throws IOException {
+        ImmutableQueue<String> base = ImmutableQueue.create("a", "b").enQueue("c");
+        ImmutableQueue<String> target = base.deQueue().enQueue("d");
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        new SnapshotWriter(buffer).writeDelta(QueueDelta.between(base, target), ElementCodecs.utf8());
+        buffer.flip();
+
+        QueueDelta<String> delta = new SnapshotReader(buffer).readDelta(ElementCodecs.utf8());
+        assertEqualSequences(target, delta.applyTo(ImmutableQueue.create("a", "b", "c")));
+    }
+
+    @Test
+    public void applyToReplicaOfOtherSizeThrows() {
+        ImmutableQueue<Integer> base = ImmutableQueue.create(1, 2);
+        QueueDelta<Integer> delta = QueueDelta.between(base, base.enQueue(3));
+
+        thrown.expect(IllegalArgumentException.class);
+        delta.applyTo(ImmutableQueue.create(1));
+    }
+
+    private static <T> void assertEqualSequences(Iterable<? extends T> left, Iterable<? extends T> right) {
+        Object[] leftArray = Iterables.toArray(left, Object.class);
+        Object[] rightArray = Iterables.toArray(right, Object.class);
+        Assert.assertArrayEquals(leftArray, rightArray);
+    }
+}
@@ -0,0 +1,130 @@
+package com.paybay.challenge;
+
+import com.paybay.challenge.metrics.Log2Histogram;
+import com.paybay.challenge.metrics.QueueMetrics;
+import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.ImmutableStack;
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+public class QueueMetricsTest {
+
+    @After
+    public void tearDown() {
+        QueueMetrics.reset();
+    }
+
+    @Test
+    public void histogramBucketsArePowersOfTwo() {
+        Assert.assertEquals(0, Log2Histogram.bucketOf(0));
+        Assert.assertEquals(0, Log2Histogram.bucketOf(-5));
+        Assert.assertEquals(1, Log2Histogram.bucketOf(1));
+        Assert.assertEquals(2, Log2Histogram.bucketOf(2));
+        Assert.assertEquals(2, Log2Histogram.bucketOf(3));
+        Assert.assertEquals(11, Log2Histogram.bucketOf(1024));
+        Assert.assertEquals(63, Log2Histogram.bucketOf(Long.MAX_VALUE));
+
+        Log2Histogram histogram = new Log2Histogram();
+        histogram.record(3);
+        histogram.record(2);
+        histogram.record(1000);
+        long[] counts = histogram.counts();
+        Assert.assertEquals(Log2Histogram.BUCKETS, counts.length);
+        Assert.assertEquals(2, counts[2]);
+        Assert.assertEquals(1, counts[10]);
+        Assert.assertEquals(3, histogram.count());
+
+        histogram.reset();
+        Assert.assertEquals(0, histogram.count());
+    }
+
+    @Test
+    public void recordingAccumulatesUntilReset() {
+        QueueMetrics.recordEnqueues(3);
+        QueueMetrics.recordDequeues(2);
+        QueueMetrics.recordReversal(100, 5000);
+        Assert.assertEquals(3, QueueMetrics.enqueues());
+        Assert.assertEquals(2, QueueMetrics.dequeues());
+        Assert.assertEquals(1, QueueMetrics.reversals());
+        Assert.assertEquals(1, QueueMetrics.reversalLengths().counts()[Log2Histogram.bucketOf(100)]);
+        Assert.assertEquals(1, QueueMetrics.reversalNanos().counts()[Log2Histogram.bucketOf(5000)]);
+
+        QueueMetrics.reset();
+        Assert.assertEquals(0, QueueMetrics.enqueues());
+        Assert.assertEquals(0, QueueMetrics.reversalLengths().count());
+    }
+
+    @Test
+    public void disabledByDefault() {
+        Assume.assumeFalse(QueueMetrics.isEnabled());
+
+        ImmutableQueue<Integer> queue = ImmutableQueue.<Integer>empty().enQueue(1).enQueue(2).enQueue(3);
+        for (Integer ignored : queue.deQueue()) {
+            // Iterates, reversing the incoming stack.
+        }
+
+        Assert.assertEquals(0, QueueMetrics.enqueues());
+        Assert.assertEquals(0, QueueMetrics.dequeues());
+        Assert.assertEquals(0, QueueMetrics.reversals());
+        Assert.assertEquals(0, QueueMetrics.iterators());
+        Assert.assertEquals(0, QueueMetrics.nodesAllocated());
+    }
+
+    /**
+     * Runs in the {@code metrics-enabled} surefire execution, which sets {@value QueueMetrics#PROPERTY}.
+     */
+    @Test
+    public void enabledRecordsTheHotPaths() throws Exception {
+        Assume.assumeTrue(QueueMetrics.isEnabled());
+        QueueMetrics.reset();
+
+        // One node in the outgoing stack, two in the incoming one.
+        ImmutableQueue<Integer> queue = ImmutableQueue.<Integer>empty().enQueue(1).enQueue(2).enQueue(3);
+        Assert.assertEquals(3, QueueMetrics.enqueues());
+        Assert.assertEquals(3, QueueMetrics.nodesAllocated());
+        Assert.assertEquals(0, QueueMetrics.reversals());
+
+        // Empties the outgoing stack: reverses the two incoming nodes into two new ones.
+        ImmutableQueue<Integer> rest = queue.deQueue();
+        Assert.assertEquals(1, QueueMetrics.dequeues());
+        Assert.assertEquals(1, QueueMetrics.reversals());
+        Assert.assertEquals(5, QueueMetrics.nodesAllocated());
+        long[] lengths = QueueMetrics.reversalLengths().counts();
+        Assert.assertEquals(1, lengths[Log2Histogram.bucketOf(2)]);
+        Assert.assertEquals(1, QueueMetrics.reversalLengths().count());
+        Assert.assertEquals(1, QueueMetrics.reversalNanos().count());
+
+        // Another version with the same incoming stack shares the reversal.
+        queue.deQueue();
+        Assert.assertEquals(2, QueueMetrics.dequeues());
+        Assert.assertEquals(1, QueueMetrics.reversals());
+
+        for (Integer ignored : rest) {
+            // Iterates the queue.
+        }
+        for (Integer ignored : ImmutableStack.<Integer>empty().push(1)) {
+            // Iterates a stack.
+        }
+        Assert.assertEquals(2, QueueMetrics.iterators());
+        Assert.assertEquals(6, QueueMetrics.nodesAllocated());
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(QueueMetrics.OBJECT_NAME);
+        Assert.assertTrue(server.isRegistered(name));
+        Assert.assertEquals(3L, server.getAttribute(name, "Enqueues"));
+        Assert.assertEquals(2L, server.getAttribute(name, "Dequeues"));
+        Assert.assertEquals(1L, server.getAttribute(name, "Reversals"));
+        Assert.assertEquals(2L, server.getAttribute(name, "Iterators"));
+        Assert.assertEquals(6L, server.getAttribute(name, "NodesAllocated"));
+        Assert.assertEquals(Boolean.TRUE, server.getAttribute(name, "Enabled"));
+        Assert.assertArrayEquals(lengths, (long[])server.getAttribute(name, "ReversalLengths"));
+
+        server.invoke(name, "reset", null, null);
+        Assert.assertEquals(0, QueueMetrics.enqueues());
+    }
+}
@@ -0,0 +1,180 @@
+package com.paybay.challenge;
+
+import com.google.common.collect.Iterables;
+import com.google.common.primitives.Doubles;
+import com.google.common.primitives.Ints;
+import com.google.common.primitives.Longs;
+import com.paybay.challenge.io.ElementCodecs;
+import com.paybay.challenge.io.SnapshotReader;
+import com.paybay.challenge.io.SnapshotWriter;
+import com.paybay.challenge.types.ImmutableQueue;
+import com.paybay.challenge.types.ImmutableStack;
+import com.paybay.challenge.types.primitive.ImmutableDoubleQueue;
+import com.paybay.challenge.types.primitive.ImmutableIntQueue;
+import com.paybay.challenge.types.primitive.ImmutableLongQueue;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+
+public class SnapshotTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void queueRoundTripThroughStream() throws IOException {
+        ImmutableQueue<String> queue = ImmutableQueue.<String>empty().enQueue("a").enQueue("").deQueue().enQueue("ccc");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SnapshotWriter writer = new SnapshotWriter(out);
+        writer.writeQueue(queue, ElementCodecs.utf8());
+        writer.writeQueue(ImmutableQueue.<String>empty(), ElementCodecs.utf8());
+
+        SnapshotReader reader = new SnapshotReader(new ByteArrayInputStream(out.toByteArray()));
+        assertEqualSequences(Arrays.asList("", "ccc"), reader.readQueue(ElementCodecs.utf8()));
+        Assert.assertTrue(reader.readQueue(ElementCodecs.utf8()).isEmpty());
+    }
+
+    @Test
+    public void queueRoundTripThroughFileChannel() throws IOException {
+        List<String> values = new ArrayList<String>();
+        for (int i = 0; i < 50000; i++) {
+            values.add("value-" + i);
+        }
+
+        // One element larger than the staging buffers.
+        char[] large = new char[200000];
+        Arrays.fill(large, 'x');
+        values.add(new String(large));
+
+        Path file = folder.getRoot().toPath().resolve("queue.snapshot");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            new SnapshotWriter(channel).writeQueue(ImmutableQueue.createAll(values), ElementCodecs.utf8());
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ImmutableQueue<String> queue = new SnapshotReader(channel).readQueue(ElementCodecs.utf8());
+            Assert.assertEquals(values.size(), queue.size());
+            assertEqualSequences(values, queue);
+        }
+    }
+
+    @Test
+    public void stackRoundTripThroughBuffer() throws IOException {
+        ImmutableStack<Integer> stack = ImmutableStack.create(1, 2, 3);
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        new SnapshotWriter(buffer).writeStack(stack, ElementCodecs.int32());
+        buffer.flip();
+
+        ImmutableStack<Integer> read = new SnapshotReader(buffer).readStack(ElementCodecs.int32());
+        assertEqualSequences(stack, read);
+        Assert.assertEquals(Integer.valueOf(3), read.peek());
+        Assert.assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void fixedWidthEncodingIsSharedWithPrimitiveQueues() throws IOException {
+        ImmutableQueue<Long> queue = ImmutableQueue.create(1L, -2L, Long.MAX_VALUE);
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        new SnapshotWriter(buffer).writeQueue(queue, ElementCodecs.int64());
+        Assert.assertEquals(11 + 3 * Long.BYTES, buffer.position());
+        buffer.flip();
+
+        ImmutableLongQueue read = new SnapshotReader(buffer).readLongQueue();
+        Assert.assertArrayEquals(new long[] { 1L, -2L, Long.MAX_VALUE }, toArray(read));
+    }
+
+    @Test
+    public void primitiveQueuesRoundTrip() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        SnapshotWriter writer = new SnapshotWriter(buffer);
+        writer.writeQueue(ImmutableIntQueue.create(1, 2).enQueue(3).deQueue());
+        writer.writeQueue(ImmutableDoubleQueue.create(0.5, -1.5));
+        buffer.flip();
+
+        SnapshotReader reader = new SnapshotReader(buffer);
+        Assert.assertArrayEquals(new int[] { 2, 3 }, toArray(reader.readIntQueue()));
+        Assert.assertArrayEquals(new double[] { 0.5, -1.5 }, toArray(reader.readDoubleQueue()), 0.0);
+    }
+
+    @Test
+    public void wrongMagicThrows() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        buffer.putInt(0xCAFEBABE).put(new byte[16]).flip();
+
+        thrown.expect(IOException.class);
+        new SnapshotReader(buffer).readQueue(ElementCodecs.utf8());
+    }
+
+    @Test
+    public void wrongKindThrows() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        new SnapshotWriter(buffer).writeStack(ImmutableStack.create("a"), ElementCodecs.utf8());
+        buffer.flip();
+
+        thrown.expect(IOException.class);
+        new SnapshotReader(buffer).readQueue(ElementCodecs.utf8());
+    }
+
+    @Test
+    public void truncatedInputThrows() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new SnapshotWriter(out).writeQueue(ImmutableQueue.create("a", "b"), ElementCodecs.utf8());
+        byte[] bytes = Arrays.copyOf(out.toByteArray(), out.size() - 1);
+
+        thrown.expect(instanceOf(EOFException.class));
+        new SnapshotReader(new ByteArrayInputStream(bytes)).readQueue(ElementCodecs.utf8());
+    }
+
+    private static int[] toArray(ImmutableIntQueue queue) {
+        List<Integer> values = new ArrayList<Integer>();
+        for (PrimitiveIterator.OfInt it = queue.iterator(); it.hasNext(); ) {
+            values.add(it.nextInt());
+        }
+
+        return Ints.toArray(values);
+    }
+
+    private static long[] toArray(ImmutableLongQueue queue) {
+        List<Long> values = new ArrayList<Long>();
+        for (PrimitiveIterator.OfLong it = queue.iterator(); it.hasNext(); ) {
+            values.add(it.nextLong());
+        }
+
+        return Longs.toArray(values);
+    }
+
+    private static double[] toArray(ImmutableDoubleQueue queue) {
+        List<Double> values = new ArrayList<Double>();
+        for (PrimitiveIterator.OfDouble it = queue.iterator(); it.hasNext(); ) {
+            values.add(it.nextDouble());
+        }
+
+        return Doubles.toArray(values);
+    }
+
+    private static <T> void assertEqualSequences(Iterable<? extends T> left, Iterable<? extends T> right) {
+        Object[] leftArray = Iterables.toArray(left, Object.class);
+        Object[] rightArray = Iterables.toArray(right, Object.class);
+        Assert.assertArrayEquals(leftArray, rightArray);
+    }
+}